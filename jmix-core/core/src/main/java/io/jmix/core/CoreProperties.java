@@ -57,6 +57,18 @@ public class CoreProperties {
     List<Locale> availableLocales;
     int crossDataStoreReferenceLoadingBatchSize;
 
+    /**
+     * Maximum number of batches of references to entities from different data stores loaded concurrently for one
+     * DataManager operation. If 1, batches are loaded sequentially.
+     */
+    int crossDataStoreReferenceLoadingConcurrency;
+
+    /**
+     * Whether references to entities from different data stores loaded during a web request are cached until the end
+     * of the request, so that repeated loads of the same references do not query the data stores again.
+     */
+    boolean crossDataStoreReferenceCacheEnabled;
+
     /**
      * Whether to generate identifiers for entities located in additional data stores.
      */
@@ -106,6 +118,12 @@ public class CoreProperties {
      */
     boolean skipNullOrEmptyConditionsByDefault;
 
+    /**
+     * Maximum number of threads executing asynchronous DataManager operations. If 0, operations are executed in
+     * virtual threads when the JVM supports them, otherwise in a pool of twice the number of available processors.
+     */
+    int dataManagerAsyncThreads;
+
     public CoreProperties(
             String webHostName,
             String webPort,
@@ -115,6 +133,8 @@ public class CoreProperties {
             String dbDir,
             List<String> availableLocales,
             @DefaultValue("50") int crossDataStoreReferenceLoadingBatchSize,
+            @DefaultValue("4") int crossDataStoreReferenceLoadingConcurrency,
+            @DefaultValue("false") boolean crossDataStoreReferenceCacheEnabled,
             @DefaultValue("true") boolean idGenerationForEntitiesInAdditionalDataStoresEnabled,
             @DefaultValue("100") int dom4jMaxPoolSize,
             @DefaultValue("1000") int dom4jMaxBorrowWaitMillis,
@@ -126,7 +146,8 @@ public class CoreProperties {
             @DefaultValue("true") boolean triggerFilesEnabled,
             @DefaultValue("5000") Duration triggerFilesProcessInterval,
             @DefaultValue("true") boolean roundDecimalValueByFormat,
-            @DefaultValue("false") boolean skipNullOrEmptyConditionsByDefault) {
+            @DefaultValue("false") boolean skipNullOrEmptyConditionsByDefault,
+            @DefaultValue("0") int dataManagerAsyncThreads) {
         this.webHostName = webHostName;
         this.webPort = webPort;
         this.confDir = confDir;
@@ -145,6 +166,8 @@ public class CoreProperties {
         }
 
         this.crossDataStoreReferenceLoadingBatchSize = crossDataStoreReferenceLoadingBatchSize;
+        this.crossDataStoreReferenceLoadingConcurrency = crossDataStoreReferenceLoadingConcurrency;
+        this.crossDataStoreReferenceCacheEnabled = crossDataStoreReferenceCacheEnabled;
         this.idGenerationForEntitiesInAdditionalDataStoresEnabled = idGenerationForEntitiesInAdditionalDataStoresEnabled;
         this.dom4jMaxPoolSize = dom4jMaxPoolSize;
         this.dom4jMaxBorrowWaitMillis = dom4jMaxBorrowWaitMillis;
@@ -156,6 +179,7 @@ public class CoreProperties {
         this.triggerFilesProcessInterval = triggerFilesProcessInterval;
         this.roundDecimalValueByFormat = roundDecimalValueByFormat;
         this.skipNullOrEmptyConditionsByDefault = skipNullOrEmptyConditionsByDefault;
+        this.dataManagerAsyncThreads = dataManagerAsyncThreads;
     }
 
     public String getWebHostName() {
@@ -195,6 +219,20 @@ public class CoreProperties {
         return crossDataStoreReferenceLoadingBatchSize;
     }
 
+    /**
+     * @see #crossDataStoreReferenceLoadingConcurrency
+     */
+    public int getCrossDataStoreReferenceLoadingConcurrency() {
+        return crossDataStoreReferenceLoadingConcurrency;
+    }
+
+    /**
+     * @see #crossDataStoreReferenceCacheEnabled
+     */
+    public boolean isCrossDataStoreReferenceCacheEnabled() {
+        return crossDataStoreReferenceCacheEnabled;
+    }
+
     /**
      * @see #idGenerationForEntitiesInAdditionalDataStoresEnabled
      */
@@ -266,4 +304,11 @@ public class CoreProperties {
     public boolean isSkipNullOrEmptyConditionsByDefault() {
         return skipNullOrEmptyConditionsByDefault;
     }
+
+    /**
+     * @see #dataManagerAsyncThreads
+     */
+    public int getDataManagerAsyncThreads() {
+        return dataManagerAsyncThreads;
+    }
 }
@@ -35,6 +35,7 @@ import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 @Component("core_FluentLoader")
@@ -407,6 +408,19 @@ public class FluentLoader<E> {
             return Collections.emptyList();
         }
 
+        /**
+         * Loads a list of entities asynchronously.
+         *
+         * @see UnconstrainedDataManager#loadListAsync(LoadContext)
+         */
+        public CompletableFuture<List<E>> listAsync() {
+            if (ids != null && !ids.isEmpty()) {
+                LoadContext<E> loadContext = createLoadContext();
+                return loader.dataManager.loadListAsync(loadContext);
+            }
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
         /**
          * Sets a fetch plan.
          */
@@ -573,6 +587,16 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads a list of entities asynchronously.
+         *
+         * @see UnconstrainedDataManager#loadListAsync(LoadContext)
+         */
+        public CompletableFuture<List<E>> listAsync() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadListAsync(loadContext);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -823,6 +847,16 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads a list of entities asynchronously.
+         *
+         * @see UnconstrainedDataManager#loadListAsync(LoadContext)
+         */
+        public CompletableFuture<List<E>> listAsync() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadListAsync(loadContext);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -22,6 +22,7 @@ import org.springframework.lang.Nullable;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Central interface to provide CRUD functionality for entities.
@@ -124,6 +125,80 @@ public interface UnconstrainedDataManager {
      */
     long getCount(ValueLoadContext context);
 
+    /**
+     * Loads a single entity instance asynchronously.
+     * <p>
+     * The standard implementation executes the operation in a separate thread with the current authentication and
+     * session attributes. If the calling thread has an active transaction, the operation is executed in this thread
+     * instead. The default method executes the operation in the calling thread and returns a completed future.
+     *
+     * @param context {@link LoadContext} object, defining what and how to load
+     * @return future completed with the loaded object, or with null if not found
+     * @see #load(LoadContext)
+     */
+    default <E> CompletableFuture<E> loadAsync(LoadContext<E> context) {
+        try {
+            return CompletableFuture.completedFuture(load(context));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Loads collection of entity instances asynchronously.
+     * <p>
+     * The standard implementation executes the operation in a separate thread with the current authentication and
+     * session attributes. If the calling thread has an active transaction, the operation is executed in this thread
+     * instead. The default method executes the operation in the calling thread and returns a completed future.
+     *
+     * @param context {@link LoadContext} object, defining what and how to load
+     * @return future completed with a list of entity instances
+     * @see #loadList(LoadContext)
+     */
+    default <E> CompletableFuture<List<E>> loadListAsync(LoadContext<E> context) {
+        try {
+            return CompletableFuture.completedFuture(loadList(context));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Returns the number of entity instances for the given query asynchronously.
+     * <p>
+     * The default method executes the operation in the calling thread and returns a completed future.
+     *
+     * @param context defines the query
+     * @return future completed with the number of instances in the data store
+     * @see #getCount(LoadContext)
+     */
+    default CompletableFuture<Long> getCountAsync(LoadContext<?> context) {
+        try {
+            return CompletableFuture.completedFuture(getCount(context));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Saves a collection of entity instances to their data stores asynchronously.
+     * <p>
+     * The standard implementation executes the operation in a separate thread with the current authentication and
+     * session attributes. If the calling thread has an active transaction, the operation is executed in this thread
+     * instead. The default method executes the operation in the calling thread and returns a completed future.
+     *
+     * @param context {@link SaveContext} object, containing entities and other information
+     * @return future completed with the set of saved instances
+     * @see #save(SaveContext)
+     */
+    default CompletableFuture<EntitySet> saveAsync(SaveContext context) {
+        try {
+            return CompletableFuture.completedFuture(save(context));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Entry point to the fluent API for loading entities.
      * <p>
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.core.impl;
+
+import io.jmix.core.*;
+import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.*;
+
+/**
+ * INTERNAL.
+ * Caches references to entities from different data stores loaded by {@link CrossDataStoreReferenceLoader} until
+ * the end of the current web request if {@link CoreProperties#isCrossDataStoreReferenceCacheEnabled()} is set.
+ * Outside of web requests nothing is cached. References are shared only between operations with the same access
+ * constraints. Cached instances are deeply copied together with their system state, so that modification of an entity
+ * graph does not affect other graphs loaded in the same request. Cached graphs containing an entity are removed from
+ * the cache when the entity is saved or removed by {@link io.jmix.core.DataManager}.
+ */
+@Component("core_CrossDataStoreReferenceCache")
+public class CrossDataStoreReferenceCache {
+
+    protected static final String ATTRIBUTE_NAME = CrossDataStoreReferenceCache.class.getName();
+
+    @Autowired
+    protected CoreProperties properties;
+
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected EntityStates entityStates;
+
+    @Autowired
+    protected ExtendedEntities extendedEntities;
+
+    @Autowired
+    protected EntitySystemStateSupport entitySystemStateSupport;
+
+    @Nullable
+    public Object get(MetaClass metaClass, @Nullable FetchPlan fetchPlan,
+                      Collection<AccessConstraint<?>> accessConstraints, Object id) {
+        Map<Key, CacheEntry> references = getReferences(false);
+        if (references == null) {
+            return null;
+        }
+        CacheEntry entry = references.get(new Key(getEntityName(metaClass), fetchPlan, accessConstraints, id));
+        return entry != null ? copy(entry.entity, new IdentityHashMap<>()) : null;
+    }
+
+    public void put(MetaClass metaClass, @Nullable FetchPlan fetchPlan,
+                    Collection<AccessConstraint<?>> accessConstraints, Object id, Object entity) {
+        Map<Key, CacheEntry> references = getReferences(true);
+        if (references != null) {
+            Map<Object, Object> copies = new IdentityHashMap<>();
+            Object copy = copy(entity, copies);
+
+            Set<EntityKey> graphEntities = new HashSet<>();
+            for (Object graphEntity : copies.keySet()) {
+                Object graphEntityId = EntityValues.getId(graphEntity);
+                if (graphEntityId != null) {
+                    graphEntities.add(new EntityKey(getEntityName(metadata.getClass(graphEntity)), graphEntityId));
+                }
+            }
+            references.put(new Key(getEntityName(metaClass), fetchPlan, accessConstraints, id),
+                    new CacheEntry(copy, graphEntities));
+        }
+    }
+
+    /**
+     * Removes cached references to the given entities loaded with any fetch plan, and cached references to other
+     * entities if the given entities are in their graphs.
+     */
+    public void invalidate(Collection<?> entities) {
+        Map<Key, CacheEntry> references = getReferences(false);
+        if (references == null || references.isEmpty()) {
+            return;
+        }
+        for (Object entity : entities) {
+            Object id = EntityValues.getId(entity);
+            if (id != null) {
+                EntityKey entityKey = new EntityKey(getEntityName(metadata.getClass(entity)), id);
+                references.values().removeIf(entry -> entry.graphEntities.contains(entityKey));
+            }
+        }
+    }
+
+    protected String getEntityName(MetaClass metaClass) {
+        return extendedEntities.getOriginalOrThisMetaClass(metaClass).getName();
+    }
+
+    protected Object copy(Object entity, Map<Object, Object> copies) {
+        return deepCopy(entity, copies);
+    }
+
+    /**
+     * Copies the entity graph preserving the system state of entities, so that copies are not new and keep
+     * the information about loaded attributes.
+     */
+    @SuppressWarnings("unchecked")
+    protected Object deepCopy(Object source, Map<Object, Object> copies) {
+        Object copy = copies.get(source);
+        if (copy != null) {
+            return copy;
+        }
+        copy = metadataTools.copy(source);
+        copies.put(source, copy);
+
+        for (MetaProperty property : metadata.getClass(source).getProperties()) {
+            String name = property.getName();
+            if (!property.getRange().isClass() || property.isReadOnly() || !entityStates.isLoaded(source, name)) {
+                continue;
+            }
+            Object value = EntityValues.getValue(source, name);
+            if (value instanceof Collection) {
+                Collection<Object> collection = value instanceof List ? new ArrayList<>() : new LinkedHashSet<>();
+                for (Object item : (Collection<Object>) value) {
+                    collection.add(deepCopy(item, copies));
+                }
+                EntityValues.setValue(copy, name, collection);
+            } else if (value != null) {
+                EntityValues.setValue(copy, name, deepCopy(value, copies));
+            }
+        }
+
+        entitySystemStateSupport.copySystemState((Entity) source, (Entity) copy);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    protected Map<Key, CacheEntry> getReferences(boolean create) {
+        if (!properties.isCrossDataStoreReferenceCacheEnabled()) {
+            return null;
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Map<Key, CacheEntry> references = (Map<Key, CacheEntry>) requestAttributes.getAttribute(
+                ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (references == null && create) {
+            references = new HashMap<>();
+            requestAttributes.setAttribute(ATTRIBUTE_NAME, references, RequestAttributes.SCOPE_REQUEST);
+        }
+        return references;
+    }
+
+    protected static class Key {
+        private final String entityName;
+        private final FetchPlan fetchPlan;
+        private final Set<AccessConstraint<?>> accessConstraints;
+        private final Object id;
+
+        protected Key(String entityName, @Nullable FetchPlan fetchPlan,
+                      Collection<AccessConstraint<?>> accessConstraints, Object id) {
+            this.entityName = entityName;
+            this.fetchPlan = fetchPlan;
+            this.accessConstraints = new HashSet<>(accessConstraints);
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return entityName.equals(key.entityName)
+                    && Objects.equals(fetchPlan, key.fetchPlan)
+                    && accessConstraints.equals(key.accessConstraints)
+                    && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityName, fetchPlan, accessConstraints, id);
+        }
+    }
+
+    protected static class EntityKey {
+        private final String entityName;
+        private final Object id;
+
+        protected EntityKey(String entityName, Object id) {
+            this.entityName = entityName;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            EntityKey key = (EntityKey) o;
+            return entityName.equals(key.entityName) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityName, id);
+        }
+    }
+
+    protected static class CacheEntry {
+        private final Object entity;
+        private final Set<EntityKey> graphEntities;
+
+        protected CacheEntry(Object entity, Set<EntityKey> graphEntities) {
+            this.entity = entity;
+            this.graphEntities = graphEntities;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package io.jmix.core.impl;
 import com.google.common.collect.Sets;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.constraint.AccessConstraint;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
@@ -26,9 +27,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -53,17 +57,32 @@ public class CrossDataStoreReferenceLoader {
     @Autowired
     private CoreProperties properties;
 
+    @Autowired
+    private CrossDataStoreReferenceCache referenceCache;
+
     private MetaClass metaClass;
 
     private FetchPlan fetchPlan;
     private boolean joinTransaction;
+    private List<AccessConstraint<?>> accessConstraints;
 
     public CrossDataStoreReferenceLoader(MetaClass metaClass, FetchPlan fetchPlan, boolean joinTransaction) {
+        this(metaClass, fetchPlan, joinTransaction, Collections.emptyList());
+    }
+
+    /**
+     * @param accessConstraints constraints of the operation that loaded the entities, cached references are
+     *                          shared only between operations with the same constraints
+     */
+    public CrossDataStoreReferenceLoader(MetaClass metaClass, FetchPlan fetchPlan, boolean joinTransaction,
+                                         List<AccessConstraint<?>> accessConstraints) {
         Preconditions.checkNotNullArgument(metaClass, "metaClass is null");
         Preconditions.checkNotNullArgument(fetchPlan, "fetchPlan is null");
+        Preconditions.checkNotNullArgument(accessConstraints, "accessConstraints is null");
         this.metaClass = metaClass;
         this.fetchPlan = fetchPlan;
         this.joinTransaction = joinTransaction;
+        this.accessConstraints = accessConstraints;
     }
 
     public Map<Class<?>, List<CrossDataStoreProperty>> getCrossPropertiesMap() {
@@ -120,14 +139,39 @@ public class CrossDataStoreReferenceLoader {
                 entityCrossDataStorePropertyList.add(new EntityCrossDataStoreProperty(affectedEntity, crossDataStoreProperty));
             }
         }
-        if (entityCrossDataStorePropertyList.size() == 1) {
-            loadOne(entityCrossDataStorePropertyList.get(0));
-        } else {
-            entityCrossDataStorePropertyList.stream()
-                    .collect(Collectors.groupingBy(EntityCrossDataStoreProperty::getCrossProp))
-                    .forEach((ap, eapList) ->
-                            loadMany(ap, eapList.stream().map(eap -> eap.entity).collect(Collectors.toList()))
-                    );
+
+        // properties referencing the same entity with the same fetch plan are loaded together
+        Map<ReferenceGroupKey, ReferenceGroup> groups = new LinkedHashMap<>();
+        for (EntityCrossDataStoreProperty eProp : entityCrossDataStorePropertyList) {
+            ReferenceGroupKey key = new ReferenceGroupKey(eProp.crossProp);
+            groups.computeIfAbsent(key, k -> new ReferenceGroup(eProp.crossProp)).entityProperties.add(eProp);
+        }
+
+        List<ReferenceBatch> batches = new ArrayList<>();
+        for (ReferenceGroup group : groups.values()) {
+            batches.addAll(createBatches(group));
+        }
+        loadBatches(batches);
+
+        for (ReferenceBatch batch : batches) {
+            MetaClass refMetaClass = batch.group.crossProp.property.getRange().asClass();
+            FetchPlan refFetchPlan = batch.group.crossProp.fetchPlanProperty.getFetchPlan();
+            for (Object loadedEntity : batch.result) {
+                Object id = EntityValues.getId(loadedEntity);
+                assert id != null;
+                batch.group.loadedEntities.put(id, loadedEntity);
+                referenceCache.put(refMetaClass, refFetchPlan, accessConstraints, id, loadedEntity);
+            }
+        }
+
+        for (ReferenceGroup group : groups.values()) {
+            for (EntityCrossDataStoreProperty eProp : group.entityProperties) {
+                Object id = EntityValues.getValue(eProp.entity, eProp.crossProp.relatedPropertyName);
+                Object relatedEntity = id != null ? group.loadedEntities.get(id) : null;
+                if (relatedEntity != null || group.singleId) {
+                    EntityValues.setValue(eProp.entity, eProp.crossProp.property.getName(), relatedEntity);
+                }
+            }
         }
     }
 
@@ -159,47 +203,91 @@ public class CrossDataStoreReferenceLoader {
         return resultSet;
     }
 
-    private void loadOne(EntityCrossDataStoreProperty entityCrossDataStoreProperty) {
-        Object entity = entityCrossDataStoreProperty.entity;
-        CrossDataStoreProperty aProp = entityCrossDataStoreProperty.crossProp;
-        Object id = EntityValues.getValue(entity, aProp.relatedPropertyName);
+    private List<ReferenceBatch> createBatches(ReferenceGroup group) {
+        MetaClass refMetaClass = group.crossProp.property.getRange().asClass();
+        FetchPlan refFetchPlan = group.crossProp.fetchPlanProperty.getFetchPlan();
 
-        LoadContext<?> loadContext = new LoadContext<>(aProp.property.getRange().asClass())
-                .setId(id);
-        if (aProp.fetchPlanProperty.getFetchPlan() != null)
-            loadContext.setFetchPlan(aProp.fetchPlanProperty.getFetchPlan());
-        loadContext.setJoinTransaction(joinTransaction);
-        Object relatedEntity = dataManager.load(loadContext);
-        EntityValues.setValue(entity, aProp.property.getName(), relatedEntity);
+        Set<Object> ids = new LinkedHashSet<>();
+        for (EntityCrossDataStoreProperty eProp : group.entityProperties) {
+            Object id = EntityValues.getValue(eProp.entity, eProp.crossProp.relatedPropertyName);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        group.singleId = group.entityProperties.size() == 1;
+
+        List<Object> idsToLoad = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            Object cached = referenceCache.get(refMetaClass, refFetchPlan, accessConstraints, id);
+            if (cached != null) {
+                group.loadedEntities.put(id, cached);
+            } else {
+                idsToLoad.add(id);
+            }
+        }
+
+        List<ReferenceBatch> batches = new ArrayList<>();
+        int limit = properties.getCrossDataStoreReferenceLoadingBatchSize();
+        for (int offset = 0; offset < idsToLoad.size(); offset += limit) {
+            List<Object> batchIds = idsToLoad.subList(offset, Math.min(offset + limit, idsToLoad.size()));
+            batches.add(new ReferenceBatch(group, batchIds));
+        }
+        return batches;
     }
 
-    private void loadMany(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        int offset = 0, limit = properties.getCrossDataStoreReferenceLoadingBatchSize();
-        while (true) {
-            int end = offset + limit;
-            List<Object> batch = entities.subList(offset, Math.min(end, entities.size()));
-            loadBatch(crossDataStoreProperty, batch);
-            if (end >= entities.size())
-                break;
-            else
-                offset += limit;
+    private void loadBatches(List<ReferenceBatch> batches) {
+        int concurrency = properties.getCrossDataStoreReferenceLoadingConcurrency();
+        if (batches.size() == 1 || concurrency <= 1) {
+            for (ReferenceBatch batch : batches) {
+                batch.setResult(loadBatch(batch));
+            }
+            return;
+        }
+
+        // DataManager executes operations in the calling thread if it has an active transaction
+        Deque<CompletableFuture<?>> running = new ArrayDeque<>();
+        try {
+            for (ReferenceBatch batch : batches) {
+                if (running.size() >= concurrency) {
+                    running.poll().join();
+                }
+                LoadContext<?> loadContext = createLoadContext(batch);
+                running.add(loadContext.getId() != null
+                        ? dataManager.loadAsync(loadContext).thenAccept(e -> batch.setResult(singletonOrEmpty(e)))
+                        : dataManager.loadListAsync(loadContext).thenAccept(batch::setResult));
+            }
+            while (!running.isEmpty()) {
+                running.poll().join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
     }
 
-    private void loadBatch(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        List<Object> idList = entities.stream()
-                .map(e -> EntityValues.getValue(e, crossDataStoreProperty.relatedPropertyName))
-                .filter(Objects::nonNull)
-                .distinct()
-                .collect(Collectors.toList());
+    private List<?> loadBatch(ReferenceBatch batch) {
+        LoadContext<?> loadContext = createLoadContext(batch);
+        return loadContext.getId() != null
+                ? singletonOrEmpty(dataManager.load(loadContext))
+                : dataManager.loadList(loadContext);
+    }
 
-        if (idList.isEmpty())
-            return;
+    private List<?> singletonOrEmpty(@Nullable Object entity) {
+        return entity != null ? Collections.singletonList(entity) : Collections.emptyList();
+    }
+
+    private LoadContext<?> createLoadContext(ReferenceBatch batch) {
+        CrossDataStoreProperty crossDataStoreProperty = batch.group.crossProp;
+        List<Object> idList = batch.ids;
 
         MetaClass cdsrMetaClass = crossDataStoreProperty.property.getRange().asClass();
         LoadContext<?> loadContext = new LoadContext<>(cdsrMetaClass);
 
-        if (metadataTools.isJpa(crossDataStoreProperty.property)) {
+        if (idList.size() == 1 && batch.group.singleId) {
+            loadContext.setId(idList.get(0));
+        } else if (metadataTools.isJpa(crossDataStoreProperty.property)) {
             // Don't use standard loading by ids for JPA entities because AbstractDataStore throws exception
             // if not all requested entities are loaded, see checkAndReorderLoadedEntities()
             MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(cdsrMetaClass);
@@ -236,20 +324,60 @@ public class CrossDataStoreReferenceLoader {
 
         loadContext.setFetchPlan(crossDataStoreProperty.fetchPlanProperty.getFetchPlan());
         loadContext.setJoinTransaction(joinTransaction);
+        return loadContext;
+    }
 
-        List<?> loadedEntities = dataManager.loadList(loadContext);
+    private static class ReferenceGroupKey {
 
-        for (Object entity : entities) {
-            Object relatedPropertyValue = EntityValues.getValue(entity, crossDataStoreProperty.relatedPropertyName);
-            loadedEntities.stream()
-                    .filter(e -> {
-                        Object id = EntityValues.getId(e);
-                        assert id != null;
-                        return id.equals(relatedPropertyValue);
-                    })
-                    .findAny()
-                    .ifPresent(e -> EntityValues.setValue(entity, crossDataStoreProperty.property.getName(), e)
-                    );
+        private final MetaClass metaClass;
+        private final FetchPlan fetchPlan;
+        private final boolean jpa;
+
+        private ReferenceGroupKey(CrossDataStoreProperty crossProp) {
+            this.metaClass = crossProp.property.getRange().asClass();
+            this.fetchPlan = crossProp.fetchPlanProperty.getFetchPlan();
+            this.jpa = crossProp.jpa;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReferenceGroupKey that = (ReferenceGroupKey) o;
+            return jpa == that.jpa && metaClass.equals(that.metaClass) && Objects.equals(fetchPlan, that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan, jpa);
+        }
+    }
+
+    private static class ReferenceGroup {
+
+        private final CrossDataStoreProperty crossProp;
+        private final List<EntityCrossDataStoreProperty> entityProperties = new ArrayList<>();
+        private final Map<Object, Object> loadedEntities = new HashMap<>();
+        private boolean singleId;
+
+        private ReferenceGroup(CrossDataStoreProperty crossProp) {
+            this.crossProp = crossProp;
+        }
+    }
+
+    private static class ReferenceBatch {
+
+        private final ReferenceGroup group;
+        private final List<Object> ids;
+        private List<?> result = Collections.emptyList();
+
+        private ReferenceBatch(ReferenceGroup group, List<Object> ids) {
+            this.group = group;
+            this.ids = ids;
+        }
+
+        private void setResult(List<?> result) {
+            this.result = result;
         }
     }
 
@@ -279,6 +407,7 @@ public class CrossDataStoreReferenceLoader {
         public final FetchPlanProperty fetchPlanProperty;
         public final String relatedPropertyName;
         public final String primaryKeyName;
+        public final boolean jpa;
 
         public CrossDataStoreProperty(MetaProperty metaProperty, FetchPlanProperty fetchPlanProperty) {
             this.property = metaProperty;
@@ -291,6 +420,7 @@ public class CrossDataStoreReferenceLoader {
             primaryKeyName = pkName != null
                     ? pkName
                     : "id"; // sensible default for non-persistent entities
+            jpa = metadataTools.isJpa(property);
         }
 
         @Override
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.core.impl;
+
+import io.jmix.core.CoreProperties;
+import io.jmix.core.impl.session.ThreadLocalSessionData;
+import io.jmix.core.security.SecurityContextHelper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executes asynchronous operations of {@link io.jmix.core.UnconstrainedDataManager}.
+ * <p>
+ * The operations are executed with the authentication and the HTTP session attributes of the calling thread, the
+ * latter are available through {@link ThreadLocalSessionData}. If the calling thread has an active transaction,
+ * the operation is executed synchronously in this thread, so that it participates in the transaction as the
+ * corresponding blocking call does.
+ * <p>
+ * The number of threads is defined by {@link CoreProperties#getDataManagerAsyncThreads()}.
+ */
+@Component("core_DataManagerAsyncExecutor")
+public class DataManagerAsyncExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(DataManagerAsyncExecutor.class);
+
+    @Autowired
+    protected CoreProperties properties;
+
+    protected ExecutorService executor;
+
+    @PostConstruct
+    protected void init() {
+        executor = createExecutor();
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executes the operation in a separate thread.
+     *
+     * @param operation operation to execute
+     * @return future completed with the operation result
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> operation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                return CompletableFuture.completedFuture(operation.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+        Map<String, Object> sessionAttributes = ThreadLocalSessionData.extractHttpSessionAttributes();
+
+        return CompletableFuture.supplyAsync(() -> {
+            Authentication previousAuth = SecurityContextHelper.getAuthentication();
+            SecurityContextHelper.setAuthentication(authentication);
+            ThreadLocalSessionData.setAttributes(sessionAttributes);
+            try {
+                return operation.get();
+            } finally {
+                SecurityContextHelper.setAuthentication(previousAuth);
+                ThreadLocalSessionData.clear();
+            }
+        }, executor);
+    }
+
+    protected ExecutorService createExecutor() {
+        int threads = properties.getDataManagerAsyncThreads();
+        if (threads <= 0) {
+            try {
+                ExecutorService virtualThreadExecutor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                log.debug("Asynchronous DataManager operations are executed in virtual threads");
+                return virtualThreadExecutor;
+            } catch (ReflectiveOperationException e) {
+                threads = Runtime.getRuntime().availableProcessors() * 2;
+            }
+        }
+        log.debug("Asynchronous DataManager operations are executed in {} threads", threads);
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadPoolExecutor poolExecutor = new ThreadPoolExecutor(threads, threads,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "DataManagerAsync-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        poolExecutor.allowCoreThreadTimeOut(true);
+        return poolExecutor;
+    }
+}
@@ -37,6 +37,7 @@ import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Primary
@@ -85,6 +86,12 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
     @Autowired
     protected TransactionManagerLocator transactionManagerLocator;
 
+    @Autowired
+    protected DataManagerAsyncExecutor asyncExecutor;
+
+    @Autowired
+    protected CrossDataStoreReferenceCache crossDataStoreReferenceCache;
+
     @Nullable
     @Override
     public <E> E load(LoadContext<E> context) {
@@ -97,7 +104,8 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         E entity = (E) storage.load(context);
 
         if (entity != null)
-            readCrossDataStoreReferences(Collections.singletonList(entity), context.getFetchPlan(), metaClass, context.isJoinTransaction());
+            readCrossDataStoreReferences(Collections.singletonList(entity), context.getFetchPlan(), metaClass,
+                    context.isJoinTransaction(), context.getAccessConstraints());
         return entity;
     }
 
@@ -111,7 +119,8 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         @SuppressWarnings("unchecked")
         List<E> entities = (List<E>) storage.loadList(context);
 
-        readCrossDataStoreReferences(entities, context.getFetchPlan(), metaClass, context.isJoinTransaction());
+        readCrossDataStoreReferences(entities, context.getFetchPlan(), metaClass, context.isJoinTransaction(),
+                context.getAccessConstraints());
         return entities;
     }
 
@@ -158,6 +167,8 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
     @Override
     public EntitySet save(SaveContext context) {
         context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+        crossDataStoreReferenceCache.invalidate(context.getEntitiesToSave());
+        crossDataStoreReferenceCache.invalidate(context.getEntitiesToRemove());
         Map<String, SaveContext> storeToContextMap = new TreeMap<>();
         Set<Object> toRepeat = new HashSet<>();
         for (Object entity : context.getEntitiesToSave()) {
@@ -279,6 +290,26 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return store.getCount(context);
     }
 
+    @Override
+    public <E> CompletableFuture<E> loadAsync(LoadContext<E> context) {
+        return asyncExecutor.supplyAsync(() -> load(context));
+    }
+
+    @Override
+    public <E> CompletableFuture<List<E>> loadListAsync(LoadContext<E> context) {
+        return asyncExecutor.supplyAsync(() -> loadList(context));
+    }
+
+    @Override
+    public CompletableFuture<Long> getCountAsync(LoadContext<?> context) {
+        return asyncExecutor.supplyAsync(() -> getCount(context));
+    }
+
+    @Override
+    public CompletableFuture<EntitySet> saveAsync(SaveContext context) {
+        return asyncExecutor.supplyAsync(() -> save(context));
+    }
+
     @Override
     public <E> FluentLoader<E> load(Class<E> entityClass) {
         //noinspection unchecked
@@ -392,11 +423,16 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
 
     protected void readCrossDataStoreReferences(Collection<?> entities, FetchPlan fetchPlan, MetaClass metaClass,
                                                 boolean joinTransaction) {
+        readCrossDataStoreReferences(entities, fetchPlan, metaClass, joinTransaction, Collections.emptyList());
+    }
+
+    protected void readCrossDataStoreReferences(Collection<?> entities, FetchPlan fetchPlan, MetaClass metaClass,
+                                                boolean joinTransaction, List<AccessConstraint<?>> accessConstraints) {
         if (stores.getAdditional().isEmpty() || entities.isEmpty() || fetchPlan == null)
             return;
 
         CrossDataStoreReferenceLoader crossDataStoreReferenceLoader = crossDataStoreReferenceLoaderProvider.getObject(
-                metaClass, fetchPlan, joinTransaction);
+                metaClass, fetchPlan, joinTransaction, accessConstraints);
         crossDataStoreReferenceLoader.processEntities(entities);
     }
 
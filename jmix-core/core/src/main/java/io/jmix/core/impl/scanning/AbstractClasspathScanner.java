@@ -39,8 +39,17 @@ public abstract class AbstractClasspathScanner {
     protected abstract Environment getEnvironment();
 
     protected Stream<MetadataReader> scanPackage(String packageName) {
+        String basePackagePath = resolveBasePackage(packageName);
+        if (getEnvironment().getProperty(ClassIndexReader.ENABLED_PROPERTY, Boolean.class, true)) {
+            Stream<MetadataReader> indexed = new ClassIndexReader(getResourceLoader(), getMetadataReaderFactory())
+                    .scanPackage(basePackagePath);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+
         String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
-                resolveBasePackage(packageName) + '/' + DEFAULT_CLASS_RESOURCE_PATTERN;
+                basePackagePath + '/' + DEFAULT_CLASS_RESOURCE_PATTERN;
         ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(getResourceLoader());
         Resource[] resources;
         try {
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl.scanning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ResourceUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Reads class indexes generated by the Jmix Gradle plugin for module packages and creates {@link MetadataReader}s
+ * from them, so that classes are not enumerated and parsed on startup.
+ * <p>
+ * The index is a {@link #INDEX_FILE_NAME} file placed in the base package directory of a classpath root. Each line
+ * describes one class file located below this directory:
+ * <pre>
+ * class.Name|flags|super.Class.Name|interface.Name1,interface.Name2|annotation.Name1,annotation.Name2
+ * </pre>
+ * where {@code flags} contain {@code i} for interfaces, {@code a} for abstract classes, {@code n} for annotations
+ * and {@code f} for final classes.
+ * <p>
+ * The index is used only in JARs. Directories of compiled classes are always scanned, as classes in them can be
+ * recompiled, e.g. by an IDE, without updating the index. Classpath roots without the index, e.g. JARs built
+ * without the plugin, are scanned too.
+ */
+public class ClassIndexReader {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassIndexReader.class);
+
+    public static final String INDEX_FILE_NAME = "jmix-classes.idx";
+
+    /**
+     * Application property that allows to disable usage of class indexes.
+     */
+    public static final String ENABLED_PROPERTY = "jmix.core.class-index-enabled";
+
+    protected static final String CLASS_RESOURCE_PATTERN = "**/*.class";
+
+    protected final ResourceLoader resourceLoader;
+    protected final MetadataReaderFactory metadataReaderFactory;
+
+    public ClassIndexReader(ResourceLoader resourceLoader, MetadataReaderFactory metadataReaderFactory) {
+        this.resourceLoader = resourceLoader;
+        this.metadataReaderFactory = metadataReaderFactory;
+    }
+
+    /**
+     * Returns metadata readers of classes located in the given package of all classpath roots.
+     *
+     * @param basePackagePath package in the resource path form, e.g. {@code com/company/app}
+     * @return metadata readers or null if none of the JARs contains the index for the package
+     */
+    @Nullable
+    public Stream<MetadataReader> scanPackage(String basePackagePath) {
+        List<URL> roots;
+        try {
+            ClassLoader classLoader = resourceLoader.getClassLoader();
+            String rootPath = basePackagePath + "/";
+            roots = Collections.list(classLoader != null
+                    ? classLoader.getResources(rootPath)
+                    : ClassLoader.getSystemResources(rootPath));
+        } catch (IOException e) {
+            log.debug("Unable to find classpath roots of {}", basePackagePath, e);
+            return null;
+        }
+
+        List<MetadataReader> result = new ArrayList<>();
+        boolean indexFound = false;
+        for (URL root : roots) {
+            try {
+                Resource rootResource = new UrlResource(root.toString().endsWith("/") ? root.toString() : root + "/");
+                Resource index = rootResource.createRelative(INDEX_FILE_NAME);
+                if (ResourceUtils.isJarURL(root) && index.exists()) {
+                    indexFound = true;
+                    readIndex(rootResource, index, basePackagePath, result);
+                } else {
+                    scanRoot(rootResource, result);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                log.debug("Unable to use class index of {}", root, e);
+                return null;
+            }
+        }
+
+        if (!indexFound) {
+            return null;
+        }
+        log.debug("Class index is used for package {}", basePackagePath);
+        return result.stream();
+    }
+
+    protected void readIndex(Resource rootResource, Resource index, String basePackagePath,
+                             List<MetadataReader> result) throws IOException {
+        String packagePrefix = basePackagePath + "/";
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(index.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                IndexedMetadataReader.Entry entry = IndexedMetadataReader.Entry.parse(line);
+                String classPath = entry.getClassName().replace('.', '/') + ".class";
+                if (!classPath.startsWith(packagePrefix)) {
+                    throw new IOException("Class " + entry.getClassName() + " in " + index + " is out of " + basePackagePath);
+                }
+                Resource classResource = rootResource.createRelative(classPath.substring(packagePrefix.length()));
+                result.add(new IndexedMetadataReader(entry, classResource, metadataReaderFactory));
+            }
+        }
+    }
+
+    protected void scanRoot(Resource rootResource, List<MetadataReader> result) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(resourceLoader);
+        for (Resource resource : resolver.getResources(rootResource.getURL() + CLASS_RESOURCE_PATTERN)) {
+            if (resource.isReadable()) {
+                result.add(metadataReaderFactory.getMetadataReader(resource));
+            }
+        }
+    }
+}
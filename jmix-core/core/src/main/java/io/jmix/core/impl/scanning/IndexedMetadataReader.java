@@ -0,0 +1,205 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl.scanning;
+
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * {@link MetadataReader} created from a line of the class index. Class name, modifiers, superclass, interfaces and
+ * annotation types are taken from the index, which is enough for {@link ClasspathScanCandidateDetector}s checking
+ * them. Other metadata is read from the class file on first access.
+ *
+ * @see ClassIndexReader
+ */
+public class IndexedMetadataReader implements MetadataReader, AnnotationMetadata {
+
+    protected final Entry entry;
+    protected final Resource resource;
+    protected final MetadataReaderFactory metadataReaderFactory;
+
+    protected AnnotationMetadata classFileMetadata;
+
+    public IndexedMetadataReader(Entry entry, Resource resource, MetadataReaderFactory metadataReaderFactory) {
+        this.entry = entry;
+        this.resource = resource;
+        this.metadataReaderFactory = metadataReaderFactory;
+    }
+
+    @Override
+    public Resource getResource() {
+        return resource;
+    }
+
+    @Override
+    public ClassMetadata getClassMetadata() {
+        return this;
+    }
+
+    @Override
+    public AnnotationMetadata getAnnotationMetadata() {
+        return this;
+    }
+
+    @Override
+    public String getClassName() {
+        return entry.className;
+    }
+
+    @Override
+    public boolean isInterface() {
+        return entry.flags.indexOf('i') >= 0;
+    }
+
+    @Override
+    public boolean isAnnotation() {
+        return entry.flags.indexOf('n') >= 0;
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return entry.flags.indexOf('a') >= 0;
+    }
+
+    @Override
+    public boolean isFinal() {
+        return entry.flags.indexOf('f') >= 0;
+    }
+
+    @Nullable
+    @Override
+    public String getSuperClassName() {
+        return entry.superClassName;
+    }
+
+    @Override
+    public String[] getInterfaceNames() {
+        return entry.interfaceNames.clone();
+    }
+
+    @Override
+    public Set<String> getAnnotationTypes() {
+        return Set.of(entry.annotationTypes);
+    }
+
+    @Override
+    public boolean hasAnnotation(String annotationName) {
+        for (String annotationType : entry.annotationTypes) {
+            if (annotationType.equals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isIndependent() {
+        return getClassFileMetadata().isIndependent();
+    }
+
+    @Nullable
+    @Override
+    public String getEnclosingClassName() {
+        return getClassFileMetadata().getEnclosingClassName();
+    }
+
+    @Override
+    public String[] getMemberClassNames() {
+        return getClassFileMetadata().getMemberClassNames();
+    }
+
+    @Override
+    public MergedAnnotations getAnnotations() {
+        return getClassFileMetadata().getAnnotations();
+    }
+
+    @Override
+    public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
+        return getClassFileMetadata().getAnnotatedMethods(annotationName);
+    }
+
+    @Override
+    public Set<MethodMetadata> getDeclaredMethods() {
+        return getClassFileMetadata().getDeclaredMethods();
+    }
+
+    protected AnnotationMetadata getClassFileMetadata() {
+        if (classFileMetadata == null) {
+            try {
+                classFileMetadata = metadataReaderFactory.getMetadataReader(resource).getAnnotationMetadata();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read resource " + resource, e);
+            }
+        }
+        return classFileMetadata;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedMetadataReader{" + entry.className + "}";
+    }
+
+    /**
+     * Class information stored in the index.
+     */
+    public static class Entry {
+
+        protected static final String[] EMPTY = new String[0];
+
+        protected final String className;
+        protected final String flags;
+        protected final String superClassName;
+        protected final String[] interfaceNames;
+        protected final String[] annotationTypes;
+
+        public Entry(String className, String flags, @Nullable String superClassName,
+                     String[] interfaceNames, String[] annotationTypes) {
+            this.className = className;
+            this.flags = flags;
+            this.superClassName = superClassName;
+            this.interfaceNames = interfaceNames;
+            this.annotationTypes = annotationTypes;
+        }
+
+        public static Entry parse(String line) {
+            String[] parts = line.split("\\|", -1);
+            if (parts.length != 5 || parts[0].isEmpty()) {
+                throw new IllegalArgumentException("Invalid class index line: " + line);
+            }
+            return new Entry(parts[0], parts[1], parts[2].isEmpty() ? null : parts[2],
+                    splitNames(parts[3]), splitNames(parts[4]));
+        }
+
+        protected static String[] splitNames(String names) {
+            return names.isEmpty() ? EMPTY : names.split(",");
+        }
+
+        public String getClassName() {
+            return className;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_scanning
+
+import io.jmix.core.impl.scanning.ClassIndexReader
+import io.jmix.core.impl.scanning.EntityDetector
+import org.springframework.core.io.DefaultResourceLoader
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+
+class ClassIndexReaderTest extends Specification {
+
+    @TempDir
+    Path root
+
+    def "metadata is read from the index of a JAR"() {
+        def jar = createJar([
+                ('com/company/app/' + ClassIndexReader.INDEX_FILE_NAME): '''\
+# test index
+com.company.app.entity.Customer||java.lang.Object|io.jmix.core.Entity|io.jmix.core.metamodel.annotation.JmixEntity,jakarta.persistence.Entity
+com.company.app.service.CustomerService|ia||java.io.Serializable|
+'''])
+        def classLoader = new URLClassLoader([jar.toUri().toURL()] as URL[], (ClassLoader) null)
+        def reader = new ClassIndexReader(new DefaultResourceLoader(classLoader), new CachingMetadataReaderFactory(classLoader))
+
+        when:
+
+        def readers = reader.scanPackage('com/company/app').toList()
+
+        then:
+
+        readers.size() == 2
+
+        with(readers[0].classMetadata) {
+            className == 'com.company.app.entity.Customer'
+            concrete
+            superClassName == 'java.lang.Object'
+            interfaceNames as List == ['io.jmix.core.Entity']
+        }
+        readers[0].annotationMetadata.hasAnnotation('jakarta.persistence.Entity')
+        readers[0].resource.URL.toString().endsWith('com/company/app/entity/Customer.class')
+        new EntityDetector().isCandidate(readers[0])
+
+        with(readers[1].classMetadata) {
+            className == 'com.company.app.service.CustomerService'
+            interface
+            !concrete
+            superClassName == null
+        }
+        !new EntityDetector().isCandidate(readers[1])
+    }
+
+    def "index of a directory is not used"() {
+        def packageDir = Files.createDirectories(root.resolve('com/company/app'))
+        Files.writeString(packageDir.resolve(ClassIndexReader.INDEX_FILE_NAME),
+                'com.company.app.entity.Customer||java.lang.Object||\n')
+        def classLoader = new URLClassLoader([root.toUri().toURL()] as URL[], (ClassLoader) null)
+        def reader = new ClassIndexReader(new DefaultResourceLoader(classLoader), new CachingMetadataReaderFactory(classLoader))
+
+        expect:
+
+        reader.scanPackage('com/company/app') == null
+    }
+
+    def "null is returned if no index exists"() {
+        Files.createDirectories(root.resolve('com/company/app'))
+        def classLoader = new URLClassLoader([root.toUri().toURL()] as URL[], (ClassLoader) null)
+        def reader = new ClassIndexReader(new DefaultResourceLoader(classLoader), new CachingMetadataReaderFactory(classLoader))
+
+        expect:
+
+        reader.scanPackage('com/company/app') == null
+    }
+
+    private Path createJar(Map<String, String> entries) {
+        def jar = root.resolve('test.jar')
+        new JarOutputStream(Files.newOutputStream(jar)).withCloseable { out ->
+            Set<String> dirs = new LinkedHashSet<>()
+            entries.keySet().each { name ->
+                for (int i = name.indexOf('/'); i >= 0; i = name.indexOf('/', i + 1)) {
+                    dirs << name.substring(0, i + 1)
+                }
+            }
+            // classpath roots of packages are found by directory entries
+            dirs.each { dir ->
+                out.putNextEntry(new JarEntry(dir))
+                out.closeEntry()
+            }
+            entries.each { name, content ->
+                out.putNextEntry(new JarEntry(name))
+                out.write(content.getBytes(StandardCharsets.UTF_8))
+                out.closeEntry()
+            }
+        }
+        return jar
+    }
+}
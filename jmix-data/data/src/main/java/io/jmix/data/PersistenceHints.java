@@ -53,6 +53,27 @@ public class PersistenceHints {
      */
     public static final String MSSQL_RECOMPILE_HINT = "jmix.mssql.recompile";
 
+    /**
+     * Defines a Jmix hint which limits counting of instances. If the hint is set, at most {@code value + 1}
+     * instances are counted, so a result greater than the hint value means that the real count is greater.
+     * <p>Usage examples:
+     * <pre>
+     *    loadContext.setHint(PersistenceHints.COUNT_LIMIT, 1000);
+     * </pre>
+     */
+    public static final String COUNT_LIMIT = "jmix.countLimit";
+
+    /**
+     * Defines a Jmix hint which allows to return the number of rows estimated by the database instead of
+     * the exact count. The estimate is used only for queries selecting all instances of an entity, if the DBMS
+     * supports it (see {@link io.jmix.data.persistence.DbmsFeatures#getRowCountEstimateQuery()}).
+     * <p>Usage examples:
+     * <pre>
+     *    loadContext.setHint(PersistenceHints.ESTIMATED_COUNT, true);
+     * </pre>
+     */
+    public static final String ESTIMATED_COUNT = "jmix.estimatedCount";
+
     public static boolean isSoftDeletion(EntityManager entityManager) {
         Boolean softDeletion = (Boolean) entityManager.getProperties().get(SOFT_DELETION);
         return softDeletion == null || softDeletion;
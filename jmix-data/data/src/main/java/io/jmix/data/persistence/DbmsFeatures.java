@@ -81,6 +81,15 @@ public interface DbmsFeatures {
         return null;
     }
 
+    /**
+     * @return native SQL query returning the number of rows of a table estimated by the DBMS, or null if estimates
+     * are not supported. The query takes the table name as the only parameter.
+     */
+    @Nullable
+    default String getRowCountEstimateQuery() {
+        return null;
+    }
+
 
     /**
      * Provides information about {@code jmix.data.dbmsType} and {@code jmix.data.dbmsVersion} this bean designed for. Version can be empty.
@@ -23,11 +23,118 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public class EclipselinkProperties {
     boolean queryCacheEnabled;
 
-    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled) {
+    /**
+     * Maximum number of entities referenced by many-to-one properties of entities loaded by one load context that
+     * are lazily loaded together by one query when one of the references is accessed. Values less than 2 disable
+     * batching.
+     */
+    int lazyLoadingBatchSize;
+
+    /**
+     * Maximum number of fetch group descriptions calculated for query and fetch plan combinations that are kept
+     * in memory. Zero disables caching.
+     */
+    long fetchGroupCacheSize;
+
+    /**
+     * Whether {@link io.jmix.core.event.EntityChangedEvent}s of the main data store entities are written to the
+     * outbox table in the saving transaction and delivered to listeners asynchronously after commit, instead of
+     * being published synchronously before commit.
+     */
+    boolean entityChangedEventOutboxEnabled;
+
+    /**
+     * Number of threads delivering outbox events. Events of the same entity instance are always delivered by the
+     * same thread in the order they were stored.
+     */
+    int entityChangedEventOutboxDispatchers;
+
+    /**
+     * Maximum number of outbox events delivered to listeners in one transaction.
+     */
+    int entityChangedEventOutboxBatchSize;
+
+    /**
+     * Interval in seconds of reading undelivered events from the outbox table and delivering them again. Events of
+     * an entity instance whose delivery has failed are suspended until this redelivery, so they are delivered in
+     * order. Zero disables redelivery, so undelivered events are delivered only on the next start.
+     */
+    int entityChangedEventOutboxRedeliveryIntervalSec;
+
+    /**
+     * Time in milliseconds during which entity cache invalidations are collected before being sent to other
+     * cluster members in one message. Zero sends each invalidation immediately.
+     */
+    int clusterCacheInvalidationDelay;
+
+    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled,
+                                 @DefaultValue("100") int lazyLoadingBatchSize,
+                                 @DefaultValue("1000") long fetchGroupCacheSize,
+                                 @DefaultValue("false") boolean entityChangedEventOutboxEnabled,
+                                 @DefaultValue("4") int entityChangedEventOutboxDispatchers,
+                                 @DefaultValue("100") int entityChangedEventOutboxBatchSize,
+                                 @DefaultValue("60") int entityChangedEventOutboxRedeliveryIntervalSec,
+                                 @DefaultValue("5") int clusterCacheInvalidationDelay) {
         this.queryCacheEnabled = queryCacheEnabled;
+        this.lazyLoadingBatchSize = lazyLoadingBatchSize;
+        this.fetchGroupCacheSize = fetchGroupCacheSize;
+        this.entityChangedEventOutboxEnabled = entityChangedEventOutboxEnabled;
+        this.entityChangedEventOutboxDispatchers = entityChangedEventOutboxDispatchers;
+        this.entityChangedEventOutboxBatchSize = entityChangedEventOutboxBatchSize;
+        this.entityChangedEventOutboxRedeliveryIntervalSec = entityChangedEventOutboxRedeliveryIntervalSec;
+        this.clusterCacheInvalidationDelay = clusterCacheInvalidationDelay;
     }
 
     public boolean isQueryCacheEnabled() {
         return queryCacheEnabled;
     }
+
+    /**
+     * @see #lazyLoadingBatchSize
+     */
+    public int getLazyLoadingBatchSize() {
+        return lazyLoadingBatchSize;
+    }
+
+    /**
+     * @see #fetchGroupCacheSize
+     */
+    public long getFetchGroupCacheSize() {
+        return fetchGroupCacheSize;
+    }
+
+    /**
+     * @see #entityChangedEventOutboxEnabled
+     */
+    public boolean isEntityChangedEventOutboxEnabled() {
+        return entityChangedEventOutboxEnabled;
+    }
+
+    /**
+     * @see #entityChangedEventOutboxDispatchers
+     */
+    public int getEntityChangedEventOutboxDispatchers() {
+        return entityChangedEventOutboxDispatchers;
+    }
+
+    /**
+     * @see #entityChangedEventOutboxBatchSize
+     */
+    public int getEntityChangedEventOutboxBatchSize() {
+        return entityChangedEventOutboxBatchSize;
+    }
+
+    /**
+     * @see #entityChangedEventOutboxRedeliveryIntervalSec
+     */
+    public int getEntityChangedEventOutboxRedeliveryIntervalSec() {
+        return entityChangedEventOutboxRedeliveryIntervalSec;
+    }
+
+    /**
+     * @see #clusterCacheInvalidationDelay
+     */
+    public int getClusterCacheInvalidationDelay() {
+        return clusterCacheInvalidationDelay;
+    }
 }
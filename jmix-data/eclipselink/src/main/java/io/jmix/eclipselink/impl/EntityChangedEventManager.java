@@ -60,6 +60,8 @@ public class EntityChangedEventManager {
     private ApplicationEventPublisher eventPublisher;
     @Autowired
     private ExtendedEntities extendedEntities;
+    @Autowired
+    private EntityChangedEventOutbox outbox;
 
     private EclipselinkPersistenceSupport persistenceSupport;
 
@@ -166,9 +168,29 @@ public class EntityChangedEventManager {
         return list;
     }
 
+    /**
+     * Publishes the events to listeners. If the outbox is enabled, events of the main data store entities are
+     * stored in the outbox of the current transaction and published after commit by {@link EntityChangedEventOutbox}.
+     */
     public void publish(Collection<EntityChangedEvent> events) {
         log.trace("publish {}", events);
-        for (EntityChangedEvent event : events) {
+        List<EntityChangedEvent<?>> outboxEvents = new ArrayList<>();
+        for (EntityChangedEvent<?> event : events) {
+            if (outbox.isApplicable(event)) {
+                outboxEvents.add(event);
+            }
+        }
+        Collection<? extends EntityChangedEvent> syncEvents = events;
+        if (!outboxEvents.isEmpty()) {
+            List<EntityChangedEvent<?>> rejected = outbox.store(outboxEvents);
+            Set<EntityChangedEvent<?>> stored = Collections.newSetFromMap(new IdentityHashMap<>());
+            stored.addAll(outboxEvents);
+            rejected.forEach(stored::remove);
+            syncEvents = events.stream()
+                    .filter(event -> !stored.contains(event))
+                    .toList();
+        }
+        for (EntityChangedEvent event : syncEvents) {
             eventPublisher.publishEvent(event);
         }
     }
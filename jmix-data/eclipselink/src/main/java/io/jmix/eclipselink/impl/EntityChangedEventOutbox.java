@@ -0,0 +1,627 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl;
+
+import com.google.common.collect.Iterables;
+import io.jmix.core.ExtendedEntities;
+import io.jmix.core.Id;
+import io.jmix.core.Metadata;
+import io.jmix.core.Stores;
+import io.jmix.core.event.AttributeChanges;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.utils.ObjectPathUtils;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.core.security.SecurityContextHelper;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.data.StoreAwareLocator;
+import io.jmix.eclipselink.EclipselinkProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for {@link EntityChangedEvent}s of the main data store entities.
+ * <p>
+ * When enabled by {@link EclipselinkProperties#isEntityChangedEventOutboxEnabled()}, events are written to the
+ * {@code JMIX_ENTITY_EVENT_OUTBOX} table in the transaction that changes the entities and are published to listeners
+ * after commit by a pool of dispatcher threads. Each dispatcher claims a batch of rows by setting their
+ * {@code CLAIM_TS}, publishes the events in its own transaction, so {@code @TransactionalEventListener}s are invoked
+ * relative to this transaction, and removes the rows only after the listeners of all transaction phases have
+ * succeeded. If a listener fails, including an after-commit one, the claim is released and the events are delivered
+ * again. A claim expires after {@link #CLAIM_TIMEOUT_MS}, so rows claimed by a stopped instance are delivered by
+ * others. Events are published on behalf of the user who has changed the entities. Events of the same entity instance
+ * are always handled by the same dispatcher, which preserves their order.
+ * <p>
+ * If a batch fails, its events are delivered one by one, so a failing listener affects only the events it fails on.
+ * When an event cannot be delivered after several attempts, it is left in the table and the following events of the
+ * same entity instance are suspended. The dispatchers periodically read such rows and rows left undelivered by other
+ * instances from the table and deliver them again in order, see
+ * {@link EclipselinkProperties#getEntityChangedEventOutboxRedeliveryIntervalSec()}. Rows left undelivered when the
+ * application was stopped are also delivered on the next start. Delivery is at-least-once, so listeners should be
+ * idempotent.
+ */
+@Component("eclipselink_EntityChangedEventOutbox")
+public class EntityChangedEventOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityChangedEventOutbox.class);
+
+    public static final String TABLE_NAME = "JMIX_ENTITY_EVENT_OUTBOX";
+
+    protected static final int MAX_DELIVERY_ATTEMPTS = 5;
+
+    protected static final long CLAIM_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
+
+    @Autowired
+    protected EclipselinkProperties properties;
+    @Autowired
+    protected StoreAwareLocator storeAwareLocator;
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+    @Autowired
+    protected SystemAuthenticator systemAuthenticator;
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+    @Autowired
+    protected Metadata metadata;
+    @Autowired
+    protected ExtendedEntities extendedEntities;
+    @Autowired
+    protected ApplicationContext applicationContext;
+
+    protected List<Dispatcher> dispatchers = Collections.emptyList();
+
+    // failures of transactional listeners of the events being delivered by the current dispatcher thread
+    protected final ThreadLocal<List<Throwable>> listenerFailures = new ThreadLocal<>();
+
+    protected AtomicLong orderCounter = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    protected volatile Timestamp startTime;
+
+    @PostConstruct
+    protected void init() {
+        if (!properties.isEntityChangedEventOutboxEnabled()) {
+            return;
+        }
+        int count = Math.max(1, properties.getEntityChangedEventOutboxDispatchers());
+        List<Dispatcher> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new Dispatcher(i));
+        }
+        dispatchers = list;
+        startTime = new Timestamp(System.currentTimeMillis());
+
+        int redeliveryInterval = properties.getEntityChangedEventOutboxRedeliveryIntervalSec();
+        if (redeliveryInterval > 0) {
+            for (Dispatcher dispatcher : dispatchers) {
+                dispatcher.executor.scheduleWithFixedDelay(dispatcher::redeliver,
+                        redeliveryInterval, redeliveryInterval, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        for (Dispatcher dispatcher : dispatchers) {
+            dispatcher.executor.shutdown();
+        }
+    }
+
+    /**
+     * Registers a callback on transactional event listeners to find out whether they have failed, because exceptions
+     * of after-commit and after-completion listeners are not propagated to the committing code.
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        if (dispatchers.isEmpty() || event.getApplicationContext() != applicationContext
+                || !(applicationContext instanceof AbstractApplicationContext context)) {
+            return;
+        }
+        TransactionalApplicationListener.SynchronizationCallback callback =
+                new TransactionalApplicationListener.SynchronizationCallback() {
+                    @Override
+                    public void postProcessEvent(ApplicationEvent applicationEvent, @Nullable Throwable ex) {
+                        List<Throwable> failures = listenerFailures.get();
+                        if (ex != null && failures != null) {
+                            failures.add(ex);
+                        }
+                    }
+                };
+        for (ApplicationListener<?> listener : context.getApplicationListeners()) {
+            if (listener instanceof TransactionalApplicationListener<?> transactionalListener) {
+                transactionalListener.addCallback(callback);
+            }
+        }
+    }
+
+    /**
+     * Delivers events left in the outbox by the previous run of the application.
+     */
+    @EventListener
+    public void onApplicationStarted(ApplicationStartedEvent event) {
+        if (dispatchers.isEmpty()) {
+            return;
+        }
+        List<OutboxRecord> records;
+        try {
+            records = loadRecords("CREATE_TS < ?", startTime);
+        } catch (RuntimeException e) {
+            log.error("Unable to read undelivered entity changed events from " + TABLE_NAME, e);
+            return;
+        }
+        if (!records.isEmpty()) {
+            log.info("Delivering {} entity changed events left in the outbox", records.size());
+            dispatch(records);
+        }
+    }
+
+    /**
+     * Returns true if the event can be stored in the outbox of the current transaction instead of being published
+     * synchronously.
+     */
+    public boolean isApplicable(EntityChangedEvent<?> event) {
+        if (dispatchers.isEmpty()) {
+            return false;
+        }
+        MetaClass metaClass = metadata.getClass(event.getEntityId().getEntityClass());
+        return Stores.MAIN.equals(metaClass.getStore().getName())
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getResource(storeAwareLocator.getDataSource(Stores.MAIN)) != null;
+    }
+
+    /**
+     * Writes the events to the outbox table in the current transaction and schedules their delivery after commit.
+     *
+     * @return events that cannot be serialized and should be published synchronously
+     */
+    public List<EntityChangedEvent<?>> store(Collection<EntityChangedEvent<?>> events) {
+        List<EntityChangedEvent<?>> rejected = new ArrayList<>();
+        List<OutboxRecord> records = new ArrayList<>(events.size());
+        Authentication authentication = currentAuthentication.isSet() ? currentAuthentication.getAuthentication() : null;
+        String username = authentication != null ? currentAuthentication.getUser().getUsername() : null;
+        for (EntityChangedEvent<?> event : events) {
+            byte[] payload;
+            try {
+                payload = serialize(event);
+            } catch (IOException e) {
+                log.debug("Cannot store {} in the outbox, publishing synchronously: {}", event, e.toString());
+                rejected.add(event);
+                continue;
+            }
+            records.add(new OutboxRecord(UUID.randomUUID(), orderCounter.incrementAndGet(),
+                    getEntityKey(event), payload, username, event, authentication));
+        }
+        if (records.isEmpty()) {
+            return rejected;
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        getJdbcTemplate().batchUpdate(
+                "insert into " + TABLE_NAME + " (ID, CREATE_TS, ORDER_NUM, ENTITY_KEY, PAYLOAD, USERNAME)"
+                        + " values (?, ?, ?, ?, ?, ?)",
+                records,
+                records.size(),
+                (ps, record) -> {
+                    ps.setString(1, record.id().toString());
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, record.orderNum());
+                    ps.setString(4, record.entityKey());
+                    ps.setBytes(5, record.payload());
+                    ps.setString(6, record.username());
+                });
+        log.trace("stored in outbox {}", records);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(records);
+            }
+        });
+        return rejected;
+    }
+
+    protected void dispatch(Collection<OutboxRecord> records) {
+        for (OutboxRecord record : records) {
+            getDispatcher(record.entityKey()).add(record);
+        }
+    }
+
+    protected Dispatcher getDispatcher(String entityKey) {
+        return dispatchers.get(Math.floorMod(entityKey.hashCode(), dispatchers.size()));
+    }
+
+    protected List<OutboxRecord> loadRecords(String condition, Object... args) {
+        return getJdbcTemplate().query(
+                "select ID, ORDER_NUM, ENTITY_KEY, PAYLOAD, USERNAME from " + TABLE_NAME
+                        + " where " + condition + " order by ORDER_NUM",
+                (rs, rowNum) -> new OutboxRecord(UUID.fromString(rs.getString(1)), rs.getLong(2), rs.getString(3),
+                        rs.getBytes(4), rs.getString(5), null, null),
+                args);
+    }
+
+    /**
+     * Publishes the events of the same user in one transaction and removes them from the outbox if all listeners
+     * have succeeded. Records claimed by another delivery are skipped.
+     *
+     * @throws RuntimeException if a listener has failed, the records are left in the outbox
+     */
+    protected void deliver(List<OutboxRecord> batch) {
+        List<OutboxRecord> claimed = claim(batch);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<Throwable> failures = new ArrayList<>();
+        listenerFailures.set(failures);
+        try {
+            runAs(claimed.get(0), () ->
+                    createTransactionTemplate().executeWithoutResult(status -> {
+                        for (OutboxRecord record : claimed) {
+                            EntityChangedEvent<?> event = record.event() != null ? record.event() : deserialize(record);
+                            log.trace("deliver {}", event);
+                            eventPublisher.publishEvent(event);
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            release(claimed);
+            throw e;
+        } finally {
+            listenerFailures.remove();
+        }
+
+        if (!failures.isEmpty()) {
+            release(claimed);
+            IllegalStateException exception = new IllegalStateException(
+                    "Transactional listener failed to handle entity changed events " + claimed, failures.get(0));
+            failures.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+
+        createTransactionTemplate().executeWithoutResult(status ->
+                updateRecords("delete from " + TABLE_NAME + " where ID = ?", claimed));
+    }
+
+    /**
+     * Marks the records as being delivered if they are not claimed by another delivery or the claim has expired.
+     *
+     * @return claimed records
+     */
+    protected List<OutboxRecord> claim(List<OutboxRecord> batch) {
+        long now = System.currentTimeMillis();
+        Timestamp claimTs = new Timestamp(now);
+        Timestamp expiredTs = new Timestamp(now - CLAIM_TIMEOUT_MS);
+        int[] counts = createTransactionTemplate().execute(status -> getJdbcTemplate().batchUpdate(
+                "update " + TABLE_NAME + " set CLAIM_TS = ? where ID = ? and (CLAIM_TS is null or CLAIM_TS < ?)",
+                batch,
+                batch.size(),
+                (ps, record) -> {
+                    ps.setTimestamp(1, claimTs);
+                    ps.setString(2, record.id().toString());
+                    ps.setTimestamp(3, expiredTs);
+                })[0]);
+
+        List<OutboxRecord> claimed = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts == null || i >= counts.length || counts[i] != 0) {
+                claimed.add(batch.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Releases the claim of the records, so they can be delivered again.
+     */
+    protected void release(List<OutboxRecord> records) {
+        try {
+            createTransactionTemplate().executeWithoutResult(status ->
+                    updateRecords("update " + TABLE_NAME + " set CLAIM_TS = null where ID = ?", records));
+        } catch (RuntimeException e) {
+            log.error("Unable to release entity changed events " + records + ", they will be delivered again after "
+                    + "the claim expires", e);
+        }
+    }
+
+    protected void updateRecords(String sql, List<OutboxRecord> records) {
+        getJdbcTemplate().batchUpdate(sql, records, records.size(),
+                (ps, record) -> ps.setString(1, record.id().toString()));
+    }
+
+    protected TransactionTemplate createTransactionTemplate() {
+        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+
+    /**
+     * Runs the operation on behalf of the user who has stored the record: with the saved authentication if the record
+     * is delivered by the instance that has stored it, otherwise by the username. The system authentication is used
+     * if the record is stored without authentication or the user cannot be authenticated.
+     */
+    protected void runAs(OutboxRecord record, Runnable operation) {
+        if (record.authentication() != null) {
+            Authentication previous = SecurityContextHelper.getAuthentication();
+            SecurityContextHelper.setAuthentication(record.authentication());
+            try {
+                operation.run();
+            } finally {
+                SecurityContextHelper.setAuthentication(previous);
+            }
+            return;
+        }
+
+        if (record.username() != null) {
+            try {
+                systemAuthenticator.begin(record.username());
+            } catch (AuthenticationException e) {
+                log.warn("Unable to authenticate as {} to deliver entity changed events, using system authentication: {}",
+                        record.username(), e.toString());
+                systemAuthenticator.begin();
+            }
+        } else {
+            systemAuthenticator.begin();
+        }
+        try {
+            operation.run();
+        } finally {
+            systemAuthenticator.end();
+        }
+    }
+
+    protected JdbcTemplate getJdbcTemplate() {
+        return storeAwareLocator.getJdbcTemplate(Stores.MAIN);
+    }
+
+    protected String getEntityKey(EntityChangedEvent<?> event) {
+        Id<?> entityId = event.getEntityId();
+        return metadata.getClass(entityId.getEntityClass()).getName() + "-" + entityId.getValue();
+    }
+
+    protected byte[] serialize(EntityChangedEvent<?> event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeUTF(metadata.getClass(event.getEntityId().getEntityClass()).getName());
+            out.writeObject(event.getEntityId().getValue());
+            out.writeByte(event.getType().ordinal());
+            AttributeChanges changes = event.getChanges();
+            Set<String> attributes = changes.getAttributes();
+            out.writeInt(attributes.size());
+            for (String attribute : attributes) {
+                out.writeUTF(attribute);
+                out.writeObject(changes.getOldValue(attribute));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected EntityChangedEvent<?> deserialize(OutboxRecord record) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(record.payload()))) {
+            MetaClass metaClass = metadata.getClass(in.readUTF());
+            Object idValue = in.readObject();
+            EntityChangedEvent.Type type = EntityChangedEvent.Type.values()[in.readByte()];
+            int count = in.readInt();
+            Map<String, Object> oldValues = new LinkedHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                String attribute = in.readUTF();
+                oldValues.put(attribute, in.readObject());
+            }
+            return new EntityChangedEvent(this, Id.of(idValue, metaClass.getJavaClass()), type,
+                    buildChanges(oldValues).build(), extendedEntities.getOriginalOrThisMetaClass(metaClass));
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot read entity changed event " + record.id() + " from the outbox", e);
+        }
+    }
+
+    protected AttributeChanges.Builder buildChanges(Map<String, Object> oldValues) {
+        AttributeChanges.Builder builder = AttributeChanges.Builder.create();
+        Map<String, Map<String, Object>> embedded = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : oldValues.entrySet()) {
+            String attribute = entry.getKey();
+            int dot = ObjectPathUtils.isSpecialPath(attribute) ? -1 : attribute.indexOf('.');
+            if (dot < 0) {
+                builder.withChange(attribute, entry.getValue());
+            } else {
+                embedded.computeIfAbsent(attribute.substring(0, dot), name -> new LinkedHashMap<>())
+                        .put(attribute.substring(dot + 1), entry.getValue());
+            }
+        }
+        embedded.forEach((name, nestedValues) -> builder.withEmbedded(name, buildChanges(nestedValues)));
+        return builder;
+    }
+
+    /**
+     * Row of the outbox table. The event and the authentication of the user are available when the record is
+     * delivered by the instance that has stored it.
+     */
+    protected record OutboxRecord(UUID id, long orderNum, String entityKey, byte[] payload,
+                                  @Nullable String username,
+                                  @Nullable EntityChangedEvent<?> event,
+                                  @Nullable Authentication authentication) {
+
+        @Override
+        public String toString() {
+            return "OutboxRecord{id=" + id + ", entityKey=" + entityKey + '}';
+        }
+    }
+
+    /**
+     * Single-threaded queue of events. Events are taken from the queue in batches. Events of a failed batch are
+     * delivered one by one, and if an event cannot be delivered, the following events of the same entity instance
+     * are skipped until redelivery, so events put to the same dispatcher are delivered in order.
+     * <p>
+     * Redelivery runs in the thread of the dispatcher, so it does not interleave with delivering queued events.
+     */
+    protected class Dispatcher {
+
+        protected final LinkedBlockingQueue<OutboxRecord> queue = new LinkedBlockingQueue<>();
+        protected final ScheduledExecutorService executor;
+        // accessed only by the dispatcher thread
+        protected final Set<String> suspendedKeys = new HashSet<>();
+
+        protected Dispatcher(int index) {
+            AtomicInteger threadCounter = new AtomicInteger();
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable,
+                        "EntityChangedEventOutbox-" + index + "-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        protected void add(OutboxRecord record) {
+            queue.add(record);
+            if (!executor.isShutdown()) {
+                executor.execute(this::drain);
+            }
+        }
+
+        protected void drain() {
+            int batchSize = Math.max(1, properties.getEntityChangedEventOutboxBatchSize());
+            List<OutboxRecord> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                deliverAll(batch);
+                batch.clear();
+            }
+        }
+
+        /**
+         * Delivers rows left in the table: rows of suspended entity instances and rows older than the redelivery
+         * interval, for example left by another instance of the application.
+         */
+        protected void redeliver() {
+            try {
+                Map<UUID, OutboxRecord> records = new HashMap<>();
+                for (List<String> keys : Iterables.partition(suspendedKeys, 100)) {
+                    String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+                    for (OutboxRecord record : loadRecords("ENTITY_KEY in (" + placeholders + ")", keys.toArray())) {
+                        records.put(record.id(), record);
+                    }
+                }
+                Timestamp threshold = new Timestamp(System.currentTimeMillis()
+                        - TimeUnit.SECONDS.toMillis(properties.getEntityChangedEventOutboxRedeliveryIntervalSec()));
+                for (OutboxRecord record : loadRecords("CREATE_TS < ?", threshold)) {
+                    if (getDispatcher(record.entityKey()) == this) {
+                        records.put(record.id(), record);
+                    }
+                }
+                suspendedKeys.clear();
+                if (!records.isEmpty()) {
+                    List<OutboxRecord> list = new ArrayList<>(records.values());
+                    list.sort(Comparator.comparingLong(OutboxRecord::orderNum));
+                    log.debug("Redelivering {} entity changed events", list.size());
+                    deliverAll(list);
+                }
+            } catch (RuntimeException e) {
+                log.error("Unable to redeliver entity changed events from " + TABLE_NAME, e);
+            }
+        }
+
+        /**
+         * Delivers the records in order, each sequence of records of the same user in one transaction.
+         */
+        protected void deliverAll(List<OutboxRecord> records) {
+            List<OutboxRecord> batch = new ArrayList<>();
+            for (OutboxRecord record : records) {
+                if (suspendedKeys.contains(record.entityKey())) {
+                    log.debug("Delivery of {} is suspended", record);
+                    continue;
+                }
+                if (!batch.isEmpty() && !Objects.equals(batch.get(0).username(), record.username())) {
+                    deliverBatch(batch);
+                    batch = new ArrayList<>();
+                }
+                batch.add(record);
+            }
+            if (!batch.isEmpty()) {
+                deliverBatch(batch);
+            }
+        }
+
+        protected void deliverBatch(List<OutboxRecord> batch) {
+            if (batch.size() > 1) {
+                try {
+                    deliver(batch);
+                    return;
+                } catch (RuntimeException e) {
+                    log.warn("Unable to deliver entity changed events {}, delivering them one by one: {}",
+                            batch, e.toString());
+                }
+            }
+            for (OutboxRecord record : batch) {
+                if (suspendedKeys.contains(record.entityKey())) {
+                    continue;
+                }
+                if (!deliverWithRetries(record)) {
+                    suspendedKeys.add(record.entityKey());
+                }
+            }
+        }
+
+        protected boolean deliverWithRetries(OutboxRecord record) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    deliver(Collections.singletonList(record));
+                    return true;
+                } catch (RuntimeException e) {
+                    if (attempt >= MAX_DELIVERY_ATTEMPTS) {
+                        log.error("Unable to deliver entity changed event {}, events of the entity are suspended " +
+                                "until redelivery", record, e);
+                        return false;
+                    }
+                    log.warn("Unable to deliver entity changed event {}, attempt {}: {}", record, attempt, e.toString());
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(100L << attempt);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+        }
+    }
+}
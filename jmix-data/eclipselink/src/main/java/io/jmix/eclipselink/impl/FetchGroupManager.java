@@ -16,6 +16,8 @@
 
 package io.jmix.eclipselink.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -24,6 +26,7 @@ import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.QueryParser;
 import io.jmix.data.QueryTransformerFactory;
+import io.jmix.eclipselink.EclipselinkProperties;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.jpa.JpaQuery;
@@ -33,9 +36,12 @@ import org.eclipse.persistence.queries.LoadGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.lang.Nullable;
 import java.lang.reflect.Method;
 import java.util.*;
@@ -64,6 +70,26 @@ public class FetchGroupManager {
     @Autowired
     private FetchPlans fetchPlans;
 
+    @Autowired
+    private EclipselinkProperties properties;
+
+    private Cache<FetchGroupKey, FetchGroupDescription> fetchGroupCache;
+
+    @PostConstruct
+    protected void init() {
+        fetchGroupCache = CacheBuilder.newBuilder()
+                .maximumSize(properties.getFetchGroupCacheSize())
+                .build();
+    }
+
+    /**
+     * Clears cached fetch group descriptions, because they depend on metadata and fetch plans.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void clearCache() {
+        fetchGroupCache.invalidateAll();
+    }
+
     public void setFetchPlan(JpaQuery query, String queryString, @Nullable FetchPlan fetchPlan, boolean singleResultExpected) {
         Preconditions.checkNotNullArgument(query, "query is null");
         if (fetchPlan != null) {
@@ -133,10 +159,27 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Returns the fetch group description for the given query and fetch plan. Descriptions are cached, so the
+     * returned instance must not be modified.
+     */
     public FetchGroupDescription calculateFetchGroup(String queryString,
                                                      FetchPlan fetchPlan,
                                                      boolean singleResultExpected,
                                                      boolean useFetchGroup) {
+        FetchGroupKey key = new FetchGroupKey(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        FetchGroupDescription description = fetchGroupCache.getIfPresent(key);
+        if (description == null) {
+            description = doCalculateFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+            fetchGroupCache.put(key, description);
+        }
+        return description;
+    }
+
+    protected FetchGroupDescription doCalculateFetchGroup(String queryString,
+                                                          FetchPlan fetchPlan,
+                                                          boolean singleResultExpected,
+                                                          boolean useFetchGroup) {
         Set<FetchGroupField> fetchGroupFields = new LinkedHashSet<>();
 
         fetchPlan = completeFetchPlan(fetchPlan);
@@ -678,4 +721,8 @@ public class FetchGroupManager {
 
     }
 
+
+    protected record FetchGroupKey(String queryString, FetchPlan fetchPlan,
+                                   boolean singleResultExpected, boolean useFetchGroup) {
+    }
 }
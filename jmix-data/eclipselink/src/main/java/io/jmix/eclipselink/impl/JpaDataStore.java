@@ -26,6 +26,7 @@ import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.data.DataProperties;
+import io.jmix.data.JmixQuery;
 import io.jmix.data.PersistenceHints;
 import io.jmix.data.QueryTransformerFactory;
 import io.jmix.data.StoreAwareLocator;
@@ -37,6 +38,7 @@ import io.jmix.data.impl.JpqlQueryBuilder;
 import io.jmix.data.impl.QueryResultsManager;
 import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.eclipselink.impl.lazyloading.LazyLoadingContext;
+import io.jmix.eclipselink.persistence.AdditionalCriteriaProvider;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.*;
 import org.apache.commons.lang3.StringUtils;
@@ -124,6 +126,11 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
 
     protected static final AtomicLong txCount = new AtomicLong();
 
+    protected static final Pattern ALL_INSTANCES_QUERY_PATTERN =
+            Pattern.compile("select\\s+(\\w+)\\s+from\\s+([\\w$]+)\\s+\\1", Pattern.CASE_INSENSITIVE);
+    protected static final Pattern RESTRICTED_QUERY_PATTERN =
+            Pattern.compile("\\b(where|join|group|having)\\b", Pattern.CASE_INSENSITIVE);
+
     @Override
     public String getName() {
         return storeName;
@@ -214,12 +221,89 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         EntityManager em = storeAwareLocator.getEntityManager(storeName);
         em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
 
+        Number countLimit = (Number) context.getHints().get(PersistenceHints.COUNT_LIMIT);
+        if (countLimit != null && countLimit.intValue() > 0) {
+            return countLimited(em, context, countLimit.intValue());
+        }
+
         Query query = createQuery(em, context, true);
+
+        if (Boolean.TRUE.equals(context.getHints().get(PersistenceHints.ESTIMATED_COUNT))) {
+            Long estimate = estimateCount(em, context, (JmixQuery<?>) query);
+            if (estimate != null) {
+                return estimate;
+            }
+        }
+
         Number result = (Number) query.getSingleResult();
 
         return result.longValue();
     }
 
+    /**
+     * Loads identifiers of at most {@code countLimit + 1} instances instead of counting all of them.
+     */
+    protected long countLimited(EntityManager em, LoadContext<?> context, int countLimit) {
+        LoadContext<?> limitedContext = context.copy();
+        limitedContext.setFetchPlan(fetchPlans.builder(context.getEntityMetaClass().getJavaClass()).build());
+        limitedContext.setLoadPartialEntities(true);
+        if (limitedContext.getQuery() != null) {
+            limitedContext.getQuery()
+                    .setSort(Sort.UNSORTED)
+                    .setFirstResult(0)
+                    .setMaxResults(countLimit + 1);
+        }
+
+        Query query = createQuery(em, limitedContext, false);
+        return query.getResultList().size();
+    }
+
+    /**
+     * Returns the number of rows estimated by the database if the query selects all instances of an entity
+     * stored in its own table and not restricted by additional criteria, e.g. soft deletion or tenant.
+     *
+     * @return estimated count or null if it cannot be estimated
+     */
+    @Nullable
+    protected Long estimateCount(EntityManager em, LoadContext<?> context, JmixQuery<?> countQuery) {
+        String estimateQuery = dbmsSpecifics.getDbmsFeatures(storeName).getRowCountEstimateQuery();
+        LoadContext.Query contextQuery = context.getQuery();
+        // conditions and row-level policies restrict the query, so the estimate of the whole table is not suitable
+        if (estimateQuery == null || contextQuery == null || contextQuery.getCondition() != null
+                || RESTRICTED_QUERY_PATTERN.matcher(countQuery.getQueryString()).find()) {
+            return null;
+        }
+
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        Matcher matcher = ALL_INSTANCES_QUERY_PATTERN.matcher(contextQuery.getQueryString().trim());
+        if (!matcher.matches() || !matcher.group(2).equals(metaClass.getName())
+                || metaClass.getAncestor() != null || !metaClass.getDescendants().isEmpty()
+                || hasAdditionalCriteria(metaClass.getJavaClass())) {
+            return null;
+        }
+
+        String table = metadataTools.getDatabaseTable(metaClass);
+        if (table == null) {
+            return null;
+        }
+
+        Object result = em.createNativeQuery(estimateQuery)
+                .setParameter(1, table.toLowerCase())
+                .getResultList().stream().findFirst().orElse(null);
+        // statistics of tables which have not been analyzed yet are not useful
+        if (result instanceof Number && ((Number) result).longValue() > 0) {
+            log.debug("Using estimated count {} of {}", result, metaClass.getName());
+            return ((Number) result).longValue();
+        }
+        return null;
+    }
+
+    protected boolean hasAdditionalCriteria(Class<?> entityClass) {
+        return metadataTools.isSoftDeletable(entityClass)
+                || applicationContext.getBeanProvider(AdditionalCriteriaProvider.class).stream()
+                .anyMatch(provider -> provider.requiresAdditionalCriteria(entityClass));
+    }
+
 
     @Override
     public Set<?> save(SaveContext context) {
@@ -347,6 +431,14 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         EntityManager em = storeAwareLocator.getEntityManager(storeName);
         em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
 
+        Number countLimit = (Number) context.getHints().get(PersistenceHints.COUNT_LIMIT);
+        if (countLimit != null && countLimit.intValue() > 0) {
+            Query query = createLoadQuery(em, context, false);
+            query.setFirstResult(0);
+            query.setMaxResults(countLimit.intValue() + 1);
+            return query.getResultList().size();
+        }
+
         Query query = createLoadQuery(em, context, true);
         Number result = (Number) query.getSingleResult();
 
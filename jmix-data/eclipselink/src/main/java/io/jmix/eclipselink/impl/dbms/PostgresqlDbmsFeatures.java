@@ -65,6 +65,12 @@ public class PostgresqlDbmsFeatures implements DbmsFeatures {
         return true;
     }
 
+    @Nullable
+    @Override
+    public String getRowCountEstimateQuery() {
+        return "select cast(reltuples as bigint) from pg_class where oid = to_regclass(?)";
+    }
+
     @Override
     public String getTypeAndVersion() {
         return "postgresql";
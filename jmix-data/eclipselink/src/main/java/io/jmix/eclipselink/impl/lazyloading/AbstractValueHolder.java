@@ -287,6 +287,20 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
 
     protected abstract void afterLoadValue(Object value);
 
+    /**
+     * Instantiates the holder with a value loaded outside of it, e.g. together with values of other holders.
+     * Does nothing if the holder is already instantiated.
+     */
+    protected void setLoadedValue(Object value) {
+        synchronized (this) {
+            if (!isInstantiated) {
+                this.value = value;
+                afterLoadValue(value);
+                isInstantiated = true;
+            }
+        }
+    }
+
     @Override
     public void setValue(Object value) {
         this.value = value;
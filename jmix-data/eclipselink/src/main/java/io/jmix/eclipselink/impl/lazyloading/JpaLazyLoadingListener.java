@@ -25,6 +25,7 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.PersistenceHints;
+import io.jmix.eclipselink.EclipselinkProperties;
 import jakarta.persistence.Basic;
 import jakarta.persistence.FetchType;
 import org.eclipse.persistence.expressions.Expression;
@@ -66,6 +67,8 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
     protected ExtendedEntities extendedEntities;
     @Autowired
     protected FetchPlans fetchPlans;
+    @Autowired
+    protected EclipselinkProperties eclipselinkProperties;
 
     @Override
     public void afterEntityLoad(DataStoreAfterEntityLoadEvent event) {
@@ -77,12 +80,24 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         if (fetchPlan == null) {
             fetchPlan = fetchPlanRepository.getFetchPlan(metaClass, FetchPlan.LOCAL);
         }
+        Map<MetaProperty, LazyLoadingBatch> batches = new HashMap<>();
         for (Object entity : event.getResultEntities()) {
-            processValueHolders(entity, context, fetchPlan);
+            processValueHolders(entity, context, fetchPlan, batches);
         }
     }
 
     public void processValueHolders(Object entity, LoadContext<?> loadContext, FetchPlan fetchPlan) {
+        processValueHolders(entity, loadContext, fetchPlan, new HashMap<>());
+    }
+
+    /**
+     * Installs lazy loading value holders for not loaded reference properties of the entity graph.
+     *
+     * @param batches groups of many-to-one holders shared between entities loaded by the same load context,
+     *                references of a group are loaded together when one of them is accessed
+     */
+    public void processValueHolders(Object entity, LoadContext<?> loadContext, FetchPlan fetchPlan,
+                                    Map<MetaProperty, LazyLoadingBatch> batches) {
         Map<Object, Set<FetchPlan>> collectedFetchPlans = new HashMap<>();
 
         if (fetchPlan != null) {
@@ -118,7 +133,7 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
                         } else if (property.getRange().getCardinality() == Range.Cardinality.ONE_TO_ONE) {
                             processOneToOneValueHolder(entry.getKey(), property, loadOptions);
                         } else if (property.getRange().getCardinality() == Range.Cardinality.MANY_TO_ONE) {
-                            processManyToOneValueHolder(entry.getKey(), property, loadOptions);
+                            processManyToOneValueHolder(entry.getKey(), property, loadOptions, batches);
                         }
                     }
                 }
@@ -188,7 +203,8 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         }
     }
 
-    protected void processManyToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions) {
+    protected void processManyToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions,
+                                               Map<MetaProperty, LazyLoadingBatch> batches) {
         Object originalValueHolder = getSingleValueHolder(owner, property.getName());
 
         if (originalValueHolder != null && !(originalValueHolder instanceof AbstractValueHolder)) {
@@ -202,12 +218,17 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
                     entityId = getEntityIdFromValueHolder(queryBasedValueHolder);
                 }
 
-                AbstractValueHolder wrappedValueHolder =
+                SingleValueOwningPropertyHolder wrappedValueHolder =
                         new SingleValueOwningPropertyHolder(beanFactory, (ValueHolderInterface) originalValueHolder,
                                 owner, property, entityId);
 
                 wrappedValueHolder.setLoadOptions(LoadOptions.with(loadOptions));
 
+                int batchSize = eclipselinkProperties.getLazyLoadingBatchSize();
+                if (batchSize > 1) {
+                    wrappedValueHolder.setBatch(batches.computeIfAbsent(property, p -> new LazyLoadingBatch(batchSize)));
+                }
+
                 setSingleValueHolder(owner, property.getName(), wrappedValueHolder);
             }
         }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl.lazyloading;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Group of {@link SingleValueOwningPropertyHolder}s created for the same reference property of sibling entities
+ * loaded by one {@link io.jmix.core.LoadContext}. When one of the holders is accessed, the references of other
+ * not yet instantiated holders of the group are loaded together with it by a single query.
+ * <p>
+ * Each entity is loaded once, but each holder gets its own instance, because loading links the instance to the owner
+ * of the holder, e.g. sets the owner to the inverse collection.
+ * <p>
+ * Holders are referenced weakly, so the group does not keep detached entities in memory.
+ */
+public class LazyLoadingBatch {
+
+    private final int batchSize;
+    private final List<WeakReference<SingleValueOwningPropertyHolder>> holders = new ArrayList<>();
+
+    LazyLoadingBatch(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    synchronized void add(SingleValueOwningPropertyHolder holder) {
+        holders.add(new WeakReference<>(holder));
+    }
+
+    /**
+     * Removes the initiator and not instantiated holders referencing up to {@code batchSize} entities including
+     * the entity of the initiator from the group and returns the latter. Claimed holders are never returned to
+     * another initiator, so concurrent loads of the same group do not wait for each other.
+     */
+    synchronized List<SingleValueOwningPropertyHolder> claim(SingleValueOwningPropertyHolder initiator) {
+        List<SingleValueOwningPropertyHolder> claimed = new ArrayList<>();
+        Set<Object> claimedIds = new HashSet<>();
+        claimedIds.add(initiator.getEntityId());
+        for (Iterator<WeakReference<SingleValueOwningPropertyHolder>> it = holders.iterator(); it.hasNext(); ) {
+            SingleValueOwningPropertyHolder holder = it.next().get();
+            if (holder == initiator) {
+                it.remove();
+            } else if (holder == null || holder.isInstantiated()) {
+                it.remove();
+            } else if (claimedIds.contains(holder.getEntityId())
+                    || (claimedIds.size() < batchSize && claimedIds.add(holder.getEntityId()))) {
+                claimed.add(holder);
+                it.remove();
+            }
+        }
+        return claimed;
+    }
+}
@@ -18,7 +18,9 @@ package io.jmix.eclipselink.impl.lazyloading;
 
 import io.jmix.core.LoadContext;
 import io.jmix.core.UuidProvider;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.core.impl.SerializationContext;
+import io.jmix.core.impl.StandardSerialization;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.data.PersistenceHints;
@@ -26,7 +28,7 @@ import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.springframework.beans.factory.BeanFactory;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.*;
 
 import static io.jmix.core.entity.EntitySystemAccess.getSecurityState;
 
@@ -34,6 +36,7 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
     private static final long serialVersionUID = 8740384435315015951L;
 
     protected final Object entityId;
+    protected transient LazyLoadingBatch batch;
 
     public SingleValueOwningPropertyHolder(BeanFactory beanFactory,
                                            ValueHolderInterface originalValueHolder,
@@ -49,16 +52,16 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
     }
 
     protected Object loadValue() {
-        MetaClass metaClass = getMetadata().getClass(getPropertyInfo().getJavaType());
-        LoadOptions loadOptions = getLoadOptions();
+        if (batch != null) {
+            List<SingleValueOwningPropertyHolder> claimed = batch.claim(this);
+            batch = null;
+            if (!claimed.isEmpty()) {
+                return loadValueWithBatch(claimed);
+            }
+        }
 
-        LoadContext<?> loadContext = new LoadContext<>(metaClass)
-                .setId(getEntityId())
-                .setHints(loadOptions.getHintsCopy())
-                .setHint(PREV_SOFT_DELETION,
-                        getLoadOptions().getHints().getOrDefault(PersistenceHints.SOFT_DELETION, SOFT_DELETION_ABSENT))
-                .setHint(PersistenceHints.SOFT_DELETION, false)
-                .setAccessConstraints(loadOptions.getAccessConstraints());
+        LoadContext<?> loadContext = createLoadContext()
+                .setId(getEntityId());
 
         Object value = getDataManager().load(loadContext);
 
@@ -69,6 +72,81 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
         return value;
     }
 
+    /**
+     * Loads the reference of this holder together with references of the given holders by one query and
+     * passes the loaded instances to them. Holders referencing the same entity get copies of the loaded instance,
+     * so that each instance is linked to the owner of one holder only.
+     */
+    protected Object loadValueWithBatch(List<SingleValueOwningPropertyHolder> holders) {
+        Set<Object> ids = new LinkedHashSet<>();
+        ids.add(getEntityId());
+        for (SingleValueOwningPropertyHolder holder : holders) {
+            ids.add(holder.getEntityId());
+        }
+
+        LoadContext<?> loadContext = createLoadContext()
+                .setIds(ids);
+
+        Map<Object, Object> entitiesById = new HashMap<>();
+        for (Object entity : getDataManager().loadList(loadContext)) {
+            entitiesById.put(EntityValues.getId(entity), entity);
+        }
+
+        // copies are made before the loaded instances are linked to owners
+        Set<Object> assignedIds = new HashSet<>();
+        assignedIds.add(getEntityId());
+        Map<SingleValueOwningPropertyHolder, Object> holderValues = new LinkedHashMap<>();
+        for (SingleValueOwningPropertyHolder holder : holders) {
+            Object holderValue = entitiesById.get(holder.getEntityId());
+            if (holderValue != null && !assignedIds.add(holder.getEntityId())) {
+                holderValue = copyLoadedValue(holderValue);
+            }
+            holderValues.put(holder, holderValue);
+        }
+
+        for (Map.Entry<SingleValueOwningPropertyHolder, Object> entry : holderValues.entrySet()) {
+            SingleValueOwningPropertyHolder holder = entry.getKey();
+            if (entry.getValue() == null) {
+                getSecurityState(holder.getOwner()).addErasedId(holder.getPropertyInfo().getName(), holder.getEntityId());
+            }
+            holder.setLoadedValue(entry.getValue());
+        }
+
+        Object value = entitiesById.get(getEntityId());
+        if (value == null) {
+            getSecurityState(getOwner()).addErasedId(getPropertyInfo().getName(), getEntityId());
+        }
+        return value;
+    }
+
+    /**
+     * Creates a copy of the loaded instance including its system state and lazy loading state.
+     */
+    protected Object copyLoadedValue(Object value) {
+        StandardSerialization serialization = beanFactory.getBean(StandardSerialization.class);
+        return serialization.deserialize(serialization.serialize(value));
+    }
+
+    protected LoadContext<?> createLoadContext() {
+        MetaClass metaClass = getMetadata().getClass(getPropertyInfo().getJavaType());
+        LoadOptions loadOptions = getLoadOptions();
+
+        return new LoadContext<>(metaClass)
+                .setHints(loadOptions.getHintsCopy())
+                .setHint(PREV_SOFT_DELETION,
+                        getLoadOptions().getHints().getOrDefault(PersistenceHints.SOFT_DELETION, SOFT_DELETION_ABSENT))
+                .setHint(PersistenceHints.SOFT_DELETION, false)
+                .setAccessConstraints(loadOptions.getAccessConstraints());
+    }
+
+    /**
+     * Includes the holder into a group of holders whose references are loaded together.
+     */
+    void setBatch(LazyLoadingBatch batch) {
+        this.batch = batch;
+        batch.add(this);
+    }
+
     protected Object convertId(Object entityId, MetaClass metaClass) {
         MetaProperty primaryKeyProperty = getMetadataTools().getPrimaryKeyProperty(metaClass);
         if (primaryKeyProperty != null && UUID.class.equals(primaryKeyProperty.getJavaType())) {
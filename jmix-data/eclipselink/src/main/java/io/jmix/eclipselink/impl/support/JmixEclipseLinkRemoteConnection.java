@@ -21,27 +21,68 @@ import io.jmix.core.Metadata;
 import io.jmix.core.common.util.ReflectionHelper;
 import io.jmix.core.impl.StandardSerialization;
 import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.eclipselink.EclipselinkProperties;
 import io.jmix.eclipselink.impl.entitycache.QueryCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
 import org.eclipse.persistence.internal.helper.Helper;
+import org.eclipse.persistence.internal.identitymaps.CacheId;
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet;
 import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet;
 import org.eclipse.persistence.internal.sessions.coordination.broadcast.BroadcastRemoteConnection;
+import org.eclipse.persistence.sessions.IdentityMapAccessor;
+import org.eclipse.persistence.sessions.Session;
 import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand;
 import org.eclipse.persistence.sessions.coordination.RemoteCommandManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Propagates EclipseLink cache coordination commands through {@link EclipseLinkChannelSupplier}.
+ * <p>
+ * Commands that only invalidate changed objects are not sent one by one. Their entity class names and ids are
+ * collected for {@link EclipselinkProperties#getClusterCacheInvalidationDelay()} milliseconds, deduplicated and sent
+ * in one message of a compact binary format. Classes of inserted objects are sent in the same message, so that query
+ * caches of other instances are invalidated. Other commands are sent using {@link StandardSerialization}.
+ */
 @Component("eclipselink_JmixEclipseLinkRemoteConnection")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
 
+    private static final Logger log = LoggerFactory.getLogger(JmixEclipseLinkRemoteConnection.class);
+
+    protected static final byte BATCH_FORMAT_MARKER = 0x4A;
+    protected static final byte BATCH_FORMAT_VERSION = 2;
+
+    protected static final byte OP_INVALIDATE = 0;
+    protected static final byte OP_REMOVE = 1;
+    protected static final byte OP_INVALIDATE_TYPE = 2;
+
+    protected static final byte KEY_NONE = 0;
+    protected static final byte KEY_STRING = 1;
+    protected static final byte KEY_LONG = 2;
+    protected static final byte KEY_INTEGER = 3;
+    protected static final byte KEY_UUID = 4;
+    protected static final byte KEY_COMPOSITE = 5;
+
+    protected static final String BATCH_COMMANDS_METRIC = "jmix.eclipselink.cache.invalidation.batch.commands";
+    protected static final String BATCH_KEYS_METRIC = "jmix.eclipselink.cache.invalidation.batch.keys";
+    protected static final String LAG_METRIC = "jmix.eclipselink.cache.invalidation.lag";
+
     @Autowired
     protected Metadata metadata;
     @Autowired
@@ -52,6 +93,16 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
     protected EclipseLinkChannelSupplier channelSupplier;
     @Autowired
     protected StandardSerialization serialization;
+    @Autowired
+    protected EclipselinkProperties properties;
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    protected final Object batchLock = new Object();
+    protected Set<InvalidationKey> pendingInvalidations = new LinkedHashSet<>();
+    protected int pendingCommands;
+    protected long pendingSince;
+    protected ScheduledExecutorService flushExecutor;
 
     public JmixEclipseLinkRemoteConnection(RemoteCommandManager rcm) {
         super(rcm);
@@ -69,6 +120,13 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
                 close();
                 throw ex;
             }
+            if (properties.getClusterCacheInvalidationDelay() > 0) {
+                flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "JmixEclipseLinkRemoteConnection-flush");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
         }
     }
 
@@ -88,8 +146,14 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
         }
 
         if (channelSupplier != null) {
-            Message<?> message = MessageBuilder.withPayload(serialization.serialize(command)).build();
-            channelSupplier.get().send(message);
+            List<InvalidationKey> invalidations = getInvalidations(command);
+            if (invalidations != null) {
+                addInvalidations(invalidations);
+            } else {
+                // send pending invalidations first to keep the order of commands
+                flushInvalidations();
+                send(serialization.serialize(command));
+            }
         }
 
         if (debugInfo != null) {
@@ -104,7 +168,13 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
             logDebugOnReceiveMessage(null);
         }
 
-        Object command = serialization.deserialize((byte[]) message.getPayload());
+        byte[] bytes = (byte[]) message.getPayload();
+        if (bytes.length > 0 && bytes[0] == BATCH_FORMAT_MARKER) {
+            onInvalidationBatch(bytes);
+            return;
+        }
+
+        Object command = serialization.deserialize(bytes);
         if (queryCacheManager.isEnabled()) {
             invalidateQueryCache(command);
         }
@@ -118,6 +188,10 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
 
     @Override
     protected void closeInternal() {
+        if (flushExecutor != null) {
+            flushInvalidations();
+            flushExecutor.shutdown();
+        }
     }
 
     @Override
@@ -130,21 +204,297 @@ public class JmixEclipseLinkRemoteConnection extends BroadcastRemoteConnection {
         return false;
     }
 
+    protected void send(byte[] payload) {
+        Message<?> message = MessageBuilder.withPayload(payload).build();
+        channelSupplier.get().send(message);
+    }
+
     protected void invalidateQueryCache(Object command) {
         if (command instanceof MergeChangeSetCommand) {
             MergeChangeSetCommand changeSetCommand = (MergeChangeSetCommand) command;
             UnitOfWorkChangeSet changeSet = changeSetCommand.getChangeSet(null);
             if (changeSet != null && changeSet.getAllChangeSets() != null) {
                 Set<String> typeNames = new HashSet<>();
-                changeSet.getAllChangeSets().values().stream().filter(obj -> obj.getClassName() != null).forEach(obj -> {
-                    MetaClass metaClass = metadata.findClass(ReflectionHelper.getClass(obj.getClassName()));
-                    if (metaClass != null) {
-                        metaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
-                        typeNames.add(metaClass.getName());
-                    }
-                });
+                changeSet.getAllChangeSets().values().stream().filter(obj -> obj.getClassName() != null).forEach(obj ->
+                        addTypeName(typeNames, obj.getClassName()));
                 queryCacheManager.invalidate(typeNames);
             }
         }
     }
+
+    protected void addTypeName(Set<String> typeNames, String className) {
+        MetaClass metaClass = metadata.findClass(ReflectionHelper.getClass(className));
+        if (metaClass != null) {
+            metaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
+            typeNames.add(metaClass.getName());
+        }
+    }
+
+    /**
+     * Returns cache keys invalidated by the command, or null if the command cannot be represented by invalidations
+     * of the compact format and must be sent as is.
+     */
+    @Nullable
+    protected List<InvalidationKey> getInvalidations(Object command) {
+        if (!(command instanceof MergeChangeSetCommand)) {
+            return null;
+        }
+        UnitOfWorkChangeSet changeSet = ((MergeChangeSetCommand) command).getChangeSet(null);
+        if (changeSet == null) {
+            return null;
+        }
+        List<InvalidationKey> keys = new ArrayList<>();
+        if (changeSet.getAllChangeSets() != null) {
+            for (ObjectChangeSet objectChangeSet : changeSet.getAllChangeSets().values()) {
+                if (objectChangeSet.isNew()) {
+                    // new objects are not in the identity maps of other instances, but can change query results
+                    if (objectChangeSet.getClassName() != null) {
+                        keys.add(new InvalidationKey(objectChangeSet.getClassName(), null, OP_INVALIDATE_TYPE));
+                    }
+                    continue;
+                }
+                if (!addInvalidationKey(keys, objectChangeSet, OP_INVALIDATE)) {
+                    return null;
+                }
+            }
+        }
+        if (changeSet.getDeletedObjects() != null) {
+            for (ObjectChangeSet objectChangeSet : changeSet.getDeletedObjects().values()) {
+                if (!addInvalidationKey(keys, objectChangeSet, OP_REMOVE)) {
+                    return null;
+                }
+            }
+        }
+        return keys;
+    }
+
+    protected boolean addInvalidationKey(List<InvalidationKey> keys, ObjectChangeSet objectChangeSet, byte operation) {
+        if (objectChangeSet.getClassName() == null
+                || objectChangeSet.getSynchronizationType() != ClassDescriptor.INVALIDATE_CHANGED_OBJECTS
+                || !isSupportedKeyValue(objectChangeSet.getId())) {
+            return false;
+        }
+        keys.add(new InvalidationKey(objectChangeSet.getClassName(), objectChangeSet.getId(), operation));
+        return true;
+    }
+
+    protected void addInvalidations(List<InvalidationKey> invalidations) {
+        boolean flushNow;
+        synchronized (batchLock) {
+            if (pendingCommands == 0) {
+                pendingSince = System.currentTimeMillis();
+                if (flushExecutor != null) {
+                    flushExecutor.schedule(this::flushInvalidations,
+                            properties.getClusterCacheInvalidationDelay(), TimeUnit.MILLISECONDS);
+                }
+            }
+            pendingCommands++;
+            for (InvalidationKey key : invalidations) {
+                // removal replaces invalidation of the same object regardless of the order
+                if (key.operation() == OP_REMOVE) {
+                    pendingInvalidations.remove(new InvalidationKey(key.className(), key.id(), OP_INVALIDATE));
+                } else if (pendingInvalidations.contains(new InvalidationKey(key.className(), key.id(), OP_REMOVE))) {
+                    continue;
+                }
+                pendingInvalidations.add(key);
+            }
+            flushNow = flushExecutor == null;
+        }
+        if (flushNow) {
+            flushInvalidations();
+        }
+    }
+
+    protected void flushInvalidations() {
+        Set<InvalidationKey> invalidations;
+        int commands;
+        long since;
+        synchronized (batchLock) {
+            if (pendingCommands == 0) {
+                return;
+            }
+            invalidations = pendingInvalidations;
+            commands = pendingCommands;
+            since = pendingSince;
+            pendingInvalidations = new LinkedHashSet<>();
+            pendingCommands = 0;
+        }
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        try {
+            send(encodeInvalidations(invalidations, commands, since));
+            log.debug("Sent {} cache invalidations of {} commands", invalidations.size(), commands);
+        } catch (RuntimeException e) {
+            log.error("Unable to send cache invalidations", e);
+        }
+    }
+
+    protected void onInvalidationBatch(byte[] bytes) {
+        InvalidationBatch batch = decodeInvalidations(bytes);
+
+        meterRegistry.summary(BATCH_COMMANDS_METRIC).record(batch.commands());
+        meterRegistry.summary(BATCH_KEYS_METRIC).record(batch.keys().size());
+        meterRegistry.timer(LAG_METRIC)
+                .record(Math.max(0, System.currentTimeMillis() - batch.since()), TimeUnit.MILLISECONDS);
+
+        IdentityMapAccessor accessor = ((Session) rcm.getCommandProcessor()).getIdentityMapAccessor();
+        Set<String> classNames = new HashSet<>();
+        for (InvalidationKey key : batch.keys()) {
+            Class<?> javaClass = ReflectionHelper.getClass(key.className());
+            if (key.operation() == OP_INVALIDATE_TYPE) {
+                accessor.invalidateQueryCache(javaClass);
+            } else if (key.operation() == OP_REMOVE) {
+                accessor.removeFromIdentityMap(key.id(), javaClass);
+            } else {
+                accessor.invalidateObject(key.id(), javaClass);
+            }
+            classNames.add(key.className());
+        }
+
+        if (queryCacheManager.isEnabled()) {
+            Set<String> typeNames = new HashSet<>();
+            for (String className : classNames) {
+                addTypeName(typeNames, className);
+            }
+            queryCacheManager.invalidate(typeNames);
+        }
+    }
+
+    protected byte[] encodeInvalidations(Collection<InvalidationKey> invalidations, int commands, long since) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + invalidations.size() * 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(BATCH_FORMAT_MARKER);
+            out.writeByte(BATCH_FORMAT_VERSION);
+            out.writeLong(since);
+            out.writeInt(commands);
+
+            Map<String, Integer> classIndexes = new LinkedHashMap<>();
+            for (InvalidationKey key : invalidations) {
+                classIndexes.putIfAbsent(key.className(), classIndexes.size());
+            }
+            out.writeInt(classIndexes.size());
+            for (String className : classIndexes.keySet()) {
+                out.writeUTF(className);
+            }
+
+            out.writeInt(invalidations.size());
+            for (InvalidationKey key : invalidations) {
+                out.writeInt(classIndexes.get(key.className()));
+                out.writeByte(key.operation());
+                writeKeyValue(out, key.id());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    protected InvalidationBatch decodeInvalidations(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            in.readByte();
+            byte version = in.readByte();
+            // version 1 differs only by the absence of type invalidations
+            if (version < 1 || version > BATCH_FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported cache invalidation message version: " + version);
+            }
+            long since = in.readLong();
+            int commands = in.readInt();
+
+            String[] classNames = new String[in.readInt()];
+            for (int i = 0; i < classNames.length; i++) {
+                classNames[i] = in.readUTF();
+            }
+
+            int count = in.readInt();
+            List<InvalidationKey> keys = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String className = classNames[in.readInt()];
+                byte operation = in.readByte();
+                keys.add(new InvalidationKey(className, readKeyValue(in), operation));
+            }
+            return new InvalidationBatch(since, commands, keys);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected boolean isSupportedKeyValue(@Nullable Object value) {
+        if (value instanceof CacheId) {
+            for (Object element : ((CacheId) value).getPrimaryKey()) {
+                if (element instanceof CacheId || !isSupportedKeyValue(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return value instanceof String || value instanceof Long || value instanceof Integer || value instanceof UUID;
+    }
+
+    protected void writeKeyValue(DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(KEY_NONE);
+        } else if (value instanceof String) {
+            out.writeByte(KEY_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Long) {
+            out.writeByte(KEY_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(KEY_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof UUID) {
+            out.writeByte(KEY_UUID);
+            out.writeLong(((UUID) value).getMostSignificantBits());
+            out.writeLong(((UUID) value).getLeastSignificantBits());
+        } else if (value instanceof CacheId) {
+            Object[] elements = ((CacheId) value).getPrimaryKey();
+            out.writeByte(KEY_COMPOSITE);
+            out.writeInt(elements.length);
+            for (Object element : elements) {
+                writeKeyValue(out, element);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported cache key: " + value);
+        }
+    }
+
+    @Nullable
+    protected Object readKeyValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case KEY_NONE:
+                return null;
+            case KEY_STRING:
+                return in.readUTF();
+            case KEY_LONG:
+                return in.readLong();
+            case KEY_INTEGER:
+                return in.readInt();
+            case KEY_UUID:
+                return new UUID(in.readLong(), in.readLong());
+            case KEY_COMPOSITE:
+                Object[] elements = new Object[in.readInt()];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = readKeyValue(in);
+                }
+                return new CacheId(elements);
+            default:
+                throw new IllegalStateException("Unsupported cache key type: " + type);
+        }
+    }
+
+    /**
+     * Cache entry to be invalidated or removed on other instances, or a class which query results are to be
+     * invalidated if the id is null.
+     */
+    protected record InvalidationKey(String className, @Nullable Object id, byte operation) {
+    }
+
+    /**
+     * Received batch of invalidations: the time the first command was sent, the number of coalesced commands and
+     * deduplicated keys.
+     */
+    protected record InvalidationBatch(long since, int commands, List<InvalidationKey> keys) {
+    }
 }
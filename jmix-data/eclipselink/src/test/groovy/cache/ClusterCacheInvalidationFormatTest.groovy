@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cache
+
+import io.jmix.eclipselink.impl.support.JmixEclipseLinkRemoteConnection
+import io.jmix.eclipselink.impl.support.JmixEclipseLinkRemoteConnection.InvalidationKey
+import org.eclipse.persistence.internal.identitymaps.CacheId
+import org.eclipse.persistence.internal.sessions.ObjectChangeSet
+import org.eclipse.persistence.internal.sessions.UnitOfWorkChangeSet
+import org.eclipse.persistence.sessions.coordination.CommandProcessor
+import org.eclipse.persistence.sessions.coordination.MergeChangeSetCommand
+import org.eclipse.persistence.sessions.coordination.RemoteCommandManager
+import spock.lang.Specification
+
+import java.util.concurrent.ScheduledExecutorService
+
+class ClusterCacheInvalidationFormatTest extends Specification {
+
+    static final byte INVALIDATE = JmixEclipseLinkRemoteConnection.OP_INVALIDATE
+    static final byte REMOVE = JmixEclipseLinkRemoteConnection.OP_REMOVE
+    static final byte INVALIDATE_TYPE = JmixEclipseLinkRemoteConnection.OP_INVALIDATE_TYPE
+
+    List<byte[]> sent = []
+
+    JmixEclipseLinkRemoteConnection connection
+
+    void setup() {
+        connection = new JmixEclipseLinkRemoteConnection(new RemoteCommandManager(Mock(CommandProcessor))) {
+            @Override
+            protected void send(byte[] payload) {
+                sent << payload
+            }
+        }
+    }
+
+    def "invalidations of supported keys are decoded as encoded"() {
+        def uuid = UUID.randomUUID()
+        def keys = [
+                new InvalidationKey('test.StringEntity', 'abc', INVALIDATE),
+                new InvalidationKey('test.LongEntity', Long.MAX_VALUE, INVALIDATE),
+                new InvalidationKey('test.IntegerEntity', -42, REMOVE),
+                new InvalidationKey('test.UuidEntity', uuid, INVALIDATE),
+                new InvalidationKey('test.CompositeEntity', new CacheId(['k', 1L, 2, uuid] as Object[]), REMOVE),
+                new InvalidationKey('test.StringEntity', 'def', REMOVE),
+                new InvalidationKey('test.NewEntity', null, INVALIDATE_TYPE)
+        ]
+
+        when:
+        def bytes = connection.encodeInvalidations(keys, 3, 1000L)
+        def batch = connection.decodeInvalidations(bytes)
+
+        then:
+        bytes[0] == JmixEclipseLinkRemoteConnection.BATCH_FORMAT_MARKER
+        batch.since() == 1000L
+        batch.commands() == 3
+        batch.keys() == keys
+        batch.keys()[1].id() instanceof Long
+        batch.keys()[2].id() instanceof Integer
+        (batch.keys()[4].id() as CacheId).primaryKey as List == ['k', 1L, 2, uuid]
+    }
+
+    def "inserted objects are sent as invalidations of their classes"() {
+        def newObject = Stub(ObjectChangeSet) {
+            isNew() >> true
+            getClassName() >> 'test.NewEntity'
+        }
+        def changeSet = Stub(UnitOfWorkChangeSet) {
+            getAllChangeSets() >> [(newObject): newObject]
+        }
+        def command = Stub(MergeChangeSetCommand) {
+            getChangeSet(_) >> changeSet
+        }
+
+        expect:
+        connection.getInvalidations(command) == [new InvalidationKey('test.NewEntity', null, INVALIDATE_TYPE)]
+    }
+
+    def "unsupported key values are rejected"() {
+        expect:
+        connection.isSupportedKeyValue('a')
+        connection.isSupportedKeyValue(1L)
+        connection.isSupportedKeyValue(1)
+        connection.isSupportedKeyValue(UUID.randomUUID())
+        connection.isSupportedKeyValue(new CacheId([1L, 'a'] as Object[]))
+
+        !connection.isSupportedKeyValue(null)
+        !connection.isSupportedKeyValue(new Date())
+        !connection.isSupportedKeyValue(new CacheId([new CacheId([1L] as Object[])] as Object[]))
+    }
+
+    def "invalidations are sent per command without delay"() {
+        def id1 = UUID.randomUUID()
+        def id2 = UUID.randomUUID()
+        def composite = new CacheId([1L, 'a'] as Object[])
+
+        when:
+        connection.addInvalidations([
+                new InvalidationKey('test.Entity', id1, INVALIDATE),
+                new InvalidationKey('test.Entity', id2, REMOVE),
+                new InvalidationKey('test.Entity', new CacheId([1L, 'a'] as Object[]), INVALIDATE)
+        ])
+        connection.addInvalidations([
+                new InvalidationKey('test.Entity', id1, REMOVE),
+                new InvalidationKey('test.Entity', id2, INVALIDATE),
+                new InvalidationKey('test.Entity', composite, REMOVE)
+        ])
+        def keys = sent.collectMany { connection.decodeInvalidations(it).keys() }
+
+        then:
+        sent.size() == 2
+        keys == [
+                new InvalidationKey('test.Entity', id1, INVALIDATE),
+                new InvalidationKey('test.Entity', id2, REMOVE),
+                new InvalidationKey('test.Entity', composite, INVALIDATE),
+                new InvalidationKey('test.Entity', id1, REMOVE),
+                new InvalidationKey('test.Entity', id2, INVALIDATE),
+                new InvalidationKey('test.Entity', composite, REMOVE)
+        ]
+    }
+
+    def "remove overrides invalidate of the same key in a coalesced batch"() {
+        def id1 = UUID.randomUUID()
+        def id2 = UUID.randomUUID()
+        def id3 = UUID.randomUUID()
+
+        when: "commands are collected until flush"
+        connection.flushExecutor = Mock(ScheduledExecutorService)
+        connection.pendingCommands = 1
+        connection.addInvalidations([
+                new InvalidationKey('test.Entity', id1, INVALIDATE),
+                new InvalidationKey('test.Entity', id2, REMOVE),
+                new InvalidationKey('test.Entity', new CacheId([1L, 'a'] as Object[]), INVALIDATE)
+        ])
+        connection.addInvalidations([
+                new InvalidationKey('test.Entity', id1, REMOVE),
+                new InvalidationKey('test.Entity', id2, INVALIDATE),
+                new InvalidationKey('test.Entity', new CacheId([1L, 'a'] as Object[]), REMOVE),
+                new InvalidationKey('test.Entity', id3, INVALIDATE)
+        ])
+        connection.flushInvalidations()
+        def batch = connection.decodeInvalidations(sent.last())
+
+        then:
+        batch.commands() == 3
+        batch.keys() as Set == [
+                new InvalidationKey('test.Entity', id1, REMOVE),
+                new InvalidationKey('test.Entity', id2, REMOVE),
+                new InvalidationKey('test.Entity', new CacheId([1L, 'a'] as Object[]), REMOVE),
+                new InvalidationKey('test.Entity', id3, INVALIDATE)
+        ] as Set
+    }
+}
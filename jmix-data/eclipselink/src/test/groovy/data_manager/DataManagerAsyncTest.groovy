@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.SaveContext
+import io.jmix.core.security.SecurityContextHelper
+import io.jmix.core.security.SystemAuthenticator
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.security.core.Authentication
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.DefaultTransactionDefinition
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.listeners.TestCustomerListener
+
+import java.util.concurrent.TimeUnit
+
+class DataManagerAsyncTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    PlatformTransactionManager txManager
+
+    @Autowired
+    SystemAuthenticator authenticator
+
+    @Autowired
+    TestCustomerListener listener
+
+    def "loads in separate thread with current authentication"() {
+        def customer = dataManager.create(Customer)
+        customer.name = 'cust1'
+        dataManager.save(customer)
+
+        Thread loadingThread = null
+        Authentication loadingAuthentication = null
+        listener.beforeDetachConsumer = { entity ->
+            loadingThread = Thread.currentThread()
+            loadingAuthentication = SecurityContextHelper.getAuthentication()
+        }
+
+        when:
+        Authentication authentication = null
+        def future = authenticator.withSystem {
+            authentication = SecurityContextHelper.getAuthentication()
+            dataManager.load(Customer).all().listAsync()
+        }
+        def customers = future.get(10, TimeUnit.SECONDS)
+
+        then:
+        customers == [customer]
+        loadingThread != Thread.currentThread()
+        loadingAuthentication.is(authentication)
+
+        cleanup:
+        listener.beforeDetachConsumer = null
+    }
+
+    def "joins current transaction"() {
+        def customer = dataManager.create(Customer)
+        customer.name = 'cust1'
+        dataManager.save(customer)
+
+        String transactionName = null
+        listener.beforeDetachConsumer = { entity ->
+            transactionName = TransactionSynchronizationManager.getCurrentTransactionName()
+        }
+
+        when:
+        def txDef = new DefaultTransactionDefinition()
+        txDef.setName('test-load')
+        def txStatus = txManager.getTransaction(txDef)
+
+        def future = dataManager.load(Customer).all().listAsync()
+
+        txManager.commit(txStatus)
+
+        then:
+        future.isDone()
+        future.get() == [customer]
+        transactionName == 'test-load'
+
+        cleanup:
+        listener.beforeDetachConsumer = null
+    }
+
+    def "saves asynchronously"() {
+        def customer = dataManager.create(Customer)
+        customer.name = 'cust1'
+
+        when:
+        def saved = dataManager.saveAsync(new SaveContext().saving(customer)).get(10, TimeUnit.SECONDS)
+
+        then:
+        saved.get(customer).name == 'cust1'
+        dataManager.load(Customer).id(customer.id).optional().isPresent()
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.Stores
+import io.jmix.core.ValueLoadContext
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.data.PersistenceHints
+import io.jmix.eclipselink.impl.JpaDataStore
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.TestConverterEntity
+import test_support.entity.sales.Customer
+
+class DataManagerCountTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    void setup() {
+        (1..5).each {
+            def customer = dataManager.create(Customer)
+            customer.name = "cust$it"
+            dataManager.save(customer)
+        }
+    }
+
+    def "count is limited by hint"() {
+        def context = new LoadContext(metadata.getClass(Customer))
+        context.setQuery(new LoadContext.Query('select e from sales_Customer e where e.name <> :name')
+                .setParameter('name', 'cust1'))
+
+        expect:
+        dataManager.getCount(context) == 4
+
+        when:
+        context.setHint(PersistenceHints.COUNT_LIMIT, 2)
+
+        then:
+        dataManager.getCount(context) == 3
+
+        when:
+        context.setHint(PersistenceHints.COUNT_LIMIT, 10)
+
+        then:
+        dataManager.getCount(context) == 4
+    }
+
+    def "count limit hint can be of any number type"() {
+        def context = new LoadContext(metadata.getClass(Customer))
+        context.setQuery(new LoadContext.Query('select e from sales_Customer e'))
+        context.setHint(PersistenceHints.COUNT_LIMIT, 2L)
+
+        def valueContext = ValueLoadContext.create()
+                .setQuery(new ValueLoadContext.Query('select e.name from sales_Customer e'))
+                .addProperty('name')
+        valueContext.setHint(PersistenceHints.COUNT_LIMIT, 2L)
+
+        expect:
+        dataManager.getCount(context) == 3
+        dataManager.getCount(valueContext) == 3
+    }
+
+    def "count of values is limited by hint"() {
+        def context = ValueLoadContext.create()
+                .setQuery(new ValueLoadContext.Query('select e.name from sales_Customer e'))
+                .addProperty('name')
+        context.setHint(PersistenceHints.COUNT_LIMIT, 2)
+
+        expect:
+        dataManager.getCount(context) == 3
+    }
+
+    def "exact count is returned if estimate is not supported"() {
+        def context = new LoadContext(metadata.getClass(Customer))
+        context.setQuery(new LoadContext.Query('select e from sales_Customer e'))
+        context.setHint(PersistenceHints.ESTIMATED_COUNT, true)
+
+        expect:
+        dataManager.getCount(context) == 5
+    }
+
+    def "count is not estimated for entities restricted by additional criteria"() {
+        def store = (JpaDataStore) dataStoreFactory.get(Stores.MAIN)
+
+        expect: "soft deleted instances are not counted by the estimate of the table"
+        store.hasAdditionalCriteria(Customer)
+        !store.hasAdditionalCriteria(TestConverterEntity)
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_stores
+
+import io.jmix.core.DataManager
+import io.jmix.core.EntityStates
+import io.jmix.core.Metadata
+import io.jmix.core.accesscontext.AccessContext
+import io.jmix.core.constraint.AccessConstraint
+import io.jmix.core.impl.CrossDataStoreReferenceCache
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.data.StoreAwareLocator
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.dao.DataAccessException
+import org.springframework.test.context.TestPropertySource
+import org.springframework.web.context.request.RequestAttributes
+import org.springframework.web.context.request.RequestContextHolder
+import test_support.DataSpec
+import test_support.TestInMemoryDataStore
+import test_support.entity.multidb.Db1Order
+import test_support.entity.multidb.Mem1Customer
+
+@TestPropertySource(properties = [
+        "jmix.core.cross-data-store-reference-cache-enabled=true",
+        "jmix.core.cross-data-store-reference-loading-batch-size=2",
+        "jmix.core.cross-data-store-reference-loading-concurrency=2"
+])
+class CrossDataStoreReferenceLoadingTest extends DataSpec {
+
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataStoreFactory dataStoreFactory
+    @Autowired
+    EntityStates entityStates
+    @Autowired
+    StoreAwareLocator storeAwareLocator
+    @Autowired
+    CrossDataStoreReferenceCache referenceCache
+
+    TestInMemoryDataStore mem1Store
+
+    def setup() {
+        mem1Store = (TestInMemoryDataStore) dataStoreFactory.get("mem1")
+        mem1Store.clear()
+    }
+
+    def cleanup() {
+        RequestContextHolder.resetRequestAttributes()
+        try {
+            storeAwareLocator.getJdbcTemplate("db1").update("delete from ORDER_")
+        } catch (DataAccessException e) {
+            // ignore
+        }
+    }
+
+    def "references are loaded by several concurrent batches"() {
+        List<Mem1Customer> customers = (1..5).collect { createCustomer("Customer $it") }
+        List<Db1Order> orders = (customers + customers[0..1]).collect { createOrder(it) }
+        int loadCount = mem1Store.loadCount
+
+        when:
+        List<Db1Order> loadedOrders = loadOrders(orders)
+
+        then: "5 distinct customers are loaded by 3 batches"
+        mem1Store.loadCount == loadCount + 3
+        loadedOrders.size() == 7
+        orders.every { order ->
+            loadedOrders.find { it.id == order.id }.mem1Customer == order.mem1Customer
+        }
+    }
+
+    def "references are taken from the cache within a request"() {
+        Mem1Customer customer = createCustomer("John Doe")
+        Db1Order order = createOrder(customer)
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes())
+
+        when:
+        Db1Order loadedOrder1 = loadOrders([order])[0]
+        int loadCount = mem1Store.loadCount
+        Db1Order loadedOrder2 = loadOrders([order])[0]
+
+        then: "the second load takes the reference from the cache"
+        mem1Store.loadCount == loadCount
+        loadedOrder2.mem1Customer == customer
+        !loadedOrder2.mem1Customer.is(loadedOrder1.mem1Customer)
+        !entityStates.isNew(loadedOrder2.mem1Customer)
+        entityStates.isDetached(loadedOrder2.mem1Customer)
+
+        when: "the cached reference of one graph is modified"
+        loadedOrder1.mem1Customer.name = "Modified"
+
+        then: "other graphs are not affected"
+        loadOrders([order])[0].mem1Customer.name == "John Doe"
+    }
+
+    def "cached reference is invalidated when the referenced entity is saved"() {
+        Mem1Customer customer = createCustomer("John Doe")
+        Db1Order order = createOrder(customer)
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes())
+        loadOrders([order])
+        int loadCount = mem1Store.loadCount
+
+        when:
+        Mem1Customer changedCustomer = metadata.create(Mem1Customer)
+        changedCustomer.id = customer.id
+        changedCustomer.name = "Jane Doe"
+        dataManager.save(changedCustomer)
+
+        Db1Order loadedOrder = loadOrders([order])[0]
+
+        then:
+        mem1Store.loadCount == loadCount + 1
+        loadedOrder.mem1Customer.name == "Jane Doe"
+    }
+
+    def "cached references are not shared between operations with different access constraints"() {
+        Mem1Customer customer = createCustomer("John Doe")
+        Db1Order order = createOrder(customer)
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes())
+        loadOrders([order])
+        int loadCount = mem1Store.loadCount
+
+        when:
+        dataManager.load(Db1Order)
+                .ids([order.id])
+                .fetchPlan({ builder -> builder.add("mem1Customer", { it.add("name") }) })
+                .accessConstraints([new TestAccessConstraint()])
+                .list()
+
+        then:
+        mem1Store.loadCount == loadCount + 1
+    }
+
+    def "cached graph is invalidated when a nested entity is saved"() {
+        Mem1Customer customer = createCustomer("John Doe")
+        Db1Order order = metadata.create(Db1Order)
+        order.mem1Customer = customer
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes())
+        def orderMetaClass = metadata.getClass(Db1Order)
+        referenceCache.put(orderMetaClass, null, [], 1L, order)
+        assert referenceCache.get(orderMetaClass, null, [], 1L) != null
+
+        when:
+        dataManager.save(customer)
+
+        then:
+        referenceCache.get(orderMetaClass, null, [], 1L) == null
+    }
+
+    def "nothing is cached outside of requests"() {
+        Mem1Customer customer = createCustomer("John Doe")
+        Db1Order order = createOrder(customer)
+
+        when:
+        loadOrders([order])
+        int loadCount = mem1Store.loadCount
+        loadOrders([order])
+
+        then:
+        mem1Store.loadCount == loadCount + 1
+    }
+
+    private Mem1Customer createCustomer(String name) {
+        Mem1Customer customer = metadata.create(Mem1Customer)
+        customer.name = name
+        return dataManager.save(customer)
+    }
+
+    private Db1Order createOrder(Mem1Customer customer) {
+        Db1Order order = metadata.create(Db1Order)
+        order.orderDate = new Date()
+        order.mem1Customer = customer
+        return dataManager.save(order)
+    }
+
+    private List<Db1Order> loadOrders(List<Db1Order> orders) {
+        return dataManager.load(Db1Order)
+                .ids(orders*.id)
+                .fetchPlan({ builder -> builder.add("mem1Customer", { it.add("name") }) })
+                .list()
+    }
+
+    static class TestAccessConstraint implements AccessConstraint<AccessContext> {
+
+        @Override
+        Class<AccessContext> getContextType() {
+            return AccessContext
+        }
+
+        @Override
+        void applyTo(AccessContext context) {
+        }
+    }
+
+    static class TestRequestAttributes implements RequestAttributes {
+
+        Map<String, Object> attributes = [:]
+
+        @Override
+        Object getAttribute(String name, int scope) {
+            return attributes[name]
+        }
+
+        @Override
+        void setAttribute(String name, Object value, int scope) {
+            attributes[name] = value
+        }
+
+        @Override
+        void removeAttribute(String name, int scope) {
+            attributes.remove(name)
+        }
+
+        @Override
+        String[] getAttributeNames(int scope) {
+            return attributes.keySet() as String[]
+        }
+
+        @Override
+        void registerDestructionCallback(String name, Runnable callback, int scope) {
+        }
+
+        @Override
+        Object resolveReference(String key) {
+            return null
+        }
+
+        @Override
+        String getSessionId() {
+            return "test"
+        }
+
+        @Override
+        Object getSessionMutex() {
+            return this
+        }
+    }
+}
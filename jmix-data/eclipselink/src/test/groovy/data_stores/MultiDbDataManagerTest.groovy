@@ -160,6 +160,35 @@ class MultiDbDataManagerTest extends DataSpec {
         loadedOrder.mem1Customer != null
     }
 
+    void testCrossDataStoreReferencesOfSeveralEntities() {
+        when:
+        Mem1Customer customer1 = metadata.create(Mem1Customer)
+        customer1.setName("John Doe")
+        customer1 = dataManager.save(customer1)
+
+        Mem1Customer customer2 = metadata.create(Mem1Customer)
+        customer2.setName("Jane Doe")
+        customer2 = dataManager.save(customer2)
+
+        List<Db1Order> orders = [customer1, customer1, customer2].collect { customer ->
+            Db1Order order = metadata.create(Db1Order.class)
+            order.setOrderDate(new Date())
+            order.setMem1Customer(customer)
+            dataManager.save(order)
+        }
+
+        List<Db1Order> loadedOrders = dataManager.load(Db1Order)
+                .ids(orders*.id)
+                .fetchPlan({ builder -> builder.add("mem1Customer") })
+                .list()
+
+        then: "references to the same entity are loaded for all entities"
+        loadedOrders.size() == 3
+        loadedOrders.find { it.id == orders[0].id }.mem1Customer == customer1
+        loadedOrders.find { it.id == orders[1].id }.mem1Customer == customer1
+        loadedOrders.find { it.id == orders[2].id }.mem1Customer == customer2
+    }
+
     void testNestedCrossDatastoreEntitiesSaving() {
         when:
         Db1Order order = metadata.create(Db1Order)
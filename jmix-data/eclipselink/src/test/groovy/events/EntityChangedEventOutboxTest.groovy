@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package events
+
+import io.jmix.core.DataManager
+import io.jmix.core.event.EntityChangedEvent
+import io.jmix.core.security.CurrentAuthentication
+import io.jmix.core.security.InMemoryUserRepository
+import io.jmix.core.security.SystemAuthenticator
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.security.core.userdetails.User
+import org.springframework.test.context.TestPropertySource
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.listeners.TestCustomerListener
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@TestPropertySource(properties = ["jmix.eclipselink.entity-changed-event-outbox-enabled=true",
+        "jmix.eclipselink.entity-changed-event-outbox-redelivery-interval-sec=1"])
+class EntityChangedEventOutboxTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    TestCustomerListener listener
+    @Autowired
+    JdbcTemplate jdbc
+    @Autowired
+    SystemAuthenticator authenticator
+    @Autowired
+    CurrentAuthentication currentAuthentication
+    @Autowired
+    InMemoryUserRepository userRepository
+
+    void setup() {
+        jdbc.execute("create table if not exists JMIX_ENTITY_EVENT_OUTBOX (ID varchar(36) primary key, " +
+                "CREATE_TS timestamp not null, ORDER_NUM bigint not null, ENTITY_KEY varchar(255) not null, " +
+                "PAYLOAD blob, USERNAME varchar(255), CLAIM_TS timestamp)")
+    }
+
+    void cleanup() {
+        listener.changedEventConsumer = null
+        listener.afterCommitEventConsumer = null
+        jdbc.update("delete from SALES_CUSTOMER")
+        jdbc.update("delete from JMIX_ENTITY_EVENT_OUTBOX")
+    }
+
+    def "EntityChangedEvents are delivered after commit in order by outbox dispatcher"() {
+        def events = Collections.synchronizedList(new ArrayList<EntityChangedEvent<Customer>>())
+        def threads = Collections.synchronizedList(new ArrayList<String>())
+        def latch = new CountDownLatch(2)
+
+        listener.changedEventConsumer = { event ->
+            events.add(event)
+            threads.add(Thread.currentThread().name)
+        }
+        listener.afterCommitEventConsumer = { event -> latch.countDown() }
+
+        when:
+        def customer = dataManager.create(Customer)
+        customer.name = 'c1'
+        customer = dataManager.save(customer)
+        customer.name = 'c2'
+        dataManager.save(customer)
+
+        then:
+        latch.await(10, TimeUnit.SECONDS)
+        events*.type == [EntityChangedEvent.Type.CREATED, EntityChangedEvent.Type.UPDATED]
+        events[1].changes.getOldValue('name') == 'c1'
+        threads.every { it.startsWith('EntityChangedEventOutbox') }
+        outboxIsEmpty()
+    }
+
+    def "failing event is redelivered in order without blocking events of other entities"() {
+        def failing = true
+        def failures = new AtomicInteger()
+        def events = Collections.synchronizedList(new ArrayList<EntityChangedEvent.Type>())
+        def okDelivered = new CountDownLatch(1)
+        def failedDelivered = new CountDownLatch(2)
+
+        listener.changedEventConsumer = { event ->
+            def customer = dataManager.load(event.entityId).one()
+            if (customer.name.startsWith('fail')) {
+                if (failing) {
+                    failures.incrementAndGet()
+                    throw new IllegalStateException('test failure')
+                }
+                events.add(event.type)
+            }
+        }
+        listener.afterCommitEventConsumer = { event ->
+            def customer = dataManager.load(event.entityId).one()
+            if (customer.name == 'ok') {
+                okDelivered.countDown()
+            } else {
+                failedDelivered.countDown()
+            }
+        }
+
+        when: "an event of one entity fails"
+        def failed = dataManager.create(Customer)
+        failed.name = 'fail1'
+        failed = dataManager.save(failed)
+        def ok = dataManager.create(Customer)
+        ok.name = 'ok'
+        dataManager.save(ok)
+        failed.name = 'fail2'
+        dataManager.save(failed)
+
+        then: "events of other entities are delivered"
+        okDelivered.await(10, TimeUnit.SECONDS)
+
+        when: "the listener recovers after the event is suspended"
+        while (failures.get() < 5) {
+            Thread.sleep(100)
+        }
+        Thread.sleep(2000)
+        failing = false
+
+        then: "suspended events are redelivered in order"
+        failedDelivered.await(20, TimeUnit.SECONDS)
+        events == [EntityChangedEvent.Type.CREATED, EntityChangedEvent.Type.UPDATED]
+        outboxIsEmpty()
+    }
+
+    def "event is redelivered if an after commit listener fails"() {
+        def failures = new AtomicInteger()
+        def delivered = new CountDownLatch(1)
+
+        listener.afterCommitEventConsumer = { event ->
+            if (failures.incrementAndGet() <= 2) {
+                throw new IllegalStateException('test failure')
+            }
+            delivered.countDown()
+        }
+
+        when:
+        def customer = dataManager.create(Customer)
+        customer.name = 'c1'
+        dataManager.save(customer)
+
+        then: "the event is kept in the outbox until the listener succeeds"
+        delivered.await(10, TimeUnit.SECONDS)
+        failures.get() == 3
+        outboxIsEmpty()
+    }
+
+    def "events are delivered on behalf of the user who saved the entity"() {
+        def admin = User.builder()
+                .username('admin')
+                .password('{noop}admin123')
+                .authorities(Collections.emptyList())
+                .build()
+        userRepository.addUser(admin)
+
+        def usernames = Collections.synchronizedList(new ArrayList<String>())
+        def latch = new CountDownLatch(1)
+        listener.changedEventConsumer = { event -> usernames.add(currentAuthentication.user.username) }
+        listener.afterCommitEventConsumer = { event -> latch.countDown() }
+
+        when:
+        authenticator.begin('admin')
+        try {
+            def customer = dataManager.create(Customer)
+            customer.name = 'c1'
+            dataManager.save(customer)
+        } finally {
+            authenticator.end()
+        }
+
+        then:
+        latch.await(10, TimeUnit.SECONDS)
+        usernames == ['admin']
+
+        cleanup:
+        userRepository.removeUser(admin)
+    }
+
+    protected boolean outboxIsEmpty() {
+        // rows are removed after after-commit listeners are invoked
+        for (int i = 0; i < 50; i++) {
+            if (jdbc.queryForObject("select count(*) from JMIX_ENTITY_EVENT_OUTBOX", Integer) == 0) {
+                return true
+            }
+            Thread.sleep(100)
+        }
+        return false
+    }
+}
@@ -212,4 +212,36 @@ class FetchGroupManagerTest extends DataSpec {
         entityStates.isLoaded(order.orderLines[0], 'product')
         entityStates.isLoaded(order.orderLines[0].product, 'quantity')
     }
+
+    def "fetch group description is cached for equal fetch plans"() {
+        def createFetchPlan = {
+            fetchPlans.builder(Order)
+                    .addFetchPlan(FetchPlan.BASE)
+                    .add('customer', FetchPlan.BASE)
+                    .add('orderLines', FetchPlan.BASE)
+                    .build()
+        }
+
+        when:
+        def description1 = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', createFetchPlan(), false, true)
+        def description2 = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', createFetchPlan(), false, true)
+        def description3 = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', createFetchPlan(), true, true)
+
+        then:
+        description1.is(description2)
+        !description1.is(description3)
+
+        when:
+        fetchGroupManager.clearCache()
+        def description4 = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', createFetchPlan(), false, true)
+
+        then:
+        !description1.is(description4)
+        description1.hints == description4.hints
+        description1.attributes == description4.attributes
+    }
 }
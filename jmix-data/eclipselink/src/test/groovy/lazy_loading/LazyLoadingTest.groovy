@@ -23,6 +23,7 @@ import test_support.entity.entity_extension.Address
 import test_support.entity.lazyloading.*
 import test_support.entity.lazyloading.self_ref_in_param.A
 import test_support.entity.lazyloading.self_ref_in_param.B
+import test_support.listeners.TestLoadCountListener
 
 class LazyLoadingTest extends DataSpec {
 
@@ -114,6 +115,57 @@ class LazyLoadingTest extends DataSpec {
         manyToOneEntity.getOneToManyEntity() == oneToManyEntity
     }
 
+    def "ManyToOne references of loaded list are loaded together"() {
+        setup:
+
+        List<OneToManyEntity> owners = (1..3).collect {
+            OneToManyEntity owner = metadata.create(OneToManyEntity.class)
+            owner.setName("Owner " + it)
+            owner
+        }
+        dataManager.save(owners.toArray())
+
+        List<ManyToOneEntity> items = (1..6).collect {
+            ManyToOneEntity item = metadata.create(ManyToOneEntity.class)
+            item.setName("Batch item " + it)
+            item.setOneToManyEntity(owners[it % 3])
+            item
+        }
+        dataManager.save(items.toArray())
+
+        when:
+
+        List<ManyToOneEntity> loaded = dataManager.load(ManyToOneEntity)
+                .query("select e from test_ManyToOneEntity e where e.name like 'Batch item%' order by e.name")
+                .fetchPlan(b -> b.add("name"))
+                .list()
+        TestLoadCountListener.clear()
+
+        then:
+
+        loaded.size() == 6
+        loaded.each { item ->
+            def expected = items.find { it.id == item.id }.oneToManyEntity
+            assert item.getOneToManyEntity() == expected
+            assert item.getOneToManyEntity().getName() == expected.getName()
+        }
+
+        and: "each of 3 owners is referenced by 2 items, all of them are loaded by a single query"
+
+        TestLoadCountListener.getLoadCount('test_OneToManyEntity') == 1
+
+        and: "each item gets its own instance linked to the item"
+
+        loaded.collect { System.identityHashCode(it.getOneToManyEntity()) }.unique().size() == 6
+        loaded.each { item ->
+            assert item.getOneToManyEntity().getManyToOneEntities().any { it.is(item) }
+        }
+
+        cleanup:
+        jdbc.update("delete from TEST_MANY_TO_ONE_ENTITY")
+        jdbc.update("delete from TEST_ONE_TO_MANY_ENTITY")
+    }
+
     def "OneToMany test"() {
         setup:
 
@@ -27,6 +27,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.lang.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component("test_InMemoryDataStore")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -36,6 +37,8 @@ public class TestInMemoryDataStore implements DataStore {
 
     private Map<String, Map<Object, Object>> entities = new ConcurrentHashMap<>();
 
+    private AtomicInteger loadCount = new AtomicInteger();
+
     @Autowired
     private Metadata metadata;
 
@@ -52,6 +55,7 @@ public class TestInMemoryDataStore implements DataStore {
     @Nullable
     @Override
     public Object load(LoadContext<?> context) {
+        loadCount.incrementAndGet();
         Map<Object, Object> instances = entities.get(context.getEntityMetaClass().getName());
         if (instances == null)
             return null;
@@ -61,6 +65,7 @@ public class TestInMemoryDataStore implements DataStore {
 
     @Override
     public List<Object> loadList(LoadContext<?> context) {
+        loadCount.incrementAndGet();
         Map<Object, Object> instances = entities.get(context.getEntityMetaClass().getName());
         if (instances == null)
             return Collections.emptyList();
@@ -115,5 +120,13 @@ public class TestInMemoryDataStore implements DataStore {
 
     public void clear() {
         entities.clear();
+        loadCount.set(0);
+    }
+
+    /**
+     * Returns the number of load and loadList calls since the last {@link #clear()}.
+     */
+    public int getLoadCount() {
+        return loadCount.get();
     }
 }
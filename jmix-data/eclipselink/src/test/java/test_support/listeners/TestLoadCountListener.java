@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test_support.listeners;
+
+import io.jmix.core.DataStore;
+import io.jmix.core.datastore.AbstractDataStore;
+import io.jmix.core.datastore.DataStoreBeforeEntityLoadEvent;
+import io.jmix.core.datastore.DataStoreCustomizer;
+import io.jmix.core.datastore.DataStoreEventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts entity loads by the data store per entity name.
+ */
+@Component("test_TestLoadCountListener")
+public class TestLoadCountListener implements DataStoreEventListener, DataStoreCustomizer {
+
+    private static final Map<String, AtomicInteger> loadCounts = new ConcurrentHashMap<>();
+
+    public static int getLoadCount(String entityName) {
+        AtomicInteger count = loadCounts.get(entityName);
+        return count == null ? 0 : count.get();
+    }
+
+    public static void clear() {
+        loadCounts.clear();
+    }
+
+    @Override
+    public void beforeEntityLoad(DataStoreBeforeEntityLoadEvent event) {
+        loadCounts.computeIfAbsent(event.getLoadContext().getEntityMetaClass().getName(), name -> new AtomicInteger())
+                .incrementAndGet();
+    }
+
+    @Override
+    public void customize(DataStore dataStore) {
+        if (dataStore instanceof AbstractDataStore) {
+            ((AbstractDataStore) dataStore).registerInterceptor(this);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.jmix.dynattr.impl;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.CrudEntityContext;
@@ -81,12 +82,15 @@ public class DynAttrManagerImpl implements DynAttrManager {
 
     @Override
     public void storeValues(Collection<Object> entities, Collection<AccessConstraint<?>> accessConstraints) {
-        storeAwareLocator.getTransactionTemplate(dynamicAttributesStore)
-                .executeWithoutResult(status -> {
-                    for (Object entity : entities) {
-                        doStoreValues(entity, accessConstraints);
-                    }
-                });
+        Multimap<MetaClass, Object> entitiesToStore = collectEntitiesToStore(entities);
+        if (!entitiesToStore.isEmpty()) {
+            storeAwareLocator.getTransactionTemplate(dynamicAttributesStore)
+                    .executeWithoutResult(status -> {
+                        for (MetaClass metaClass : entitiesToStore.keySet()) {
+                            doStoreValues(metaClass, entitiesToStore.get(metaClass), accessConstraints);
+                        }
+                    });
+        }
     }
 
     @Override
@@ -111,8 +115,59 @@ public class DynAttrManagerImpl implements DynAttrManager {
         }
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Groups entities having changed dynamic attributes by their meta-classes.
+     */
+    protected Multimap<MetaClass, Object> collectEntitiesToStore(Collection<Object> entities) {
+        Multimap<MetaClass, Object> entitiesByType = LinkedHashMultimap.create();
+        for (Object entity : entities) {
+            DynamicAttributesState state = getExtraState(entity, DynamicAttributesState.class);
+            if (state != null && state.getDynamicAttributes() != null
+                    && state.getDynamicAttributes().getChanges().hasChanges()) {
+                entitiesByType.put(metadata.getClass(entity), entity);
+            }
+        }
+        return entitiesByType;
+    }
+
+    /**
+     * Stores changed dynamic attributes of the given entities of the same meta-class. Existing values of all entities
+     * are loaded by batches of {@link #MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH} ids, and the changes are written in
+     * the same unit of work, so they are flushed together and can be grouped by JDBC batch writing.
+     */
+    protected void doStoreValues(MetaClass metaClass, Collection<Object> entities,
+                                 Collection<AccessConstraint<?>> accessConstraints) {
+        List<Object> ids = entities.stream()
+                .map(e -> referenceToEntitySupport.getReferenceId(e))
+                .collect(Collectors.toList());
+
+        Multimap<Object, CategoryAttributeValue> allAttributeValues =
+                loadValuesByEntityIds(metaClass, accessConstraints, ids);
+
+        for (Object entity : entities) {
+            Collection<CategoryAttributeValue> attributeValues =
+                    allAttributeValues.get(referenceToEntitySupport.getReferenceId(entity));
+            doStoreEntityValues(metaClass, entity, attributeValues);
+        }
+    }
+
+    /**
+     * @deprecated use {@link #doStoreValues(MetaClass, Collection, Collection)} to store values of several entities
+     */
+    @Deprecated
     protected void doStoreValues(Object entity, Collection<AccessConstraint<?>> accessConstraints) {
+        Multimap<MetaClass, Object> entitiesToStore = collectEntitiesToStore(Collections.singletonList(entity));
+        for (MetaClass metaClass : entitiesToStore.keySet()) {
+            doStoreValues(metaClass, entitiesToStore.get(metaClass), accessConstraints);
+        }
+    }
+
+    /**
+     * Applies changes of dynamic attributes of the entity to its existing {@code CategoryAttributeValue} instances.
+     *
+     * @param attributeValues existing values of the entity
+     */
+    protected void doStoreEntityValues(MetaClass metaClass, Object entity, Collection<CategoryAttributeValue> attributeValues) {
         DynamicAttributesState state = getExtraState(entity, DynamicAttributesState.class);
         if (state != null && state.getDynamicAttributes() != null) {
             EntityManager entityManager = storeAwareLocator.getEntityManager(dynamicAttributesStore);
@@ -121,11 +176,6 @@ public class DynAttrManagerImpl implements DynAttrManager {
             DynamicAttributes.Changes changes = dynamicModel.getChanges();
 
             if (changes.hasChanges()) {
-
-                MetaClass metaClass = metadata.getClass(entity);
-                List<CategoryAttributeValue> attributeValues = loadValues(metaClass, accessConstraints,
-                        Collections.singletonList(referenceToEntitySupport.getReferenceId(entity)));
-
                 for (CategoryAttributeValue attributeValue : attributeValues) {
                     String attributeName = attributeValue.getCode();
                     if (changes.isDeleted(attributeName)) {
@@ -140,7 +190,7 @@ public class DynAttrManagerImpl implements DynAttrManager {
                     }
                 }
 
-                List<String> existing = attributeValues.stream().map(CategoryAttributeValue::getCode).collect(Collectors.toList());
+                Set<String> existing = attributeValues.stream().map(CategoryAttributeValue::getCode).collect(Collectors.toSet());
                 List<String> toPersist = Stream.concat(
                                 changes.getCreated().keySet().stream(),
                                 changes.getUpdated().keySet().stream().filter(a -> !existing.contains(a))) //Haulmont/jmix-data#43
@@ -216,23 +266,8 @@ public class DynAttrManagerImpl implements DynAttrManager {
                     .map(e -> referenceToEntitySupport.getReferenceId(e))
                     .collect(Collectors.toList());
 
-            Multimap<Object, CategoryAttributeValue> allAttributeValues = HashMultimap.create();
-
-            List<Object> currentIds = new ArrayList<>();
-            for (Object id : ids) {
-                currentIds.add(id);
-                if (currentIds.size() >= MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH) {
-                    for (CategoryAttributeValue attributeValue : loadValues(metaClass, accessConstraints, currentIds)) {
-                        allAttributeValues.put(attributeValue.getObjectEntityId(), attributeValue);
-                    }
-                    currentIds = new ArrayList<>();
-                }
-            }
-            if (!currentIds.isEmpty()) {
-                for (CategoryAttributeValue attributeValue : loadValues(metaClass, accessConstraints, currentIds)) {
-                    allAttributeValues.put(attributeValue.getObjectEntityId(), attributeValue);
-                }
-            }
+            Multimap<Object, CategoryAttributeValue> allAttributeValues =
+                    loadValuesByEntityIds(metaClass, accessConstraints, ids);
 
             for (Object entity : entities) {
                 Collection<CategoryAttributeValue> values = allAttributeValues.get(referenceToEntitySupport.getReferenceId(entity));
@@ -253,6 +288,34 @@ public class DynAttrManagerImpl implements DynAttrManager {
         }
     }
 
+    /**
+     * Loads values of the given entities by batches of {@link #MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH} ids.
+     *
+     * @return values grouped by entity ids
+     */
+    protected Multimap<Object, CategoryAttributeValue> loadValuesByEntityIds(MetaClass metaClass,
+                                                                             Collection<AccessConstraint<?>> accessConstraints,
+                                                                             List<Object> entityIds) {
+        Multimap<Object, CategoryAttributeValue> allAttributeValues = HashMultimap.create();
+
+        List<Object> currentIds = new ArrayList<>();
+        for (Object id : entityIds) {
+            currentIds.add(id);
+            if (currentIds.size() >= MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH) {
+                for (CategoryAttributeValue attributeValue : loadValues(metaClass, accessConstraints, currentIds)) {
+                    allAttributeValues.put(attributeValue.getObjectEntityId(), attributeValue);
+                }
+                currentIds = new ArrayList<>();
+            }
+        }
+        if (!currentIds.isEmpty()) {
+            for (CategoryAttributeValue attributeValue : loadValues(metaClass, accessConstraints, currentIds)) {
+                allAttributeValues.put(attributeValue.getObjectEntityId(), attributeValue);
+            }
+        }
+        return allAttributeValues;
+    }
+
     protected List<CategoryAttributeValue> loadValues(MetaClass metaClass, Collection<AccessConstraint<?>> accessConstraints,
                                                       List<Object> entityIds) {
 
@@ -271,6 +271,43 @@ class DynamicAttributesTest extends Specification {
         EntityValues.getValue(user, '+userAttribute') == 'userName'
     }
 
+    def "save dynamic attributes of several entities"() {
+        setup:
+
+        def user3 = new User(name: 'user3', login: 'user3')
+        EntityValues.setValue(user3, '+userAttribute', 'user3Name')
+        EntityValues.setValue(user3, '+userIntCollectionAttribute', [1, 2])
+        dataManager.save(user3)
+
+        def users = dataManager.load(User)
+                .ids(user1.id, user3.id)
+                .hint(DynAttrQueryHints.LOAD_DYN_ATTR, true)
+                .list()
+        def loadedUser1 = users.find { it.id == user1.id }
+        def loadedUser3 = users.find { it.id == user3.id }
+
+        when:
+
+        EntityValues.setValue(loadedUser1, '+userAttribute', 'user1Name')
+        EntityValues.setValue(loadedUser1, '+userIntCollectionAttribute', [5])
+        EntityValues.setValue(loadedUser3, '+userAttribute', null)
+        EntityValues.setValue(loadedUser3, '+userIntCollectionAttribute', [2, 3])
+        dataManager.save(loadedUser1, loadedUser3)
+
+        users = dataManager.load(User)
+                .ids(user1.id, user3.id)
+                .hint(DynAttrQueryHints.LOAD_DYN_ATTR, true)
+                .list()
+        loadedUser1 = users.find { it.id == user1.id }
+        loadedUser3 = users.find { it.id == user3.id }
+
+        then:
+        EntityValues.getValue(loadedUser1, '+userAttribute') == 'user1Name'
+        (EntityValues.getValue(loadedUser1, '+userIntCollectionAttribute') as Collection) as Set == [5] as Set
+        EntityValues.getValue(loadedUser3, '+userAttribute') == null
+        (EntityValues.getValue(loadedUser3, '+userIntCollectionAttribute') as Collection) as Set == [2, 3] as Set
+    }
+
     def "load nested dynamic attributes"() {
         setup:
 
@@ -31,9 +31,11 @@ import io.jmix.flowui.UiComponentProperties;
 import io.jmix.flowui.UiComponents;
 import io.jmix.flowui.component.genericfilter.FilterMetadataTools;
 import io.jmix.flowui.component.genericfilter.GenericFilterSupport;
+import io.jmix.flowui.data.aggregation.impl.DataStoreAggregations;
 import io.jmix.flowui.model.DataComponents;
 import io.jmix.flowui.sys.ActionsConfiguration;
 import io.jmix.flowui.sys.ViewControllersConfiguration;
+import io.jmix.flowuidata.aggregation.UiDataDataStoreAggregations;
 import io.jmix.flowuidata.genericfilter.GenericFilterConfigurationConverter;
 import io.jmix.flowuidata.genericfilter.UiDataFilterMetadataTools;
 import io.jmix.flowuidata.genericfilter.UiDataGenericFilterSupport;
@@ -92,4 +94,10 @@ public class FlowuiDataConfiguration {
         return new UiDataFilterMetadataTools(metadataTools, uiComponentProperties, accessManager,
                 queryTransformerFactory, metadata);
     }
+
+    @Bean("flowui_UiDataDataStoreAggregations")
+    @Primary
+    public DataStoreAggregations dataStoreAggregations(QueryTransformerFactory queryTransformerFactory) {
+        return new UiDataDataStoreAggregations(queryTransformerFactory);
+    }
 }
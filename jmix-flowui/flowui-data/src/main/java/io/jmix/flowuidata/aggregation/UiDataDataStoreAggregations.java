@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowuidata.aggregation;
+
+import io.jmix.core.annotation.Internal;
+import io.jmix.data.QueryTransformer;
+import io.jmix.data.QueryTransformerFactory;
+import io.jmix.flowui.data.aggregation.impl.DataStoreAggregations;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Modifies the loader query by the query transformer of the data module, the same way as the query is modified
+ * to count instances.
+ */
+@Internal
+public class UiDataDataStoreAggregations extends DataStoreAggregations {
+
+    protected QueryTransformerFactory queryTransformerFactory;
+
+    public UiDataDataStoreAggregations(QueryTransformerFactory queryTransformerFactory) {
+        this.queryTransformerFactory = queryTransformerFactory;
+    }
+
+    @Nullable
+    @Override
+    protected String createQueryString(String queryString, String alias, List<String> selectItems,
+                                       List<String> joins) {
+        QueryTransformer transformer = queryTransformerFactory.transformer(queryString);
+        transformer.removeOrderBy();
+        for (String join : joins) {
+            transformer.addJoin(join);
+        }
+        String result = transformer.getResult();
+
+        Matcher matcher = SELECT_PATTERN.matcher(result);
+        if (!matcher.find()) {
+            return null;
+        }
+        return "select " + String.join(", ", selectItems) + " from " + result.substring(matcher.end());
+    }
+}
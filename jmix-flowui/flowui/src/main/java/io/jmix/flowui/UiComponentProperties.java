@@ -71,6 +71,17 @@ public class UiComponentProperties {
      */
     List<Integer> paginationItemsPerPageItems;
 
+    /**
+     * Maximum number of rows counted by pagination components. If the number of rows is greater, it is shown as
+     * "limit+". 0 means that rows are counted exactly.
+     */
+    int paginationCountLimit;
+
+    /**
+     * Number of seconds the total count of rows calculated by pagination components is cached for a query
+     * with the same parameters. 0 disables the cache.
+     */
+    int paginationCountCacheExpirationSec;
 
     /**
      * Map for defining the component to be used for selecting the specified entity in generation strategy mechanisms
@@ -149,6 +160,8 @@ public class UiComponentProperties {
             String pickerOpenShortcut,
             String pickerClearShortcut,
             @DefaultValue({"20", "50", "100", "500", "1000", "5000"}) List<Integer> paginationItemsPerPageItems,
+            @DefaultValue("0") int paginationCountLimit,
+            @DefaultValue("0") int paginationCountCacheExpirationSec,
             @Nullable Map<String, String> entityFieldFqn,
             @Nullable Map<String, List<String>> entityFieldActions,
             @DefaultValue("true") boolean filterAutoApply,
@@ -178,6 +191,8 @@ public class UiComponentProperties {
         this.pickerClearShortcut = pickerClearShortcut;
 
         this.paginationItemsPerPageItems = paginationItemsPerPageItems;
+        this.paginationCountLimit = paginationCountLimit;
+        this.paginationCountCacheExpirationSec = paginationCountCacheExpirationSec;
 
         this.entityFieldFqn = entityFieldFqn == null ? Collections.emptyMap() : entityFieldFqn;
         this.entityFieldActions = entityFieldActions == null ? Collections.emptyMap() : entityFieldActions;
@@ -270,6 +285,20 @@ public class UiComponentProperties {
         return paginationItemsPerPageItems;
     }
 
+    /**
+     * @see #paginationCountLimit
+     */
+    public int getPaginationCountLimit() {
+        return paginationCountLimit;
+    }
+
+    /**
+     * @see #paginationCountCacheExpirationSec
+     */
+    public int getPaginationCountCacheExpirationSec() {
+        return paginationCountCacheExpirationSec;
+    }
+
     /**
      * @see #entityFieldFqn
      */
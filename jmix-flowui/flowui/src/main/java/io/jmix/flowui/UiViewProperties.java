@@ -56,6 +56,19 @@ public class UiViewProperties {
      */
     boolean preventBrowserTabClosing;
 
+    /**
+     * Whether XML descriptors of all registered views are loaded and processed in background on application startup,
+     * so that the first opening of a view does not have to do it.
+     */
+    boolean descriptorsWarmUpEnabled;
+
+    /**
+     * Whether independent data loaders of a view, triggered by the same view event of
+     * {@link io.jmix.flowui.facet.DataLoadCoordinator} or loaded by {@link io.jmix.flowui.model.ViewData#loadAll()},
+     * fetch data concurrently.
+     */
+    boolean concurrentDataLoadingEnabled;
+
     public UiViewProperties(
             String closeShortcut,
             String saveShortcut,
@@ -65,7 +78,9 @@ public class UiViewProperties {
             @DefaultValue("BOTTOM_END") String validationNotificationPosition,
             @DefaultValue("3000") Integer validationNotificationDuration,
             @DefaultValue("true") boolean reloadUnfetchedAttributesFromLookupViews,
-            @DefaultValue("false") boolean preventBrowserTabClosing
+            @DefaultValue("false") boolean preventBrowserTabClosing,
+            @DefaultValue("false") boolean descriptorsWarmUpEnabled,
+            @DefaultValue("false") boolean concurrentDataLoadingEnabled
     ) {
         this.closeShortcut = closeShortcut;
         this.saveShortcut = saveShortcut;
@@ -76,6 +91,8 @@ public class UiViewProperties {
         this.validationNotificationDuration = validationNotificationDuration;
         this.reloadUnfetchedAttributesFromLookupViews = reloadUnfetchedAttributesFromLookupViews;
         this.preventBrowserTabClosing = preventBrowserTabClosing;
+        this.descriptorsWarmUpEnabled = descriptorsWarmUpEnabled;
+        this.concurrentDataLoadingEnabled = concurrentDataLoadingEnabled;
     }
 
     public String getCloseShortcut() {
@@ -128,4 +145,18 @@ public class UiViewProperties {
     public boolean isPreventBrowserTabClosing()  {
         return preventBrowserTabClosing;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #descriptorsWarmUpEnabled
+     */
+    public boolean isDescriptorsWarmUpEnabled() {
+        return descriptorsWarmUpEnabled;
+    }
+
+    /**
+     * @see #concurrentDataLoadingEnabled
+     */
+    public boolean isConcurrentDataLoadingEnabled() {
+        return concurrentDataLoadingEnabled;
+    }
+}
@@ -35,6 +35,7 @@ import com.vaadin.flow.data.selection.SelectionModel;
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.shared.Registration;
 import io.jmix.core.AccessManager;
+import io.jmix.core.LoadContext;
 import io.jmix.core.MessageTools;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.accesscontext.EntityAttributeContext;
@@ -54,15 +55,21 @@ import io.jmix.flowui.component.grid.DataGridDataProviderChangeObserver;
 import io.jmix.flowui.component.grid.EnhancedDataGrid;
 import io.jmix.flowui.component.grid.editor.DataGridEditor;
 import io.jmix.flowui.data.BindingState;
+import io.jmix.flowui.data.ContainerDataUnit;
 import io.jmix.flowui.data.EntityDataUnit;
 import io.jmix.flowui.data.aggregation.Aggregation;
 import io.jmix.flowui.data.aggregation.Aggregations;
 import io.jmix.flowui.data.aggregation.impl.AggregatableDelegate;
+import io.jmix.flowui.data.aggregation.impl.DataStoreAggregations;
 import io.jmix.flowui.data.grid.DataGridItems;
 import io.jmix.flowui.data.provider.StringPresentationValueProvider;
 import io.jmix.flowui.kit.action.Action;
 import io.jmix.flowui.kit.component.HasActions;
 import io.jmix.flowui.kit.component.KeyCombination;
+import io.jmix.flowui.model.CollectionContainer;
+import io.jmix.flowui.model.CollectionLoader;
+import io.jmix.flowui.model.HasLoader;
+import io.jmix.flowui.model.impl.DataLoadersHelper;
 import io.jmix.flowui.sys.BeanUtil;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -90,6 +97,7 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
     protected AccessManager accessManager;
     protected Aggregations aggregations;
     protected AggregatableDelegate<Object> aggregatableDelegate;
+    protected DataStoreAggregations dataStoreAggregations;
 
     protected ITEMS dataGridItems;
 
@@ -107,8 +115,13 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
 
     protected boolean aggregatable;
     protected EnhancedDataGrid.AggregationPosition aggregationPosition = EnhancedDataGrid.AggregationPosition.BOTTOM;
+    protected EnhancedDataGrid.AggregationMode aggregationMode = EnhancedDataGrid.AggregationMode.IN_MEMORY;
     protected Map<Grid.Column<E>, AggregationInfo> aggregationMap = new LinkedHashMap<>();
 
+    // values calculated by the data store are kept until the query, its condition or parameters are changed
+    protected String dataStoreAggregationKey;
+    protected Map<AggregationInfo, Object> dataStoreAggregationValues;
+
     protected HeaderRow aggregationHeader;
     protected FooterRow aggregationFooter;
 
@@ -178,6 +191,7 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
             this.dataGridItems = dataGridItems;
 
             bind(dataGridItems);
+            invalidateDataStoreAggregation();
             updateAggregationRow();
 
             applySecurityToPropertyColumns();
@@ -209,6 +223,8 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
     protected void itemsItemSetChanged(DataGridItems.ItemSetChangeEvent<E> event) {
         closeEditorIfOpened();
         component.getDataCommunicator().reset();
+        // items could be added, removed or reloaded with changed data
+        invalidateDataStoreAggregation();
         updateAggregationRow();
         //refresh selection because it contains old item instances which may not exist in the container anymore
         refreshSelection(event.getSource().getItems());
@@ -271,6 +287,7 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
         }
 
         component.getDataCommunicator().refresh(event.getItem());
+        invalidateDataStoreAggregation();
         updateAggregationRow();
     }
 
@@ -380,6 +397,19 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
         this.aggregationPosition = position;
     }
 
+    public EnhancedDataGrid.AggregationMode getAggregationMode() {
+        return aggregationMode;
+    }
+
+    public void setAggregationMode(EnhancedDataGrid.AggregationMode aggregationMode) {
+        Preconditions.checkNotNullArgument(aggregationMode);
+
+        this.aggregationMode = aggregationMode;
+
+        invalidateDataStoreAggregation();
+        updateAggregationRow();
+    }
+
     public void addAggregationInfo(Grid.Column<E> column, AggregationInfo info) {
         if (aggregationMap.containsKey(column)) {
             throw new IllegalStateException(String.format("Aggregation property %s already exists", column.getKey()));
@@ -404,12 +434,21 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
 
         List<AggregationInfo> aggregationInfos = getAggregationInfos();
 
-        Map<AggregationInfo, String> aggregationInfoMap = getAggregatableDelegate().aggregate(
+        Map<AggregationInfo, String> aggregationInfoMap = new HashMap<>();
+        Map<AggregationInfo, Object> dataStoreValues = aggregateByDataStore(aggregationInfos);
+        if (dataStoreValues != null) {
+            aggregationInfoMap.putAll(getAggregatableDelegate().format(dataStoreValues));
+            aggregationInfos = aggregationInfos.stream()
+                    .filter(info -> !dataStoreValues.containsKey(info))
+                    .toList();
+        }
+
+        aggregationInfoMap.putAll(getAggregatableDelegate().aggregate(
                 aggregationInfos.toArray(new AggregationInfo[0]),
                 getItems().getItems().stream()
                         .map(EntityValues::getIdOrEntity)
                         .toList()
-        );
+        ));
 
         return convertAggregationKeyMapToColumnMap(aggregationInfoMap);
     }
@@ -422,16 +461,80 @@ public abstract class AbstractGridDelegate<C extends Grid<E> & ListDataComponent
 
         List<AggregationInfo> aggregationInfos = getAggregationInfos();
 
-        Map<AggregationInfo, Object> aggregationInfoMap = getAggregatableDelegate().aggregateValues(
+        Map<AggregationInfo, Object> aggregationInfoMap = new HashMap<>();
+        Map<AggregationInfo, Object> dataStoreValues = aggregateByDataStore(aggregationInfos);
+        if (dataStoreValues != null) {
+            aggregationInfoMap.putAll(dataStoreValues);
+            aggregationInfos = aggregationInfos.stream()
+                    .filter(info -> !dataStoreValues.containsKey(info))
+                    .toList();
+        }
+
+        aggregationInfoMap.putAll(getAggregatableDelegate().aggregateValues(
                 aggregationInfos.toArray(new AggregationInfo[0]),
                 getItems().getItems().stream()
                         .map(EntityValues::getId)
                         .toList()
-        );
+        ));
 
         return convertAggregationKeyMapToColumnMap(aggregationInfoMap);
     }
 
+    /**
+     * Calculates aggregations supported by the data store if the {@link EnhancedDataGrid.AggregationMode#DATA_STORE}
+     * mode is set and the grid is bound to a container with a collection loader.
+     *
+     * @return values of aggregations calculated by the data store or null if the data store cannot be used
+     */
+    @Nullable
+    protected Map<AggregationInfo, Object> aggregateByDataStore(List<AggregationInfo> aggregationInfos) {
+        if (aggregationMode != EnhancedDataGrid.AggregationMode.DATA_STORE
+                || !(getItems() instanceof ContainerDataUnit)) {
+            return null;
+        }
+
+        CollectionContainer<E> container = ((ContainerDataUnit<E>) getItems()).getContainer();
+        if (!(container instanceof HasLoader)
+                || !(((HasLoader) container).getLoader() instanceof CollectionLoader)) {
+            return null;
+        }
+        CollectionLoader<?> loader = (CollectionLoader<?>) ((HasLoader) container).getLoader();
+
+        DataStoreAggregations dataStoreAggregations = getDataStoreAggregations();
+        List<AggregationInfo> supportedInfos = aggregationInfos.stream()
+                .filter(dataStoreAggregations::supports)
+                .toList();
+        if (supportedInfos.isEmpty()) {
+            return null;
+        }
+
+        LoadContext.Query query = loader.createLoadContext().getQuery();
+        String key = query != null
+                ? DataLoadersHelper.getQueryKey(query.getQueryString(), query.getCondition(), query.getParameters())
+                : null;
+        if (key != null && key.equals(dataStoreAggregationKey)
+                && dataStoreAggregationValues.keySet().containsAll(supportedInfos)) {
+            return dataStoreAggregationValues;
+        }
+
+        Map<AggregationInfo, Object> values = dataStoreAggregations.aggregate(loader, supportedInfos);
+        dataStoreAggregationKey = values != null ? key : null;
+        dataStoreAggregationValues = values;
+        return values;
+    }
+
+    protected void invalidateDataStoreAggregation() {
+        dataStoreAggregationKey = null;
+        dataStoreAggregationValues = null;
+    }
+
+    protected DataStoreAggregations getDataStoreAggregations() {
+        if (dataStoreAggregations == null) {
+            dataStoreAggregations = applicationContext.getBean(DataStoreAggregations.class);
+        }
+        return dataStoreAggregations;
+    }
+
     protected <V> Map<Grid.Column<E>, V> convertAggregationKeyMapToColumnMap(Map<AggregationInfo, V> aggregationInfos) {
         return aggregationMap.entrySet()
                 .stream()
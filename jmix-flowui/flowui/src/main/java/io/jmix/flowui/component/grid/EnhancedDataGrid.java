@@ -59,6 +59,18 @@ public interface EnhancedDataGrid<T> {
      */
     void setAggregationPosition(AggregationPosition position);
 
+    /**
+     * @return how aggregated values are calculated
+     */
+    AggregationMode getAggregationMode();
+
+    /**
+     * Sets how aggregated values are calculated. Default value is {@link AggregationMode#IN_MEMORY}.
+     *
+     * @param aggregationMode mode: {@link AggregationMode#IN_MEMORY} or {@link AggregationMode#DATA_STORE}
+     */
+    void setAggregationMode(AggregationMode aggregationMode);
+
     /**
      * Add an aggregation info in order to perform aggregation for column.
      *
@@ -85,4 +97,22 @@ public interface EnhancedDataGrid<T> {
         TOP,
         BOTTOM
     }
+
+    /**
+     * Defines how aggregated values are calculated.
+     */
+    enum AggregationMode {
+
+        /**
+         * Values are calculated over the items loaded to the grid.
+         */
+        IN_MEMORY,
+
+        /**
+         * Values are calculated by the data store over all instances selected by the query and the condition
+         * of the collection loader, e.g. over all pages. Aggregations with a custom strategy and aggregations
+         * that cannot be calculated by the data store are calculated in memory.
+         */
+        DATA_STORE
+    }
 }
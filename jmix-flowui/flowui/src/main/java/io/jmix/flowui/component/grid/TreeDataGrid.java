@@ -340,6 +340,16 @@ public class TreeDataGrid<E> extends JmixTreeGrid<E> implements ListDataComponen
         gridDelegate.setAggregationPosition(aggregationPosition);
     }
 
+    @Override
+    public AggregationMode getAggregationMode() {
+        return gridDelegate.getAggregationMode();
+    }
+
+    @Override
+    public void setAggregationMode(AggregationMode aggregationMode) {
+        gridDelegate.setAggregationMode(aggregationMode);
+    }
+
     @Override
     public void addAggregation(Column<E> column, AggregationInfo info) {
         gridDelegate.addAggregationInfo(column, info);
@@ -370,7 +370,8 @@ public class SimplePagination extends JmixSimplePagination implements Pagination
     }
 
     protected void onLastClick(ClickEvent<Button> event) {
-        int count = getTotalCount();
+        // the last page cannot be found by the limited count
+        int count = loader == null ? 0 : loader.getExactCount();
         int itemsToDisplay = count % loader.getMaxResults();
         if (itemsToDisplay == 0) itemsToDisplay = loader.getMaxResults();
 
@@ -634,7 +635,12 @@ public class SimplePagination extends JmixSimplePagination implements Pagination
     }
 
     protected void setTotalCountLabelText(int totalCount) {
-        getTotalCountLabel().setText(numberDatatype.format(totalCount, currentAuthentication.getLocale()));
+        int countLimit = loader == null ? 0 : loader.getCountLimit();
+        if (countLimit > 0 && totalCount > countLimit) {
+            getTotalCountLabel().setText(numberDatatype.format(countLimit, currentAuthentication.getLocale()) + "+");
+        } else {
+            getTotalCountLabel().setText(numberDatatype.format(totalCount, currentAuthentication.getLocale()));
+        }
         getTotalCountLabel().removeClassName(ROWS_STATUS_LINK_CLASS_NAME);
         getTotalCountLabel().setEnabled(false);
     }
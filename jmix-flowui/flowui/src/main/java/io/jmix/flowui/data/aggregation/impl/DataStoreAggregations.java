@@ -0,0 +1,266 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowui.data.aggregation.impl;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.LoadContext;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.ValueLoadContext;
+import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.flowui.component.AggregationInfo;
+import io.jmix.flowui.data.aggregation.Aggregation;
+import io.jmix.flowui.data.aggregation.Aggregations;
+import io.jmix.flowui.model.CollectionLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Calculates aggregated values of data grid columns by the data store over all instances selected by the query
+ * and the condition of a collection loader, instead of the instances loaded to the grid. All values are calculated
+ * by a single query, references in property paths are joined by left joins, so that instances with empty references
+ * are counted.
+ * <p>
+ * The loader query is modified by regular expressions, so only simple queries starting with
+ * {@code select <alias> from <entity> <alias>} are supported. If the data module is used, the query is modified
+ * by its query transformer instead.
+ */
+@Component("flowui_DataStoreAggregations")
+public class DataStoreAggregations {
+
+    protected static final Pattern SELECT_PATTERN =
+            Pattern.compile("^\\s*select\\s+(\\w+)\\s+from\\s", Pattern.CASE_INSENSITIVE);
+    protected static final Pattern ORDER_BY_PATTERN =
+            Pattern.compile("\\sorder\\s+by\\s[^)]*$", Pattern.CASE_INSENSITIVE);
+
+    protected static final String JOIN_ALIAS_PREFIX = "aggJoin";
+
+    @Autowired
+    protected DataManager dataManager;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected Aggregations aggregations;
+
+    /**
+     * Returns whether the aggregation can be calculated by the data store.
+     */
+    public boolean supports(AggregationInfo aggregationInfo) {
+        if (aggregationInfo.getType() == null
+                || aggregationInfo.getType() == AggregationInfo.Type.CUSTOM
+                || aggregationInfo.getStrategy() != null) {
+            return false;
+        }
+
+        MetaPropertyPath propertyPath = aggregationInfo.getPropertyPath();
+        if (propertyPath == null) {
+            return false;
+        }
+        for (MetaProperty metaProperty : propertyPath.getMetaProperties()) {
+            if (!metadataTools.isJpa(metaProperty) || metaProperty.getRange().getCardinality().isMany()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates aggregated values over all instances selected by the loader.
+     *
+     * @param loader           collection loader
+     * @param aggregationInfos aggregations supported by the data store, see {@link #supports(AggregationInfo)}
+     * @return aggregated values or null if the loader query cannot be aggregated
+     */
+    @Nullable
+    public Map<AggregationInfo, Object> aggregate(CollectionLoader<?> loader,
+                                                  Collection<AggregationInfo> aggregationInfos) {
+        LoadContext<?> loadContext = loader.createLoadContext();
+        LoadContext.Query query = loadContext.getQuery();
+        if (query == null || query.getQueryString() == null || query.isDistinct()) {
+            return null;
+        }
+
+        Matcher matcher = SELECT_PATTERN.matcher(query.getQueryString());
+        if (!matcher.find()) {
+            return null;
+        }
+        String alias = matcher.group(1);
+
+        // join paths by aliases
+        Map<String, String> joins = new LinkedHashMap<>();
+        List<String> selectItems = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        for (AggregationInfo aggregationInfo : aggregationInfos) {
+            String property = "a" + properties.size();
+            properties.add(property);
+            selectItems.add(createSelectItem(alias, aggregationInfo, joins));
+        }
+
+        List<String> joinClauses = new ArrayList<>();
+        for (Map.Entry<String, String> join : joins.entrySet()) {
+            joinClauses.add("left join " + join.getKey() + " " + join.getValue());
+        }
+        String queryString = createQueryString(query.getQueryString(), alias, selectItems, joinClauses);
+        if (queryString == null) {
+            return null;
+        }
+
+        ValueLoadContext valueLoadContext = ValueLoadContext.create()
+                .setStoreName(loadContext.getEntityMetaClass().getStore().getName())
+                .setProperties(properties)
+                .setJoinTransaction(loadContext.isJoinTransaction());
+        for (Map.Entry<String, Object> hint : loadContext.getHints().entrySet()) {
+            if (hint.getValue() instanceof Serializable) {
+                valueLoadContext.setHint(hint.getKey(), (Serializable) hint.getValue());
+            }
+        }
+        valueLoadContext.setQuery(new ValueLoadContext.Query(queryString)
+                .setCondition(query.getCondition())
+                .setParameters(query.getParameters()));
+
+        List<KeyValueEntity> result = dataManager.loadValues(valueLoadContext);
+        KeyValueEntity values = result.isEmpty() ? null : result.get(0);
+
+        Map<AggregationInfo, Object> aggregationValues = new HashMap<>();
+        int i = 0;
+        for (AggregationInfo aggregationInfo : aggregationInfos) {
+            Object value = values != null ? values.getValue(properties.get(i++)) : null;
+            aggregationValues.put(aggregationInfo, convertValue(aggregationInfo, value));
+        }
+        return aggregationValues;
+    }
+
+    /**
+     * Creates the aggregation query from the loader query.
+     *
+     * @param queryString loader query
+     * @param alias       alias of the selected entity
+     * @param selectItems aggregate expressions replacing the selected entity
+     * @param joins       join clauses to add to the query
+     * @return aggregation query or null if the loader query cannot be modified
+     */
+    @Nullable
+    protected String createQueryString(String queryString, String alias, List<String> selectItems,
+                                       List<String> joins) {
+        Matcher selectMatcher = SELECT_PATTERN.matcher(queryString);
+        if (!selectMatcher.find()) {
+            return null;
+        }
+        String fromClause = queryString.substring(selectMatcher.end());
+
+        if (!joins.isEmpty()) {
+            // joins are added right after the declaration of the selected entity
+            Pattern entityPattern = Pattern.compile(
+                    "^\\s*[\\w$]+\\s+(as\\s+)?" + Pattern.quote(alias) + "(?=[\\s,]|$)", Pattern.CASE_INSENSITIVE);
+            Matcher entityMatcher = entityPattern.matcher(fromClause);
+            if (!entityMatcher.find()) {
+                return null;
+            }
+            fromClause = fromClause.substring(0, entityMatcher.end()) + " " + String.join(" ", joins)
+                    + fromClause.substring(entityMatcher.end());
+        }
+
+        String result = "select " + String.join(", ", selectItems) + " from " + fromClause;
+        return ORDER_BY_PATTERN.matcher(result).replaceFirst("");
+    }
+
+    protected String createSelectItem(String alias, AggregationInfo aggregationInfo, Map<String, String> joins) {
+        MetaPropertyPath propertyPath = Objects.requireNonNull(aggregationInfo.getPropertyPath());
+        String path = createPath(alias, propertyPath, joins);
+        return switch (Objects.requireNonNull(aggregationInfo.getType())) {
+            case SUM -> "sum(" + path + ")";
+            case AVG -> "avg(" + path + ")";
+            case MIN -> "min(" + path + ")";
+            case MAX -> "max(" + path + ")";
+            // the same as in-memory aggregation, which counts all items
+            case COUNT -> "count(" + alias + ")";
+            default -> throw new IllegalArgumentException(String.format("Unsupported aggregation type: %s",
+                    aggregationInfo.getType()));
+        };
+    }
+
+    /**
+     * Returns the path of the property, adding joins of references to the given map.
+     */
+    protected String createPath(String alias, MetaPropertyPath propertyPath, Map<String, String> joins) {
+        MetaProperty[] metaProperties = propertyPath.getMetaProperties();
+        String variable = alias;
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < metaProperties.length; i++) {
+            MetaProperty metaProperty = metaProperties[i];
+            if (!path.isEmpty()) {
+                path.append('.');
+            }
+            path.append(metaProperty.getName());
+
+            if (i < metaProperties.length - 1
+                    && metaProperty.getRange().isClass()
+                    && !metadataTools.isEmbedded(metaProperty)) {
+                String joinPath = variable + "." + path;
+                String joinAlias = joins.get(joinPath);
+                if (joinAlias == null) {
+                    joinAlias = JOIN_ALIAS_PREFIX + joins.size();
+                    joins.put(joinPath, joinAlias);
+                }
+                variable = joinAlias;
+                path.setLength(0);
+            }
+        }
+        return variable + "." + path;
+    }
+
+    /**
+     * Converts the value returned by the data store, e.g. {@code Double} for an average, to the result class
+     * of in-memory aggregation, so that values are displayed in the same way.
+     */
+    @Nullable
+    protected Object convertValue(AggregationInfo aggregationInfo, @Nullable Object value) {
+        if (aggregationInfo.getType() == AggregationInfo.Type.COUNT) {
+            return value instanceof Number ? ((Number) value).intValue() : 0;
+        }
+        if (!(value instanceof Number)) {
+            return value;
+        }
+
+        Class<?> javaClass = Objects.requireNonNull(aggregationInfo.getPropertyPath()).getRangeJavaClass();
+        Aggregation<?> aggregation = aggregations.get(javaClass);
+        Class<?> resultClass = aggregation != null ? aggregation.getResultClass() : value.getClass();
+
+        Number number = (Number) value;
+        if (resultClass == Long.class) {
+            return number.longValue();
+        } else if (resultClass == Double.class) {
+            return number.doubleValue();
+        } else if (resultClass == BigDecimal.class) {
+            return number instanceof BigDecimal ? number : new BigDecimal(number.toString());
+        } else if (resultClass == BigInteger.class) {
+            return number instanceof BigInteger ? number : new BigDecimal(number.toString()).toBigInteger();
+        }
+        return value;
+    }
+}
@@ -24,14 +24,30 @@ import io.jmix.flowui.data.BindingState;
 import io.jmix.flowui.model.CollectionContainer;
 
 import org.springframework.lang.Nullable;
+import java.util.*;
 import java.util.stream.Stream;
 
+/**
+ * Hierarchical data provider based on a {@link CollectionContainer}. Children of items are looked up in an index
+ * which is built on the first request and then updated on changes of the container items.
+ */
 public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
         implements TreeDataGridItems<E>, HierarchicalDataProvider<E, Void> {
 
     protected final String hierarchyProperty;
     protected final boolean showOrphans;
 
+    /**
+     * Children in the container order by parent ID, root items are stored by the {@code null} key.
+     * The index is {@code null} if it has to be rebuilt.
+     */
+    protected Map<Object, List<E>> childrenIndex;
+    /**
+     * Keys in {@link #childrenIndex} by item ID.
+     */
+    protected Map<Object, Object> parentKeys;
+    protected List<E> rootItems;
+
     public ContainerTreeDataGridItems(CollectionContainer<E> container,
                                       String hierarchyProperty) {
         this(container, hierarchyProperty, true);
@@ -46,6 +62,136 @@ public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
         this.showOrphans = showOrphans;
     }
 
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> event) {
+        updateIndex(event);
+        super.containerCollectionChanged(event);
+    }
+
+    @Override
+    protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> event) {
+        if (hierarchyProperty.equals(event.getProperty()) && childrenIndex != null) {
+            removeFromIndex(event.getItem());
+            addToIndex(event.getItem());
+            rootItems = null;
+        }
+        super.containerItemPropertyChanged(event);
+    }
+
+    protected void updateIndex(CollectionContainer.CollectionChangeEvent<E> event) {
+        rootItems = null;
+        if (childrenIndex == null) {
+            return;
+        }
+
+        switch (event.getChangeType()) {
+            case ADD_ITEMS:
+                for (E item : event.getChanges()) {
+                    addToIndex(item);
+                }
+                break;
+            case REMOVE_ITEMS:
+                for (E item : event.getChanges()) {
+                    removeFromIndex(item);
+                }
+                break;
+            case SET_ITEM:
+                for (E item : event.getChanges()) {
+                    if (!parentKeys.containsKey(EntityValues.getId(item))) {
+                        // an item with another ID has been replaced, it cannot be found in the index
+                        invalidateIndex();
+                        return;
+                    }
+                    removeFromIndex(item);
+                    addToIndex(item);
+                }
+                break;
+            default:
+                invalidateIndex();
+        }
+    }
+
+    protected void invalidateIndex() {
+        childrenIndex = null;
+        parentKeys = null;
+        rootItems = null;
+    }
+
+    protected Map<Object, List<E>> getChildrenIndex() {
+        if (childrenIndex == null) {
+            childrenIndex = new HashMap<>();
+            parentKeys = new HashMap<>();
+            for (E item : container.getItems()) {
+                Object parentKey = getParentKey(item);
+                childrenIndex.computeIfAbsent(parentKey, k -> new ArrayList<>()).add(item);
+                parentKeys.put(EntityValues.getId(item), parentKey);
+            }
+        }
+        return childrenIndex;
+    }
+
+    protected void addToIndex(E item) {
+        Object parentKey = getParentKey(item);
+        List<E> siblings = childrenIndex.computeIfAbsent(parentKey, k -> new ArrayList<>());
+
+        // keep siblings in the container order
+        int itemIndex = container.getItemIndex(item);
+        int low = 0;
+        int high = siblings.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (container.getItemIndex(siblings.get(mid)) < itemIndex) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        siblings.add(low, item);
+        parentKeys.put(EntityValues.getId(item), parentKey);
+    }
+
+    protected void removeFromIndex(E item) {
+        Object id = EntityValues.getId(item);
+        if (!parentKeys.containsKey(id)) {
+            return;
+        }
+        Object parentKey = parentKeys.remove(id);
+        List<E> siblings = childrenIndex.get(parentKey);
+        if (siblings != null) {
+            siblings.removeIf(sibling -> Objects.equals(EntityValues.getId(sibling), id));
+            if (siblings.isEmpty()) {
+                childrenIndex.remove(parentKey);
+            }
+        }
+    }
+
+    @Nullable
+    protected Object getParentKey(E item) {
+        E parentItem = EntityValues.getValue(item, hierarchyProperty);
+        return parentItem != null ? EntityValues.getId(parentItem) : null;
+    }
+
+    protected List<E> getRootItems() {
+        if (rootItems == null) {
+            Map<Object, List<E>> index = getChildrenIndex();
+            List<E> roots = new ArrayList<>(index.getOrDefault(null, Collections.emptyList()));
+            if (showOrphans) {
+                boolean orphansFound = false;
+                for (Map.Entry<Object, List<E>> entry : index.entrySet()) {
+                    if (entry.getKey() != null && container.getItemOrNull(entry.getKey()) == null) {
+                        roots.addAll(entry.getValue());
+                        orphansFound = true;
+                    }
+                }
+                if (orphansFound) {
+                    roots.sort(Comparator.comparingInt(item -> container.getItemIndex(item)));
+                }
+            }
+            rootItems = roots;
+        }
+        return rootItems;
+    }
+
     @Override
     public int getChildCount(HierarchicalQuery<E, Void> query) {
         if (getState() == BindingState.INACTIVE) {
@@ -69,29 +215,16 @@ public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
 
     public Stream<E> getChildren(@Nullable E item) {
         if (item == null) {
-            // root items
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem == null
-                                || (showOrphans && container.getItemOrNull(EntityValues.getId(parentItem)) == null);
-                    });
+            return getRootItems().stream();
         } else {
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem != null && parentItem.equals(item);
-                    });
+            return getChildrenIndex().getOrDefault(EntityValues.getId(item), Collections.emptyList()).stream();
         }
     }
 
     @Override
     public boolean hasChildren(E item) {
-        return container.getItems().stream()
-                .anyMatch(it -> {
-                    E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                    return parentItem != null && parentItem.equals(item);
-                });
+        List<E> children = getChildrenIndex().get(EntityValues.getId(item));
+        return children != null && !children.isEmpty();
     }
 
     public int getLevel(E item) {
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowui.data.grid;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.FetchPlans;
+import io.jmix.core.FluentLoader;
+import io.jmix.core.LoadContext;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.Sort;
+import io.jmix.core.ValueLoadContext;
+import io.jmix.core.common.event.Subscription;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.flowui.model.CollectionContainer;
+import io.jmix.flowui.model.CollectionLoader;
+import io.jmix.flowui.model.DataContext;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Hierarchical data provider which loads children of an item when they are requested for the first time, e.g.
+ * when the item is expanded. Loaded children are added to the container.
+ * <p>
+ * If a loader is set by {@link #setLoader(CollectionLoader)}, its query, condition and parameters are applied when
+ * children are loaded, and the provider restricts the items loaded by the loader itself to root items. So the loader
+ * query should select all items, not only roots. Without a loader, the container is expected to be loaded with root
+ * items only, and all children of an item are loaded.
+ * <p>
+ * Whether an item has children is determined by a single query for a batch of items whose children are not
+ * loaded yet.
+ */
+public class LazyContainerTreeDataGridItems<E> extends ContainerTreeDataGridItems<E> {
+
+    public static final int DEFAULT_EXISTENCE_BATCH_SIZE = 100;
+
+    protected static final Pattern SELECT_PATTERN =
+            Pattern.compile("^\\s*select\\s+(\\w+)\\s+from\\s", Pattern.CASE_INSENSITIVE);
+    protected static final Pattern ORDER_BY_PATTERN =
+            Pattern.compile("\\sorder\\s+by\\s[^)]*$", Pattern.CASE_INSENSITIVE);
+
+    protected final DataManager dataManager;
+    protected final MetadataTools metadataTools;
+    protected final FetchPlans fetchPlans;
+
+    protected CollectionLoader<E> loader;
+    protected Subscription loaderPreLoadSubscription;
+    protected DataContext dataContext;
+    protected FetchPlan fetchPlan;
+    protected Sort sort;
+    protected int existenceBatchSize = DEFAULT_EXISTENCE_BATCH_SIZE;
+
+    protected Set<Object> loadedParents = new HashSet<>();
+    protected Map<Object, Boolean> childrenExistence = new HashMap<>();
+    protected boolean loadingChildren;
+
+    public LazyContainerTreeDataGridItems(CollectionContainer<E> container,
+                                          String hierarchyProperty,
+                                          boolean showOrphans,
+                                          DataManager dataManager,
+                                          MetadataTools metadataTools,
+                                          FetchPlans fetchPlans) {
+        super(container, hierarchyProperty, showOrphans);
+
+        Preconditions.checkNotNullArgument(dataManager);
+        Preconditions.checkNotNullArgument(metadataTools);
+        Preconditions.checkNotNullArgument(fetchPlans);
+
+        this.dataManager = dataManager;
+        this.metadataTools = metadataTools;
+        this.fetchPlans = fetchPlans;
+        this.fetchPlan = container.getFetchPlan();
+    }
+
+    /**
+     * Sets the loader of the container. Its query, condition, parameters and hints are applied when children and
+     * their existence are loaded, and the items loaded by the loader itself are restricted to root items.
+     */
+    public void setLoader(@Nullable CollectionLoader<E> loader) {
+        if (loaderPreLoadSubscription != null) {
+            loaderPreLoadSubscription.remove();
+            loaderPreLoadSubscription = null;
+        }
+
+        this.loader = loader;
+
+        if (loader != null) {
+            loaderPreLoadSubscription = loader.addPreLoadListener(this::onLoaderPreLoad);
+        }
+    }
+
+    protected void onLoaderPreLoad(CollectionLoader.PreLoadEvent<E> event) {
+        LoadContext.Query query = event.getLoadContext().getQuery();
+        if (query != null) {
+            query.setCondition(combine(query.getCondition(), PropertyCondition.isSet(hierarchyProperty, false)));
+        }
+    }
+
+    /**
+     * Sets the data context to merge loaded children into. Usually it is the data context of the container loader.
+     */
+    public void setDataContext(@Nullable DataContext dataContext) {
+        this.dataContext = dataContext;
+    }
+
+    /**
+     * Sets the fetch plan of loaded children. By default, the fetch plan of the container is used.
+     */
+    public void setFetchPlan(@Nullable FetchPlan fetchPlan) {
+        this.fetchPlan = fetchPlan;
+    }
+
+    /**
+     * Sets the sort of loaded children. By default, the sort of the loader is used if the loader is set.
+     */
+    public void setSort(@Nullable Sort sort) {
+        this.sort = sort;
+    }
+
+    /**
+     * Sets the maximum number of items checked for children by a single query.
+     */
+    public void setExistenceBatchSize(int existenceBatchSize) {
+        Preconditions.checkArgument(existenceBatchSize > 0, "Batch size must be positive");
+        this.existenceBatchSize = existenceBatchSize;
+    }
+
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> event) {
+        if (loadingChildren) {
+            // children are requested by the component, so it does not need to be refreshed
+            updateIndex(event);
+            return;
+        }
+        super.containerCollectionChanged(event);
+    }
+
+    @Override
+    protected void updateIndex(CollectionContainer.CollectionChangeEvent<E> event) {
+        switch (event.getChangeType()) {
+            case REFRESH:
+                loadedParents.clear();
+                childrenExistence.clear();
+                break;
+            case REMOVE_ITEMS:
+                for (E item : event.getChanges()) {
+                    Object parentKey = getParentKey(item);
+                    if (parentKey != null) {
+                        childrenExistence.remove(parentKey);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        super.updateIndex(event);
+    }
+
+    @Override
+    public Stream<E> getChildren(@Nullable E item) {
+        if (item != null) {
+            loadChildren(item);
+        }
+        return super.getChildren(item);
+    }
+
+    @Override
+    public boolean hasChildren(E item) {
+        if (super.hasChildren(item)) {
+            return true;
+        }
+
+        Object id = EntityValues.getId(item);
+        if (loadedParents.contains(id)) {
+            return false;
+        }
+
+        Boolean exists = childrenExistence.get(id);
+        if (exists == null) {
+            loadChildrenExistence(item);
+            exists = childrenExistence.getOrDefault(id, false);
+        }
+        return exists;
+    }
+
+    protected void loadChildren(E parent) {
+        Object parentId = EntityValues.getId(parent);
+        if (parentId == null || !loadedParents.add(parentId)) {
+            return;
+        }
+
+        List<E> loadedChildren = loader != null ? loadChildrenByLoader(parent) : loadAllChildren(parent);
+
+        List<E> children = new ArrayList<>();
+        for (E child : loadedChildren) {
+            // children which are already in the container, e.g. added by the application, are kept
+            if (container.getItemOrNull(EntityValues.getId(child)) == null) {
+                children.add(dataContext != null ? dataContext.merge(child) : child);
+            }
+        }
+        childrenExistence.put(parentId, !children.isEmpty() || super.hasChildren(parent));
+        if (children.isEmpty()) {
+            return;
+        }
+
+        loadingChildren = true;
+        try {
+            container.getMutableItems().addAll(children);
+        } finally {
+            loadingChildren = false;
+        }
+    }
+
+    protected List<E> loadChildrenByLoader(E parent) {
+        LoadContext<E> loadContext = loader.createLoadContext();
+        LoadContext.Query query = loadContext.getQuery();
+        query.setCondition(combine(query.getCondition(), PropertyCondition.equal(hierarchyProperty, parent)));
+        query.setFirstResult(0);
+        query.setMaxResults(0);
+        if (sort != null) {
+            query.setSort(sort);
+        }
+        if (fetchPlan != null) {
+            loadContext.setFetchPlan(fetchPlan);
+        }
+        return dataManager.loadList(loadContext);
+    }
+
+    protected List<E> loadAllChildren(E parent) {
+        MetaClass metaClass = container.getEntityMetaClass();
+        FluentLoader.ByQuery<E> query = dataManager.load(metaClass.<E>getJavaClass())
+                .query(String.format("select e from %s e where e.%s = :parent", metaClass.getName(), hierarchyProperty))
+                .parameter("parent", parent)
+                .fetchPlan(fetchPlan);
+        if (sort != null) {
+            query.sort(sort);
+        }
+        return query.list();
+    }
+
+    /**
+     * Checks whether the given item and other items of the container with unknown children have children
+     * in the database.
+     */
+    protected void loadChildrenExistence(E item) {
+        List<Object> ids = new ArrayList<>();
+        ids.add(EntityValues.getId(item));
+        for (E containerItem : container.getItems()) {
+            if (ids.size() >= existenceBatchSize) {
+                break;
+            }
+            Object id = EntityValues.getId(containerItem);
+            if (id != null && !loadedParents.contains(id) && !childrenExistence.containsKey(id)
+                    && !ids.contains(id)) {
+                ids.add(id);
+            }
+        }
+
+        for (Object id : ids) {
+            childrenExistence.put(id, false);
+        }
+        for (Object parentId : loadParentIds(ids)) {
+            childrenExistence.put(parentId, true);
+        }
+    }
+
+    /**
+     * Returns ids of the given items which have children.
+     */
+    protected Collection<Object> loadParentIds(List<Object> ids) {
+        MetaClass metaClass = container.getEntityMetaClass();
+        String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+        String parentIdPath = hierarchyProperty + "." + primaryKeyName;
+
+        ValueLoadContext valueLoadContext;
+        if (loader != null) {
+            valueLoadContext = createParentIdsLoadContext(loader.createLoadContext(), parentIdPath, ids);
+            if (valueLoadContext == null) {
+                return loadParentIdsByChildren(parentIdPath, ids);
+            }
+        } else {
+            valueLoadContext = ValueLoadContext.create()
+                    .setStoreName(metaClass.getStore().getName())
+                    .setQuery(new ValueLoadContext.Query(String.format(
+                            "select distinct e.%1$s from %2$s e where e.%1$s in :ids", parentIdPath, metaClass.getName()))
+                            .setParameter("ids", ids))
+                    .setProperties(Collections.singletonList("parentId"));
+        }
+
+        List<KeyValueEntity> parents = dataManager.loadValues(valueLoadContext);
+
+        List<Object> parentIds = new ArrayList<>(parents.size());
+        for (KeyValueEntity parent : parents) {
+            parentIds.add(parent.getValue("parentId"));
+        }
+        return parentIds;
+    }
+
+    /**
+     * Creates a query selecting distinct parent ids of children selected by the loader query, condition and
+     * parameters.
+     *
+     * @return the load context or null if the loader query cannot be modified
+     */
+    @Nullable
+    protected ValueLoadContext createParentIdsLoadContext(LoadContext<E> loadContext, String parentIdPath,
+                                                          List<Object> ids) {
+        LoadContext.Query query = loadContext.getQuery();
+        if (query == null || query.getQueryString() == null) {
+            return null;
+        }
+        Matcher matcher = SELECT_PATTERN.matcher(query.getQueryString());
+        if (!matcher.find()) {
+            return null;
+        }
+        String alias = matcher.group(1);
+        String queryString = String.format("select distinct %s.%s from %s",
+                alias, parentIdPath, query.getQueryString().substring(matcher.end()));
+        queryString = ORDER_BY_PATTERN.matcher(queryString).replaceFirst("");
+
+        ValueLoadContext valueLoadContext = ValueLoadContext.create()
+                .setStoreName(loadContext.getEntityMetaClass().getStore().getName())
+                .setProperties(Collections.singletonList("parentId"))
+                .setJoinTransaction(loadContext.isJoinTransaction());
+        for (Map.Entry<String, Object> hint : loadContext.getHints().entrySet()) {
+            if (hint.getValue() instanceof Serializable) {
+                valueLoadContext.setHint(hint.getKey(), (Serializable) hint.getValue());
+            }
+        }
+        valueLoadContext.setQuery(new ValueLoadContext.Query(queryString)
+                .setCondition(combine(query.getCondition(), PropertyCondition.inList(parentIdPath, ids)))
+                .setParameters(query.getParameters()));
+        return valueLoadContext;
+    }
+
+    /**
+     * Returns ids of the given items which have children selected by the loader if its query cannot be converted
+     * to a value query. Children are loaded with the parent reference only.
+     */
+    protected Collection<Object> loadParentIdsByChildren(String parentIdPath, List<Object> ids) {
+        LoadContext<E> loadContext = loader.createLoadContext();
+        LoadContext.Query query = loadContext.getQuery();
+        query.setCondition(combine(query.getCondition(), PropertyCondition.inList(parentIdPath, ids)));
+        query.setFirstResult(0);
+        query.setMaxResults(0);
+        query.setSort(null);
+        loadContext.setFetchPlan(fetchPlans.builder(container.getEntityMetaClass().getJavaClass())
+                .add(hierarchyProperty)
+                .build());
+
+        Set<Object> parentIds = new HashSet<>();
+        for (E child : dataManager.loadList(loadContext)) {
+            Object parent = EntityValues.getValue(child, hierarchyProperty);
+            if (parent != null) {
+                parentIds.add(EntityValues.getId(parent));
+            }
+        }
+        return parentIds;
+    }
+
+    protected Condition combine(@Nullable Condition condition, Condition additionalCondition) {
+        return condition != null
+                ? LogicalCondition.and(condition, additionalCondition)
+                : additionalCondition;
+    }
+}
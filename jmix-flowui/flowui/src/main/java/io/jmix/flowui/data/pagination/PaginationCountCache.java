@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowui.data.pagination;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.core.DataStore;
+import io.jmix.core.LoadContext;
+import io.jmix.core.ValueLoadContext;
+import io.jmix.core.datastore.AbstractDataStore;
+import io.jmix.core.datastore.DataStoreCustomizer;
+import io.jmix.core.datastore.DataStoreEntityDeletingEvent;
+import io.jmix.core.datastore.DataStoreEntitySavingEvent;
+import io.jmix.core.datastore.DataStoreEventListener;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.flowui.UiComponentProperties;
+import io.jmix.flowui.model.impl.DataLoadersHelper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.springframework.lang.Nullable;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Caches the total count of rows calculated by pagination components for
+ * {@link UiComponentProperties#getPaginationCountCacheExpirationSec()} seconds, so that switching pages does not
+ * count rows again. Counts are cached by the current user and the query with its condition, parameters and hints,
+ * regardless of the requested page and sort.
+ * <p>
+ * Cached counts of a data store are invalidated when entities are saved or removed through this data store.
+ * Changes made to the database directly or by other application instances are shown when cached counts expire.
+ */
+@Component("flowui_PaginationCountCache")
+public class PaginationCountCache implements DataStoreCustomizer {
+
+    protected static final int MAX_SIZE = 10000;
+
+    @Autowired
+    protected UiComponentProperties componentProperties;
+
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
+    protected Cache<String, Integer> cache;
+
+    @PostConstruct
+    protected void init() {
+        int expirationSec = componentProperties.getPaginationCountCacheExpirationSec();
+        if (expirationSec > 0) {
+            cache = CacheBuilder.newBuilder()
+                    .maximumSize(MAX_SIZE)
+                    .expireAfterWrite(expirationSec, TimeUnit.SECONDS)
+                    .build();
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached count of instances for the given load context or calculates it with the given supplier.
+     */
+    public int getCount(LoadContext<?> context, IntSupplier countSupplier) {
+        if (cache == null) {
+            return countSupplier.getAsInt();
+        }
+
+        String key = null;
+        LoadContext.Query query = context.getQuery();
+        if (query != null) {
+            key = createKey(context.getEntityMetaClass().getStore().getName(),
+                    context.getEntityMetaClass().getName(), query.getQueryString(),
+                    query.getCondition(), query.getParameters(), context.getHints());
+        }
+        return getCount(key, countSupplier);
+    }
+
+    /**
+     * Returns the cached count of key-value instances for the given load context or calculates it with the given
+     * supplier.
+     */
+    public int getCount(ValueLoadContext context, IntSupplier countSupplier) {
+        if (cache == null) {
+            return countSupplier.getAsInt();
+        }
+
+        ValueLoadContext.Query query = context.getQuery();
+        String key = null;
+        if (query != null) {
+            key = createKey(context.getStoreName(), context.getProperties().toString(), query.getQueryString(),
+                    query.getCondition(), query.getParameters(), context.getHints());
+        }
+        return getCount(key, countSupplier);
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidates cached counts of queries to the given data store.
+     */
+    public void invalidate(String storeName) {
+        if (cache != null) {
+            String prefix = storeName + "|";
+            cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    @Override
+    public void customize(DataStore dataStore) {
+        if (dataStore instanceof AbstractDataStore abstractStore) {
+            String storeName = dataStore.getName();
+            abstractStore.registerInterceptor(new DataStoreEventListener() {
+                @Override
+                public void entitySaving(DataStoreEntitySavingEvent event) {
+                    if (!event.getEntities().isEmpty()) {
+                        invalidate(storeName);
+                    }
+                }
+
+                @Override
+                public void entityDeleting(DataStoreEntityDeletingEvent event) {
+                    if (!event.getEntities().isEmpty()) {
+                        invalidate(storeName);
+                    }
+                }
+            });
+        }
+    }
+
+    protected int getCount(@Nullable String key, IntSupplier countSupplier) {
+        if (key == null) {
+            return countSupplier.getAsInt();
+        }
+
+        Integer count = cache.getIfPresent(key);
+        if (count == null) {
+            count = countSupplier.getAsInt();
+            cache.put(key, count);
+        }
+        return count;
+    }
+
+    /**
+     * @return cache key or null if the count must not be cached
+     */
+    @Nullable
+    protected String createKey(String storeName, String target, @Nullable String queryString,
+                               @Nullable Condition condition, Map<String, Object> parameters, Map<String, ?> hints) {
+        String queryKey = DataLoadersHelper.getQueryKey(queryString, condition, parameters);
+        if (queryKey == null) {
+            return null;
+        }
+        // the store name goes first to invalidate counts of the store by the key prefix
+        return storeName
+                + "|" + currentAuthentication.getUser().getUsername()
+                + "|" + target
+                + "|" + queryKey
+                + "|" + new TreeMap<>(hints);
+    }
+}
@@ -48,10 +48,26 @@ public interface PaginationDataLoader {
     void setMaxResults(int maxResults);
 
     /**
-     * @return number of instances in the data store
+     * @return number of instances in the data store. If the count limit is set, the returned value is not greater
+     * than {@code countLimit + 1}
+     * @see #getCountLimit()
      */
     int getCount();
 
+    /**
+     * @return exact number of instances in the data store regardless of the count limit
+     */
+    default int getExactCount() {
+        return getCount();
+    }
+
+    /**
+     * @return maximum number of instances counted by {@link #getCount()} or 0 if instances are counted exactly
+     */
+    default int getCountLimit() {
+        return 0;
+    }
+
     /**
      * @return number of instances are currently loaded
      */
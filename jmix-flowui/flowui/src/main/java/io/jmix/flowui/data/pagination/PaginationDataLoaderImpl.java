@@ -22,6 +22,7 @@ import io.jmix.core.LoadContext;
 import io.jmix.core.ValueLoadContext;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.flowui.UiComponentProperties;
 import io.jmix.flowui.model.*;
 import io.jmix.flowui.model.CollectionContainer.CollectionChangeEvent;
 import io.jmix.flowui.model.impl.WeakCollectionChangeListener;
@@ -42,7 +43,16 @@ import java.util.function.Function;
 public class PaginationDataLoaderImpl implements PaginationDataLoader {
     private static final Logger log = LoggerFactory.getLogger(PaginationDataLoaderImpl.class);
 
+    /**
+     * Hint limiting the number of counted instances, supported by JPA data stores.
+     */
+    public static final String COUNT_LIMIT_HINT = "jmix.countLimit";
+
     protected DataManager dataManager;
+    protected UiComponentProperties componentProperties;
+    protected PaginationCountCache countCache;
+
+    protected Integer countLimit;
 
     protected CollectionContainer<?> container;
     protected BaseCollectionLoader loader;
@@ -76,6 +86,16 @@ public class PaginationDataLoaderImpl implements PaginationDataLoader {
         this.dataManager = dataManager;
     }
 
+    @Autowired
+    public void setComponentProperties(UiComponentProperties componentProperties) {
+        this.componentProperties = componentProperties;
+    }
+
+    @Autowired
+    public void setCountCache(PaginationCountCache countCache) {
+        this.countCache = countCache;
+    }
+
     @Override
     public int getFirstResult() {
         return loader.getFirstResult();
@@ -109,12 +129,45 @@ public class PaginationDataLoaderImpl implements PaginationDataLoader {
             }
         }
 
+        return loadCount(getCountLimit());
+    }
+
+    @Override
+    public int getExactCount() {
+        if (totalCountDelegate != null) {
+            return getCount();
+        }
+        return loadCount(0);
+    }
+
+    @Override
+    public int getCountLimit() {
+        return countLimit != null ? countLimit : componentProperties.getPaginationCountLimit();
+    }
+
+    /**
+     * Sets maximum number of instances to count. If it is not set,
+     * {@link UiComponentProperties#getPaginationCountLimit()} is used.
+     *
+     * @param countLimit maximum number of instances to count, 0 means that instances are counted exactly
+     */
+    public void setCountLimit(@Nullable Integer countLimit) {
+        this.countLimit = countLimit;
+    }
+
+    protected int loadCount(int countLimit) {
         if (loader instanceof CollectionLoader<?> collectionLoader) {
             LoadContext<?> context = collectionLoader.createLoadContext();
-            return (int) dataManager.getCount(context);
+            if (countLimit > 0) {
+                context.setHint(COUNT_LIMIT_HINT, countLimit);
+            }
+            return countCache.getCount(context, () -> (int) dataManager.getCount(context));
         } else if (loader instanceof KeyValueCollectionLoader valueCollectionLoader) {
             ValueLoadContext context = valueCollectionLoader.createLoadContext();
-            return (int) dataManager.getCount(context);
+            if (countLimit > 0) {
+                context.setHint(COUNT_LIMIT_HINT, countLimit);
+            }
+            return countCache.getCount(context, () -> (int) dataManager.getCount(context));
         } else {
             log.warn("Unsupported loader type: {}", loader.getClass().getName());
             return 0;
@@ -30,6 +30,21 @@ public class OnViewEventLoadTrigger implements DataLoadCoordinator.Trigger {
 
     public OnViewEventLoadTrigger(View<?> view, ReflectionCacheManager reflectionCacheManager,
                                   DataLoader loader, Class<?> eventClass) {
+        this.loader = loader;
+
+        addListener(view, reflectionCacheManager, eventClass, event -> load());
+    }
+
+    /**
+     * Creates a trigger of the loader which is loaded together with other loaders by a listener added by
+     * {@link #addListener(View, ReflectionCacheManager, Class, ComponentEventListener)}.
+     */
+    public OnViewEventLoadTrigger(DataLoader loader) {
+        this.loader = loader;
+    }
+
+    public static void addListener(View<?> view, ReflectionCacheManager reflectionCacheManager,
+                                   Class<?> eventClass, ComponentEventListener<?> listener) {
         MethodHandle addListenerMethod = reflectionCacheManager.getTargetAddListenerMethod(
                 view.getClass(), eventClass, null
         );
@@ -38,14 +53,12 @@ public class OnViewEventLoadTrigger implements DataLoadCoordinator.Trigger {
         }
 
         try {
-            addListenerMethod.invoke(view, (ComponentEventListener<?>) event -> load());
+            addListenerMethod.invoke(view, listener);
         } catch (Error e) {
             throw e;
         } catch (Throwable e) {
             throw new RuntimeException("Unable to add listener for " + eventClass, e);
         }
-
-        this.loader = loader;
     }
 
     protected void load() {
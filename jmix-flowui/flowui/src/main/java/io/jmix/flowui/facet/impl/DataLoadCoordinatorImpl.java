@@ -23,6 +23,7 @@ import io.jmix.core.impl.QueryParamValuesManager;
 import io.jmix.core.querycondition.Condition;
 import io.jmix.core.querycondition.JpqlCondition;
 import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.flowui.UiViewProperties;
 import io.jmix.flowui.component.UiComponentUtils;
 import io.jmix.flowui.facet.DataLoadCoordinator;
 import io.jmix.flowui.facet.dataloadcoordinator.OnComponentValueChangedLoadTrigger;
@@ -38,9 +39,7 @@ import io.jmix.flowui.view.View.BeforeShowEvent;
 import io.jmix.flowui.view.ViewControllerUtils;
 import org.springframework.lang.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -54,8 +53,11 @@ public class DataLoadCoordinatorImpl extends AbstractFacet implements DataLoadCo
 
     protected List<Trigger> triggers = new ArrayList<>();
 
+    protected Map<Class<?>, List<DataLoader>> concurrentViewEventLoaders = new HashMap<>();
+
     protected ReflectionCacheManager reflectionCacheManager;
     private final QueryParamValuesManager queryParamValuesManager;
+    protected UiViewProperties viewProperties;
 
     public DataLoadCoordinatorImpl(ReflectionCacheManager reflectionCacheManager,
                                    QueryParamValuesManager queryParamValuesManager) {
@@ -63,6 +65,13 @@ public class DataLoadCoordinatorImpl extends AbstractFacet implements DataLoadCo
         this.queryParamValuesManager = queryParamValuesManager;
     }
 
+    public DataLoadCoordinatorImpl(ReflectionCacheManager reflectionCacheManager,
+                                   QueryParamValuesManager queryParamValuesManager,
+                                   UiViewProperties viewProperties) {
+        this(reflectionCacheManager, queryParamValuesManager);
+        this.viewProperties = viewProperties;
+    }
+
     @Override
     public void setContainerPrefix(String value) {
         containerPrefix = value;
@@ -80,7 +89,21 @@ public class DataLoadCoordinatorImpl extends AbstractFacet implements DataLoadCo
 
     @Override
     public void addOnViewEventLoadTrigger(DataLoader loader, Class<?> eventClass) {
-        triggers.add(new OnViewEventLoadTrigger(getOwnerNN(), reflectionCacheManager, loader, eventClass));
+        if (viewProperties != null && viewProperties.isConcurrentDataLoadingEnabled()) {
+            List<DataLoader> loaders = concurrentViewEventLoaders.get(eventClass);
+            if (loaders == null) {
+                List<DataLoader> eventLoaders = new ArrayList<>();
+                concurrentViewEventLoaders.put(eventClass, eventLoaders);
+                // loaders triggered by the same event do not depend on each other and are loaded concurrently
+                OnViewEventLoadTrigger.addListener(getOwnerNN(), reflectionCacheManager, eventClass,
+                        event -> DataLoadersHelper.loadAll(eventLoaders));
+                loaders = eventLoaders;
+            }
+            loaders.add(loader);
+            triggers.add(new OnViewEventLoadTrigger(loader));
+        } else {
+            triggers.add(new OnViewEventLoadTrigger(getOwnerNN(), reflectionCacheManager, loader, eventClass));
+        }
     }
 
     @Override
@@ -23,6 +23,8 @@ public class MergeOptions {
 
     private boolean fresh;
 
+    private boolean skipUnchanged;
+
     /**
      * The whole graph is fresh, i.e. just loaded from the database.
      */
@@ -39,4 +41,25 @@ public class MergeOptions {
         this.fresh = fresh;
         return this;
     }
+
+    /**
+     * State of nested instances that have been merged from the same source instances before is not merged again
+     * if no changes of the source and managed instances have been observed by the context since then. Instances
+     * referenced by them are merged as usual.
+     * <p>
+     * Changes made directly in collections of detached source instances are not observed, so use this option only
+     * for graphs whose collections are not modified outside of a data context.
+     */
+    public boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    /**
+     * @see #isSkipUnchanged()
+     * @return this instance for chaining
+     */
+    public MergeOptions setSkipUnchanged(boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+        return this;
+    }
 }
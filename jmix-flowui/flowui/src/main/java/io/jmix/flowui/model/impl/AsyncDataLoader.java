@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.flowui.model.impl;
+
+import io.jmix.flowui.model.DataLoader;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Data loader able to fetch data in a separate thread, so that independent loaders are executed concurrently by
+ * {@link DataLoadersHelper#loadAll(java.util.Collection)}.
+ */
+public interface AsyncDataLoader extends DataLoader {
+
+    /**
+     * Sends {@code PreLoadEvent} and starts fetching data asynchronously. Must be invoked in the UI thread.
+     *
+     * @return future completed with an action that sets the fetched data to the container and sends
+     * {@code PostLoadEvent}; the action must be invoked in the UI thread. Returns null if the loader cannot fetch
+     * data asynchronously, e.g. if it has a load delegate, and {@link #load()} should be used instead.
+     */
+    @Nullable
+    CompletableFuture<Runnable> startLoad();
+}
@@ -16,6 +16,9 @@
 
 package io.jmix.flowui.model.impl;
 
+import io.jmix.core.Entity;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
 import io.jmix.core.Sort;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -23,16 +26,28 @@ import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.flowui.model.CollectionContainer;
 import io.jmix.flowui.model.Sorter;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base implementation of sorting collection containers.
  */
 public abstract class BaseContainerSorter implements Sorter {
 
+    /**
+     * Number of items starting from which items are sorted in parallel.
+     */
+    protected static final int PARALLEL_SORT_THRESHOLD = 10000;
+
     protected BeanFactory beanFactory;
 
     private final CollectionContainer<?> container;
@@ -51,7 +66,11 @@ public abstract class BaseContainerSorter implements Sorter {
         sortInMemory(sort);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    /**
+     * Sorts container items in memory. Values of sort properties are extracted from each item once before sorting,
+     * so that property paths are not resolved on every comparison. References compared by instance names are
+     * replaced with their instance names, so that the names are not built on every comparison too.
+     */
     protected void sortInMemory(Sort sort) {
         List<Sort.Order> orders = sort.getOrders();
 
@@ -59,9 +78,105 @@ public abstract class BaseContainerSorter implements Sorter {
             return;
         }
 
-        List containerItems = new ArrayList<>(container.getItems());
         MetaClass metaClass = container.getEntityMetaClass();
 
+        if (isComparatorOverridden()) {
+            sortByItemComparator(orders, metaClass);
+            return;
+        }
+
+        MetaPropertyPath[] propertyPaths = new MetaPropertyPath[orders.size()];
+        List<Comparator<Object>> comparators = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            propertyPaths[i] = getPropertyPath(orders.get(i), metaClass);
+            comparators.add(createValuesComparator(orders.get(i), metaClass));
+        }
+
+        List<?> items = container.getItems();
+        SortEntry[] entries = new SortEntry[items.size()];
+        for (int i = 0; i < entries.length; i++) {
+            Object item = items.get(i);
+            Object[] keys = new Object[propertyPaths.length];
+            for (int j = 0; j < propertyPaths.length; j++) {
+                keys[j] = EntityValues.getValueEx(item, propertyPaths[j]);
+            }
+            entries[i] = new SortEntry(item, keys);
+        }
+
+        boolean entityValues = false;
+        for (int j = 0; j < propertyPaths.length; j++) {
+            if (propertyPaths[j].getRange().isClass()) {
+                entityValues |= !replaceWithInstanceNames(entries, j);
+            }
+        }
+
+        Comparator<SortEntry> entryComparator = (e1, e2) -> {
+            for (int i = 0; i < e1.keys.length; i++) {
+                int c = comparators.get(i).compare(e1.keys[i], e2.keys[i]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        };
+
+        // both sorts are stable, so items with equal keys keep their order;
+        // entities left in keys may be compared by instance names, which may depend on the current user,
+        // so they are sorted in the calling thread
+        if (entries.length >= PARALLEL_SORT_THRESHOLD && !entityValues) {
+            Arrays.parallelSort(entries, entryComparator);
+        } else {
+            Arrays.sort(entries, entryComparator);
+        }
+
+        List<Object> sortedItems = new ArrayList<>(entries.length);
+        for (SortEntry entry : entries) {
+            sortedItems.add(entry.item);
+        }
+        setItemsToContainer(sortedItems);
+    }
+
+    /**
+     * Replaces references in the given key column with their instance names if all of them are compared
+     * by instance names, i.e. their instance names are not related to any properties. Strings are compared
+     * the same way as instance names of references, so the order does not change.
+     *
+     * @return true if the references are replaced
+     */
+    protected boolean replaceWithInstanceNames(SortEntry[] entries, int keyIndex) {
+        Metadata metadata = beanFactory.getBean(Metadata.class);
+        MetadataTools metadataTools = beanFactory.getBean(MetadataTools.class);
+        Map<MetaClass, Boolean> comparedByInstanceName = new HashMap<>();
+        for (SortEntry entry : entries) {
+            Object key = entry.keys[keyIndex];
+            if (key == null) {
+                continue;
+            }
+            if (!(key instanceof Entity) || key instanceof Comparable) {
+                return false;
+            }
+            boolean byInstanceName = comparedByInstanceName.computeIfAbsent(metadata.getClass(key),
+                    keyMetaClass -> metadataTools.getInstanceNameRelatedProperties(keyMetaClass, true).isEmpty());
+            if (!byInstanceName) {
+                return false;
+            }
+        }
+        for (SortEntry entry : entries) {
+            Object key = entry.keys[keyIndex];
+            if (key != null) {
+                entry.keys[keyIndex] = metadataTools.getInstanceName(key);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorts items by comparators returned by an overridden {@link #createComparator(Sort.Order, MetaClass)}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void sortByItemComparator(List<Sort.Order> orders, MetaClass metaClass) {
+        List containerItems = new ArrayList<>(container.getItems());
+
         Comparator comparator = createComparator(orders.get(0), metaClass);
         for (int i = 1; i < orders.size(); i++) {
             comparator = comparator.thenComparing(createComparator(orders.get(i), metaClass));
@@ -71,16 +186,52 @@ public abstract class BaseContainerSorter implements Sorter {
         setItemsToContainer(containerItems);
     }
 
+    protected boolean isComparatorOverridden() {
+        Method method = ReflectionUtils.findMethod(ClassUtils.getUserClass(getClass()), "createComparator",
+                Sort.Order.class, MetaClass.class);
+        return method != null && method.getDeclaringClass() != BaseContainerSorter.class;
+    }
+
     protected abstract void setItemsToContainer(List<?> list);
 
+    /**
+     * Creates a comparator of items by the given sort order.
+     *
+     * @deprecated items are sorted by values extracted before sorting,
+     * use {@link #createValuesComparator(Sort.Order, MetaClass)}. If the method is overridden, items are sorted
+     * by the returned comparators without extracting values.
+     */
+    @Deprecated
     protected Comparator<?> createComparator(Sort.Order sortOrder, MetaClass metaClass) {
+        MetaPropertyPath propertyPath = getPropertyPath(sortOrder, metaClass);
+        Comparator<Object> comparator = createValuesComparator(sortOrder, metaClass);
+        return Comparator.comparing(e -> EntityValues.getValueEx(e, propertyPath), comparator);
+    }
+
+    /**
+     * Creates a comparator of property values by the given sort order.
+     */
+    protected Comparator<Object> createValuesComparator(Sort.Order sortOrder, MetaClass metaClass) {
+        boolean asc = sortOrder.getDirection() == Sort.Direction.ASC;
+        return new EntityValuesComparator<>(asc, metaClass, beanFactory);
+    }
+
+    protected MetaPropertyPath getPropertyPath(Sort.Order sortOrder, MetaClass metaClass) {
         MetaPropertyPath propertyPath = metaClass.getPropertyPath(sortOrder.getProperty());
         if (propertyPath == null) {
             throw new IllegalArgumentException("Property " + sortOrder.getProperty() + " is invalid");
         }
+        return propertyPath;
+    }
 
-        boolean asc = sortOrder.getDirection() == Sort.Direction.ASC;
-        EntityValuesComparator<Object> comparator = new EntityValuesComparator<>(asc, metaClass, beanFactory);
-        return Comparator.comparing(e -> EntityValues.getValueEx(e, propertyPath), comparator);
+    protected static class SortEntry {
+
+        protected final Object item;
+        protected final Object[] keys;
+
+        protected SortEntry(Object item, Object[] keys) {
+            this.item = item;
+            this.keys = keys;
+        }
     }
 }
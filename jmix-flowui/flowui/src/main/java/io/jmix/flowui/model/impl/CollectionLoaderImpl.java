@@ -35,6 +35,7 @@ import org.springframework.lang.Nullable;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -43,7 +44,7 @@ import static io.jmix.flowui.monitoring.UiMonitoring.*;
 /**
  *
  */
-public class CollectionLoaderImpl<E> implements CollectionLoader<E> {
+public class CollectionLoaderImpl<E> implements CollectionLoader<E>, AsyncDataLoader {
 
     @Autowired
     protected DataManager dataManager;
@@ -126,6 +127,40 @@ public class CollectionLoaderImpl<E> implements CollectionLoader<E> {
         DataLoaderMonitoringInfo info = monitoringInfoProvider.apply(this);
         stopDataLoaderTimerSample(sample, meterRegistry, DataLoaderLifeCycle.LOAD, info);
 
+        setLoadedItems(list);
+
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public CompletableFuture<Runnable> startLoad() {
+        if (container == null)
+            throw new IllegalStateException("container is null");
+
+        if (delegate != null) {
+            return null;
+        }
+
+        LoadContext<E> loadContext = createLoadContext();
+
+        if (!sendPreLoadEvent(loadContext)) {
+            return CompletableFuture.completedFuture(() -> {
+            });
+        }
+
+        Timer.Sample sample = startTimerSample(meterRegistry);
+
+        return dataManager.loadListAsync(loadContext)
+                .thenApply(list -> () -> {
+                    DataLoaderMonitoringInfo info = monitoringInfoProvider.apply(this);
+                    stopDataLoaderTimerSample(sample, meterRegistry, DataLoaderLifeCycle.LOAD, info);
+
+                    setLoadedItems(list);
+                });
+    }
+
+    protected void setLoadedItems(List<E> list) {
         if (dataContext != null) {
             List<E> mergedList = new ArrayList<>(list.size());
             for (E entity : list) {
@@ -137,8 +172,6 @@ public class CollectionLoaderImpl<E> implements CollectionLoader<E> {
         }
 
         sendPostLoadEvent(list);
-
-        return true;
     }
 
     @Override
@@ -16,6 +16,7 @@
 
 package io.jmix.flowui.model.impl;
 
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Sets;
 import io.jmix.core.*;
 import io.jmix.core.common.event.EventHub;
@@ -25,6 +26,7 @@ import io.jmix.core.impl.StandardSerialization;
 import io.jmix.core.metamodel.datatype.EnumClass;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.flowui.model.CollectionChangeType;
 import io.jmix.flowui.model.DataContext;
 import io.jmix.flowui.model.MergeOptions;
 import org.apache.commons.lang3.StringUtils;
@@ -91,6 +93,36 @@ public class DataContextImpl implements DataContextInternal {
 
     protected Map<Object, Object> nullIdEntitiesMap = new /*Identity*/HashMap<>();
 
+    /**
+     * Collections of managed entities that contain a managed entity. References are not removed when the entity
+     * leaves a collection, so the index can contain stale references which are ignored. Entities are compared
+     * by identity, so the index stays valid when their ids are changed.
+     */
+    protected Map<Object, Set<CollectionReference>> collectionReferences = new IdentityHashMap<>();
+
+    /**
+     * Collection properties of managed entities whose content is not reflected in {@link #collectionReferences},
+     * e.g. lazily loaded collections or collections set by application code.
+     */
+    protected Map<Object, Set<MetaProperty>> untrackedCollections = new IdentityHashMap<>();
+
+    /**
+     * Collections created by this context which report added items to {@link #collectionReferences}.
+     */
+    protected Set<Object> trackedCollections = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    /**
+     * Source instances merged with {@link MergeOptions#isSkipUnchanged()} and the state of the instances at that moment.
+     */
+    protected Map<Object, MergeStamp> mergeStamps = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Versions of managed and merged source instances incremented on each observed change of an instance.
+     */
+    protected Map<Object, Long> modificationVersions = new MapMaker().weakKeys().makeMap();
+
+    protected SourceChangeListener sourceChangeListener = new SourceChangeListener();
+
     @Nullable
     @Override
     public DataContext getParent() {
@@ -153,6 +185,9 @@ public class DataContextImpl implements DataContextInternal {
         try {
             Map<Object, Object> merged = new IdentityHashMap<>();
             result = (T) internalMerge(entity, merged, true, options);
+            if (options.isSkipUnchanged()) {
+                updateMergeStamps(merged);
+            }
         } finally {
             disableListeners = false;
         }
@@ -178,6 +213,9 @@ public class DataContextImpl implements DataContextInternal {
                 Object managed = internalMerge(entity, merged, true, options);
                 managedList.add(managed);
             }
+            if (options.isSkipUnchanged()) {
+                updateMergeStamps(merged);
+            }
         } finally {
             disableListeners = false;
         }
@@ -231,12 +269,102 @@ public class DataContextImpl implements DataContextInternal {
         } else {
             mergedMap.put(entity, managed);
             if (managed != entity) {
-                mergeState(entity, managed, mergedMap, isRoot, options);
+                if (!isUnchangedSinceLastMerge(entity, managed, isRoot, options)
+                        || !mergeReferences(entity, managed, mergedMap, options)) {
+                    mergeState(entity, managed, mergedMap, isRoot, options);
+                }
             }
         }
         return managed;
     }
 
+    /**
+     * Returns true if the non-root source instance has already been merged into the same managed instance with
+     * {@link MergeOptions#isSkipUnchanged()} and no changes of both instances have been observed since then.
+     * State of such instance is not merged again, only the instances it references are.
+     */
+    protected boolean isUnchangedSinceLastMerge(Object entity, Object managed, boolean isRoot, MergeOptions options) {
+        if (isRoot || !options.isSkipUnchanged() || options.isFresh()) {
+            return false;
+        }
+        MergeStamp stamp = mergeStamps.get(entity);
+        return stamp != null
+                && stamp.managed() == managed
+                && stamp.sourceVersion() == getModificationVersion(entity)
+                && stamp.managedVersion() == getModificationVersion(managed);
+    }
+
+    /**
+     * Merges instances referenced by the unchanged source instance and checks that the managed instance references
+     * the same managed instances.
+     *
+     * @return false if references of the managed instance differ, so the state of the source instance must be merged
+     */
+    protected boolean mergeReferences(Object srcEntity, Object dstEntity, Map<Object, Object> mergedMap,
+                                      MergeOptions options) {
+        boolean srcNew = entityStates.isNew(srcEntity);
+        for (MetaProperty property : getEntityMetaClass(srcEntity).getProperties()) {
+            String propertyName = property.getName();
+            if (!property.getRange().isClass()
+                    || (metadataTools.isMethodBased(property) && property.isReadOnly())
+                    || !(srcNew || entityStates.isLoaded(srcEntity, propertyName))) {
+                continue;
+            }
+            Object value = EntityValues.getValue(srcEntity, propertyName);
+            if (value == null) {
+                // null values are ignored in non-root source entities
+                continue;
+            }
+            if (!entityStates.isLoaded(dstEntity, propertyName)) {
+                return false;
+            }
+            Object dstValue = EntityValues.getValue(dstEntity, propertyName);
+            if (value instanceof Collection) {
+                if (!(dstValue instanceof Collection)) {
+                    return false;
+                }
+                Set<Object> dstItems = Collections.newSetFromMap(new IdentityHashMap<>());
+                dstItems.addAll((Collection<?>) dstValue);
+                for (Object item : (Collection<?>) value) {
+                    if (!dstItems.contains(mergeReference(item, mergedMap, options))) {
+                        return false;
+                    }
+                }
+            } else if (mergeReference(value, mergedMap, options) != dstValue) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected Object mergeReference(Object entity, Map<Object, Object> mergedMap, MergeOptions options) {
+        Object managed = mergedMap.get(entity);
+        return managed != null ? managed : internalMerge(entity, mergedMap, false, options);
+    }
+
+    protected void updateMergeStamps(Map<Object, Object> mergedMap) {
+        for (Map.Entry<Object, Object> entry : mergedMap.entrySet()) {
+            Object srcEntity = entry.getKey();
+            Object managed = entry.getValue();
+            if (srcEntity == managed || !(srcEntity instanceof Entity)) {
+                continue;
+            }
+            if (!mergeStamps.containsKey(srcEntity)) {
+                ((Entity) srcEntity).__getEntityEntry().addPropertyChangeListener(sourceChangeListener, true);
+            }
+            mergeStamps.put(srcEntity,
+                    new MergeStamp(managed, getModificationVersion(srcEntity), getModificationVersion(managed)));
+        }
+    }
+
+    protected long getModificationVersion(Object entity) {
+        return modificationVersions.getOrDefault(entity, 0L);
+    }
+
+    protected void incrementModificationVersion(Object entity) {
+        modificationVersions.merge(entity, 1L, Long::sum);
+    }
+
     protected Object makeKey(Object entity) {
         Object id = EntityValues.getId(entity);
         return Objects.requireNonNullElse(id, entity);
@@ -296,6 +424,9 @@ public class DataContextImpl implements DataContextInternal {
                 if (value == null || !entityStates.isLoaded(dstEntity, propertyName)) {
                     if (!metadataTools.isEmbedded(property)) {//dstEntity property value will be lazy loaded and replaced by srcEntity property value
                         setPropertyValue(dstEntity, property, value);
+                        if (property.getRange().getCardinality().isMany()) {
+                            indexCollection(dstEntity, property, value);
+                        }
                     }
                     continue;
                 }
@@ -308,6 +439,7 @@ public class DataContextImpl implements DataContextInternal {
                     } else {
                         throw new UnsupportedOperationException("Unsupported collection type: " + value.getClass().getName());
                     }
+                    indexCollection(dstEntity, property, EntityValues.getValue(dstEntity, propertyName));
                 } else {
                     if (!mergedMap.containsKey(value)) {
                         Object managedRef = internalMerge(value, mergedMap, false, options);
@@ -390,6 +522,10 @@ public class DataContextImpl implements DataContextInternal {
                     && !srcNew && !entityStates.isLoaded(srcEntity, propertyName)) {
                 entitySystemStateSupport.mergeLazyLoadingState((Entity) srcEntity, (Entity) dstEntity, property,
                         collection -> wrapLazyValueIntoObservableCollection(collection, dstEntity));
+                if (property.getRange().getCardinality().isMany()) {
+                    // content of a lazily loaded collection is not known until it is loaded
+                    untrackedCollections.computeIfAbsent(dstEntity, e -> new HashSet<>()).add(property);
+                }
             }
         }
 
@@ -403,7 +539,7 @@ public class DataContextImpl implements DataContextInternal {
                 Object managedRef = internalMerge(entity, mergedMap, false, options);
                 managedRefs.add(managedRef);
             }
-            List<Object> dstList = createObservableList(managedRefs, managedEntity);
+            List<Object> dstList = createObservableList(managedRefs, managedEntity, property);
             setPropertyValue(managedEntity, property, dstList);
 
         } else {
@@ -417,7 +553,7 @@ public class DataContextImpl implements DataContextInternal {
             }
 
             if (dstList == null) {
-                dstList = createObservableList(managedEntity);
+                dstList = createObservableList(new ArrayList<>(), managedEntity, property);
                 setPropertyValue(managedEntity, property, dstList);
             }
             if (dstList.size() == 0) {
@@ -443,7 +579,7 @@ public class DataContextImpl implements DataContextInternal {
                 Object managedRef = internalMerge(entity, mergedMap, false, options);
                 managedRefs.add(managedRef);
             }
-            Set<Object> dstSet = createObservableSet(managedRefs, managedEntity);
+            Set<Object> dstSet = createObservableSet(managedRefs, managedEntity, property);
             setPropertyValue(managedEntity, property, dstSet);
 
         } else {
@@ -458,7 +594,7 @@ public class DataContextImpl implements DataContextInternal {
 
 
             if (dstSet == null) {
-                dstSet = createObservableSet(managedEntity);
+                dstSet = createObservableSet(new LinkedHashSet<>(), managedEntity, property);
                 setPropertyValue(managedEntity, property, dstSet);
             }
             if (dstSet.size() == 0) {
@@ -499,6 +635,75 @@ public class DataContextImpl implements DataContextInternal {
         return new ObservableSet<>(set, (changeType, changes) -> modified(notifiedEntity));
     }
 
+    /**
+     * Creates a list which reports its changes to {@link #collectionReferences} in addition to
+     * {@link #modified(Object)}.
+     */
+    protected List<Object> createObservableList(List<Object> list, Object notifiedEntity, MetaProperty property) {
+        ObservableList<Object> observableList = new ObservableList<>(list, (changeType, changes) -> {
+            collectionChanged(notifiedEntity, property, changeType, changes);
+            modified(notifiedEntity);
+        });
+        trackedCollections.add(observableList);
+        return observableList;
+    }
+
+    /**
+     * Creates a set which reports its changes to {@link #collectionReferences} in addition to
+     * {@link #modified(Object)}.
+     */
+    protected ObservableSet<Object> createObservableSet(Set<Object> set, Object notifiedEntity, MetaProperty property) {
+        ObservableSet<Object> observableSet = new ObservableSet<>(set, (changeType, changes) -> {
+            collectionChanged(notifiedEntity, property, changeType, changes);
+            modified(notifiedEntity);
+        });
+        trackedCollections.add(observableSet);
+        return observableSet;
+    }
+
+    protected void collectionChanged(Object owner, MetaProperty property,
+                                     CollectionChangeType changeType, Collection<?> changes) {
+        if (changeType == CollectionChangeType.ADD_ITEMS || changeType == CollectionChangeType.SET_ITEM) {
+            for (Object item : changes) {
+                addCollectionReference(item, owner, property);
+            }
+        } else if (changeType == CollectionChangeType.REFRESH) {
+            // refresh does not report added items
+            indexCollection(owner, property, EntityValues.getValue(owner, property.getName()));
+        }
+    }
+
+    /**
+     * Registers the current value of the collection property of the managed entity in the reverse reference index.
+     * If the collection is not created by this context, its changes cannot be observed, so the property is
+     * processed by {@link #removeFromCollections(Object)} as untracked.
+     */
+    protected void indexCollection(Object owner, MetaProperty property, @Nullable Object value) {
+        if (value == null) {
+            Set<MetaProperty> properties = untrackedCollections.get(owner);
+            if (properties != null) {
+                properties.remove(property);
+            }
+        } else if (trackedCollections.contains(value)) {
+            Set<MetaProperty> properties = untrackedCollections.get(owner);
+            if (properties != null) {
+                properties.remove(property);
+            }
+            for (Object item : (Collection<?>) value) {
+                addCollectionReference(item, owner, property);
+            }
+        } else {
+            untrackedCollections.computeIfAbsent(owner, e -> new HashSet<>()).add(property);
+        }
+    }
+
+    protected void addCollectionReference(@Nullable Object item, Object owner, MetaProperty property) {
+        if (item != null) {
+            collectionReferences.computeIfAbsent(item, e -> new HashSet<>())
+                    .add(new CollectionReference(owner, property));
+        }
+    }
+
     @Override
     public void remove(Object entity) {
         checkNotNullArgument(entity, "entity is null");
@@ -523,29 +728,36 @@ public class DataContextImpl implements DataContextInternal {
     }
 
     protected void removeFromCollections(Object entityToRemove) {
-        for (Map.Entry<Class<?>, Map<Object, Object>> entry : content.entrySet()) {
-            Class<?> entityClass = entry.getKey();
-
-            MetaClass metaClass = metadata.getClass(entityClass);
-            for (MetaProperty metaProperty : metaClass.getProperties()) {
-                if (metaProperty.getRange().isClass()
-                        && metaProperty.getRange().getCardinality().isMany()
-                        && metaProperty.getRange().asClass().getJavaClass().isAssignableFrom(entityToRemove.getClass())) {
-
-                    Map<Object, Object> entityMap = entry.getValue();
-                    for (Object entity : entityMap.values()) {
-                        if (entityStates.isLoaded(entity, metaProperty.getName())) {
-                            Collection collection = EntityValues.getValue(entity, metaProperty.getName());
-                            if (collection != null) {
-                                collection.remove(entityToRemove);
-                            }
-                        }
-                    }
+        Set<CollectionReference> references = collectionReferences.remove(entityToRemove);
+        if (references != null) {
+            for (CollectionReference reference : references) {
+                removeFromCollection(reference.owner, reference.property, entityToRemove);
+            }
+        }
+
+        for (Map.Entry<Object, Set<MetaProperty>> entry : new ArrayList<>(untrackedCollections.entrySet())) {
+            for (MetaProperty metaProperty : new ArrayList<>(entry.getValue())) {
+                if (metaProperty.getRange().asClass().getJavaClass().isAssignableFrom(entityToRemove.getClass())) {
+                    removeFromCollection(entry.getKey(), metaProperty, entityToRemove);
                 }
             }
         }
     }
 
+    protected void removeFromCollection(Object owner, MetaProperty metaProperty, Object entityToRemove) {
+        Map<Object, Object> entityMap = content.get(owner.getClass());
+        if (entityMap == null || entityMap.get(makeKey(owner)) != owner) {
+            // the owner is not managed by this context anymore
+            return;
+        }
+        if (entityStates.isLoaded(owner, metaProperty.getName())) {
+            Collection collection = EntityValues.getValue(owner, metaProperty.getName());
+            if (collection != null) {
+                collection.remove(entityToRemove);
+            }
+        }
+    }
+
     @Override
     public void evict(Object entity) {
         checkNotNullArgument(entity, "entity is null");
@@ -556,6 +768,8 @@ public class DataContextImpl implements DataContextInternal {
             if (mergedEntity != null) {
                 entityMap.remove(makeKey(entity));
                 removeListeners(entity);
+                untrackedCollections.remove(mergedEntity);
+                collectionReferences.remove(mergedEntity);
             }
             modifiedInstances.remove(entity);
             removedInstances.remove(entity);
@@ -748,8 +962,10 @@ public class DataContextImpl implements DataContextInternal {
 
     protected Set<Object> saveToParentContext() {
         Set<Object> savedEntities = new HashSet<>();
+        // modified instances often share subgraphs which need to be merged only once
+        MergeOptions options = new MergeOptions().setSkipUnchanged(true);
         for (Object entity : modifiedInstances) {
-            Object merged = parentContext.merge(entity);
+            Object merged = parentContext.merge(entity, options);
             parentContext.getModifiedInstances().add(merged);
             savedEntities.add(merged);
         }
@@ -800,6 +1016,7 @@ public class DataContextImpl implements DataContextInternal {
     }
 
     protected void modified(Object entity) {
+        incrementModificationVersion(entity);
         if (!disableListeners) {
             modifiedInstances.add(entity);
             fireChangeListener(entity);
@@ -878,6 +1095,8 @@ public class DataContextImpl implements DataContextInternal {
     protected class PropertyChangeListener implements EntityPropertyChangeListener {
         @Override
         public void propertyChanged(EntityPropertyChangeEvent e) {
+            incrementModificationVersion(e.getItem());
+
             // if id has been changed, put the entity to the content with the new id
             if (e.getProperty().equals(getPrimaryKeyPropertyName(e.getItem()))) {
                 Map<Object, Object> entityMap = content.get(e.getItem().getClass());
@@ -891,6 +1110,13 @@ public class DataContextImpl implements DataContextInternal {
                 }
             }
 
+            MetaProperty metaProperty = getEntityMetaClass(e.getItem()).findProperty(e.getProperty());
+            if (metaProperty != null
+                    && metaProperty.getRange().isClass()
+                    && metaProperty.getRange().getCardinality().isMany()) {
+                indexCollection(e.getItem(), metaProperty, e.getValue());
+            }
+
             if (!disableListeners) {
                 modifiedInstances.add(e.getItem());
                 fireChangeListener(e.getItem());
@@ -898,6 +1124,44 @@ public class DataContextImpl implements DataContextInternal {
         }
     }
 
+    /**
+     * Collection property of a managed entity. Owners are compared by identity, so the reference stays valid
+     * when the owner id is changed.
+     */
+    protected static class CollectionReference {
+
+        protected final Object owner;
+        protected final MetaProperty property;
+
+        public CollectionReference(Object owner, MetaProperty property) {
+            this.owner = owner;
+            this.property = property;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CollectionReference that = (CollectionReference) o;
+            return owner == that.owner && property.equals(that.property);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(owner) + property.hashCode();
+        }
+    }
+
+    protected record MergeStamp(Object managed, long sourceVersion, long managedVersion) {
+    }
+
+    protected class SourceChangeListener implements EntityPropertyChangeListener {
+        @Override
+        public void propertyChanged(EntityPropertyChangeEvent e) {
+            incrementModificationVersion(e.getItem());
+        }
+    }
+
     protected class EmbeddedPropertyChangeListener implements EntityPropertyChangeListener {
 
         private final Object entity;
@@ -908,6 +1172,7 @@ public class DataContextImpl implements DataContextInternal {
 
         @Override
         public void propertyChanged(EntityPropertyChangeEvent e) {
+            incrementModificationVersion(entity);
             if (!disableListeners) {
                 modifiedInstances.add(entity);
                 fireChangeListener(entity);
@@ -17,6 +17,11 @@
 package io.jmix.flowui.model.impl;
 
 import com.google.common.base.Strings;
+import io.jmix.core.common.util.StringHelper;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.JpqlCondition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
 import io.jmix.flowui.model.DataLoader;
 import io.jmix.flowui.model.HasLoader;
 import io.jmix.flowui.model.InstanceContainer;
@@ -24,7 +29,12 @@ import io.jmix.flowui.model.Nested;
 
 import org.springframework.lang.Nullable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -79,4 +89,82 @@ public class DataLoadersHelper {
         }
         return true;
     }
+
+    /**
+     * Loads data of the given loaders. Loaders implementing {@link AsyncDataLoader} fetch data concurrently, then
+     * the fetched data is set to containers in the order of loaders in the calling thread. Other loaders are
+     * loaded sequentially by {@link DataLoader#load()}.
+     *
+     * @param loaders independent loaders, i.e. loaders which parameters do not depend on data of each other
+     */
+    public static void loadAll(Collection<? extends DataLoader> loaders) {
+        List<CompletableFuture<Runnable>> futures = new ArrayList<>(loaders.size());
+        for (DataLoader loader : loaders) {
+            futures.add(loader instanceof AsyncDataLoader ? ((AsyncDataLoader) loader).startLoad() : null);
+        }
+
+        int i = 0;
+        for (DataLoader loader : loaders) {
+            CompletableFuture<Runnable> future = futures.get(i++);
+            if (future == null) {
+                loader.load();
+            } else {
+                Runnable setLoadedData;
+                try {
+                    setLoadedData = future.join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw e;
+                }
+                setLoadedData.run();
+            }
+        }
+    }
+
+    /**
+     * Returns a string identifying the query together with its condition and parameters. Paging and sorting
+     * of the query are not taken into account.
+     *
+     * @return query key or null if the condition is of a type that cannot be represented by the key
+     */
+    @Nullable
+    public static String getQueryKey(@Nullable String queryString, @Nullable Condition condition,
+                                     Map<String, Object> parameters) {
+        StringBuilder key = new StringBuilder();
+        key.append(StringHelper.removeExtraSpaces(String.valueOf(queryString).replace('\n', ' ')));
+        key.append('|');
+        if (condition != null && !appendConditionKey(key, condition)) {
+            return null;
+        }
+        key.append('|').append(new TreeMap<>(parameters));
+        return key.toString();
+    }
+
+    protected static boolean appendConditionKey(StringBuilder key, Condition condition) {
+        if (condition instanceof LogicalCondition) {
+            LogicalCondition logicalCondition = (LogicalCondition) condition;
+            key.append(logicalCondition.getType()).append('(');
+            for (Condition nested : logicalCondition.getConditions()) {
+                if (!appendConditionKey(key, nested)) {
+                    return false;
+                }
+                key.append(',');
+            }
+            key.append(')');
+            return true;
+        } else if (condition instanceof PropertyCondition) {
+            key.append(condition);
+            return true;
+        } else if (condition instanceof JpqlCondition) {
+            JpqlCondition jpqlCondition = (JpqlCondition) condition;
+            key.append('[').append(jpqlCondition.getJoin())
+                    .append(' ').append(jpqlCondition.getWhere())
+                    .append(' ').append(new TreeMap<>(jpqlCondition.getParameterValuesMap()))
+                    .append(']');
+            return true;
+        }
+        return false;
+    }
 }
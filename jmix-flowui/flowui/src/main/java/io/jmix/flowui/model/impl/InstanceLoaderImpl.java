@@ -36,10 +36,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-public class InstanceLoaderImpl<E> implements InstanceLoader<E> {
+public class InstanceLoaderImpl<E> implements InstanceLoader<E>, AsyncDataLoader {
 
     @Autowired
     protected DataManager dataManager;
@@ -132,7 +133,41 @@ public class InstanceLoaderImpl<E> implements InstanceLoader<E> {
             }
         }
 
+        setLoadedItem(entity);
+    }
+
+    @Nullable
+    @Override
+    public CompletableFuture<Runnable> startLoad() {
+        if (container == null)
+            throw new IllegalStateException("container is null");
+
+        if (delegate != null) {
+            return null;
+        }
+
+        LoadContext<E> loadContext = createLoadContext();
+
+        if (!needLoad() || !sendPreLoadEvent(loadContext)) {
+            return CompletableFuture.completedFuture(() -> {
+            });
+        }
+
+        Timer.Sample sample = UiMonitoring.startTimerSample(meterRegistry);
+
+        return dataManager.loadAsync(loadContext)
+                .thenApply(entity -> () -> {
+                    DataLoaderMonitoringInfo info = monitoringInfoProvider.apply(this);
+                    UiMonitoring.stopDataLoaderTimerSample(sample, meterRegistry, DataLoaderLifeCycle.LOAD, info);
+
+                    if (entity == null) {
+                        throw new EntityAccessException(container.getEntityMetaClass(), entityId);
+                    }
+                    setLoadedItem(entity);
+                });
+    }
 
+    protected void setLoadedItem(E entity) {
         if (dataContext != null) {
             entity = dataContext.merge(entity, new MergeOptions().setFresh(true));
         }
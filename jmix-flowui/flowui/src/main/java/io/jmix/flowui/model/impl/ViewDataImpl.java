@@ -16,7 +16,9 @@
 
 package io.jmix.flowui.model.impl;
 
+import io.jmix.flowui.UiViewProperties;
 import io.jmix.flowui.model.ViewData;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.lang.Nullable;
@@ -28,6 +30,13 @@ public class ViewDataImpl extends AbstractDataComponentsHolder implements ViewDa
 
     protected String viewId;
 
+    protected UiViewProperties viewProperties;
+
+    @Autowired
+    public void setViewProperties(UiViewProperties viewProperties) {
+        this.viewProperties = viewProperties;
+    }
+
     @Override
     @Nullable
     public String getViewId() {
@@ -44,4 +53,13 @@ public class ViewDataImpl extends AbstractDataComponentsHolder implements ViewDa
     protected String getOwnerId() {
         return getViewId();
     }
+
+    @Override
+    public void loadAll() {
+        if (viewProperties != null && viewProperties.isConcurrentDataLoadingEnabled()) {
+            DataLoadersHelper.loadAll(getLoaders().values());
+        } else {
+            super.loadAll();
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package io.jmix.flowui.sys;
 
+import io.jmix.core.impl.scanning.ClassIndexReader;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -40,8 +41,17 @@ public abstract class AbstractScanConfiguration {
     protected abstract Environment getEnvironment();
 
     protected Stream<MetadataReader> scanPackage(String packageName) {
+        String basePackagePath = resolveBasePackage(packageName);
+        if (getEnvironment().getProperty(ClassIndexReader.ENABLED_PROPERTY, Boolean.class, true)) {
+            Stream<MetadataReader> indexed = new ClassIndexReader(getResourceLoader(), getMetadataReaderFactory())
+                    .scanPackage(basePackagePath);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+
         String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
-                resolveBasePackage(packageName) + '/' + DEFAULT_CLASS_RESOURCE_PATTERN;
+                basePackagePath + '/' + DEFAULT_CLASS_RESOURCE_PATTERN;
         ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(getResourceLoader());
         Resource[] resources;
         try {
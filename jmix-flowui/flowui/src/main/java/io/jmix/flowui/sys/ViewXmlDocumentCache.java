@@ -23,11 +23,24 @@ import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches processed view descriptors. Documents are cached by the XML text of the descriptor and, to avoid reading
+ * the resource on each view opening, by the resource path together with the resource version, e.g. the last
+ * modification time of a file.
+ * <p>
+ * Cached documents are shared by all views created from the descriptor and must not be modified.
+ */
 @Component("flowui_ViewXmlDocumentCache")
 public class ViewXmlDocumentCache {
 
     protected Cache<String, Document> cache;
 
+    protected Map<String, ResourceDocument> resourceDocuments = new ConcurrentHashMap<>();
+
     public ViewXmlDocumentCache() {
         this(100);
     }
@@ -45,7 +58,31 @@ public class ViewXmlDocumentCache {
         return cache.getIfPresent(xml);
     }
 
+    public void put(String resourcePath, String resourceVersion, Document document) {
+        resourceDocuments.put(resourcePath, new ResourceDocument(resourceVersion, document));
+    }
+
+    @Nullable
+    public Document get(String resourcePath, String resourceVersion) {
+        ResourceDocument resourceDocument = resourceDocuments.get(resourcePath);
+        return resourceDocument != null && Objects.equals(resourceDocument.version, resourceVersion)
+                ? resourceDocument.document
+                : null;
+    }
+
     public void invalidateAll() {
         cache.invalidateAll();
+        resourceDocuments.clear();
+    }
+
+    protected static class ResourceDocument {
+
+        protected final String version;
+        protected final Document document;
+
+        protected ResourceDocument(String version, Document document) {
+            this.version = version;
+            this.document = document;
+        }
     }
 }
\ No newline at end of file
@@ -24,6 +24,8 @@ import org.dom4j.Document;
 import org.dom4j.Element;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -68,12 +70,42 @@ public class ViewXmlLoader {
      * @return root XML element
      */
     public Element load(String resourcePath) {
+        String resourceVersion = getResourceVersion(resourcePath);
+        if (resourceVersion != null) {
+            Document document = viewXmlDocumentCache.get(resourcePath, resourceVersion);
+            if (document != null) {
+                return document.getRootElement();
+            }
+        }
+
         String template = loadTemplate(resourcePath);
         Document document = getDocument(template);
+        if (resourceVersion != null) {
+            viewXmlDocumentCache.put(resourcePath, resourceVersion, document);
+        }
 
         return document.getRootElement();
     }
 
+    /**
+     * Returns a string which changes when the resource is replaced or modified, e.g. on hot deploy. Resources packed
+     * into JARs cannot change, so only their location is taken into account.
+     *
+     * @param resourcePath path to the resource containing the XML
+     * @return resource version or null if it cannot be determined
+     */
+    @Nullable
+    protected String getResourceVersion(String resourcePath) {
+        Resource resource = resources.getResource(resourcePath);
+        try {
+            return resource.isFile()
+                    ? resource.getDescription() + ":" + resource.lastModified()
+                    : resource.getDescription();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private String loadTemplate(String resourcePath) {
         try (InputStream stream = resources.getResourceAsStream(resourcePath)) {
             if (stream == null) {
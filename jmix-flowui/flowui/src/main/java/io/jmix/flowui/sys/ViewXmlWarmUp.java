@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowui.sys;
+
+import io.jmix.flowui.UiViewProperties;
+import io.jmix.flowui.view.ViewInfo;
+import io.jmix.flowui.view.ViewRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads XML descriptors of all registered views in background on application startup if
+ * {@link UiViewProperties#isDescriptorsWarmUpEnabled()} is set, so that processed descriptors are already cached
+ * by {@link ViewXmlDocumentCache} when views are opened for the first time.
+ */
+@Component("flowui_ViewXmlWarmUp")
+public class ViewXmlWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewXmlWarmUp.class);
+
+    protected ViewXmlLoader viewXmlLoader;
+    protected ViewRegistry viewRegistry;
+    protected UiViewProperties viewProperties;
+
+    @Autowired
+    public void setViewXmlLoader(ViewXmlLoader viewXmlLoader) {
+        this.viewXmlLoader = viewXmlLoader;
+    }
+
+    @Autowired
+    public void setViewRegistry(ViewRegistry viewRegistry) {
+        this.viewRegistry = viewRegistry;
+    }
+
+    @Autowired
+    public void setViewProperties(UiViewProperties viewProperties) {
+        this.viewProperties = viewProperties;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!viewProperties.isDescriptorsWarmUpEnabled()) {
+            return;
+        }
+
+        Thread thread = new Thread(this::warmUp, "ViewXmlWarmUp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Loads descriptors of all registered views. Descriptors failed to load are skipped, as the failure is
+     * reported when the view is opened.
+     */
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+
+        List<String> templatePaths = new ArrayList<>();
+        for (ViewInfo viewInfo : viewRegistry.getViewInfos()) {
+            Optional<String> templatePath = viewInfo.getTemplatePath();
+            templatePath.ifPresent(templatePaths::add);
+        }
+
+        int loaded = 0;
+        for (String templatePath : templatePaths) {
+            try {
+                viewXmlLoader.load(templatePath);
+                loaded++;
+            } catch (RuntimeException e) {
+                log.debug("Unable to load view descriptor {}", templatePath, e);
+            }
+        }
+
+        log.info("Loaded {} of {} view descriptors in {} ms",
+                loaded, templatePaths.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -19,6 +19,7 @@ package io.jmix.flowui.xml.facet;
 import com.vaadin.flow.component.Component;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.impl.QueryParamValuesManager;
+import io.jmix.flowui.UiViewProperties;
 import io.jmix.flowui.component.UiComponentUtils;
 import io.jmix.flowui.exception.GuiDevelopmentException;
 import io.jmix.flowui.facet.DataLoadCoordinator;
@@ -42,13 +43,16 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
     protected LoaderSupport loaderSupport;
     protected ReflectionCacheManager reflectionCacheManager;
     protected QueryParamValuesManager queryParamValuesManager;
+    protected UiViewProperties viewProperties;
 
     public DataLoadCoordinatorFacetProvider(LoaderSupport loaderSupport,
                                             ReflectionCacheManager reflectionCacheManager,
-                                            QueryParamValuesManager queryParamValuesManager) {
+                                            QueryParamValuesManager queryParamValuesManager,
+                                            UiViewProperties viewProperties) {
         this.loaderSupport = loaderSupport;
         this.reflectionCacheManager = reflectionCacheManager;
         this.queryParamValuesManager = queryParamValuesManager;
+        this.viewProperties = viewProperties;
     }
 
     @Override
@@ -58,7 +62,7 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
 
     @Override
     public DataLoadCoordinator create() {
-        return new DataLoadCoordinatorImpl(reflectionCacheManager, queryParamValuesManager);
+        return new DataLoadCoordinatorImpl(reflectionCacheManager, queryParamValuesManager, viewProperties);
     }
 
     @Override
@@ -99,6 +99,8 @@ public abstract class AbstractGridLoader<T extends Grid & EnhancedDataGrid & Has
                 resultComponent.getEditor().setBuffered(editorBuffered));
         loadEnum(element, EnhancedDataGrid.AggregationPosition.class, "aggregationPosition",
                 resultComponent::setAggregationPosition);
+        loadEnum(element, EnhancedDataGrid.AggregationMode.class, "aggregationMode",
+                resultComponent::setAggregationMode);
         loadEnum(element, ColumnRendering.class, "columnRendering", resultComponent::setColumnRendering);
 
         componentLoader().loadEnabled(resultComponent, element);
@@ -17,13 +17,18 @@
 package io.jmix.flowui.xml.layout.loader.component;
 
 import com.google.common.base.Strings;
+import io.jmix.core.DataManager;
+import io.jmix.core.FetchPlans;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.flowui.component.grid.DataGridColumn;
 import io.jmix.flowui.component.grid.TreeDataGrid;
 import io.jmix.flowui.data.grid.ContainerTreeDataGridItems;
 import io.jmix.flowui.data.grid.EmptyTreeDataGridItems;
+import io.jmix.flowui.data.grid.LazyContainerTreeDataGridItems;
 import io.jmix.flowui.exception.GuiDevelopmentException;
+import io.jmix.flowui.model.CollectionLoader;
+import io.jmix.flowui.model.DataLoader;
 import org.dom4j.Element;
 
 public class TreeDataGridLoader extends AbstractGridLoader<TreeDataGrid<?>> {
@@ -55,14 +60,37 @@ public class TreeDataGridLoader extends AbstractGridLoader<TreeDataGrid<?>> {
         if (holder.getContainer() != null) {
             Boolean showOrphans = loadBoolean(element, "showOrphans").orElse(false);
 
-            resultComponent.setDataProvider(
-                    new ContainerTreeDataGridItems(holder.getContainer(),
-                            hierarchyProperty, showOrphans));
+            if (loadBoolean(element, "lazyLoading").orElse(false)) {
+                resultComponent.setDataProvider(createLazyDataProvider(holder, hierarchyProperty, showOrphans));
+            } else {
+                resultComponent.setDataProvider(
+                        new ContainerTreeDataGridItems(holder.getContainer(),
+                                hierarchyProperty, showOrphans));
+            }
         } else if (holder.getMetaClass() != null) {
             resultComponent.setDataProvider(new EmptyTreeDataGridItems<>(holder.getMetaClass()));
         }
     }
 
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected LazyContainerTreeDataGridItems createLazyDataProvider(GridDataHolder holder,
+                                                                    String hierarchyProperty,
+                                                                    boolean showOrphans) {
+        LazyContainerTreeDataGridItems dataProvider = new LazyContainerTreeDataGridItems(holder.getContainer(),
+                hierarchyProperty, showOrphans,
+                applicationContext.getBean(DataManager.class), getMetaDataTools(),
+                applicationContext.getBean(FetchPlans.class));
+
+        DataLoader dataLoader = holder.getDataLoader();
+        if (dataLoader != null) {
+            dataProvider.setDataContext(dataLoader.getDataContext());
+            if (dataLoader instanceof CollectionLoader) {
+                dataProvider.setLoader((CollectionLoader) dataLoader);
+            }
+        }
+        return dataProvider;
+    }
+
     @Override
     protected DataGridColumn<?> addColumn(String key, MetaPropertyPath metaPropertyPath) {
         String hierarchyColumn = loadString(element, "hierarchyColumn").orElse(null);
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package component.grid
+
+import io.jmix.core.DataManager
+import io.jmix.core.Metadata
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.flowui.UiComponents
+import io.jmix.flowui.component.AggregationInfo
+import io.jmix.flowui.component.grid.DataGrid
+import io.jmix.flowui.component.grid.EnhancedDataGrid
+import io.jmix.flowui.data.aggregation.impl.DataStoreAggregations
+import io.jmix.flowui.data.grid.ContainerDataGridItems
+import io.jmix.flowui.model.CollectionContainer
+import io.jmix.flowui.model.CollectionLoader
+import io.jmix.flowui.model.DataComponents
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.JdbcTemplate
+import test_support.entity.sales.Address
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+import test_support.spec.FlowuiTestSpecification
+
+@SpringBootTest
+class DataStoreAggregationsTest extends FlowuiTestSpecification {
+
+    @Autowired
+    JdbcTemplate jdbc
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataComponents dataComponents
+    @Autowired
+    UiComponents uiComponents
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DataStoreAggregations dataStoreAggregations
+
+    Customer customer
+
+    @Override
+    void setup() {
+        customer = dataManager.save(new Customer(name: 'customer1', address: new Address()))
+        saveOrder('1', 10, 1.5)
+        saveOrder('2', 20, 2.5)
+        saveOrder('3', 30, 3.5)
+    }
+
+    void cleanup() {
+        jdbc.update('delete from TEST_ORDER')
+        jdbc.update('delete from TEST_CUSTOMER')
+    }
+
+    def "aggregations are calculated over all instances selected by the loader"() {
+        CollectionLoader<Order> loader = createLoader()
+        loader.setCondition(PropertyCondition.notEqual('number', '3'))
+
+        def sumAmount = createAggregationInfo('amount', AggregationInfo.Type.SUM)
+        def maxAmount = createAggregationInfo('amount', AggregationInfo.Type.MAX)
+        def avgTotal = createAggregationInfo('total', AggregationInfo.Type.AVG)
+        def countNumber = createAggregationInfo('number', AggregationInfo.Type.COUNT)
+
+        when:
+
+        def values = dataStoreAggregations.aggregate(loader, [sumAmount, maxAmount, avgTotal, countNumber])
+
+        then: "the condition is applied and the page size is ignored"
+
+        values[sumAmount] == 30
+        values[sumAmount] instanceof BigDecimal
+        values[maxAmount] == 20
+        values[avgTotal] == 2.0d
+        values[countNumber] == 2
+    }
+
+    def "instances with empty references are aggregated"() {
+        dataManager.save(new Order(number: '4', amount: 40, total: 4.5))
+        CollectionLoader<Order> loader = createLoader()
+
+        def sumAmount = createAggregationInfo('amount', AggregationInfo.Type.SUM)
+        def maxCustomerName = createAggregationInfo('customer.name', AggregationInfo.Type.MAX)
+        def countNumber = createAggregationInfo('number', AggregationInfo.Type.COUNT)
+
+        when:
+
+        def values = dataStoreAggregations.aggregate(loader, [sumAmount, maxCustomerName, countNumber])
+
+        then:
+
+        values[sumAmount] == 100
+        values[maxCustomerName] == 'customer1'
+        values[countNumber] == 4
+    }
+
+    def "aggregations are not calculated for distinct queries"() {
+        CollectionLoader<Order> loader = createLoader()
+        loader.setQuery('select distinct e from test_Order e')
+
+        expect:
+
+        dataStoreAggregations.aggregate(loader, [createAggregationInfo('amount', AggregationInfo.Type.SUM)]) == null
+    }
+
+    def "only aggregations of persistent properties without strategy are supported"() {
+        def customAggregation = createAggregationInfo('amount', AggregationInfo.Type.SUM)
+        customAggregation.setType(AggregationInfo.Type.CUSTOM)
+
+        def referenceAggregation = createAggregationInfo('customer.name', AggregationInfo.Type.COUNT)
+
+        expect:
+
+        dataStoreAggregations.supports(createAggregationInfo('amount', AggregationInfo.Type.SUM))
+        dataStoreAggregations.supports(referenceAggregation)
+        !dataStoreAggregations.supports(customAggregation)
+        !dataStoreAggregations.supports(new AggregationInfo())
+    }
+
+    def "data grid recalculates aggregations when the container is reloaded"() {
+        DataGrid<Order> dataGrid = uiComponents.create(DataGrid)
+        def metaPropertyPath = metadata.getClass(Order).getPropertyPath('amount')
+        dataGrid.addColumn('amount', metaPropertyPath)
+        dataGrid.addAggregation(dataGrid.getColumnByKey('amount'),
+                createAggregationInfo('amount', AggregationInfo.Type.SUM))
+        dataGrid.aggregatable = true
+        dataGrid.aggregationMode = EnhancedDataGrid.AggregationMode.DATA_STORE
+
+        CollectionLoader<Order> loader = createLoader()
+        loader.load()
+        dataGrid.items = new ContainerDataGridItems<Order>(loader.container as CollectionContainer<Order>)
+
+        expect:
+
+        dataGrid.getAggregationResults().get(dataGrid.getColumnByKey('amount')) == 60
+
+        when: "an instance is saved and the loader reloads the container with the same query"
+
+        saveOrder('4', 40, 4.5)
+        loader.load()
+
+        then:
+
+        dataGrid.getAggregationResults().get(dataGrid.getColumnByKey('amount')) == 100
+    }
+
+    protected CollectionLoader<Order> createLoader() {
+        CollectionContainer<Order> container = dataComponents.createCollectionContainer(Order)
+        CollectionLoader<Order> loader = dataComponents.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setQuery('select e from test_Order e order by e.number')
+        loader.setMaxResults(1)
+        return loader
+    }
+
+    protected AggregationInfo createAggregationInfo(String property, AggregationInfo.Type type) {
+        def aggregationInfo = new AggregationInfo()
+        aggregationInfo.setPropertyPath(metadata.getClass(Order).getPropertyPath(property))
+        aggregationInfo.setType(type)
+        return aggregationInfo
+    }
+
+    protected void saveOrder(String number, int amount, double total) {
+        dataManager.save(new Order(number: number, customer: customer, amount: amount, total: total))
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.core.Metadata
+import io.jmix.flowui.data.grid.ContainerTreeDataGridItems
+import io.jmix.flowui.model.CollectionContainer
+import io.jmix.flowui.model.DataComponents
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import test_support.entity.sec.Group
+import test_support.spec.FlowuiTestSpecification
+
+import java.util.stream.Collectors
+
+@SpringBootTest
+class ContainerTreeDataGridItemsTest extends FlowuiTestSpecification {
+
+    @Autowired
+    DataComponents dataComponents
+    @Autowired
+    Metadata metadata
+
+    def "children are updated on container changes"() {
+        CollectionContainer<Group> container = dataComponents.createCollectionContainer(Group)
+
+        def root = createGroup('root', null)
+        def child1 = createGroup('child1', root)
+        def child2 = createGroup('child2', root)
+        def grandChild = createGroup('grandChild', child1)
+        container.setItems([root, child1, child2, grandChild])
+
+        def items = new ContainerTreeDataGridItems<Group>(container, 'parent', false)
+
+        expect:
+
+        children(items, null) == [root]
+        children(items, root) == [child1, child2]
+        children(items, child1) == [grandChild]
+        items.hasChildren(child1)
+        !items.hasChildren(child2)
+
+        when: "an item is added"
+
+        def child3 = createGroup('child3', root)
+        container.getMutableItems().add(child3)
+
+        then:
+
+        children(items, root) == [child1, child2, child3]
+
+        when: "an item is moved to another parent"
+
+        grandChild.setParent(child2)
+
+        then:
+
+        !items.hasChildren(child1)
+        children(items, child2) == [grandChild]
+
+        when: "an item is removed"
+
+        container.getMutableItems().remove(child1)
+
+        then:
+
+        children(items, root) == [child2, child3]
+
+        when: "an item is replaced"
+
+        def child2Copy = metadata.create(Group)
+        child2Copy.id = child2.id
+        child2Copy.name = 'child2'
+        child2Copy.parent = null
+        container.replaceItem(child2Copy)
+
+        then:
+
+        children(items, root) == [child3]
+        children(items, null).collect { it.name } == ['root', 'child2']
+    }
+
+    def "orphans are shown as root items"() {
+        CollectionContainer<Group> container = dataComponents.createCollectionContainer(Group)
+
+        def root = createGroup('root', null)
+        def missing = createGroup('missing', null)
+        def orphan = createGroup('orphan', missing)
+        container.setItems([orphan, root])
+
+        when:
+
+        def items = new ContainerTreeDataGridItems<Group>(container, 'parent', true)
+
+        then:
+
+        children(items, null) == [orphan, root]
+
+        when:
+
+        items = new ContainerTreeDataGridItems<Group>(container, 'parent', false)
+
+        then:
+
+        children(items, null) == [root]
+    }
+
+    protected static List<Group> children(ContainerTreeDataGridItems<Group> items, Group parent) {
+        return items.getChildren(parent).collect(Collectors.toList())
+    }
+
+    protected Group createGroup(String name, Group parent) {
+        def group = metadata.create(Group)
+        group.name = name
+        group.parent = parent
+        return group
+    }
+}
@@ -21,6 +21,7 @@ import io.jmix.core.SaveContext
 import io.jmix.eclipselink.impl.JmixEntityFetchGroup
 import io.jmix.flowui.model.DataComponents
 import io.jmix.flowui.model.DataContext
+import io.jmix.flowui.model.MergeOptions
 import io.jmix.flowui.model.impl.NoopDataContext
 import org.eclipse.persistence.queries.FetchGroupTracker
 import org.springframework.beans.factory.annotation.Autowired
@@ -466,6 +467,80 @@ class DataContextTest extends DataContextSpec {
         !order1_1.orderLines.contains(orderLine12_1)
     }
 
+    def "removed object is removed from collections it was added to after merge"() {
+
+        def dataContext = factory.createDataContext()
+
+        Order order1 = makeSaved(new Order(number: "111", orderLines: []))
+        Order order2 = makeSaved(new Order(number: "222", orderLines: []))
+        OrderLine orderLine = makeSaved(new OrderLine(quantity: 10))
+
+        Order order1_1 = dataContext.merge(order1)
+        Order order2_1 = dataContext.merge(order2)
+        OrderLine orderLine_1 = dataContext.merge(orderLine)
+
+        order1_1.orderLines.add(orderLine_1)
+        order2_1.setOrderLines([orderLine_1])
+
+        when:
+
+        dataContext.remove(orderLine_1)
+
+        then:
+
+        order1_1.orderLines.isEmpty()
+        order2_1.orderLines.isEmpty()
+    }
+
+    def "unchanged nested instances are skipped on repeated merge"() {
+
+        def dataContext = factory.createDataContext()
+
+        Customer customer = makeSaved(new Customer(name: "c1"))
+        Order order = makeSaved(new Order(number: "111", customer: customer))
+        def options = new MergeOptions().setSkipUnchanged(true)
+
+        Order order_1 = dataContext.merge(order, options)
+
+        when: "nested instance is changed after merge"
+
+        customer.name = "c2"
+        dataContext.merge(order, options)
+
+        then: "the change is merged"
+
+        order_1.customer.name == "c2"
+
+        when: "nested instance is changed without notifications"
+
+        customer.@name = "c3"
+        dataContext.merge(order, options)
+
+        then: "its state is not merged"
+
+        order_1.customer.name == "c2"
+        !dataContext.isModified(order_1.customer)
+
+        when: "another nested instance is changed"
+
+        Customer customer2 = makeSaved(new Customer(name: "c4"))
+        order.customer = customer2
+        dataContext.merge(order, options)
+
+        then: "the change is merged"
+
+        order_1.customer.name == "c4"
+
+        when: "merged without the option"
+
+        order.customer = customer
+        dataContext.merge(order)
+
+        then: "state of all instances is merged"
+
+        order_1.customer.name == "c3"
+    }
+
     def "system fields are preserved on merge"() {
 
         def dataContext = factory.createDataContext()
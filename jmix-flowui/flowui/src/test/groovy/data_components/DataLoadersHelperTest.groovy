@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.core.DataManager
+import io.jmix.flowui.model.CollectionContainer
+import io.jmix.flowui.model.CollectionLoader
+import io.jmix.flowui.model.DataComponents
+import io.jmix.flowui.model.InstanceContainer
+import io.jmix.flowui.model.InstanceLoader
+import io.jmix.flowui.model.impl.AsyncDataLoader
+import io.jmix.flowui.model.impl.DataLoadersHelper
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.entity.Foo
+import test_support.spec.DataContextSpec
+
+import java.util.concurrent.TimeUnit
+
+class DataLoadersHelperTest extends DataContextSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataComponents factory
+
+    def "startLoad sends PreLoadEvent and sets data to the container by the returned action"() {
+        Foo foo = dataManager.save(new Foo(name: 'foo'))
+
+        CollectionLoader<Foo> loader = factory.createCollectionLoader()
+        CollectionContainer<Foo> container = factory.createCollectionContainer(Foo)
+        loader.setContainer(container)
+        loader.setQuery('select e from test_Foo e')
+
+        def events = []
+        loader.addPreLoadListener { events << 'preLoad' }
+        loader.addPostLoadListener { events << 'postLoad' }
+
+        when:
+        def future = ((AsyncDataLoader) loader).startLoad()
+        def setLoadedData = future.get(5, TimeUnit.SECONDS)
+
+        then:
+        events == ['preLoad']
+        container.items.isEmpty()
+
+        when:
+        setLoadedData.run()
+
+        then:
+        events == ['preLoad', 'postLoad']
+        container.items == [foo]
+
+        cleanup:
+        deleteRecord(foo)
+    }
+
+    def "startLoad does nothing if load is prevented by PreLoadEvent"() {
+        Foo foo = dataManager.save(new Foo(name: 'foo'))
+
+        InstanceLoader<Foo> loader = factory.createInstanceLoader()
+        InstanceContainer<Foo> container = factory.createInstanceContainer(Foo)
+        loader.setContainer(container)
+        loader.setEntityId(foo.id)
+
+        def postLoadEvents = 0
+        loader.addPreLoadListener { InstanceLoader.PreLoadEvent e -> e.preventLoad() }
+        loader.addPostLoadListener { postLoadEvents++ }
+
+        when:
+        ((AsyncDataLoader) loader).startLoad().get(5, TimeUnit.SECONDS).run()
+
+        then:
+        container.itemOrNull == null
+        postLoadEvents == 0
+
+        cleanup:
+        deleteRecord(foo)
+    }
+
+    def "startLoad returns null for loader with load delegate"() {
+        CollectionLoader<Foo> loader = factory.createCollectionLoader()
+        loader.setContainer(factory.createCollectionContainer(Foo))
+        loader.setLoadDelegate { [] }
+
+        expect:
+        ((AsyncDataLoader) loader).startLoad() == null
+    }
+
+    def "loadAll loads data of all loaders and sends events in order of loaders"() {
+        Foo foo1 = dataManager.save(new Foo(name: 'foo1'))
+        Foo foo2 = dataManager.save(new Foo(name: 'foo2'))
+
+        CollectionLoader<Foo> collectionLoader = factory.createCollectionLoader()
+        CollectionContainer<Foo> collectionContainer = factory.createCollectionContainer(Foo)
+        collectionLoader.setContainer(collectionContainer)
+        collectionLoader.setQuery('select e from test_Foo e where e.name = :name')
+        collectionLoader.setParameter('name', 'foo1')
+
+        InstanceLoader<Foo> instanceLoader = factory.createInstanceLoader()
+        InstanceContainer<Foo> instanceContainer = factory.createInstanceContainer(Foo)
+        instanceLoader.setContainer(instanceContainer)
+        instanceLoader.setEntityId(foo2.id)
+
+        CollectionLoader<Foo> delegatingLoader = factory.createCollectionLoader()
+        CollectionContainer<Foo> delegatingContainer = factory.createCollectionContainer(Foo)
+        delegatingLoader.setContainer(delegatingContainer)
+        delegatingLoader.setLoadDelegate { [foo2] }
+
+        def events = []
+        collectionLoader.addPostLoadListener { events << 'collection' }
+        instanceLoader.addPostLoadListener { events << 'instance' }
+        delegatingLoader.addPostLoadListener { events << 'delegating' }
+
+        when:
+        DataLoadersHelper.loadAll([collectionLoader, delegatingLoader, instanceLoader])
+
+        then:
+        collectionContainer.items == [foo1]
+        instanceContainer.item == foo2
+        delegatingContainer.items == [foo2]
+        events == ['collection', 'delegating', 'instance']
+
+        cleanup:
+        deleteRecord(foo1, foo2)
+    }
+
+    def "loadAll rethrows the exception of a failed loader"() {
+        CollectionLoader<Foo> loader = factory.createCollectionLoader()
+        loader.setContainer(factory.createCollectionContainer(Foo))
+        loader.setQuery('select e from test_Foo e where e.unknownAttribute = 1')
+
+        when:
+        DataLoadersHelper.loadAll([loader])
+
+        then:
+        thrown(RuntimeException)
+    }
+}
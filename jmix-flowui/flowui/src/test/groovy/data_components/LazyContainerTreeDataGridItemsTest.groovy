@@ -0,0 +1,205 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.core.DataManager
+import io.jmix.core.FetchPlan
+import io.jmix.core.FetchPlans
+import io.jmix.core.MetadataTools
+import io.jmix.core.Sort
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.flowui.data.grid.LazyContainerTreeDataGridItems
+import io.jmix.flowui.model.CollectionContainer
+import io.jmix.flowui.model.CollectionLoader
+import io.jmix.flowui.model.DataComponents
+import io.jmix.flowui.model.DataContext
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.JdbcTemplate
+import test_support.entity.sec.Group
+import test_support.spec.FlowuiTestSpecification
+
+import java.util.stream.Collectors
+
+@SpringBootTest
+class LazyContainerTreeDataGridItemsTest extends FlowuiTestSpecification {
+
+    @Autowired
+    JdbcTemplate jdbc
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataComponents dataComponents
+    @Autowired
+    MetadataTools metadataTools
+    @Autowired
+    FetchPlans fetchPlans
+
+    Group root1, root2, child1, skipped, hidden, grandChild
+
+    @Override
+    void setup() {
+        root1 = createGroup('root1', null)
+        root2 = createGroup('root2', null)
+        child1 = createGroup('child1', root1)
+        skipped = createGroup('skipped', root1)
+        hidden = createGroup('hidden', root2)
+        grandChild = createGroup('grandChild', child1)
+        dataManager.save(root1, root2, child1, skipped, hidden, grandChild)
+    }
+
+    void cleanup() {
+        jdbc.update('delete from SEC_GROUP where PARENT_ID is not null')
+        jdbc.update('delete from SEC_GROUP')
+    }
+
+    def "loader loads root items and children are loaded with the loader query and condition"() {
+        DataContext dataContext = dataComponents.createDataContext()
+        CollectionContainer<Group> container = createContainer()
+        CollectionLoader<Group> loader = createLoader(container, dataContext)
+
+        def items = createItems(container)
+        items.setDataContext(dataContext)
+        items.setLoader(loader)
+
+        when:
+
+        loader.load()
+
+        then: "only root items are loaded by the loader"
+
+        names(container.items) == ['root1', 'root2']
+
+        and: "children excluded by the loader query and condition are not taken into account"
+
+        items.hasChildren(container.items[0])
+        !items.hasChildren(container.items[1])
+        names(children(items, container.items[0])) == ['child1']
+
+        when:
+
+        def loadedChild = container.items.find { it.name == 'child1' }
+
+        then:
+
+        dataContext.contains(loadedChild)
+        items.hasChildren(loadedChild)
+        names(children(items, loadedChild)) == ['grandChild']
+    }
+
+    def "existence of children is checked for a batch of items"() {
+        CollectionContainer<Group> container = createContainer()
+        CollectionLoader<Group> loader = createLoader(container, null)
+
+        def items = createItems(container)
+        items.setLoader(loader)
+        loader.load()
+
+        when:
+
+        items.hasChildren(container.items[0])
+
+        then:
+
+        items.childrenExistence == [(root1.id): true, (root2.id): false]
+
+        when: "the loader reloads the container"
+
+        loader.load()
+
+        then: "existence of children is checked again"
+
+        items.childrenExistence.isEmpty()
+    }
+
+    def "existence of children is loaded by a value query made of the loader query"() {
+        CollectionContainer<Group> container = createContainer()
+        CollectionLoader<Group> loader = createLoader(container, null)
+        loader.setQuery('select e from sec$Group e where e.name <> :excluded order by e.name')
+
+        def items = createItems(container)
+        items.setLoader(loader)
+
+        when:
+
+        def context = items.createParentIdsLoadContext(loader.createLoadContext(), 'parent.id', [root1.id, root2.id])
+
+        then:
+
+        context.query.queryString == 'select distinct e.parent.id from sec$Group e where e.name <> :excluded'
+        context.query.parameters == [excluded: 'hidden']
+        context.properties == ['parentId']
+        dataManager.loadValues(context).collect { it.getValue('parentId') } == [root1.id]
+    }
+
+    def "all children are loaded without loader"() {
+        CollectionContainer<Group> container = createContainer()
+        container.setItems(dataManager.load(Group)
+                .query('select e from sec$Group e where e.parent is null order by e.name')
+                .fetchPlan(container.fetchPlan)
+                .list())
+
+        def items = createItems(container)
+        items.setSort(Sort.by('name'))
+
+        expect:
+
+        items.hasChildren(container.items[1])
+        names(children(items, container.items[0])) == ['child1', 'skipped']
+        names(children(items, container.items[1])) == ['hidden']
+    }
+
+    protected CollectionContainer<Group> createContainer() {
+        CollectionContainer<Group> container = dataComponents.createCollectionContainer(Group)
+        container.setFetchPlan(fetchPlans.builder(Group)
+                .addFetchPlan(FetchPlan.BASE)
+                .add('parent', FetchPlan.INSTANCE_NAME)
+                .build())
+        return container
+    }
+
+    protected CollectionLoader<Group> createLoader(CollectionContainer<Group> container, DataContext dataContext) {
+        CollectionLoader<Group> loader = dataComponents.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setDataContext(dataContext)
+        loader.setQuery('select e from sec$Group e where e.name <> :excluded')
+        loader.setParameter('excluded', 'hidden')
+        loader.setCondition(PropertyCondition.notEqual('name', 'skipped'))
+        loader.setSort(Sort.by('name'))
+        return loader
+    }
+
+    protected LazyContainerTreeDataGridItems<Group> createItems(CollectionContainer<Group> container) {
+        return new LazyContainerTreeDataGridItems<Group>(container, 'parent', false,
+                dataManager, metadataTools, fetchPlans)
+    }
+
+    protected static List<Group> children(LazyContainerTreeDataGridItems<Group> items, Group parent) {
+        return items.getChildren(parent).collect(Collectors.toList())
+    }
+
+    protected static List<String> names(List<Group> groups) {
+        return groups.collect { it.name }
+    }
+
+    protected Group createGroup(String name, Group parent) {
+        def group = dataManager.create(Group)
+        group.name = name
+        group.parent = parent
+        return group
+    }
+}
@@ -21,13 +21,18 @@ import io.jmix.core.DataManager
 import io.jmix.core.LoadContext
 import io.jmix.core.Metadata
 import io.jmix.core.Sort
+import io.jmix.core.metamodel.model.MetaClass
 import io.jmix.flowui.UiComponents
 import io.jmix.flowui.model.CollectionContainer
 import io.jmix.flowui.model.CollectionLoader
 import io.jmix.flowui.model.DataComponents
+import io.jmix.flowui.model.impl.CollectionContainerSorter
+import org.springframework.beans.factory.BeanFactory
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.boot.test.context.SpringBootTest
+import test_support.entity.sales.Customer
 import test_support.entity.sales.Order
+import test_support.entity.sales.OrderLine
 import test_support.spec.FlowuiTestSpecification
 
 @SpringBootTest
@@ -37,6 +42,8 @@ class SortingTest extends FlowuiTestSpecification {
     DataComponents dataComponents
     @Autowired
     Metadata metadata
+    @Autowired
+    BeanFactory beanFactory
 
     private CollectionContainer<Order> container
     private CollectionLoader loader
@@ -115,4 +122,92 @@ class SortingTest extends FlowuiTestSpecification {
         1 * dataManager.loadList(_ as LoadContext) >> orders.sort { it.number }.reverse()
         container.items[0].number == 'o3'
     }
+
+    def "sort in memory by nested property and several orders"() {
+        def c1 = metadata.create(Customer)
+        c1.name = 'b'
+        def c2 = metadata.create(Customer)
+        c2.name = 'a'
+
+        def o1 = createOrder('o1', c1, 10.0)
+        def o2 = createOrder('o2', c2, 20.0)
+        def o3 = createOrder('o3', c1, 30.0)
+        def o4 = createOrder('o4', c2, 40.0)
+
+        container.setItems([o1, o2, o3, o4])
+
+        when:
+
+        container.getSorter().sort(Sort.by(Sort.Direction.ASC, 'customer.name'))
+
+        then: "equal values keep the order"
+
+        container.items*.number == ['o2', 'o4', 'o1', 'o3']
+
+        when:
+
+        container.getSorter().sort(Sort.by(Sort.Order.asc('customer.name'), Sort.Order.desc('total')))
+
+        then:
+
+        container.items*.number == ['o4', 'o2', 'o3', 'o1']
+    }
+
+    def "sort in memory by reference"() {
+        def c1 = metadata.create(Customer)
+        c1.name = 'B'
+        def c2 = metadata.create(Customer)
+        c2.name = 'a'
+
+        def o1 = createOrder('o', c1, 10.0)
+        def o2 = createOrder('o', c2, 20.0)
+        def o3 = createOrder('o', c2, 30.0)
+
+        def lineContainer = dataComponents.createCollectionContainer(OrderLine)
+        lineContainer.setItems([createLine(o1), createLine(o3), createLine(o2)])
+
+        when:
+
+        lineContainer.getSorter().sort(Sort.by(Sort.Direction.ASC, 'order'))
+
+        then: "references are ordered by instance names ignoring case"
+
+        lineContainer.items*.order*.total == [30.0, 20.0, 10.0]
+    }
+
+    def "sort in memory by overridden comparator"() {
+        def o1 = createOrder('o1', null, 10.0)
+        def o2 = createOrder('o2', null, 20.0)
+        def o3 = createOrder('o3', null, 30.0)
+
+        container.setItems([o2, o3, o1])
+        container.setSorter(new CollectionContainerSorter(container, null, beanFactory) {
+            @Override
+            protected Comparator<?> createComparator(Sort.Order sortOrder, MetaClass metaClass) {
+                return Comparator.comparing { Order order -> order.total }.reversed()
+            }
+        })
+
+        when:
+
+        container.getSorter().sort(Sort.by(Sort.Direction.ASC, 'number'))
+
+        then:
+
+        container.items*.number == ['o3', 'o2', 'o1']
+    }
+
+    private OrderLine createLine(Order order) {
+        def line = metadata.create(OrderLine)
+        line.order = order
+        return line
+    }
+
+    private Order createOrder(String number, Customer customer, Double total) {
+        def order = metadata.create(Order)
+        order.number = number
+        order.customer = customer
+        order.total = total
+        return order
+    }
 }
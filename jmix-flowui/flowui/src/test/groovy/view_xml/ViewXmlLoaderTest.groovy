@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package view_xml
+
+import io.jmix.flowui.sys.ViewXmlDocumentCache
+import io.jmix.flowui.sys.ViewXmlLoader
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import test_support.spec.FlowuiTestSpecification
+
+@SpringBootTest
+class ViewXmlLoaderTest extends FlowuiTestSpecification {
+
+    static final String TEMPLATE_PATH = "xml_inheritance/view/xml-inheritance-ext-base-test-view.xml"
+
+    @Autowired
+    ViewXmlLoader viewXmlLoader
+
+    @Autowired
+    ViewXmlDocumentCache viewXmlDocumentCache
+
+    def "processed descriptor is reused by resource path"() {
+        when: "Descriptor is loaded twice"
+        def first = viewXmlLoader.load(TEMPLATE_PATH)
+        def second = viewXmlLoader.load(TEMPLATE_PATH)
+
+        then: "The same processed document is returned"
+        first.is(second)
+
+        and: "Inheritance is already applied"
+        first.element("layout").elementByID("base1") != null
+    }
+
+    def "descriptor is processed again after cache invalidation"() {
+        given:
+        def first = viewXmlLoader.load(TEMPLATE_PATH)
+
+        when:
+        viewXmlDocumentCache.invalidateAll()
+        def second = viewXmlLoader.load(TEMPLATE_PATH)
+
+        then:
+        !first.is(second)
+        second.element("layout").elementByID("base1") != null
+    }
+}
@@ -74,6 +74,21 @@ class EnhancingAction implements Action<Task> {
         } else {
             project.logger.lifecycle "Entities enhancing was skipped, because entity classes haven't been changed since the last build"
         }
+
+        generateClassIndexes(task, sourceSet, classesInfo)
+    }
+
+    /**
+     * Writes indexes of classes located in module packages, so that the application does not have to scan
+     * the packages on startup. Indexes are written after enhancing as it can add interfaces and annotations to classes.
+     */
+    protected void generateClassIndexes(Task task, SourceSet sourceSet, ClassesInfo classesInfo) {
+        File outputDir = task.hasProperty('destinationDirectory')
+                ? task.destinationDirectory.get().getAsFile()
+                : sourceSet.java.destinationDirectory.get().getAsFile()
+        for (String modulePath : classesInfo.modulePaths) {
+            ClassIndexGenerator.generate(outputDir, modulePath)
+        }
     }
 
     /**
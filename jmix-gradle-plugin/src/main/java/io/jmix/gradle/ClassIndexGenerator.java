@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.gradle;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.annotation.Annotation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates class indexes read by {@code io.jmix.core.impl.scanning.ClassIndexReader} on application startup
+ * instead of scanning module packages.
+ * <p>
+ * The index is written to the module package directory of compiled classes and contains a line for each class file
+ * located below it: {@code className|flags|superClassName|interfaceNames|annotationTypes}.
+ */
+public class ClassIndexGenerator {
+    private static final Logger LOG = LoggerFactory.getLogger(ClassIndexGenerator.class);
+
+    public static final String INDEX_FILE_NAME = "jmix-classes.idx";
+
+    /**
+     * Writes the index of classes located in the given module package of the output directory.
+     *
+     * @param outputDir  directory of compiled classes
+     * @param modulePath module package in the resource path form, e.g. {@code com/company/app}
+     */
+    public static void generate(File outputDir, String modulePath) throws IOException {
+        Path packageDir = outputDir.toPath().resolve(modulePath);
+        Path indexFile = packageDir.resolve(INDEX_FILE_NAME);
+        if (!Files.isDirectory(packageDir)) {
+            Files.deleteIfExists(indexFile);
+            return;
+        }
+
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(packageDir)) {
+            classFiles = paths
+                    .filter(path -> path.getFileName().toString().endsWith(".class"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        List<String> lines = new ArrayList<>(classFiles.size() + 1);
+        lines.add("# Generated by Jmix Gradle plugin, do not edit");
+        for (Path classFile : classFiles) {
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(classFile))) {
+                lines.add(toLine(new ClassFile(new DataInputStream(is))));
+            }
+        }
+        Files.write(indexFile, lines, StandardCharsets.UTF_8);
+        LOG.debug("Class index of {} classes is written to {}", classFiles.size(), indexFile);
+    }
+
+    protected static String toLine(ClassFile classFile) {
+        StringBuilder flags = new StringBuilder();
+        if (classFile.isInterface()) {
+            flags.append('i');
+        }
+        if (classFile.isAbstract()) {
+            flags.append('a');
+        }
+        if ((classFile.getAccessFlags() & AccessFlag.ANNOTATION) != 0) {
+            flags.append('n');
+        }
+        if (classFile.isFinal()) {
+            flags.append('f');
+        }
+
+        // the same as Spring's class metadata: interfaces have no superclass
+        String superClassName = classFile.isInterface() || classFile.getName().equals("java.lang.Object")
+                ? ""
+                : classFile.getSuperclass();
+
+        List<String> annotationTypes = new ArrayList<>();
+        AnnotationsAttribute attribute = (AnnotationsAttribute) classFile.getAttribute(AnnotationsAttribute.visibleTag);
+        if (attribute != null) {
+            for (Annotation annotation : attribute.getAnnotations()) {
+                String typeName = annotation.getTypeName();
+                // the same as AnnotationFilter.PLAIN used by Spring's class metadata
+                if (!typeName.startsWith("java.lang.") && !typeName.startsWith("org.springframework.lang.")) {
+                    annotationTypes.add(typeName);
+                }
+            }
+        }
+
+        return classFile.getName() + '|' + flags + '|' + superClassName + '|'
+                + String.join(",", classFile.getInterfaces()) + '|'
+                + String.join(",", annotationTypes);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package class_index
+
+import class_index.sample.SampleAnnotation
+import class_index.sample.SampleBase
+import class_index.sample.SampleImpl
+import class_index.sample.SampleService
+import io.jmix.gradle.ClassIndexGenerator
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ClassIndexGeneratorTest extends Specification {
+
+    @TempDir
+    Path outputDir
+
+    def "index contains metadata of classes below the module package"() {
+        copyClasses(SampleAnnotation, SampleBase, SampleImpl, SampleService)
+
+        when:
+
+        ClassIndexGenerator.generate(outputDir.toFile(), 'class_index')
+
+        then:
+
+        readIndex() == [
+                'class_index.sample.SampleAnnotation|ian||java.lang.annotation.Annotation|',
+                'class_index.sample.SampleBase|a|java.lang.Object|class_index.sample.SampleService|class_index.sample.SampleAnnotation',
+                'class_index.sample.SampleImpl|f|class_index.sample.SampleBase||',
+                'class_index.sample.SampleService|ia||java.io.Serializable|'
+        ]
+    }
+
+    def "index is rewritten when classes are removed"() {
+        copyClasses(SampleBase, SampleImpl)
+        ClassIndexGenerator.generate(outputDir.toFile(), 'class_index')
+
+        when:
+
+        Files.delete(outputDir.resolve('class_index/sample/SampleImpl.class'))
+        ClassIndexGenerator.generate(outputDir.toFile(), 'class_index')
+
+        then:
+
+        readIndex() == ['class_index.sample.SampleBase|a|java.lang.Object|class_index.sample.SampleService|class_index.sample.SampleAnnotation']
+    }
+
+    def "index is not written if the module package is absent"() {
+        when:
+
+        ClassIndexGenerator.generate(outputDir.toFile(), 'class_index')
+
+        then:
+
+        !Files.exists(outputDir.resolve('class_index'))
+    }
+
+    private void copyClasses(Class<?>... classes) {
+        for (Class<?> aClass : classes) {
+            String classPath = aClass.name.replace('.', '/') + '.class'
+            Path target = outputDir.resolve(classPath)
+            Files.createDirectories(target.parent)
+            aClass.getResourceAsStream('/' + classPath).withCloseable { Files.copy(it, target) }
+        }
+    }
+
+    private List<String> readIndex() {
+        return Files.readAllLines(outputDir.resolve('class_index/' + ClassIndexGenerator.INDEX_FILE_NAME))
+                .findAll { !it.startsWith('#') }
+    }
+}
@@ -17,6 +17,8 @@
 package io.jmix.graphql;
 
 import com.fasterxml.jackson.databind.ser.std.DateSerializer;
+import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLCodeRegistry;
@@ -28,10 +30,13 @@ import io.jmix.core.Messages;
 import io.jmix.core.annotation.JmixModule;
 import io.jmix.graphql.datafetcher.MessagesDataFetcher;
 import io.jmix.graphql.datafetcher.PermissionDataFetcher;
+import io.jmix.graphql.document.PreparsedDocumentCache;
 import io.jmix.graphql.limitation.JmixMaxQueryDepthInstrumentation;
 import io.jmix.graphql.limitation.LimitationProperties;
+import io.jmix.graphql.limitation.OperationComplexityInstrumentation;
 import io.jmix.graphql.limitation.OperationRateLimitInstrumentation;
 import io.jmix.graphql.limitation.OperationRateLimitService;
+import io.jmix.graphql.limitation.QueryCostCalculator;
 import io.jmix.graphql.schema.ClassTypesGenerator;
 import io.jmix.graphql.schema.EnumTypesGenerator;
 import io.jmix.graphql.schema.FilterTypesGenerator;
@@ -120,6 +125,8 @@ public class GraphQLConfiguration {
     @Autowired
     protected OperationRateLimitService operationRateLimitService;
     @Autowired
+    protected QueryCostCalculator queryCostCalculator;
+    @Autowired
     protected AccessManager accessManager;
     @Autowired
     protected LimitationProperties limitationProperties;
@@ -139,10 +146,25 @@ public class GraphQLConfiguration {
                 new SecurityInstrumentation(schemeRegistry,accessManager,messages),
                 new OperationRateLimitInstrumentation(operationRateLimitService),
                 new SpecificPermissionInstrumentation(accessManager, messages),
-                new JmixMaxQueryDepthInstrumentation(limitationProperties.getMaxQueryDepth())
+                new JmixMaxQueryDepthInstrumentation(limitationProperties.getMaxQueryDepth()),
+                new OperationComplexityInstrumentation(queryCostCalculator, operationRateLimitService,
+                        limitationProperties.getMaxQueryComplexity())
         );
     }
 
+    /**
+     * Builds the {@link GraphQL} instance with the document cache, so that the same queries are not parsed and
+     * validated on every request.
+     */
+    @Bean("gql_GraphQL")
+    @Primary
+    public GraphQL graphQL(GraphQLSchema graphQLSchema, PreparsedDocumentCache preparsedDocumentCache) {
+        return GraphQL.newGraphQL(graphQLSchema)
+                .instrumentation(new ChainedInstrumentation(instrumentationList()))
+                .preparsedDocumentProvider(preparsedDocumentCache)
+                .build();
+    }
+
     @Bean
     public Jackson2ObjectMapperBuilderCustomizer jacksonCustomizer() {
         return builder -> builder.serializerByType(Timestamp.class,
@@ -140,6 +140,16 @@ public class EnvironmentUtils {
 
     @Nullable
     public static String getRemoteIPAddress(Object context) {
+        HttpServletRequest httpServletRequest = getHttpServletRequest(context);
+        return httpServletRequest == null ? null : httpServletRequest.getRemoteAddr();
+    }
+
+    /**
+     * @param context execution context
+     * @return HTTP request the operation is executed for or null if it cannot be obtained from the context
+     */
+    @Nullable
+    public static HttpServletRequest getHttpServletRequest(@Nullable Object context) {
         if (context instanceof GraphQLContext) {
             context = ContextUtils.unwrapContext(context);
         }
@@ -155,7 +165,7 @@ public class EnvironmentUtils {
             httpServletRequest = gqlContext.getHttpServletRequest();
         }
 
-        return httpServletRequest == null ? null : httpServletRequest.getRemoteAddr();
+        return httpServletRequest;
     }
 
     protected MetaClass findMetaClassByOutTypeName(String outTypeName) {
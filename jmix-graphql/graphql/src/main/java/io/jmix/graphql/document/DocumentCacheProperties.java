@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.document;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "jmix.graphql.document-cache")
+@ConstructorBinding
+public class DocumentCacheProperties {
+
+    /**
+     * Maximum number of parsed and validated documents kept in the cache. Default value 0 means documents are
+     * parsed and validated on every request.
+     */
+    int maxSize;
+
+    /**
+     * Whether clients can send a SHA-256 hash of a query registered earlier instead of the query text, as defined
+     * by the Automatic Persisted Queries protocol. Works only if the cache is enabled. Disabled by default.
+     */
+    boolean persistedQueriesEnabled;
+
+    public DocumentCacheProperties(@DefaultValue("1000") int maxSize,
+                                   @DefaultValue("false") boolean persistedQueriesEnabled) {
+        this.maxSize = maxSize;
+        this.persistedQueriesEnabled = persistedQueriesEnabled;
+    }
+
+    /**
+     * @see #maxSize
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @see #persistedQueriesEnabled
+     */
+    public boolean isPersistedQueriesEnabled() {
+        return persistedQueriesEnabled;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.document;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.jmix.graphql.InstrumentationUtils;
+import io.jmix.graphql.datafetcher.EnvironmentUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps parsed and validated documents by the SHA-256 hash of the query text, so that the same query is not parsed
+ * and validated against the schema on every request. Documents with validation errors are not cached.
+ * <p>
+ * Also supports Automatic Persisted Queries: if the request contains the {@code persistedQuery} extension with
+ * a {@code sha256Hash} and no query text, the cached document is used, otherwise the
+ * {@code PersistedQueryNotFound} error is returned and the client is expected to repeat the request with both
+ * the hash and the query text, which registers the query.
+ * <p>
+ * Hits and misses are exposed as {@code jmix.graphql.documents} cache metrics.
+ */
+@Component(PreparsedDocumentCache.NAME)
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+    public static final String NAME = "gql_PreparsedDocumentCache";
+
+    public static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    public static final String PERSISTED_QUERY_HASH = "sha256Hash";
+    public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    public static final String PERSISTED_QUERY_NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+    public static final String PERSISTED_QUERY_HASH_MISMATCH = "provided sha does not match query";
+
+    public static final String METRICS_CACHE_NAME = "jmix.graphql.documents";
+
+    private static final Logger log = LoggerFactory.getLogger(PreparsedDocumentCache.class);
+
+    protected final DocumentCacheProperties properties;
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Nullable
+    protected final Cache<String, PreparsedDocumentEntry> cache;
+
+    @Autowired
+    public PreparsedDocumentCache(DocumentCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        if (properties.getMaxSize() > 0) {
+            cache = CacheBuilder.newBuilder()
+                    .maximumSize(properties.getMaxSize())
+                    .recordStats()
+                    .build();
+            GuavaCacheMetrics.monitor(meterRegistry, cache, METRICS_CACHE_NAME);
+        } else {
+            cache = null;
+        }
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (cache == null) {
+            return parseAndValidateFunction.apply(executionInput);
+        }
+
+        String query = executionInput.getQuery();
+        String persistedQueryHash = properties.isPersistedQueriesEnabled()
+                ? getPersistedQueryHash(executionInput)
+                : null;
+
+        if (persistedQueryHash != null) {
+            if (Strings.isNullOrEmpty(query)) {
+                PreparsedDocumentEntry entry = cache.getIfPresent(persistedQueryHash.toLowerCase());
+                return entry != null
+                        ? entry
+                        : createError(PERSISTED_QUERY_NOT_FOUND, PERSISTED_QUERY_NOT_FOUND_CODE);
+            }
+            if (!persistedQueryHash.equalsIgnoreCase(hash(query))) {
+                return createError(PERSISTED_QUERY_HASH_MISMATCH, null);
+            }
+        }
+
+        // introspection queries are requested rarely and are large, so they are not cached
+        if (Strings.isNullOrEmpty(query) || InstrumentationUtils.isIntrospectionQuery(executionInput)) {
+            return parseAndValidateFunction.apply(executionInput);
+        }
+
+        String key = hash(query);
+        PreparsedDocumentEntry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(executionInput);
+            if (!entry.hasErrors()) {
+                cache.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    protected String hash(String query) {
+        return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Returns the hash of the {@code persistedQuery} extension of the request. Extensions are taken from
+     * the execution input or, if the transport does not pass them, from the {@code extensions} parameter
+     * of GET requests.
+     */
+    @Nullable
+    protected String getPersistedQueryHash(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions != null && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map) {
+            Object hash = ((Map<?, ?>) extensions.get(PERSISTED_QUERY_EXTENSION)).get(PERSISTED_QUERY_HASH);
+            return hash instanceof String ? (String) hash : null;
+        }
+
+        HttpServletRequest request = EnvironmentUtils.getHttpServletRequest(executionInput.getContext());
+        String extensionsParameter = request != null ? request.getParameter("extensions") : null;
+        if (Strings.isNullOrEmpty(extensionsParameter)) {
+            return null;
+        }
+        try {
+            JsonNode hash = objectMapper.readTree(extensionsParameter)
+                    .path(PERSISTED_QUERY_EXTENSION)
+                    .path(PERSISTED_QUERY_HASH);
+            return hash.isTextual() ? hash.asText() : null;
+        } catch (JsonProcessingException e) {
+            log.debug("Unable to parse request extensions: {}", extensionsParameter, e);
+            return null;
+        }
+    }
+
+    protected PreparsedDocumentEntry createError(String message, @Nullable String code) {
+        GraphqlErrorBuilder errorBuilder = GraphqlErrorBuilder.newError()
+                .message(message);
+        if (code != null) {
+            errorBuilder.extensions(Collections.singletonMap("code", code));
+        }
+        return new PreparsedDocumentEntry(Collections.singletonList(errorBuilder.build()));
+    }
+}
@@ -16,15 +16,28 @@
 
 package io.jmix.graphql.limitation;
 
+import graphql.ExecutionResult;
 import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
 import graphql.validation.ValidationError;
 import io.jmix.graphql.InstrumentationUtils;
 
 import java.util.List;
 
+/**
+ * Rejects operations with a query depth exceeding {@link LimitationProperties#getMaxQueryDepth()}.
+ * <p>
+ * The depth is checked before the execution of the selected operation and not during validation, because validated
+ * documents are cached by {@link io.jmix.graphql.document.PreparsedDocumentCache} and validation is skipped for
+ * subsequent requests with the same document, which may select another operation of the document.
+ */
 public class JmixMaxQueryDepthInstrumentation extends MaxQueryDepthInstrumentation {
 
     private final int maxDepth;
@@ -36,12 +49,41 @@ public class JmixMaxQueryDepthInstrumentation extends MaxQueryDepthInstrumentati
 
     @Override
     public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters) {
-        // skip validation for introspection query
+        return new SimpleInstrumentationContext<>();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        String operationName = executionContext.getOperationDefinition().getName();
+        // skip check for introspection query
         // also skip for maxDepth == 0
-        if (InstrumentationUtils.isIntrospectionQuery(parameters.getExecutionInput()) || maxDepth == 0) {
-            return new SimpleInstrumentationContext<>();
+        if (InstrumentationUtils.OPERATION_NAME_INTROSPECTION_QUERY.equals(operationName) || maxDepth == 0) {
+            return super.beginExecuteOperation(parameters);
         }
 
-        return super.beginValidation(parameters);
+        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(operationName)
+                .variables(executionContext.getVariables())
+                .build();
+        int depth = queryTraverser.reducePreOrder(
+                (env, acc) -> Math.max(getPathLength(env.getParentEnvironment()), acc), 0);
+
+        if (depth > maxDepth) {
+            throw new AbortExecutionException(String.format("maximum query depth exceeded %d > %d",
+                    depth, maxDepth));
+        }
+        return super.beginExecuteOperation(parameters);
+    }
+
+    private int getPathLength(QueryVisitorFieldEnvironment path) {
+        int length = 1;
+        while (path != null) {
+            path = path.getParentEnvironment();
+            length++;
+        }
+        return length;
     }
 }
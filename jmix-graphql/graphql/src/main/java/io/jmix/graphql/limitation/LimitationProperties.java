@@ -34,9 +34,35 @@ public class LimitationProperties {
      */
     int operationRateLimitPerMinute;
 
-    public LimitationProperties(@DefaultValue("0") int operationRateLimitPerMinute, @DefaultValue("0") int maxQueryDepth) {
+    /**
+     * Total cost of operations per minute from one client IP address, see {@link #maxQueryComplexity} for how
+     * the cost is calculated. Default value 0 means the client has no limit.
+     */
+    long operationCostLimitPerMinute;
+
+    /**
+     * Max allowed cost of one operation. The cost is the estimated number of resolved fields: fields of list
+     * types multiply the cost of their selections by the {@code limit} argument or by {@link #defaultListSize}.
+     * Default value 0 means the client has no limit.
+     */
+    long maxQueryComplexity;
+
+    /**
+     * Estimated number of elements of list fields without the {@code limit} argument, used to calculate the cost
+     * of operations.
+     */
+    int defaultListSize;
+
+    public LimitationProperties(@DefaultValue("0") int operationRateLimitPerMinute,
+                                @DefaultValue("0") int maxQueryDepth,
+                                @DefaultValue("0") long operationCostLimitPerMinute,
+                                @DefaultValue("0") long maxQueryComplexity,
+                                @DefaultValue("10") int defaultListSize) {
         this.operationRateLimitPerMinute = operationRateLimitPerMinute;
         this.maxQueryDepth = maxQueryDepth;
+        this.operationCostLimitPerMinute = operationCostLimitPerMinute;
+        this.maxQueryComplexity = maxQueryComplexity;
+        this.defaultListSize = defaultListSize;
     }
 
     /**
@@ -52,4 +78,25 @@ public class LimitationProperties {
     public int getMaxQueryDepth() {
         return maxQueryDepth;
     }
+
+    /**
+     * @see #operationCostLimitPerMinute
+     */
+    public long getOperationCostLimitPerMinute() {
+        return operationCostLimitPerMinute;
+    }
+
+    /**
+     * @see #maxQueryComplexity
+     */
+    public long getMaxQueryComplexity() {
+        return maxQueryComplexity;
+    }
+
+    /**
+     * @see #defaultListSize
+     */
+    public int getDefaultListSize() {
+        return defaultListSize;
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation;
+
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import io.jmix.graphql.InstrumentationUtils;
+import io.jmix.graphql.datafetcher.EnvironmentUtils;
+
+/**
+ * Calculates the cost of an operation before it is executed, rejects the operation if the cost exceeds
+ * {@link LimitationProperties#getMaxQueryComplexity()} and charges the client with the cost if
+ * {@link LimitationProperties#getOperationCostLimitPerMinute()} is set.
+ */
+public class OperationComplexityInstrumentation extends SimpleInstrumentation {
+
+    private final QueryCostCalculator queryCostCalculator;
+    private final OperationRateLimitService operationRateLimitService;
+    private final long maxComplexity;
+
+    public OperationComplexityInstrumentation(QueryCostCalculator queryCostCalculator,
+                                              OperationRateLimitService operationRateLimitService,
+                                              long maxComplexity) {
+        this.queryCostCalculator = queryCostCalculator;
+        this.operationRateLimitService = operationRateLimitService;
+        this.maxComplexity = maxComplexity;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        String operationName = executionContext.getOperationDefinition().getName();
+        if (InstrumentationUtils.OPERATION_NAME_INTROSPECTION_QUERY.equals(operationName)
+                || (maxComplexity == 0 && !operationRateLimitService.isCostLimited())) {
+            return super.beginExecuteOperation(parameters);
+        }
+
+        long cost = queryCostCalculator.calculate(executionContext.getOperationDefinition(),
+                executionContext.getFragmentsByName(),
+                executionContext.getVariables(),
+                executionContext.getGraphQLSchema());
+
+        if (maxComplexity > 0 && cost > maxComplexity) {
+            throw new AbortExecutionException(String.format("maximum query complexity exceeded %d > %d",
+                    cost, maxComplexity));
+        }
+        if (operationRateLimitService.isCostLimited()) {
+            operationRateLimitService.costPerformed(
+                    EnvironmentUtils.getRemoteIPAddress(executionContext.getContext()), cost);
+        }
+        return super.beginExecuteOperation(parameters);
+    }
+}
@@ -16,9 +16,8 @@
 
 package io.jmix.graphql.limitation;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import graphql.execution.AbortExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -27,11 +26,20 @@ import org.springframework.lang.Nullable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Limits the number and the total cost of operations per minute from one client IP address. Each client has
+ * a {@link TokenBucket} which is refilled continuously, so concurrent operations are counted exactly without
+ * locking.
+ */
 @Component(value = OperationRateLimitService.NAME)
 public class OperationRateLimitService {
     public static final String NAME = "gql_OperationRateLimitService";
 
-    private final LoadingCache<String, Integer> attemptsCache;
+    // buckets idle for the whole period are full, so they can be removed
+    private final Cache<String, TokenBucket> operationBuckets =
+            CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.MINUTES).build();
+    private final Cache<String, TokenBucket> costBuckets =
+            CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.MINUTES).build();
     private LimitationProperties properties;
 
     @Autowired
@@ -43,39 +51,46 @@ public class OperationRateLimitService {
         return properties.getOperationRateLimitPerMinute() > 0;
     }
 
-    public OperationRateLimitService() {
-        super();
-        attemptsCache = CacheBuilder.newBuilder().
-                expireAfterWrite(1, TimeUnit.MINUTES).build(new CacheLoader<String, Integer>() {
-            public Integer load(String key) {
-                return 0;
-            }
-        });
+    public boolean isCostLimited() {
+        return properties.getOperationCostLimitPerMinute() > 0;
     }
 
     public boolean isBlocked(String key) {
-        try {
-            return attemptsCache.get(key) >= properties.getOperationRateLimitPerMinute();
-        } catch (ExecutionException e) {
-            return false;
-        }
+        TokenBucket bucket = operationBuckets.getIfPresent(key);
+        return bucket != null && bucket.getAvailableTokens() < 1;
     }
 
     public void queryPerformed(@Nullable String ip) {
         if (ip == null) {
             throw new AbortExecutionException("Can't get remote ip address");
         }
-        if (isBlocked(ip)) {
+        TokenBucket bucket = getBucket(operationBuckets, ip, properties.getOperationRateLimitPerMinute());
+        if (!bucket.tryConsume(1)) {
             throw new AbortExecutionException("Exceeded the number of allowed requests per minute");
         }
+    }
+
+    /**
+     * Charges the client with the cost of the operation.
+     *
+     * @param ip   client IP address
+     * @param cost cost of the operation, see {@link QueryCostCalculator}
+     */
+    public void costPerformed(@Nullable String ip, long cost) {
+        if (ip == null) {
+            throw new AbortExecutionException("Can't get remote ip address");
+        }
+        TokenBucket bucket = getBucket(costBuckets, ip, properties.getOperationCostLimitPerMinute());
+        if (!bucket.tryConsume(cost)) {
+            throw new AbortExecutionException("Exceeded the cost of allowed requests per minute");
+        }
+    }
 
-        int attempts;
+    protected TokenBucket getBucket(Cache<String, TokenBucket> buckets, String ip, long capacity) {
         try {
-            attempts = attemptsCache.get(ip);
+            return buckets.get(ip, () -> new TokenBucket(capacity, 1, TimeUnit.MINUTES));
         } catch (ExecutionException e) {
-            attempts = 0;
+            throw new IllegalStateException("Unable to create rate limit bucket", e);
         }
-        attempts++;
-        attemptsCache.put(ip, attempts);
     }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation;
+
+import com.google.common.math.LongMath;
+import graphql.language.Argument;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import io.jmix.graphql.NamingUtils;
+import io.jmix.graphql.datafetcher.EntityQueryDataFetcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Calculates the static cost of an operation from its document, before the operation is executed.
+ * <p>
+ * The cost is the estimated number of resolved fields. Each field costs the number of instances of its parent,
+ * fields of list types multiply the number of instances by the {@code limit} argument, by
+ * {@link EntityQueryDataFetcher#DEFAULT_MAX_RESULTS} if the field accepts the {@code limit} argument but it is not
+ * set, or by {@link LimitationProperties#getDefaultListSize()} otherwise. So the cost grows with the nesting depth
+ * of list fields.
+ */
+@Component(QueryCostCalculator.NAME)
+public class QueryCostCalculator {
+    public static final String NAME = "gql_QueryCostCalculator";
+
+    @Autowired
+    protected LimitationProperties limitationProperties;
+
+    public long calculate(OperationDefinition operation,
+                          Map<String, FragmentDefinition> fragments,
+                          Map<String, Object> variables,
+                          GraphQLSchema schema) {
+        GraphQLFieldsContainer rootType;
+        switch (operation.getOperation()) {
+            case MUTATION:
+                rootType = schema.getMutationType();
+                break;
+            case SUBSCRIPTION:
+                rootType = schema.getSubscriptionType();
+                break;
+            default:
+                rootType = schema.getQueryType();
+        }
+        return calculate(operation.getSelectionSet(), rootType, 1, fragments, variables, schema);
+    }
+
+    protected long calculate(@Nullable SelectionSet selectionSet,
+                             @Nullable GraphQLType parentType,
+                             long instances,
+                             Map<String, FragmentDefinition> fragments,
+                             Map<String, Object> variables,
+                             GraphQLSchema schema) {
+        if (selectionSet == null) {
+            return 0;
+        }
+
+        long cost = 0;
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                Field field = (Field) selection;
+                if (field.getName().startsWith("__")) {
+                    continue;
+                }
+
+                GraphQLFieldDefinition fieldDefinition = parentType instanceof GraphQLFieldsContainer
+                        ? ((GraphQLFieldsContainer) parentType).getFieldDefinition(field.getName())
+                        : null;
+                GraphQLType fieldType = fieldDefinition != null ? fieldDefinition.getType() : null;
+
+                long fieldInstances = instances;
+                if (fieldType != null && GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(fieldType))) {
+                    fieldInstances = LongMath.saturatedMultiply(instances,
+                            getListSize(field, fieldDefinition, variables));
+                }
+
+                cost = LongMath.saturatedAdd(cost, instances);
+                cost = LongMath.saturatedAdd(cost, calculate(field.getSelectionSet(),
+                        fieldType != null ? GraphQLTypeUtil.unwrapAll(fieldType) : null,
+                        fieldInstances, fragments, variables, schema));
+            } else if (selection instanceof FragmentSpread) {
+                FragmentDefinition fragment = fragments.get(((FragmentSpread) selection).getName());
+                if (fragment != null) {
+                    cost = LongMath.saturatedAdd(cost, calculate(fragment.getSelectionSet(),
+                            getType(fragment.getTypeCondition(), parentType, schema),
+                            instances, fragments, variables, schema));
+                }
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment fragment = (InlineFragment) selection;
+                cost = LongMath.saturatedAdd(cost, calculate(fragment.getSelectionSet(),
+                        getType(fragment.getTypeCondition(), parentType, schema),
+                        instances, fragments, variables, schema));
+            }
+        }
+        return cost;
+    }
+
+    protected long getListSize(Field field, GraphQLFieldDefinition fieldDefinition, Map<String, Object> variables) {
+        for (Argument argument : field.getArguments()) {
+            if (NamingUtils.LIMIT.equals(argument.getName())) {
+                Long limit = getLongValue(argument.getValue(), variables);
+                if (limit != null) {
+                    return Math.max(limit, 0);
+                }
+            }
+        }
+        return fieldDefinition.getArgument(NamingUtils.LIMIT) != null
+                ? EntityQueryDataFetcher.DEFAULT_MAX_RESULTS
+                : limitationProperties.getDefaultListSize();
+    }
+
+    @Nullable
+    protected Long getLongValue(Value<?> value, Map<String, Object> variables) {
+        if (value instanceof IntValue) {
+            return ((IntValue) value).getValue().longValue();
+        }
+        if (value instanceof VariableReference) {
+            Object variable = variables.get(((VariableReference) value).getName());
+            return variable instanceof Number ? ((Number) variable).longValue() : null;
+        }
+        return null;
+    }
+
+    @Nullable
+    protected GraphQLType getType(@Nullable TypeName typeCondition, @Nullable GraphQLType parentType,
+                                  GraphQLSchema schema) {
+        return typeCondition != null ? schema.getType(typeCondition.getName()) : parentType;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation;
+
+import com.google.common.math.LongMath;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket which is refilled with {@code capacity} tokens per {@code period}. The bucket is full
+ * initially.
+ * <p>
+ * Instead of the number of tokens, the bucket keeps the time when it becomes full again (the generic cell rate
+ * algorithm), so both consumption and refill are done by a single compare-and-set.
+ */
+public class TokenBucket {
+
+    protected final long capacity;
+    protected final long nanosPerToken;
+    protected final long periodNanos;
+
+    // the time when all consumed tokens are refilled
+    protected final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, long period, TimeUnit unit) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.periodNanos = unit.toNanos(period);
+        this.nanosPerToken = Math.max(1, periodNanos / capacity);
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return number of tokens the bucket contains
+     */
+    public long getAvailableTokens() {
+        return getAvailableTokens(System.nanoTime());
+    }
+
+    protected long getAvailableTokens(long now) {
+        long consumedNanos = fullAt.get() - now;
+        if (consumedNanos <= 0) {
+            return capacity;
+        }
+        return Math.max(0, (periodNanos - consumedNanos) / nanosPerToken);
+    }
+
+    /**
+     * Consumes the given number of tokens if the bucket contains them.
+     *
+     * @return true if tokens are consumed, false if the bucket does not contain enough tokens
+     */
+    public boolean tryConsume(long tokens) {
+        return tryConsume(tokens, System.nanoTime());
+    }
+
+    protected boolean tryConsume(long tokens, long now) {
+        if (tokens > capacity) {
+            return false;
+        }
+        long consumedNanos = LongMath.saturatedMultiply(tokens, nanosPerToken);
+        while (true) {
+            long current = fullAt.get();
+            long start = current - now > 0 ? current : now;
+            long next = start + consumedNanos;
+            if (next - now > periodNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
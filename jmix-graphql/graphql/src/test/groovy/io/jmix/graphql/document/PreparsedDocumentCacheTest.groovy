@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.document
+
+import com.google.common.hash.Hashing
+import graphql.ExecutionInput
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.parser.Parser
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class PreparsedDocumentCacheTest extends Specification {
+
+    static final String QUERY = '{ scr_CarList { id } }'
+
+    def meterRegistry = new SimpleMeterRegistry()
+    def cache = new PreparsedDocumentCache(new DocumentCacheProperties(10, true), meterRegistry)
+    int parseCount
+
+    def "document is parsed once"() {
+        when:
+        def first = cache.getDocument(input(QUERY), this::parse)
+        def second = cache.getDocument(input(QUERY), this::parse)
+
+        then:
+        parseCount == 1
+        first.is(second)
+        meterRegistry.get('cache.gets').tag('cache', PreparsedDocumentCache.METRICS_CACHE_NAME)
+                .tag('result', 'hit').functionCounter().count() == 1
+    }
+
+    def "unknown persisted query is requested and then registered"() {
+        def hash = Hashing.sha256().hashString(QUERY, StandardCharsets.UTF_8).toString()
+
+        when:
+        def notFound = cache.getDocument(input('', hash), this::parse)
+
+        then:
+        notFound.hasErrors()
+        notFound.errors[0].message == PreparsedDocumentCache.PERSISTED_QUERY_NOT_FOUND
+
+        when:
+        cache.getDocument(input(QUERY, hash), this::parse)
+        def found = cache.getDocument(input('', hash), this::parse)
+
+        then:
+        !found.hasErrors()
+        parseCount == 1
+    }
+
+    def "persisted query with wrong hash is rejected"() {
+        when:
+        def entry = cache.getDocument(input(QUERY, 'abc'), this::parse)
+
+        then:
+        entry.errors[0].message == PreparsedDocumentCache.PERSISTED_QUERY_HASH_MISMATCH
+        parseCount == 0
+    }
+
+    protected PreparsedDocumentEntry parse(ExecutionInput executionInput) {
+        parseCount++
+        return new PreparsedDocumentEntry(new Parser().parseDocument(executionInput.query))
+    }
+
+    protected static ExecutionInput input(String query, String hash = null) {
+        def builder = ExecutionInput.newExecutionInput().query(query)
+        if (hash != null) {
+            builder.extensions([persistedQuery: [version: 1, sha256Hash: hash]])
+        }
+        return builder.build()
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation
+
+import com.graphql.spring.boot.test.GraphQLTestError
+import io.jmix.graphql.AbstractGraphQLTest
+import org.springframework.test.context.TestPropertySource
+
+@TestPropertySource(properties = ["jmix.graphql.maxQueryComplexity=10"])
+class MaxQueryComplexityTest extends AbstractGraphQLTest {
+
+    def "query with low cost works on limit 10"() {
+        when:
+        def response = query("limitation/car-depth-1.gql")
+
+        then:
+        response.get('$.data.scr_CarById._instanceName') == "VAZ - 2121"
+    }
+
+    def "list query with limit argument works on limit 10"() {
+        when:
+        def response = query("limitation/cars-with-limit.gql")
+
+        then:
+        response.getList('$.data.scr_CarList', Object).size() == 2
+    }
+
+    def "list query without limit argument fails on limit 10"() {
+        when:
+        def response = query("datafetcher/query-cars.gql")
+
+        then:
+        def errs = response.getList('$.errors', GraphQLTestError)
+        errs[0].message == 'maximum query complexity exceeded 501 > 10'
+    }
+}
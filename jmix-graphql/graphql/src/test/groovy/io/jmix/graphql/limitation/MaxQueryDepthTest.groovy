@@ -39,4 +39,19 @@ class MaxQueryDepthTest extends AbstractGraphQLTest {
         def errs = response.getList('$.errors', GraphQLTestError)
         errs[0].message == 'maximum query depth exceeded 3 > 2'
     }
+
+    def "query depth is checked for each operation of a cached document"() {
+        when:
+        def shallowResponse = graphQLTestTemplate
+                .withBearerAuth(adminToken)
+                .perform("graphql/io/jmix/graphql/limitation/car-depth-operations.gql", "shallowCar", null)
+        def deepResponse = graphQLTestTemplate
+                .withBearerAuth(adminToken)
+                .perform("graphql/io/jmix/graphql/limitation/car-depth-operations.gql", "deepCar", null)
+
+        then:
+        shallowResponse.get('$.data.scr_CarById._instanceName') == "VAZ - 2121"
+        def errs = deepResponse.getList('$.errors', GraphQLTestError)
+        errs[0].message == 'maximum query depth exceeded 3 > 2'
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class TokenBucketTest extends Specification {
+
+    def "tokens are consumed up to capacity and refilled over time"() {
+        def bucket = new TokenBucket(3, 60, TimeUnit.SECONDS)
+        long now = System.nanoTime()
+
+        expect:
+        bucket.tryConsume(2, now)
+        bucket.tryConsume(1, now)
+        !bucket.tryConsume(1, now)
+        bucket.getAvailableTokens(now) == 0
+
+        and: "one token is refilled in 20 seconds"
+        bucket.getAvailableTokens(now + TimeUnit.SECONDS.toNanos(20)) == 1
+        bucket.tryConsume(1, now + TimeUnit.SECONDS.toNanos(20))
+        !bucket.tryConsume(1, now + TimeUnit.SECONDS.toNanos(20))
+
+        and: "bucket is full after the period"
+        bucket.getAvailableTokens(now + TimeUnit.SECONDS.toNanos(120)) == 3
+    }
+
+    def "cost greater than capacity is rejected"() {
+        def bucket = new TokenBucket(3, 60, TimeUnit.SECONDS)
+
+        expect:
+        !bucket.tryConsume(4)
+        bucket.getAvailableTokens() == 3
+    }
+
+    def "concurrent consumers do not exceed capacity"() {
+        def bucket = new TokenBucket(1000, 1, TimeUnit.HOURS)
+        def consumed = Collections.synchronizedList([])
+
+        when:
+        def threads = (1..8).collect {
+            Thread.start {
+                for (i in 0..<200) {
+                    if (bucket.tryConsume(1)) {
+                        consumed << i
+                    }
+                }
+            }
+        }
+        threads*.join()
+
+        then:
+        consumed.size() == 1000
+    }
+}
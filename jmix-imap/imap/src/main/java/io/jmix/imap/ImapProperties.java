@@ -38,6 +38,37 @@ public class ImapProperties {
      */
     String imapSyncCron;
 
+    /**
+     * Whether folders are synchronized incrementally using UIDNEXT and, if the server supports CONDSTORE/QRESYNC,
+     * HIGHESTMODSEQ, so that only new and changed messages are fetched from unchanged folders.
+     */
+    boolean incrementalSyncEnabled;
+
+    /**
+     * Whether processable folders are watched using IMAP IDLE and synchronized as soon as the server reports changes.
+     */
+    boolean idleEnabled;
+
+    /**
+     * Maximum number of folders watched using IMAP IDLE. Folders above the limit are synchronized by schedule only.
+     */
+    int idleMaxFolders;
+
+    /**
+     * Maximum number of mailboxes whose connected stores are kept open between synchronizations. 0 disables reuse.
+     */
+    int storeCacheSize;
+
+    /**
+     * Time in seconds after which an unused cached store is closed.
+     */
+    int storeCacheExpirationSeconds;
+
+    /**
+     * Maximum number of connections opened by a store of a single mailbox for folder operations.
+     */
+    int maxConnectionsPerMailBox;
+
     public ImapProperties(@DefaultValue("false") boolean trustAllCertificates,
                           @DefaultValue("100") int updateBatchSize,
                           @DefaultValue("false") boolean clearCustomFlags,
@@ -45,7 +76,13 @@ public class ImapProperties {
                           @DefaultValue("5") int timeoutSeconds,
                           @DefaultValue("20") int eventsBatchSize,
                           @DefaultValue("0 * * * * ?") String imapSyncCron,
-                          @DefaultValue("true") boolean useDefaultQuartzConfiguration) {
+                          @DefaultValue("true") boolean useDefaultQuartzConfiguration,
+                          @DefaultValue("false") boolean incrementalSyncEnabled,
+                          @DefaultValue("false") boolean idleEnabled,
+                          @DefaultValue("100") int idleMaxFolders,
+                          @DefaultValue("0") int storeCacheSize,
+                          @DefaultValue("300") int storeCacheExpirationSeconds,
+                          @DefaultValue("1") int maxConnectionsPerMailBox) {
         this.trustAllCertificates = trustAllCertificates;
         this.updateBatchSize = updateBatchSize;
         this.clearCustomFlags = clearCustomFlags;
@@ -54,6 +91,12 @@ public class ImapProperties {
         this.eventsBatchSize = eventsBatchSize;
         this.imapSyncCron = imapSyncCron;
         this.useDefaultQuartzConfiguration = useDefaultQuartzConfiguration;
+        this.incrementalSyncEnabled = incrementalSyncEnabled;
+        this.idleEnabled = idleEnabled;
+        this.idleMaxFolders = idleMaxFolders;
+        this.storeCacheSize = storeCacheSize;
+        this.storeCacheExpirationSeconds = storeCacheExpirationSeconds;
+        this.maxConnectionsPerMailBox = maxConnectionsPerMailBox;
     }
 
     public boolean isTrustAllCertificates() {
@@ -93,4 +136,46 @@ public class ImapProperties {
     public String getImapSyncCron() {
         return imapSyncCron;
     }
+
+    /**
+     * @see #incrementalSyncEnabled
+     */
+    public boolean isIncrementalSyncEnabled() {
+        return incrementalSyncEnabled;
+    }
+
+    /**
+     * @see #idleEnabled
+     */
+    public boolean isIdleEnabled() {
+        return idleEnabled;
+    }
+
+    /**
+     * @see #idleMaxFolders
+     */
+    public int getIdleMaxFolders() {
+        return idleMaxFolders;
+    }
+
+    /**
+     * @see #storeCacheSize
+     */
+    public int getStoreCacheSize() {
+        return storeCacheSize;
+    }
+
+    /**
+     * @see #storeCacheExpirationSeconds
+     */
+    public int getStoreCacheExpirationSeconds() {
+        return storeCacheExpirationSeconds;
+    }
+
+    /**
+     * @see #maxConnectionsPerMailBox
+     */
+    public int getMaxConnectionsPerMailBox() {
+        return maxConnectionsPerMailBox;
+    }
 }
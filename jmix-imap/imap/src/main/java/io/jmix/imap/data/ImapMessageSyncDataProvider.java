@@ -35,6 +35,7 @@ import org.springframework.util.CollectionUtils;
 import jakarta.mail.Flags;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -125,6 +126,23 @@ public class ImapMessageSyncDataProvider {
                 .list();
     }
 
+    public List<ImapMessage> findMessagesByUids(ImapFolder imapFolder, Collection<Long> uids) {
+        List<ImapMessage> result = new ArrayList<>(uids.size());
+        final AtomicInteger counter = new AtomicInteger(0);
+        Collection<List<Long>> partitions = uids.stream()
+                .collect(Collectors.groupingBy(it -> counter.getAndIncrement() / 1000))
+                .values();
+        for (List<Long> uidsPartition : partitions) {
+            result.addAll(dataManager.load(ImapMessage.class)
+                    .query("select m from imap_Message m where m.folder.id = :folder and m.msgUid in :uids")
+                    .parameter("folder", imapFolder.getId())
+                    .parameter("uids", uidsPartition)
+                    .fetchPlan("imap-msg-full")
+                    .list());
+        }
+        return result;
+    }
+
     public void createSyncForMessages(Collection<ImapMessage> messages, ImapSyncStatus syncStatus) {
         transaction.executeWithoutResult(transactionStatus -> {
             messages.forEach(message -> {
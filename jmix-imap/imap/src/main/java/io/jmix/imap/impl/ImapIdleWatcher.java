@@ -0,0 +1,278 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.imap.impl;
+
+import io.jmix.imap.ImapProperties;
+import io.jmix.imap.entity.ImapFolder;
+import io.jmix.imap.entity.ImapMailBox;
+import io.jmix.imap.sync.ImapMailboxSyncActivationEvent;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Folder;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.event.MessageChangedEvent;
+import jakarta.mail.event.MessageChangedListener;
+import jakarta.mail.event.MessageCountEvent;
+import jakarta.mail.event.MessageCountListener;
+import org.eclipse.angus.mail.imap.IMAPFolder;
+import org.eclipse.angus.mail.imap.IMAPStore;
+import org.eclipse.angus.mail.imap.IdleManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Watches processable folders of mailboxes using IMAP IDLE and notifies a handler when the server reports new,
+ * removed or changed messages. All folders are watched by a single {@link IdleManager}, so watching does not take
+ * a thread per folder. The total number of watched folders is limited by {@link ImapProperties#getIdleMaxFolders()}.
+ * <p>
+ * Watching is refreshed by {@link #watch(Collection, Consumer)} which is expected to be called periodically:
+ * folders closed by the server are reopened, and IDLE commands running for a long time are renewed, as servers
+ * may terminate IDLE after 30 minutes of inactivity.
+ */
+@Component("imap_ImapIdleWatcher")
+public class ImapIdleWatcher {
+
+    private final static Logger log = LoggerFactory.getLogger(ImapIdleWatcher.class);
+
+    protected static final long IDLE_RENEW_MILLIS = TimeUnit.MINUTES.toMillis(20);
+
+    @Autowired
+    protected ImapHelper imapHelper;
+
+    @Autowired
+    protected ImapProperties imapProperties;
+
+    protected final Map<UUID, WatchedMailBox> watchedMailBoxes = new ConcurrentHashMap<>();
+
+    protected final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(@Nonnull Runnable r) {
+            Thread thread = new Thread(
+                    r, "ImapIdle-" + threadNumber.getAndIncrement()
+            );
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    protected volatile IdleManager idleManager;
+
+    /**
+     * Starts watching folders of the given mailboxes and stops watching mailboxes which are not in the collection.
+     *
+     * @param mailBoxes     mailboxes to watch
+     * @param changeHandler handler invoked when the server reports changes in a folder of a mailbox
+     */
+    public synchronized void watch(Collection<ImapMailBox> mailBoxes, Consumer<ImapMailBox> changeHandler) {
+        IdleManager manager = getIdleManager();
+        if (manager == null) {
+            return;
+        }
+
+        Set<UUID> ids = new HashSet<>();
+        for (ImapMailBox mailBox : mailBoxes) {
+            ids.add(mailBox.getId());
+            WatchedMailBox watched = watchedMailBoxes.get(mailBox.getId());
+            if (watched != null && !Objects.equals(watched.version, mailBox.getVersion())) {
+                unwatch(mailBox.getId());
+            }
+        }
+        for (UUID id : new ArrayList<>(watchedMailBoxes.keySet())) {
+            if (!ids.contains(id)) {
+                unwatch(id);
+            }
+        }
+
+        int watchedFolders = watchedMailBoxes.values().stream()
+                .mapToInt(watched -> watched.folders.size())
+                .sum();
+        for (ImapMailBox mailBox : mailBoxes) {
+            WatchedMailBox watched = watchedMailBoxes.get(mailBox.getId());
+            if (watched == null) {
+                int foldersCount = mailBox.getProcessableFolders().size();
+                if (foldersCount == 0) {
+                    continue;
+                }
+                if (watchedFolders + foldersCount > imapProperties.getIdleMaxFolders()) {
+                    log.debug("Mailbox {} is not watched: maximum number of watched folders is reached", mailBox);
+                    continue;
+                }
+                try {
+                    watched = open(mailBox, changeHandler);
+                } catch (MessagingException e) {
+                    log.warn("Can't watch mailbox " + mailBox, e);
+                    continue;
+                }
+                watchedMailBoxes.put(mailBox.getId(), watched);
+                watchedFolders += watched.folders.size();
+            }
+            for (WatchedFolder folder : watched.folders) {
+                refresh(manager, folder);
+            }
+        }
+    }
+
+    public synchronized void unwatch(UUID mailBoxId) {
+        WatchedMailBox watched = watchedMailBoxes.remove(mailBoxId);
+        if (watched == null) {
+            return;
+        }
+        log.debug("Stop watching mailbox {}", watched.mailBox);
+        try {
+            // closing the store closes its folders and aborts their IDLE commands
+            watched.store.close();
+        } catch (MessagingException e) {
+            log.warn("Can't close store of mailbox " + watched.mailBox, e);
+        }
+    }
+
+    @EventListener
+    protected void onMailBoxSyncActivation(ImapMailboxSyncActivationEvent event) {
+        if (event.getType() == ImapMailboxSyncActivationEvent.Type.DEACTIVATE) {
+            unwatch(event.getMailBox().getId());
+        }
+    }
+
+    @PreDestroy
+    protected synchronized void stop() {
+        for (UUID id : new ArrayList<>(watchedMailBoxes.keySet())) {
+            unwatch(id);
+        }
+        if (idleManager != null) {
+            idleManager.stop();
+        }
+        executor.shutdownNow();
+    }
+
+    protected IdleManager getIdleManager() {
+        if (idleManager == null) {
+            Properties props = new Properties();
+            props.setProperty("mail.debug", String.valueOf(imapProperties.isDebug()));
+            try {
+                idleManager = new IdleManager(Session.getInstance(props, null), executor);
+            } catch (IOException e) {
+                log.error("Can't start IMAP IDLE manager", e);
+            }
+        }
+        return idleManager;
+    }
+
+    protected WatchedMailBox open(ImapMailBox mailBox, Consumer<ImapMailBox> changeHandler) throws MessagingException {
+        log.debug("Start watching mailbox {}", mailBox);
+        IMAPStore store = imapHelper.getStore(mailBox);
+        WatchedMailBox watched = new WatchedMailBox(mailBox, store);
+        for (ImapFolder jmixFolder : mailBox.getProcessableFolders()) {
+            IMAPFolder imapFolder = (IMAPFolder) store.getFolder(jmixFolder.getName());
+            WatchedFolder folder = new WatchedFolder(imapFolder);
+            Runnable onChange = () -> {
+                folder.armedAt = 0;
+                changeHandler.accept(mailBox);
+                IdleManager manager = idleManager;
+                if (manager != null) {
+                    refresh(manager, folder);
+                }
+            };
+            imapFolder.addMessageCountListener(new MessageCountListener() {
+                @Override
+                public void messagesAdded(MessageCountEvent e) {
+                    onChange.run();
+                }
+
+                @Override
+                public void messagesRemoved(MessageCountEvent e) {
+                    onChange.run();
+                }
+            });
+            imapFolder.addMessageChangedListener(new MessageChangedListener() {
+                @Override
+                public void messageChanged(MessageChangedEvent e) {
+                    onChange.run();
+                }
+            });
+            watched.folders.add(folder);
+        }
+        return watched;
+    }
+
+    /**
+     * Reopens the folder if it has been closed, renews IDLE running for a long time and starts IDLE if it is not
+     * running.
+     */
+    protected void refresh(IdleManager manager, WatchedFolder folder) {
+        synchronized (folder) {
+            IMAPFolder imapFolder = folder.imapFolder;
+            try {
+                if (!imapFolder.isOpen()) {
+                    imapFolder.open(Folder.READ_ONLY);
+                    folder.armedAt = 0;
+                } else if (folder.armedAt > 0 && System.currentTimeMillis() - folder.armedAt > IDLE_RENEW_MILLIS) {
+                    // any command aborts IDLE, so it has to be started again
+                    imapFolder.doCommand(protocol -> {
+                        protocol.simpleCommand("NOOP", null);
+                        return null;
+                    });
+                    folder.armedAt = 0;
+                }
+                if (folder.armedAt == 0) {
+                    manager.watch(imapFolder);
+                    folder.armedAt = System.currentTimeMillis();
+                }
+            } catch (MessagingException e) {
+                log.warn("Can't watch folder " + imapFolder.getFullName(), e);
+                folder.armedAt = 0;
+            }
+        }
+    }
+
+    protected static class WatchedMailBox {
+        protected final ImapMailBox mailBox;
+        protected final Integer version;
+        protected final IMAPStore store;
+        protected final List<WatchedFolder> folders = new ArrayList<>();
+
+        protected WatchedMailBox(ImapMailBox mailBox, IMAPStore store) {
+            this.mailBox = mailBox;
+            this.version = mailBox.getVersion();
+            this.store = store;
+        }
+    }
+
+    protected static class WatchedFolder {
+        protected final IMAPFolder imapFolder;
+        protected volatile long armedAt;
+
+        protected WatchedFolder(IMAPFolder imapFolder) {
+            this.imapFolder = imapFolder;
+        }
+    }
+}
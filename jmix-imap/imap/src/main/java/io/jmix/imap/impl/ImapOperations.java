@@ -122,6 +122,40 @@ public class ImapOperations {
         return fetch(folder, mailBox, messages);
     }
 
+    /**
+     * Returns messages with UIDs greater than or equal to the given one.
+     */
+    public List<IMAPMessage> searchSinceUid(IMAPFolder folder, long uid, ImapMailBox mailBox) throws MessagingException {
+        log.debug("search messages in {} with uid greater or equal {}", folder.getFullName(), uid);
+
+        // "uid:*" always includes the last message, even if its uid is less than the requested one
+        List<IMAPMessage> result = fetch(folder, mailBox, folder.getMessagesByUID(uid, UIDFolder.LASTUID));
+        result.removeIf(message -> {
+            try {
+                return folder.getUID(message) < uid;
+            } catch (MessagingException e) {
+                return true;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Fetches flags of messages with UIDs up to {@code lastUid}. If {@code modSeq} is positive, only messages changed
+     * since that mod-sequence are returned using CONDSTORE, otherwise flags of all such messages are fetched.
+     */
+    public List<IMAPMessage> fetchFlags(IMAPFolder folder, long lastUid, long modSeq) throws MessagingException {
+        log.debug("fetch flags of messages in {} with uid up to {} changed since {}", folder.getFullName(), lastUid, modSeq);
+
+        Message[] messages = modSeq > 0
+                ? folder.getMessagesByUIDChangedSince(1, lastUid, modSeq)
+                : folder.getMessagesByUID(1, lastUid);
+        FetchProfile fetchProfile = new FetchProfile();
+        fetchProfile.add(FetchProfile.Item.FLAGS);
+        fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+        return fetch(folder, fetchProfile, messages);
+    }
+
     protected SearchTerm newer(int lastMessageNumber) {
         return new IntegerComparisonTerm(ComparisonTerm.GT, lastMessageNumber) {
             @Override
@@ -17,6 +17,7 @@
 package io.jmix.imap.impl;
 
 import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.imap.ImapProperties;
 import io.jmix.imap.ImapScheduler;
 import io.jmix.imap.data.ImapDataProvider;
 import io.jmix.imap.entity.ImapMailBox;
@@ -32,11 +33,17 @@ import jakarta.annotation.Nonnull;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component("imap_ImapScheduler")
 public class ImapSchedulerImpl implements ImapScheduler {
@@ -58,6 +65,16 @@ public class ImapSchedulerImpl implements ImapScheduler {
     @Autowired
     protected SystemAuthenticator authenticator;
 
+    @Autowired
+    protected ImapProperties imapProperties;
+
+    @Autowired
+    protected ImapIdleWatcher imapIdleWatcher;
+
+    protected final ConcurrentMap<UUID, Lock> mailBoxLocks = new ConcurrentHashMap<>();
+
+    protected final Set<UUID> requestedSyncs = ConcurrentHashMap.newKeySet();
+
     protected final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
         private final AtomicInteger threadNumber = new AtomicInteger(1);
 
@@ -76,6 +93,10 @@ public class ImapSchedulerImpl implements ImapScheduler {
         List<ImapMailBox> mailBoxes = imapDataProvider.findMailBoxes();
         log.trace("IMAP synchronization: found {} mailboxes", mailBoxes.size());
 
+        if (imapProperties.isIdleEnabled()) {
+            imapIdleWatcher.watch(mailBoxes, this::requestSync);
+        }
+
         Map<ImapMailBox, Future> tasks = new HashMap<>(mailBoxes.size());
         mailBoxes.forEach(mailBox -> {
             tasks.put(mailBox, executor.submit(() -> {
@@ -100,8 +121,37 @@ public class ImapSchedulerImpl implements ImapScheduler {
     }
 
     protected void syncMailBox(ImapMailBox mailBox) {
-        getImapSynchronizer(mailBox).synchronize(mailBox);
-        handleFolderMessages(mailBox);
+        Lock lock = mailBoxLocks.computeIfAbsent(mailBox.getId(), id -> new ReentrantLock());
+        lock.lock();
+        try {
+            getImapSynchronizer(mailBox).synchronize(mailBox);
+            handleFolderMessages(mailBox);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Synchronizes the mailbox out of schedule, e.g. when IMAP IDLE reports changes. A request is ignored if
+     * the previous one has not been started yet.
+     */
+    protected void requestSync(ImapMailBox mailBox) {
+        if (!requestedSyncs.add(mailBox.getId())) {
+            return;
+        }
+        log.trace("Synchronization of mailbox {} is requested", mailBox);
+        executor.submit(() -> {
+            requestedSyncs.remove(mailBox.getId());
+            authenticator.begin();
+            try {
+                syncMailBox(mailBox);
+            } catch (Exception e) {
+                log.error(String.format("Error on %s[%s] mailbox sync",
+                        mailBox.getName(), mailBox.getId()), e);
+            } finally {
+                authenticator.end();
+            }
+        });
     }
 
     protected ImapSynchronizer getImapSynchronizer(ImapMailBox mailBox) {
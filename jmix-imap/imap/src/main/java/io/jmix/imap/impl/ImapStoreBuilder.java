@@ -74,6 +74,12 @@ public class ImapStoreBuilder {
 
         props.setProperty(String.format("mail.%s.connectiontimeout", protocol), timeout);
         props.setProperty(String.format("mail.%s.timeout", protocol), timeout);
+        props.setProperty(String.format("mail.%s.connectionpoolsize", protocol),
+                String.valueOf(Math.max(1, config.getMaxConnectionsPerMailBox())));
+        if (config.isIdleEnabled()) {
+            // required by IdleManager to watch folders without a dedicated thread per folder
+            props.setProperty(String.format("mail.%s.usesocketchannels", protocol), "true");
+        }
 
         if (mailBox.getSecureMode() == ImapSecureMode.STARTTLS) {
             props.setProperty("mail.imap.starttls.enable", "true");
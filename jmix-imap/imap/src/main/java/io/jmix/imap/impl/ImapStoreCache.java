@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.imap.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.jmix.imap.ImapProperties;
+import io.jmix.imap.entity.ImapMailBox;
+import io.jmix.imap.sync.ImapMailboxSyncActivationEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import org.eclipse.angus.mail.imap.IMAPStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps connected stores of mailboxes between synchronizations, so that a periodic or IDLE-triggered synchronization
+ * does not have to connect and authenticate again. The number of cached stores is limited by
+ * {@link ImapProperties#getStoreCacheSize()}, and the number of connections of each store is limited by
+ * {@link ImapProperties#getMaxConnectionsPerMailBox()}.
+ * <p>
+ * Stores are leased: a store removed from the cache, e.g. on expiration or when the mailbox is changed, is closed
+ * only after it has been released by all users that acquired it.
+ * <p>
+ * If the cache is disabled, {@link #acquire(ImapMailBox)} opens a new store and {@link #release(ImapMailBox, IMAPStore)}
+ * closes it.
+ */
+@Component("imap_ImapStoreCache")
+public class ImapStoreCache {
+
+    private final static Logger log = LoggerFactory.getLogger(ImapStoreCache.class);
+
+    @Autowired
+    protected ImapHelper imapHelper;
+
+    @Autowired
+    protected ImapProperties imapProperties;
+
+    protected Cache<UUID, CachedStore> stores;
+
+    /**
+     * Stores acquired and not yet released, guarded by this object.
+     */
+    protected final Map<IMAPStore, CachedStore> leasedStores = new IdentityHashMap<>();
+
+    @PostConstruct
+    protected void init() {
+        if (imapProperties.getStoreCacheSize() > 0) {
+            stores = CacheBuilder.newBuilder()
+                    .maximumSize(imapProperties.getStoreCacheSize())
+                    .expireAfterAccess(imapProperties.getStoreCacheExpirationSeconds(), TimeUnit.SECONDS)
+                    .removalListener(this::onRemoval)
+                    .build();
+        }
+    }
+
+    public boolean isEnabled() {
+        return stores != null;
+    }
+
+    /**
+     * Returns a connected store of the mailbox. The store must be returned by {@link #release(ImapMailBox, IMAPStore)}.
+     */
+    public IMAPStore acquire(ImapMailBox mailBox) throws MessagingException {
+        if (stores == null) {
+            return imapHelper.getStore(mailBox);
+        }
+
+        synchronized (this) {
+            CachedStore cached = stores.getIfPresent(mailBox.getId());
+            if (cached != null) {
+                if (Objects.equals(cached.version, mailBox.getVersion()) && cached.store.isConnected()) {
+                    log.trace("Reuse cached store of mailbox {}", mailBox);
+                    lease(cached);
+                    return cached.store;
+                }
+                stores.invalidate(mailBox.getId());
+            }
+        }
+
+        // the store is connected outside the lock, so that other mailboxes are not blocked
+        IMAPStore store = imapHelper.getStore(mailBox);
+        CachedStore cached = new CachedStore(store, mailBox.getVersion());
+        synchronized (this) {
+            lease(cached);
+            stores.put(mailBox.getId(), cached);
+        }
+        return store;
+    }
+
+    public void release(ImapMailBox mailBox, IMAPStore store) throws MessagingException {
+        boolean close;
+        synchronized (this) {
+            CachedStore cached = leasedStores.get(store);
+            if (cached == null) {
+                close = true;
+            } else {
+                cached.leases--;
+                if (cached.leases == 0) {
+                    leasedStores.remove(store);
+                }
+                close = cached.leases == 0 && cached.removed;
+            }
+        }
+        if (close) {
+            log.debug("Close released store of mailbox {}", mailBox);
+            store.close();
+        }
+    }
+
+    public void invalidate(UUID mailBoxId) {
+        if (stores != null) {
+            stores.invalidate(mailBoxId);
+        }
+    }
+
+    @EventListener
+    protected void onMailBoxSyncActivation(ImapMailboxSyncActivationEvent event) {
+        if (event.getType() == ImapMailboxSyncActivationEvent.Type.DEACTIVATE) {
+            invalidate(event.getMailBox().getId());
+        }
+    }
+
+    @PreDestroy
+    protected void closeAll() {
+        if (stores != null) {
+            stores.invalidateAll();
+        }
+    }
+
+    protected synchronized void lease(CachedStore cached) {
+        cached.leases++;
+        leasedStores.put(cached.store, cached);
+    }
+
+    protected void onRemoval(RemovalNotification<UUID, CachedStore> notification) {
+        CachedStore cached = notification.getValue();
+        if (cached == null) {
+            return;
+        }
+        synchronized (this) {
+            cached.removed = true;
+            if (cached.leases > 0) {
+                log.debug("Cached store of mailbox {} is removed ({}) and will be closed when released",
+                        notification.getKey(), notification.getCause());
+                return;
+            }
+        }
+        log.debug("Close cached store of mailbox {}: {}", notification.getKey(), notification.getCause());
+        try {
+            cached.store.close();
+        } catch (MessagingException e) {
+            log.warn("Can't close cached store of mailbox " + notification.getKey(), e);
+        }
+    }
+
+    protected static class CachedStore {
+        protected final IMAPStore store;
+        protected final Integer version;
+        protected int leases;
+        protected boolean removed;
+
+        protected CachedStore(IMAPStore store, Integer version) {
+            this.store = store;
+            this.version = version;
+        }
+    }
+}
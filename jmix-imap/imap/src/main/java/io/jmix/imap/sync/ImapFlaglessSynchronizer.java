@@ -49,13 +49,27 @@ public class ImapFlaglessSynchronizer extends ImapSynchronizer {
         List<IMAPMessage> imapMessages = imapOperations.search(imapFolder, lastMessageNumber, mailBox);
         if (CollectionUtils.isNotEmpty(imapMessages)) {
             for (IMAPMessage imapMessage : imapMessages) {
-                log.debug("[{}]insert message with uid {} to db after changing flags on server",
-                        jmixFolder, imapFolder.getUID(imapMessage));
-                ImapMessage jmixMessage = createMessage(imapMessage, jmixFolder);
-                if (jmixMessage != null && jmixMessage.getReferenceId() != null) {
-                    checkAnswers.add(jmixMessage);
-                }
+                handleNewMessage(checkAnswers, jmixFolder, imapFolder, imapMessage);
             }
         }
     }
+
+    @Override
+    protected void handleNewMessage(List<ImapMessage> checkAnswers,
+                                    ImapFolder jmixFolder,
+                                    IMAPFolder imapFolder,
+                                    IMAPMessage imapMessage) throws MessagingException {
+        log.debug("[{}]insert message with uid {} to db after changing flags on server",
+                jmixFolder, imapFolder.getUID(imapMessage));
+        ImapMessage jmixMessage = createMessage(imapMessage, jmixFolder);
+        if (jmixMessage != null && jmixMessage.getReferenceId() != null) {
+            checkAnswers.add(jmixMessage);
+        }
+    }
+
+    @Override
+    protected boolean isInserted(IMAPMessage imapMessage, ImapMailBox mailBox) {
+        // messages are not marked on the server, so duplicates are skipped by uid on insert
+        return false;
+    }
 }
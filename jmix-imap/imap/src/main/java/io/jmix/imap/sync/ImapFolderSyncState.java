@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.imap.sync;
+
+import org.eclipse.angus.mail.imap.IMAPFolder;
+
+import jakarta.mail.MessagingException;
+
+/**
+ * Status of a server folder remembered after its successful synchronization and used by the incremental
+ * synchronization to detect what has changed since then.
+ * <p>
+ * {@code highestModSeq} is {@code 0} if the flags of messages stored in the database have not been reconciled with
+ * the server yet, and negative if the server does not support CONDSTORE.
+ */
+public class ImapFolderSyncState {
+
+    protected final long uidValidity;
+    protected final long uidNext;
+    protected final long highestModSeq;
+    protected final int messageCount;
+
+    public ImapFolderSyncState(long uidValidity, long uidNext, long highestModSeq, int messageCount) {
+        this.uidValidity = uidValidity;
+        this.uidNext = uidNext;
+        this.highestModSeq = highestModSeq;
+        this.messageCount = messageCount;
+    }
+
+    /**
+     * Creates the state from the status reported by the server when the folder was opened.
+     */
+    public static ImapFolderSyncState of(IMAPFolder folder) throws MessagingException {
+        return new ImapFolderSyncState(folder.getUIDValidity(), folder.getUIDNext(),
+                folder.getHighestModSeq(), folder.getMessageCount());
+    }
+
+    public long getUidValidity() {
+        return uidValidity;
+    }
+
+    public long getUidNext() {
+        return uidNext;
+    }
+
+    public long getHighestModSeq() {
+        return highestModSeq;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public boolean supportsModSeq() {
+        return highestModSeq > 0;
+    }
+
+    /**
+     * Returns a copy of the state with the given mod-sequence.
+     */
+    public ImapFolderSyncState withHighestModSeq(long highestModSeq) {
+        return new ImapFolderSyncState(uidValidity, uidNext, highestModSeq, messageCount);
+    }
+
+    @Override
+    public String toString() {
+        return "ImapFolderSyncState{" +
+                "uidValidity=" + uidValidity +
+                ", uidNext=" + uidNext +
+                ", highestModSeq=" + highestModSeq +
+                ", messageCount=" + messageCount +
+                '}';
+    }
+}
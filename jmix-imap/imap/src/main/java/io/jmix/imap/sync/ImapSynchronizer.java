@@ -27,16 +27,20 @@ import io.jmix.imap.exception.ImapException;
 import io.jmix.imap.flags.ImapFlag;
 import io.jmix.imap.impl.ImapHelper;
 import io.jmix.imap.impl.ImapOperations;
+import io.jmix.imap.impl.ImapStoreCache;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.eclipse.angus.mail.imap.IMAPFolder;
 import org.eclipse.angus.mail.imap.IMAPMessage;
 import org.eclipse.angus.mail.imap.IMAPStore;
+import org.eclipse.angus.mail.imap.MessageVanishedEvent;
+import org.eclipse.angus.mail.imap.ResyncData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -46,11 +50,14 @@ import jakarta.mail.Flags;
 import jakarta.mail.Folder;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
+import jakarta.mail.event.MailEvent;
 import jakarta.mail.search.FlagTerm;
 import jakarta.mail.search.MessageIDTerm;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Component("imap_Synchronizer")
 @Primary
@@ -85,6 +92,14 @@ public class ImapSynchronizer {
     @Autowired
     protected TimeSource timeSource;
 
+    @Autowired
+    protected ImapStoreCache imapStoreCache;
+
+    /**
+     * Server folder states remembered after the last successful synchronization, by {@link ImapFolder} id.
+     */
+    protected final ConcurrentMap<UUID, ImapFolderSyncState> folderSyncStates = new ConcurrentHashMap<>();
+
     protected TransactionTemplate transaction;
 
     @Autowired
@@ -104,7 +119,7 @@ public class ImapSynchronizer {
                 return;
             }
 
-            IMAPStore store = imapHelper.getStore(mailBox);
+            IMAPStore store = imapStoreCache.acquire(mailBox);
             try {
                 List<ImapMessage> checkAnswers = new ArrayList<>();
                 List<ImapMessage> missedMessages = new ArrayList<>();
@@ -117,13 +132,17 @@ public class ImapSynchronizer {
                         imapMessageSyncDataProvider.removeOldSyncs(jmixFolder, tenMinutesAgo);
 
                         imapFolder = (IMAPFolder) store.getFolder(jmixFolder.getName());
-                        imapFolder.open(Folder.READ_WRITE);
+                        if (imapProperties.isIncrementalSyncEnabled()) {
+                            synchronizeIncrementally(checkAnswers, missedMessages, jmixFolder, imapFolder, store);
+                        } else {
+                            imapFolder.open(Folder.READ_WRITE);
 
-                        //existing
-                        handleExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+                            //existing
+                            handleExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
 
-                        //new
-                        handleNewMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+                            //new
+                            handleNewMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+                        }
                     } catch (MessagingException e) {
                         log.warn("synchronization of folder " + jmixFolder.getName() + " of mailbox " + mailBox + " failed", e);
                     } finally {
@@ -139,7 +158,7 @@ public class ImapSynchronizer {
                 handleMissedMessages(mailBox, store, missedMessages);
 
             } finally {
-                store.close();
+                imapStoreCache.release(mailBox, store);
             }
         } catch (MessagingException e) {
             throw new ImapException(String.format("synchronization of mailBox#%s failed", imapMailBox.getId()), e);
@@ -156,14 +175,26 @@ public class ImapSynchronizer {
                                         IMAPFolder imapFolder) throws MessagingException {
 
         log.trace("Handle existing messages for folder '{}'", folder.getName());
-        Date tenMinutesAgo = DateUtils.addMinutes(timeSource.currentTimestamp(), -10);
-        Date threeMinutesAgo = DateUtils.addMinutes(tenMinutesAgo, 7);
-
         Collection<ImapMessage> messagesForSync = new ArrayList<>(imapMessageSyncDataProvider.findMessagesForSync(folder));
         log.trace("Found {} messages for synchronization", messagesForSync.size());
 
         imapMessageSyncDataProvider.createSyncForMessages(messagesForSync, ImapSyncStatus.IN_SYNC);
 
+        checkExistingMessages(checkAnswers, missedMessages, folder, imapFolder, messagesForSync);
+    }
+
+    /**
+     * Checks the given messages and the messages which synchronization has not been completed in time
+     * against the server folder.
+     */
+    protected void checkExistingMessages(List<ImapMessage> checkAnswers,
+                                         List<ImapMessage> missedMessages,
+                                         ImapFolder folder,
+                                         IMAPFolder imapFolder,
+                                         Collection<ImapMessage> messagesForSync) throws MessagingException {
+        Date tenMinutesAgo = DateUtils.addMinutes(timeSource.currentTimestamp(), -10);
+        Date threeMinutesAgo = DateUtils.addMinutes(tenMinutesAgo, 7);
+
         Collection<ImapMessage> oldInSync = imapMessageSyncDataProvider.findMessagesWithSyncStatus(
                 folder, ImapSyncStatus.IN_SYNC, tenMinutesAgo, threeMinutesAgo);
         messagesForSync.addAll(oldInSync);
@@ -205,22 +236,222 @@ public class ImapSynchronizer {
         );
         if (CollectionUtils.isNotEmpty(imapMessages)) {
             for (IMAPMessage imapMessage : imapMessages) {
-                if (Boolean.TRUE.equals(imapProperties.isClearCustomFlags())) {
-                    log.trace("[{}]clear custom flags for message with uid {}",
-                            jmixFolder, imapFolder.getUID(imapMessage));
-                    unsetCustomFlags(imapMessage);
-                }
-                imapMessage.setFlags(imapHelper.jmixFlags(mailBox), true);
-                log.debug("[{}]insert message with uid {} to db after changing flags on server",
-                        jmixFolder, imapFolder.getUID(imapMessage));
-                ImapMessage jmixMessage = createMessage(imapMessage, jmixFolder);
-                if (jmixMessage != null && jmixMessage.getReferenceId() != null) {
-                    checkAnswers.add(jmixMessage);
+                handleNewMessage(checkAnswers, jmixFolder, imapFolder, imapMessage);
+            }
+        }
+    }
+
+    protected void handleNewMessage(List<ImapMessage> checkAnswers,
+                                    ImapFolder jmixFolder,
+                                    IMAPFolder imapFolder,
+                                    IMAPMessage imapMessage) throws MessagingException {
+        if (Boolean.TRUE.equals(imapProperties.isClearCustomFlags())) {
+            log.trace("[{}]clear custom flags for message with uid {}",
+                    jmixFolder, imapFolder.getUID(imapMessage));
+            unsetCustomFlags(imapMessage);
+        }
+        imapMessage.setFlags(imapHelper.jmixFlags(jmixFolder.getMailBox()), true);
+        log.debug("[{}]insert message with uid {} to db after changing flags on server",
+                jmixFolder, imapFolder.getUID(imapMessage));
+        ImapMessage jmixMessage = createMessage(imapMessage, jmixFolder);
+        if (jmixMessage != null && jmixMessage.getReferenceId() != null) {
+            checkAnswers.add(jmixMessage);
+        }
+    }
+
+    /**
+     * Synchronizes the folder using the state remembered after its previous synchronization: only messages with UIDs
+     * starting from the previous UIDNEXT are fetched as new, and, if the server supports CONDSTORE, only flags changed
+     * since the previous HIGHESTMODSEQ are fetched. If the remembered state is missing or UIDVALIDITY has changed,
+     * the folder is synchronized completely.
+     */
+    protected void synchronizeIncrementally(List<ImapMessage> checkAnswers,
+                                            List<ImapMessage> missedMessages,
+                                            ImapFolder jmixFolder,
+                                            IMAPFolder imapFolder,
+                                            IMAPStore store) throws MessagingException {
+        ImapFolderSyncState previous = folderSyncStates.get(jmixFolder.getId());
+        List<MailEvent> resyncEvents = openFolder(imapFolder, previous, store);
+        ImapFolderSyncState current = ImapFolderSyncState.of(imapFolder);
+        log.trace("Folder '{}' state: previous {}, current {}", jmixFolder.getName(), previous, current);
+
+        if (previous == null || current.getUidNext() <= 0 || previous.getUidValidity() != current.getUidValidity()) {
+            handleExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+            handleNewMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+            // flags of the messages not checked in this run are reconciled on the next one
+            folderSyncStates.put(jmixFolder.getId(), current.supportsModSeq() ? current.withHighestModSeq(0) : current);
+            return;
+        }
+
+        if (current.supportsModSeq()
+                && previous.getHighestModSeq() == current.getHighestModSeq()
+                && previous.getUidNext() == current.getUidNext()
+                && previous.getMessageCount() == current.getMessageCount()) {
+            log.trace("Folder '{}' has not changed since previous synchronization", jmixFolder.getName());
+            checkExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder, new ArrayList<>());
+            return;
+        }
+
+        //new
+        int newMessagesCount = handleNewMessagesSince(checkAnswers, jmixFolder, imapFolder, previous.getUidNext());
+
+        //changed
+        long highestModSeq = current.getHighestModSeq();
+        boolean flagsChecked = current.supportsModSeq();
+        if (flagsChecked && previous.getHighestModSeq() != current.getHighestModSeq()) {
+            if (!handleChangedMessages(checkAnswers, jmixFolder, imapFolder, previous)) {
+                highestModSeq = previous.getHighestModSeq();
+            }
+        }
+
+        //removed
+        boolean removalsChecked;
+        Set<Long> vanishedUids = getVanishedUids(resyncEvents);
+        if (vanishedUids != null) {
+            handleVanishedMessages(missedMessages, jmixFolder, vanishedUids);
+            removalsChecked = true;
+        } else {
+            removalsChecked = previous.getMessageCount() + newMessagesCount == imapFolder.getMessageCount();
+        }
+
+        if (flagsChecked && removalsChecked) {
+            checkExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder, new ArrayList<>());
+        } else {
+            handleExistingMessages(checkAnswers, missedMessages, jmixFolder, imapFolder);
+        }
+
+        folderSyncStates.put(jmixFolder.getId(), current.withHighestModSeq(highestModSeq));
+    }
+
+    /**
+     * Opens the folder enabling CONDSTORE, or QRESYNC if the previous state is known, when the server supports them.
+     *
+     * @return events reported by the server on QRESYNC or null if QRESYNC has not been used
+     */
+    @Nullable
+    protected List<MailEvent> openFolder(IMAPFolder imapFolder,
+                                         @Nullable ImapFolderSyncState previous,
+                                         IMAPStore store) throws MessagingException {
+        if (previous != null && previous.supportsModSeq() && store.hasCapability("QRESYNC")) {
+            return imapFolder.open(Folder.READ_WRITE,
+                    new ResyncData(previous.getUidValidity(), previous.getHighestModSeq()));
+        }
+        if (store.hasCapability("CONDSTORE") || store.hasCapability("QRESYNC")) {
+            imapFolder.open(Folder.READ_WRITE, ResyncData.CONDSTORE);
+        } else {
+            imapFolder.open(Folder.READ_WRITE);
+        }
+        return null;
+    }
+
+    @Nullable
+    protected Set<Long> getVanishedUids(@Nullable List<MailEvent> resyncEvents) {
+        if (resyncEvents == null) {
+            return null;
+        }
+        Set<Long> result = new HashSet<>();
+        for (MailEvent event : resyncEvents) {
+            if (event instanceof MessageVanishedEvent) {
+                for (long uid : ((MessageVanishedEvent) event).getUIDs()) {
+                    result.add(uid);
                 }
             }
         }
+        return result;
+    }
+
+    /**
+     * Inserts messages with UIDs starting from the given one.
+     *
+     * @return number of messages found in the server folder with such UIDs, including already inserted ones
+     */
+    protected int handleNewMessagesSince(List<ImapMessage> checkAnswers,
+                                         ImapFolder jmixFolder,
+                                         IMAPFolder imapFolder,
+                                         long uidNext) throws MessagingException {
+        log.trace("Handle messages with uid >= {} for folder '{}'", uidNext, jmixFolder.getName());
+        List<IMAPMessage> imapMessages = imapOperations.searchSinceUid(imapFolder, uidNext, jmixFolder.getMailBox());
+        for (IMAPMessage imapMessage : imapMessages) {
+            if (!isInserted(imapMessage, jmixFolder.getMailBox())) {
+                handleNewMessage(checkAnswers, jmixFolder, imapFolder, imapMessage);
+            }
+        }
+        return imapMessages.size();
+    }
+
+    protected boolean isInserted(IMAPMessage imapMessage, ImapMailBox mailBox) throws MessagingException {
+        return imapMessage.getFlags().contains(imapHelper.jmixFlags(mailBox));
+    }
+
+    /**
+     * Registers flag changes of messages changed on the server since the previous mod-sequence or, if it is not known,
+     * of all messages which existed at the previous synchronization.
+     *
+     * @return false if some changes have been skipped because the messages are being synchronized at the moment
+     */
+    protected boolean handleChangedMessages(List<ImapMessage> checkAnswers,
+                                            ImapFolder jmixFolder,
+                                            IMAPFolder imapFolder,
+                                            ImapFolderSyncState previous) throws MessagingException {
+        if (previous.getUidNext() <= 1) {
+            return true;
+        }
+        List<IMAPMessage> changedMessages = imapOperations.fetchFlags(imapFolder,
+                previous.getUidNext() - 1, previous.getHighestModSeq());
+        log.trace("Found {} changed messages in folder '{}'", changedMessages.size(), jmixFolder.getName());
+        if (changedMessages.isEmpty()) {
+            return true;
+        }
+
+        Map<Long, Flags> flagsByUid = new HashMap<>(changedMessages.size());
+        for (IMAPMessage imapMessage : changedMessages) {
+            flagsByUid.put(imapFolder.getUID(imapMessage), imapMessage.getFlags());
+        }
+
+        boolean complete = true;
+        List<ImapMessage> messagesForSync = new ArrayList<>();
+        for (ImapMessage message : imapMessageSyncDataProvider.findMessagesByUids(jmixFolder, flagsByUid.keySet())) {
+            if (flagsByUid.get(message.getMsgUid()).equals(message.getImapFlags())) {
+                continue;
+            }
+            if (imapMessageSyncDataProvider.findMessageSync(message) != null) {
+                complete = false;
+                continue;
+            }
+            messagesForSync.add(message);
+        }
+
+        imapMessageSyncDataProvider.createSyncForMessages(messagesForSync, ImapSyncStatus.IN_SYNC);
+        for (ImapMessage message : messagesForSync) {
+            imapMessageSyncDataProvider.updateSyncStatus(message,
+                    ImapSyncStatus.REMAIN, ImapSyncStatus.IN_SYNC,
+                    flagsByUid.get(message.getMsgUid()), null);
+            if (message.getReferenceId() != null) {
+                checkAnswers.add(message);
+            }
+        }
+        return complete;
+    }
+
+    protected void handleVanishedMessages(List<ImapMessage> missedMessages,
+                                          ImapFolder jmixFolder,
+                                          Set<Long> vanishedUids) {
+        if (vanishedUids.isEmpty()) {
+            return;
+        }
+        Collection<ImapMessage> messages = imapMessageSyncDataProvider.findMessagesByUids(jmixFolder, vanishedUids);
+        log.trace("Found {} vanished messages in folder '{}'", messages.size(), jmixFolder.getName());
+
+        imapMessageSyncDataProvider.createSyncForMessages(messages, ImapSyncStatus.IN_SYNC);
+        for (ImapMessage message : messages) {
+            missedMessages.add(message);
+            imapMessageSyncDataProvider.updateSyncStatus(message,
+                    ImapSyncStatus.MISSED, ImapSyncStatus.IN_SYNC,
+                    null, null);
+        }
     }
 
+
     protected void handleMissedMessages(ImapMailBox mailBox, IMAPStore store, List<ImapMessage> missedMessages) throws MessagingException {
         List<ImapMessage> foundMessages = new ArrayList<>();
         for (ImapFolder jmixFolder : mailBox.getProcessableFolders()) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package idle
+
+import io.jmix.imap.entity.ImapMailBox
+import io.jmix.imap.impl.ImapIdleWatcher
+import test_support.ImapServerSpecification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class ImapIdleWatcherTest extends ImapServerSpecification {
+
+    ImapIdleWatcher idleWatcher
+
+    void setup() {
+        idleWatcher = new ImapIdleWatcher()
+        idleWatcher.imapHelper = imapHelper()
+        idleWatcher.imapProperties = imapProperties(true, 0)
+    }
+
+    void cleanup() {
+        idleWatcher.stop()
+    }
+
+    def "delivered message is reported by IDLE"() {
+        given:
+        ImapMailBox mailBox = mailBox("INBOX")
+        CountDownLatch changed = new CountDownLatch(1)
+
+        when:
+        idleWatcher.watch([mailBox], { changed.countDown() })
+        deliverMessage("idle")
+
+        then:
+        changed.await(10, TimeUnit.SECONDS)
+    }
+
+    def "unwatched mailbox is not reported"() {
+        given:
+        ImapMailBox mailBox = mailBox("INBOX")
+        CountDownLatch changed = new CountDownLatch(1)
+
+        when:
+        idleWatcher.watch([mailBox], { changed.countDown() })
+        idleWatcher.unwatch(mailBox.id)
+        deliverMessage("idle")
+
+        then:
+        !changed.await(2, TimeUnit.SECONDS)
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package store_cache
+
+import io.jmix.imap.entity.ImapMailBox
+import io.jmix.imap.impl.ImapStoreCache
+import org.eclipse.angus.mail.imap.IMAPStore
+import test_support.ImapServerSpecification
+
+class ImapStoreCacheTest extends ImapServerSpecification {
+
+    ImapStoreCache storeCache
+
+    void setup() {
+        storeCache = new ImapStoreCache()
+        storeCache.imapHelper = imapHelper()
+        storeCache.imapProperties = imapProperties(false, 10)
+        storeCache.init()
+    }
+
+    void cleanup() {
+        storeCache.closeAll()
+    }
+
+    def "released store is reused"() {
+        given:
+        ImapMailBox mailBox = mailBox("INBOX")
+
+        when:
+        IMAPStore first = storeCache.acquire(mailBox)
+        storeCache.release(mailBox, first)
+        IMAPStore second = storeCache.acquire(mailBox)
+
+        then:
+        second.is(first)
+        second.connected
+
+        when:
+        storeCache.release(mailBox, second)
+
+        then:
+        second.connected
+    }
+
+    def "invalidated store is closed only after it is released"() {
+        given:
+        ImapMailBox mailBox = mailBox("INBOX")
+        IMAPStore store = storeCache.acquire(mailBox)
+
+        when:
+        storeCache.invalidate(mailBox.id)
+
+        then:
+        store.connected
+        store.getFolder("INBOX").exists()
+
+        when:
+        storeCache.release(mailBox, store)
+
+        then:
+        !store.connected
+    }
+
+    def "store of a changed mailbox is replaced and the leased one stays connected"() {
+        given:
+        ImapMailBox mailBox = mailBox("INBOX")
+        IMAPStore first = storeCache.acquire(mailBox)
+
+        when:
+        mailBox.version = 2
+        IMAPStore second = storeCache.acquire(mailBox)
+
+        then:
+        !second.is(first)
+        first.connected
+
+        when:
+        storeCache.release(mailBox, first)
+
+        then:
+        !first.connected
+        second.connected
+
+        cleanup:
+        storeCache.release(mailBox, second)
+    }
+}
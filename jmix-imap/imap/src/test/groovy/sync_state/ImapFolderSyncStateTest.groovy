@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sync_state
+
+import io.jmix.imap.sync.ImapFolderSyncState
+import jakarta.mail.Folder
+import org.eclipse.angus.mail.imap.IMAPFolder
+import org.eclipse.angus.mail.imap.IMAPStore
+import test_support.ImapServerSpecification
+
+/**
+ * GreenMail does not implement CONDSTORE, so the state falls back to UIDNEXT and the message count.
+ */
+class ImapFolderSyncStateTest extends ImapServerSpecification {
+
+    def "state without mod-sequences tracks new messages"() {
+        given:
+        IMAPStore store = connect()
+        deliverMessage("first")
+
+        when:
+        ImapFolderSyncState before = readState(store)
+        deliverMessage("second")
+        ImapFolderSyncState after = readState(store)
+
+        then:
+        !before.supportsModSeq()
+        !after.supportsModSeq()
+        after.uidValidity == before.uidValidity
+        after.uidNext > before.uidNext
+        after.messageCount == before.messageCount + 1
+
+        cleanup:
+        store?.close()
+    }
+
+    def "unchanged folder has the same state"() {
+        given:
+        IMAPStore store = connect()
+        deliverMessage("first")
+
+        when:
+        ImapFolderSyncState before = readState(store)
+        ImapFolderSyncState after = readState(store)
+
+        then:
+        after.uidValidity == before.uidValidity
+        after.uidNext == before.uidNext
+        after.messageCount == before.messageCount
+
+        cleanup:
+        store?.close()
+    }
+
+    protected static ImapFolderSyncState readState(IMAPStore store) {
+        IMAPFolder folder = (IMAPFolder) store.getFolder("INBOX")
+        folder.open(Folder.READ_ONLY)
+        try {
+            return ImapFolderSyncState.of(folder)
+        } finally {
+            folder.close(false)
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test_support
+
+import com.icegreen.greenmail.user.GreenMailUser
+import com.icegreen.greenmail.util.GreenMail
+import com.icegreen.greenmail.util.ServerSetupTest
+import io.jmix.imap.ImapProperties
+import io.jmix.imap.entity.ImapFolder
+import io.jmix.imap.entity.ImapMailBox
+import io.jmix.imap.impl.ImapHelper
+import jakarta.mail.Message
+import jakarta.mail.Session
+import jakarta.mail.internet.InternetAddress
+import jakarta.mail.internet.MimeMessage
+import org.eclipse.angus.mail.imap.IMAPStore
+import spock.lang.Specification
+
+/**
+ * Base specification running a GreenMail IMAP server without an application context.
+ */
+abstract class ImapServerSpecification extends Specification {
+
+    protected static final String USER_NAME = "imapuser"
+    protected static final String USER_PASSWORD = "imappassword"
+    protected static final String USER_ADDRESS = "imapuser@localhost"
+
+    protected GreenMail mailServer
+    protected GreenMailUser user
+
+    void setup() {
+        mailServer = new GreenMail(ServerSetupTest.IMAP.dynamicPort())
+        mailServer.start()
+        user = mailServer.setUser(USER_ADDRESS, USER_NAME, USER_PASSWORD)
+    }
+
+    void cleanup() {
+        mailServer.stop()
+    }
+
+    protected IMAPStore connect() {
+        IMAPStore store = (IMAPStore) Session.getInstance(new Properties()).getStore("imap")
+        store.connect(mailServer.imap.serverSetup.bindAddress, mailServer.imap.port, USER_NAME, USER_PASSWORD)
+        return store
+    }
+
+    protected ImapHelper imapHelper() {
+        return new ImapHelper() {
+            @Override
+            IMAPStore getStore(ImapMailBox box) {
+                return connect()
+            }
+        }
+    }
+
+    protected static ImapProperties imapProperties(boolean idleEnabled, int storeCacheSize) {
+        return new ImapProperties(false, 100, false, false, 5, 20, "0 * * * * ?", true,
+                true, idleEnabled, 100, storeCacheSize, 300, 1)
+    }
+
+    protected ImapMailBox mailBox(String... folderNames) {
+        ImapMailBox mailBox = new ImapMailBox()
+        mailBox.id = UUID.randomUUID()
+        mailBox.version = 1
+        mailBox.folders = folderNames.collect { name ->
+            ImapFolder folder = new ImapFolder()
+            folder.id = UUID.randomUUID()
+            folder.name = name
+            folder.enabled = true
+            folder.deleted = false
+            folder.mailBox = mailBox
+            folder
+        }
+        return mailBox
+    }
+
+    protected void deliverMessage(String subject) {
+        MimeMessage message = new MimeMessage((Session) null)
+        message.from = new InternetAddress("sender@localhost")
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress(USER_ADDRESS))
+        message.subject = subject
+        message.text = subject
+        user.deliver(message)
+    }
+}
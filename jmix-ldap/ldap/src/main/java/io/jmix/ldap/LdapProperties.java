@@ -138,6 +138,28 @@ public class LdapProperties {
      */
     List<String> standardAuthenticationUsers;
 
+    /**
+     * Number of entries requested per page when users of the synchronization group are read by a paged search.
+     * Zero (the default) disables the paged search, so every group member is looked up separately.
+     */
+    int synchronizationPageSize;
+
+    /**
+     * Number of threads passing users to the synchronization strategy.
+     */
+    int synchronizationThreads;
+
+    /**
+     * Number of users passed to the synchronization strategy at once.
+     */
+    int synchronizationBatchSize;
+
+    /**
+     * Attribute of user entries used to find users changed since the previous synchronization, for example
+     * {@code modifyTimestamp} or {@code uSNChanged} for Active Directory.
+     */
+    String synchronizationChangeAttribute;
+
     public LdapProperties(@DefaultValue("true") boolean enabled,
                           @DefaultValue("app") String userDetailsSource,
                           List<String> urls,
@@ -159,7 +181,11 @@ public class LdapProperties {
                           @DefaultValue("true") Boolean synchronizeUserOnLogin,
                           @Nullable List<String> defaultRoles,
                           @DefaultValue({"admin", "system"}) List<String> standardAuthenticationUsers,
-                          String managerReferral) {
+                          String managerReferral,
+                          @DefaultValue("0") int synchronizationPageSize,
+                          @DefaultValue("4") int synchronizationThreads,
+                          @DefaultValue("100") int synchronizationBatchSize,
+                          @DefaultValue("modifyTimestamp") String synchronizationChangeAttribute) {
         this.enabled = enabled;
         this.userDetailsSource = userDetailsSource;
         this.urls = urls;
@@ -182,6 +208,10 @@ public class LdapProperties {
         this.defaultRoles = defaultRoles == null ? Collections.emptyList() : defaultRoles;
         this.standardAuthenticationUsers = standardAuthenticationUsers;
         this.managerReferral = managerReferral;
+        this.synchronizationPageSize = synchronizationPageSize;
+        this.synchronizationThreads = synchronizationThreads;
+        this.synchronizationBatchSize = synchronizationBatchSize;
+        this.synchronizationChangeAttribute = synchronizationChangeAttribute;
     }
 
     public boolean isEnabled() {
@@ -271,5 +301,20 @@ public class LdapProperties {
     public String getManagerReferral() {
         return managerReferral;
     }
-}
 
+    public int getSynchronizationPageSize() {
+        return synchronizationPageSize;
+    }
+
+    public int getSynchronizationThreads() {
+        return synchronizationThreads;
+    }
+
+    public int getSynchronizationBatchSize() {
+        return synchronizationBatchSize;
+    }
+
+    public String getSynchronizationChangeAttribute() {
+        return synchronizationChangeAttribute;
+    }
+}
@@ -16,11 +16,14 @@
 
 package io.jmix.ldap.search;
 
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
+import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.ContextSource;
 import org.springframework.ldap.core.DirContextAdapter;
 import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.ldap.core.DistinguishedName;
 import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.SingleContextSource;
 import org.springframework.security.ldap.LdapUtils;
 import org.springframework.util.Assert;
 
@@ -32,7 +35,9 @@ import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Extension of Spring LDAP's LdapTemplate class which adds extra functionality required by Jmix.
@@ -80,6 +85,31 @@ public class JmixLdapTemplate extends LdapTemplate {
                 originalControls.getDerefLinkFlag());
     }
 
+    /**
+     * Performs a search using the Simple Paged Results control and passes every page of results to the consumer.
+     * All pages are read by the same connection, as required by the control.
+     *
+     * @param base         search base relative to the base DN of the context source
+     * @param filter       search filter
+     * @param controls     search controls
+     * @param pageSize     number of entries requested per page
+     * @param mapper       mapper of found entries
+     * @param pageConsumer consumer of mapped entries of a page
+     */
+    public <T> void searchWithPaging(String base, String filter, SearchControls controls, int pageSize,
+                                     ContextMapper<T> mapper, Consumer<List<T>> pageConsumer) {
+        SingleContextSource.doWithSingleContext(getContextSource(), operations -> {
+            PagedResultsDirContextProcessor processor = new PagedResultsDirContextProcessor(pageSize);
+            do {
+                List<T> page = operations.search(base, filter, controls, mapper, processor);
+                if (!page.isEmpty()) {
+                    pageConsumer.accept(page);
+                }
+            } while (processor.hasMore());
+            return null;
+        });
+    }
+
     public void setSearchControls(SearchControls searchControls) {
         this.searchControls = searchControls;
     }
@@ -32,11 +32,9 @@ import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.ClassUtils;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -68,58 +66,149 @@ public abstract class AbstractLdapUserDetailsSynchronizationStrategy<T extends U
     protected RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
 
     @Override
-    @SuppressWarnings("unchecked")
     public UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
                                               Collection<? extends GrantedAuthority> authorities) {
-        T jmixUserDetails;
-        try {
-            jmixUserDetails = (T) userRepository.loadUserByUsername(username);
-        } catch (UsernameNotFoundException e) {
-            log.info("User with login {} wasn't found in user repository", username);
-            jmixUserDetails = createUserDetails(username, ctx);
-        }
-
-        //copy ldap attributes to UserDetails
-        mapUserDetailsAttributes(jmixUserDetails, ctx);
-
-        SaveContext saveContext = new SaveContext();
+        List<RoleAssignmentEntity> existingRoleAssignments = Collections.emptyList();
         if (ldapProperties.getSynchronizeRoleAssignments()) {
-            Set<GrantedAuthority> grantedAuthorities = authoritiesMapper.mapAuthorities(authorities);
-
-            List<RoleAssignmentEntity> existingRoleAssignments = dataManager.load(RoleAssignmentEntity.class)
+            existingRoleAssignments = dataManager.load(RoleAssignmentEntity.class)
                     .query("select e from sec_RoleAssignmentEntity e where e.username = :username")
                     .parameter("username", username)
                     .list();
-            Set<String> existingRoleAssignmentCodes = existingRoleAssignments.stream()
-                    .map(RoleAssignmentEntity::getRoleCode)
-                    .collect(Collectors.toSet());
-
-            Collection<RoleAssignmentEntity> grantedRoleAssignments = buildRoleAssignments(grantedAuthorities, username);
-            Set<String> grantedRoleAssignmentsCodes = grantedRoleAssignments.stream()
-                    .map(RoleAssignmentEntity::getRoleCode)
-                    .collect(Collectors.toSet());
-
-            //remove only existing role assignments that should not be granted
-            List<RoleAssignmentEntity> roleAssignmentsToRemove = existingRoleAssignments.stream()
-                    .filter(roleAssignmentEntity -> !grantedRoleAssignmentsCodes.contains(roleAssignmentEntity.getRoleCode()))
-                    .collect(Collectors.toList());
+        }
+
+        SaveContext saveContext = new SaveContext();
+        T jmixUserDetails = addUserDetailsChanges(saveContext, ctx, username, authorities, existingRoleAssignments);
 
-            //create only non-existing assignments
-            List<RoleAssignmentEntity> roleAssignmentsToCreate = grantedRoleAssignments.stream()
-                    .filter(roleAssignmentEntity -> !existingRoleAssignmentCodes.contains(roleAssignmentEntity.getRoleCode()))
+        //persist user details and roles if needed
+        dataManager.save(saveContext);
+
+        return jmixUserDetails;
+    }
+
+    /**
+     * Synchronizes the users loading their existing role assignments by one query and saving all changes
+     * together. If saving fails, the users are synchronized one by one.
+     * <p>
+     * Each user is passed to {@link #addUserDetailsChanges(SaveContext, DirContextOperations, String, Collection, List)},
+     * which should be overridden to customize the synchronization. If a subclass overrides
+     * {@link #synchronizeUserDetails(DirContextOperations, String, Collection)} instead, the users are synchronized
+     * one by one by that method.
+     */
+    @Override
+    public List<UserDetails> synchronizeUserDetails(List<LdapUserSynchronizationItem> items) {
+        if (items.size() < 2 || isSingleUserSynchronizationOverridden()) {
+            return LdapUserDetailsSynchronizationStrategy.super.synchronizeUserDetails(items);
+        }
+        try {
+            return synchronizeUserDetailsTogether(items);
+        } catch (RuntimeException e) {
+            log.warn("Unable to synchronize {} users together, synchronizing them one by one: {}",
+                    items.size(), e.toString());
+            return LdapUserDetailsSynchronizationStrategy.super.synchronizeUserDetails(items);
+        }
+    }
+
+    protected List<UserDetails> synchronizeUserDetailsTogether(List<LdapUserSynchronizationItem> items) {
+        Map<String, List<RoleAssignmentEntity>> existingRoleAssignments = Collections.emptyMap();
+        if (ldapProperties.getSynchronizeRoleAssignments()) {
+            List<String> usernames = items.stream()
+                    .map(LdapUserSynchronizationItem::getUsername)
                     .collect(Collectors.toList());
+            existingRoleAssignments = dataManager.load(RoleAssignmentEntity.class)
+                    .query("select e from sec_RoleAssignmentEntity e where e.username in :usernames")
+                    .parameter("usernames", usernames)
+                    .list().stream()
+                    .collect(Collectors.groupingBy(RoleAssignmentEntity::getUsername));
+        }
 
-            saveContext.removing(roleAssignmentsToRemove);
-            saveContext.saving(roleAssignmentsToCreate);
+        SaveContext saveContext = new SaveContext();
+        List<UserDetails> result = new ArrayList<>(items.size());
+        for (LdapUserSynchronizationItem item : items) {
+            result.add(addUserDetailsChanges(saveContext, item.getContext(), item.getUsername(), item.getAuthorities(),
+                    existingRoleAssignments.getOrDefault(item.getUsername(), Collections.emptyList())));
         }
-        saveContext.saving(jmixUserDetails);
 
-        //persist user details and roles if needed
         dataManager.save(saveContext);
 
+        return result;
+    }
+
+    /**
+     * Adds changes of the user details and role assignments of a synchronized user to the save context.
+     * Used both for a single user and for a batch of users.
+     *
+     * @param saveContext             save context of the synchronization
+     * @param ctx                     a DirContextOperations object containing the user's full DN and attributes
+     * @param username                username of the user
+     * @param authorities             authorities of the user obtained from LDAP
+     * @param existingRoleAssignments role assignments of the user existing in the database, empty if role
+     *                                assignments are not synchronized
+     * @return user details to be saved
+     */
+    protected T addUserDetailsChanges(SaveContext saveContext, DirContextOperations ctx, String username,
+                                      Collection<? extends GrantedAuthority> authorities,
+                                      List<RoleAssignmentEntity> existingRoleAssignments) {
+        T jmixUserDetails = loadOrCreateUserDetails(username, ctx);
+
+        //copy ldap attributes to UserDetails
+        mapUserDetailsAttributes(jmixUserDetails, ctx);
+
+        if (ldapProperties.getSynchronizeRoleAssignments()) {
+            addRoleAssignmentChanges(saveContext, existingRoleAssignments, authorities, username);
+        }
+        saveContext.saving(jmixUserDetails);
         return jmixUserDetails;
     }
 
+    protected boolean isSingleUserSynchronizationOverridden() {
+        try {
+            return ClassUtils.getUserClass(getClass()).getMethod("synchronizeUserDetails",
+                            DirContextOperations.class, String.class, Collection.class)
+                    .getDeclaringClass() != AbstractLdapUserDetailsSynchronizationStrategy.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T loadOrCreateUserDetails(String username, DirContextOperations ctx) {
+        try {
+            return (T) userRepository.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            log.info("User with login {} wasn't found in user repository", username);
+            return createUserDetails(username, ctx);
+        }
+    }
+
+    protected void addRoleAssignmentChanges(SaveContext saveContext,
+                                            List<RoleAssignmentEntity> existingRoleAssignments,
+                                            Collection<? extends GrantedAuthority> authorities,
+                                            String username) {
+        Set<GrantedAuthority> grantedAuthorities = authoritiesMapper.mapAuthorities(authorities);
+
+        Set<String> existingRoleAssignmentCodes = existingRoleAssignments.stream()
+                .map(RoleAssignmentEntity::getRoleCode)
+                .collect(Collectors.toSet());
+
+        Collection<RoleAssignmentEntity> grantedRoleAssignments = buildRoleAssignments(grantedAuthorities, username);
+        Set<String> grantedRoleAssignmentsCodes = grantedRoleAssignments.stream()
+                .map(RoleAssignmentEntity::getRoleCode)
+                .collect(Collectors.toSet());
+
+        //remove only existing role assignments that should not be granted
+        List<RoleAssignmentEntity> roleAssignmentsToRemove = existingRoleAssignments.stream()
+                .filter(roleAssignmentEntity -> !grantedRoleAssignmentsCodes.contains(roleAssignmentEntity.getRoleCode()))
+                .collect(Collectors.toList());
+
+        //create only non-existing assignments
+        List<RoleAssignmentEntity> roleAssignmentsToCreate = grantedRoleAssignments.stream()
+                .filter(roleAssignmentEntity -> !existingRoleAssignmentCodes.contains(roleAssignmentEntity.getRoleCode()))
+                .collect(Collectors.toList());
+
+        saveContext.removing(roleAssignmentsToRemove);
+        saveContext.saving(roleAssignmentsToCreate);
+    }
+
     protected Collection<RoleAssignmentEntity> buildRoleAssignments(Collection<GrantedAuthority> grantedAuthorities,
                                                                     String username) {
         List<RoleAssignmentEntity> roleAssignmentEntities = new ArrayList<>();
@@ -16,26 +16,64 @@
 
 package io.jmix.ldap.userdetails;
 
+import io.jmix.ldap.search.JmixLdapTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.ContextSource;
 import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.ldap.core.LdapOperations;
+import org.springframework.ldap.support.LdapUtils;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.ldap.userdetails.DefaultLdapAuthoritiesPopulator;
 
-import java.util.Set;
+import javax.naming.InvalidNameException;
+import javax.naming.Name;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.SearchControls;
+import javax.naming.ldap.LdapName;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Extension of the default strategy for obtaining user role information from the directory. In case there is an implementation
  * of {@link LdapUserAdditionalRoleProvider} interface it delegates fetching extra user roles to this implementation.
+ * <p>
+ * When many users are processed, memberships of all groups can be read at once by
+ * {@link #loadGroupMembershipIndex(int)} and used instead of a group search per user by
+ * {@link #withGroupMembershipIndex(GroupMembershipIndex, Supplier)}.
  *
  * @see LdapUserAdditionalRoleProvider
  */
 public class JmixLdapAuthoritiesPopulator extends DefaultLdapAuthoritiesPopulator {
 
+    protected static final Pattern MEMBERSHIP_FILTER_PATTERN =
+            Pattern.compile("\\(\\s*([\\w-]+)\\s*=\\s*\\{([01])}\\s*\\)");
+
+    protected static final Pattern RANGED_ATTRIBUTE_PATTERN =
+            Pattern.compile("([^;]+);range=(\\d+)-(\\d+|\\*)", Pattern.CASE_INSENSITIVE);
+
     protected LdapUserAdditionalRoleProvider ldapUserAdditionalRoleProvider;
 
+    protected ContextSource contextSource;
+    protected String groupSearchBase;
+    protected String groupSearchFilter = "(member={0})";
+    protected String groupRoleAttribute = "cn";
+    protected String rolePrefix = "ROLE_";
+    protected boolean convertToUpperCase = true;
+    protected boolean searchSubtree;
+
+    protected final ThreadLocal<GroupMembershipIndex> groupMembershipIndex = new ThreadLocal<>();
+
     public JmixLdapAuthoritiesPopulator(ContextSource contextSource, String groupSearchBase) {
         super(contextSource, groupSearchBase);
+        this.contextSource = contextSource;
+        this.groupSearchBase = groupSearchBase;
     }
 
     @Autowired(required = false)
@@ -52,4 +90,191 @@ public class JmixLdapAuthoritiesPopulator extends DefaultLdapAuthoritiesPopulato
         return super.getAdditionalRoles(user, username);
     }
 
+    @Override
+    public Set<GrantedAuthority> getGroupMembershipRoles(String userDn, String username) {
+        GroupMembershipIndex index = groupMembershipIndex.get();
+        if (index != null) {
+            return index.getRoles(userDn, username);
+        }
+        return super.getGroupMembershipRoles(userDn, username);
+    }
+
+    /**
+     * Reads all groups containing members by one paged search.
+     *
+     * @param pageSize number of groups requested per page
+     * @return memberships of all groups, or null if the group search filter is not a simple
+     * {@code (attribute={0})} or {@code (attribute={1})} condition and groups must be searched for every user
+     */
+    @Nullable
+    public GroupMembershipIndex loadGroupMembershipIndex(int pageSize) {
+        if (groupSearchBase == null) {
+            return new GroupMembershipIndex(false);
+        }
+        Matcher matcher = MEMBERSHIP_FILTER_PATTERN.matcher(groupSearchFilter.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String memberAttribute = matcher.group(1);
+        GroupMembershipIndex index = new GroupMembershipIndex("1".equals(matcher.group(2)));
+
+        SearchControls controls = new SearchControls();
+        controls.setSearchScope(searchSubtree ? SearchControls.SUBTREE_SCOPE : SearchControls.ONELEVEL_SCOPE);
+        controls.setReturningAttributes(new String[]{groupRoleAttribute, memberAttribute});
+
+        JmixLdapTemplate ldapTemplate = new JmixLdapTemplate(contextSource);
+        ldapTemplate.searchWithPaging(groupSearchBase, "(" + memberAttribute + "=*)",
+                controls, pageSize, ctx -> (DirContextOperations) ctx, page -> {
+                    for (DirContextOperations group : page) {
+                        String[] roles = group.getStringAttributes(groupRoleAttribute);
+                        List<String> members = getGroupMembers(ldapTemplate, group, memberAttribute);
+                        if (roles == null || members.isEmpty()) {
+                            continue;
+                        }
+                        for (String role : roles) {
+                            GrantedAuthority authority = new SimpleGrantedAuthority(
+                                    rolePrefix + (convertToUpperCase ? role.toUpperCase() : role));
+                            for (String member : members) {
+                                index.add(member, authority);
+                            }
+                        }
+                    }
+                });
+        return index;
+    }
+
+    /**
+     * Returns all values of the member attribute of the group. Active Directory returns at most 1500 values
+     * of a multivalued attribute as a range like {@code member;range=0-1499}, the remaining ranges are requested
+     * by separate lookups of the group.
+     */
+    protected List<String> getGroupMembers(LdapOperations ldapOperations, DirContextOperations group,
+                                           String memberAttribute) {
+        String[] members = group.getStringAttributes(memberAttribute);
+        if (members != null) {
+            return Arrays.asList(members);
+        }
+
+        List<String> result = new ArrayList<>();
+        DirContextOperations ctx = group;
+        String rangedAttribute;
+        while ((rangedAttribute = findRangedAttribute(ctx.getAttributes(), memberAttribute)) != null) {
+            String[] values = ctx.getStringAttributes(rangedAttribute);
+            if (values != null) {
+                result.addAll(Arrays.asList(values));
+            }
+            Matcher matcher = RANGED_ATTRIBUTE_PATTERN.matcher(rangedAttribute);
+            if (!matcher.matches() || "*".equals(matcher.group(3))) {
+                break;
+            }
+            long next = Long.parseLong(matcher.group(3)) + 1;
+            ctx = lookupAttributeRange(ldapOperations, group.getDn(), memberAttribute + ";range=" + next + "-*");
+        }
+        return result;
+    }
+
+    protected DirContextOperations lookupAttributeRange(LdapOperations ldapOperations, Name dn, String attribute) {
+        return ldapOperations.lookup(dn, new String[]{attribute},
+                (ContextMapper<DirContextOperations>) ctx -> (DirContextOperations) ctx);
+    }
+
+    @Nullable
+    protected String findRangedAttribute(Attributes attributes, String attribute) {
+        try {
+            NamingEnumeration<String> ids = attributes.getIDs();
+            while (ids.hasMore()) {
+                String id = ids.next();
+                Matcher matcher = RANGED_ATTRIBUTE_PATTERN.matcher(id);
+                if (matcher.matches() && matcher.group(1).equalsIgnoreCase(attribute)) {
+                    return id;
+                }
+            }
+        } catch (NamingException e) {
+            throw LdapUtils.convertLdapException(e);
+        }
+        return null;
+    }
+
+    /**
+     * Executes the action so that group membership roles requested by it in the current thread are taken from
+     * the index.
+     */
+    public <T> T withGroupMembershipIndex(GroupMembershipIndex index, Supplier<T> action) {
+        GroupMembershipIndex previous = groupMembershipIndex.get();
+        groupMembershipIndex.set(index);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                groupMembershipIndex.set(previous);
+            } else {
+                groupMembershipIndex.remove();
+            }
+        }
+    }
+
+    @Override
+    public void setGroupSearchFilter(String groupSearchFilter) {
+        super.setGroupSearchFilter(groupSearchFilter);
+        this.groupSearchFilter = groupSearchFilter;
+    }
+
+    @Override
+    public void setGroupRoleAttribute(String groupRoleAttribute) {
+        super.setGroupRoleAttribute(groupRoleAttribute);
+        this.groupRoleAttribute = groupRoleAttribute;
+    }
+
+    @Override
+    public void setRolePrefix(String rolePrefix) {
+        super.setRolePrefix(rolePrefix);
+        this.rolePrefix = rolePrefix;
+    }
+
+    @Override
+    public void setConvertToUpperCase(boolean convertToUpperCase) {
+        super.setConvertToUpperCase(convertToUpperCase);
+        this.convertToUpperCase = convertToUpperCase;
+    }
+
+    @Override
+    public void setSearchSubtree(boolean searchSubtree) {
+        super.setSearchSubtree(searchSubtree);
+        this.searchSubtree = searchSubtree;
+    }
+
+    /**
+     * Roles of group members keyed by member DN or by username, depending on the group search filter.
+     */
+    public static class GroupMembershipIndex {
+
+        protected final boolean byUsername;
+        protected final Map<Object, Set<GrantedAuthority>> roles = new HashMap<>();
+
+        protected GroupMembershipIndex(boolean byUsername) {
+            this.byUsername = byUsername;
+        }
+
+        protected void add(String member, GrantedAuthority authority) {
+            Object key = byUsername ? member : toName(member);
+            if (key != null) {
+                roles.computeIfAbsent(key, k -> new HashSet<>()).add(authority);
+            }
+        }
+
+        public Set<GrantedAuthority> getRoles(String userDn, String username) {
+            Object key = byUsername ? username : toName(userDn);
+            Set<GrantedAuthority> userRoles = key != null ? roles.get(key) : null;
+            return userRoles != null ? new HashSet<>(userRoles) : new HashSet<>();
+        }
+
+        @Nullable
+        protected static LdapName toName(String dn) {
+            try {
+                return new LdapName(dn);
+            } catch (InvalidNameException e) {
+                return null;
+            }
+        }
+    }
 }
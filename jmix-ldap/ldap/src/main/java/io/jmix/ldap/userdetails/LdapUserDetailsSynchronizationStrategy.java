@@ -20,9 +20,25 @@ import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public interface LdapUserDetailsSynchronizationStrategy {
     UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
                                        Collection<? extends GrantedAuthority> authorities);
+
+    /**
+     * Synchronizes several users at once. The default implementation synchronizes them one by one.
+     *
+     * @param items users to synchronize
+     * @return synchronized user details in the order of items
+     */
+    default List<UserDetails> synchronizeUserDetails(List<LdapUserSynchronizationItem> items) {
+        List<UserDetails> result = new ArrayList<>(items.size());
+        for (LdapUserSynchronizationItem item : items) {
+            result.add(synchronizeUserDetails(item.getContext(), item.getUsername(), item.getAuthorities()));
+        }
+        return result;
+    }
 }
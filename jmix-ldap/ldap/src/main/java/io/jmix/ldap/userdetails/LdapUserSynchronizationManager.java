@@ -17,19 +17,31 @@
 package io.jmix.ldap.userdetails;
 
 import io.jmix.ldap.LdapProperties;
+import io.jmix.ldap.search.JmixLdapTemplate;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.support.LdapEncoder;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.ldap.LdapUtils;
 import org.springframework.security.ldap.search.LdapUserSearch;
 import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
 
+import javax.naming.InvalidNameException;
 import javax.naming.NamingException;
-import java.util.Collection;
-import java.util.Collections;
+import javax.naming.directory.SearchControls;
+import javax.naming.ldap.LdapName;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class LdapUserSynchronizationManager {
 
@@ -49,6 +61,28 @@ public class LdapUserSynchronizationManager {
 
     protected LdapAuthoritiesPopulator authoritiesPopulator;
 
+    protected String userSearchBase = "";
+
+    protected String userSearchFilter;
+
+    protected int pageSize;
+
+    protected int threads = 1;
+
+    protected int batchSize = 1;
+
+    protected String changeAttribute;
+
+    /**
+     * Greatest value of {@link #changeAttribute} seen by the previous synchronization.
+     */
+    protected volatile String lastChangeMarker;
+
+    /**
+     * Members of the group at the moment of the previous synchronization.
+     */
+    protected volatile Set<LdapName> lastGroupMembers;
+
     @Autowired(required = false)
     public void setSynchronizationStrategy(LdapUserDetailsSynchronizationStrategy synchronizationStrategy) {
         this.synchronizationStrategy = synchronizationStrategy;
@@ -59,6 +93,12 @@ public class LdapUserSynchronizationManager {
         this.groupDn = ldapProperties.getGroupForSynchronization();
         this.memberAttribute = ldapProperties.getMemberAttribute();
         this.usernameAttribute = ldapProperties.getUsernameAttribute();
+        this.userSearchBase = ldapProperties.getUserSearchBase();
+        this.userSearchFilter = ldapProperties.getUserSearchFilter();
+        this.pageSize = ldapProperties.getSynchronizationPageSize();
+        this.threads = Math.max(1, ldapProperties.getSynchronizationThreads());
+        this.batchSize = Math.max(1, ldapProperties.getSynchronizationBatchSize());
+        this.changeAttribute = ldapProperties.getSynchronizationChangeAttribute();
     }
 
     @Autowired
@@ -68,12 +108,36 @@ public class LdapUserSynchronizationManager {
 
     /**
      * Obtains LDAP users from the given group and synchronize them using the {@link #synchronizationStrategy}.
+     * <p>
+     * If {@link LdapProperties#getSynchronizationPageSize()} is positive, the users are read by a paged search and
+     * passed to the strategy in batches by a pool of threads. Only the entries matching
+     * {@link LdapProperties#getUserSearchFilter()} are synchronized in this case.
      *
      * @throws IllegalArgumentException when LDAP group for synchronization is not set or
      *                                  group does not contain any users.
      * @throws IllegalStateException    when LdapUserDetailsSynchronizationStrategy bean is not found.
      */
     public void synchronizeUsersFromGroup() {
+        synchronizeUsersFromGroup(false);
+    }
+
+    /**
+     * Synchronizes only users whose entries have changed since the previous synchronization, according to
+     * {@link LdapProperties#getSynchronizationChangeAttribute()}, and users added to the group since then.
+     * The first call synchronizes all users of the group.
+     * <p>
+     * Changes of role groups are not detected, so role assignments of unchanged users are updated only by
+     * {@link #synchronizeUsersFromGroup()}.
+     *
+     * @throws IllegalArgumentException when LDAP group for synchronization is not set or
+     *                                  group does not contain any users.
+     * @throws IllegalStateException    when LdapUserDetailsSynchronizationStrategy bean is not found.
+     */
+    public void synchronizeChangedUsersFromGroup() {
+        synchronizeUsersFromGroup(true);
+    }
+
+    protected void synchronizeUsersFromGroup(boolean incremental) {
         if (groupDn == null) {
             throw new IllegalArgumentException("LDAP group for synchronization is not set in application properties");
         }
@@ -87,17 +151,239 @@ public class LdapUserSynchronizationManager {
 
         if (groupMembers == null || groupMembers.length == 0) {
             throw new IllegalArgumentException("No users found in the group: " + groupDn);
-        } else {
+        } else if (pageSize <= 0) {
             for (String userDn : groupMembers) {
-                String relativeName = getRelativeDn(userDn);
-                DirContextOperations dirContextOperations = ldapTemplate.lookupContext(relativeName);
-                String username = dirContextOperations.getStringAttribute(usernameAttribute);
-                Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
-                if (authoritiesPopulator != null) {
-                    authorities = authoritiesPopulator.getGrantedAuthorities(dirContextOperations, username);
+                synchronizeUser(userDn);
+            }
+        } else {
+            synchronizeUsersWithPaging(groupMembers, incremental);
+        }
+    }
+
+    protected void synchronizeUser(String userDn) {
+        String relativeName = getRelativeDn(userDn);
+        DirContextOperations dirContextOperations = ldapTemplate.lookupContext(relativeName);
+        String username = dirContextOperations.getStringAttribute(usernameAttribute);
+        Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
+        if (authoritiesPopulator != null) {
+            authorities = authoritiesPopulator.getGrantedAuthorities(dirContextOperations, username);
+        }
+        synchronizationStrategy.synchronizeUserDetails(dirContextOperations, username, authorities);
+    }
+
+    /**
+     * Synchronizes the user if its entry matches the user search filter.
+     *
+     * @return whether the user is synchronized
+     */
+    protected boolean synchronizeUserIfMatches(String userDn) {
+        SearchControls controls = createUserSearchControls();
+        controls.setSearchScope(SearchControls.OBJECT_SCOPE);
+        List<DirContextOperations> users = ldapTemplate.search(getRelativeDn(userDn), getUserFilter(null), controls,
+                ctx -> (DirContextOperations) ctx);
+        if (users.isEmpty()) {
+            log.debug("LDAP group member {} does not match the user search filter", userDn);
+            return false;
+        }
+        synchronizeBatch(users, null);
+        return true;
+    }
+
+    /**
+     * Reads the entries matching the user search filter under the user search base by a paged search, selects the
+     * group members among them and passes them to the synchronization strategy in batches. Group members not found
+     * by the search, e.g. the ones outside the user search base, are looked up separately and synchronized if they
+     * match the user search filter.
+     */
+    protected void synchronizeUsersWithPaging(String[] groupMembers, boolean incremental) {
+        long startTime = System.currentTimeMillis();
+
+        Map<LdapName, String> members = new HashMap<>();
+        for (String member : groupMembers) {
+            LdapName name = toName(member);
+            if (name != null) {
+                members.put(name, member);
+            }
+        }
+
+        String changedSince = incremental ? lastChangeMarker : null;
+        Set<LdapName> previousMembers = incremental ? lastGroupMembers : null;
+
+        JmixLdapAuthoritiesPopulator.GroupMembershipIndex membershipIndex = null;
+        if (authoritiesPopulator instanceof JmixLdapAuthoritiesPopulator) {
+            membershipIndex = ((JmixLdapAuthoritiesPopulator) authoritiesPopulator).loadGroupMembershipIndex(pageSize);
+        }
+
+        ExecutorService executor = createExecutor();
+        // limits the number of read entries waiting for synchronization
+        Semaphore permits = new Semaphore(threads * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        Set<LdapName> found = ConcurrentHashMap.newKeySet();
+        AtomicReference<String> maxChangeMarker = new AtomicReference<>(changedSince);
+        AtomicInteger synchronizedCount = new AtomicInteger();
+        JmixLdapAuthoritiesPopulator.GroupMembershipIndex index = membershipIndex;
+
+        try {
+            getPagingLdapTemplate().searchWithPaging(userSearchBase, getUserFilter(changedSince),
+                    createUserSearchControls(), pageSize, ctx -> (DirContextOperations) ctx, page -> {
+                        List<DirContextOperations> users = new ArrayList<>(page.size());
+                        for (DirContextOperations user : page) {
+                            LdapName name = toName(user.getNameInNamespace());
+                            if (name != null && members.containsKey(name)) {
+                                found.add(name);
+                                users.add(user);
+                                updateChangeMarker(maxChangeMarker, user);
+                            }
+                        }
+                        for (int i = 0; i < users.size(); i += batchSize) {
+                            List<DirContextOperations> batch = users.subList(i, Math.min(users.size(), i + batchSize));
+                            acquire(permits);
+                            futures.add(executor.submit(() -> {
+                                try {
+                                    synchronizedCount.addAndGet(synchronizeBatch(batch, index));
+                                } finally {
+                                    permits.release();
+                                }
+                            }));
+                        }
+                    });
+
+            for (Map.Entry<LdapName, String> entry : members.entrySet()) {
+                LdapName name = entry.getKey();
+                boolean addedToGroup = previousMembers != null && !previousMembers.contains(name);
+                if (!found.contains(name) && (changedSince == null || addedToGroup)) {
+                    futures.add(executor.submit(() -> {
+                        if (synchronizeUserIfMatches(entry.getValue())) {
+                            synchronizedCount.incrementAndGet();
+                        }
+                    }));
                 }
-                synchronizationStrategy.synchronizeUserDetails(dirContextOperations, username, authorities);
             }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("LDAP users synchronization is interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("LDAP users synchronization failed", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        lastChangeMarker = maxChangeMarker.get();
+        lastGroupMembers = members.keySet();
+
+        log.info("Synchronized {} LDAP users of the group {} in {} ms", synchronizedCount.get(), groupDn,
+                System.currentTimeMillis() - startTime);
+    }
+
+    protected int synchronizeBatch(List<DirContextOperations> users,
+                                   @Nullable JmixLdapAuthoritiesPopulator.GroupMembershipIndex membershipIndex) {
+        List<LdapUserSynchronizationItem> items = new ArrayList<>(users.size());
+        for (DirContextOperations user : users) {
+            String username = user.getStringAttribute(usernameAttribute);
+            Collection<? extends GrantedAuthority> authorities = Collections.emptyList();
+            if (authoritiesPopulator != null) {
+                if (membershipIndex != null) {
+                    authorities = ((JmixLdapAuthoritiesPopulator) authoritiesPopulator).withGroupMembershipIndex(
+                            membershipIndex, () -> authoritiesPopulator.getGrantedAuthorities(user, username));
+                } else {
+                    authorities = authoritiesPopulator.getGrantedAuthorities(user, username);
+                }
+            }
+            items.add(new LdapUserSynchronizationItem(user, username, authorities));
+        }
+        synchronizationStrategy.synchronizeUserDetails(items);
+        return items.size();
+    }
+
+    protected JmixLdapTemplate getPagingLdapTemplate() {
+        return ldapTemplate instanceof JmixLdapTemplate
+                ? (JmixLdapTemplate) ldapTemplate
+                : new JmixLdapTemplate(ldapTemplate.getContextSource());
+    }
+
+    protected ExecutorService createExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "LdapUserSynchronization-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new DelegatingSecurityContextExecutorService(executor, SecurityContextHolder.getContext());
+    }
+
+    /**
+     * Builds the filter of the paged user search from the user search filter, matching any username.
+     */
+    protected String getUserFilter(@Nullable String changedSince) {
+        String filter = StringUtils.isNotEmpty(userSearchFilter)
+                ? userSearchFilter.replace("{0}", "*")
+                : "(" + usernameAttribute + "=*)";
+        if (!filter.startsWith("(")) {
+            filter = "(" + filter + ")";
+        }
+        if (changedSince != null) {
+            filter = "(&" + filter + "(" + changeAttribute + ">="
+                    + LdapEncoder.filterEncode(changedSince) + "))";
+        }
+        return filter;
+    }
+
+    protected SearchControls createUserSearchControls() {
+        SearchControls controls = new SearchControls();
+        controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        if (StringUtils.isNotEmpty(changeAttribute)) {
+            // operational attributes are not returned unless requested explicitly
+            controls.setReturningAttributes(new String[]{"*", changeAttribute});
+        }
+        return controls;
+    }
+
+    protected void updateChangeMarker(AtomicReference<String> maxChangeMarker, DirContextOperations user) {
+        if (StringUtils.isEmpty(changeAttribute)) {
+            return;
+        }
+        String value = user.getStringAttribute(changeAttribute);
+        if (value != null) {
+            maxChangeMarker.accumulateAndGet(value, (current, candidate) ->
+                    current == null || compareChangeMarkers(candidate, current) > 0 ? candidate : current);
+        }
+    }
+
+    /**
+     * Compares values of the change attribute: numerically for update sequence numbers like {@code uSNChanged}
+     * and lexicographically for generalized time values like {@code modifyTimestamp}.
+     */
+    protected int compareChangeMarkers(String value1, String value2) {
+        if (StringUtils.isNumeric(value1) && StringUtils.isNumeric(value2)) {
+            return new BigInteger(value1).compareTo(new BigInteger(value2));
+        }
+        return value1.compareTo(value2);
+    }
+
+    protected void acquire(Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("LDAP users synchronization is interrupted", e);
+        }
+    }
+
+    @Nullable
+    protected LdapName toName(String dn) {
+        try {
+            return new LdapName(dn);
+        } catch (InvalidNameException e) {
+            log.warn("Invalid DN of LDAP group member: {}", dn);
+            return null;
         }
     }
 
@@ -127,4 +413,28 @@ public class LdapUserSynchronizationManager {
     public void setUsernameAttribute(String usernameAttribute) {
         this.usernameAttribute = usernameAttribute;
     }
+
+    public void setUserSearchBase(String userSearchBase) {
+        this.userSearchBase = userSearchBase;
+    }
+
+    public void setUserSearchFilter(String userSearchFilter) {
+        this.userSearchFilter = userSearchFilter;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void setChangeAttribute(String changeAttribute) {
+        this.changeAttribute = changeAttribute;
+    }
 }
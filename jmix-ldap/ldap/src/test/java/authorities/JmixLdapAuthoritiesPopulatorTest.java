@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package authorities;
+
+import io.jmix.ldap.userdetails.JmixLdapAuthoritiesPopulator;
+import org.junit.jupiter.api.Test;
+import org.springframework.ldap.core.DirContextAdapter;
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.ldap.core.LdapOperations;
+import org.springframework.ldap.core.support.LdapContextSource;
+
+import javax.naming.Name;
+import javax.naming.directory.BasicAttribute;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.ldap.LdapName;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JmixLdapAuthoritiesPopulatorTest {
+
+    @Test
+    void plainMemberAttributeIsReturned() throws Exception {
+        TestPopulator populator = new TestPopulator();
+        DirContextOperations group = group("member", "uid=user1", "uid=user2");
+
+        assertEquals(List.of("uid=user1", "uid=user2"), populator.getMembers(group));
+        assertEquals(List.of(), populator.lookedUpAttributes);
+    }
+
+    @Test
+    void rangedMemberAttributeIsReadByAllRanges() throws Exception {
+        TestPopulator populator = new TestPopulator();
+        populator.ranges.add(group("member;range=2-3", "uid=user3", "uid=user4"));
+        populator.ranges.add(group("member;range=4-*", "uid=user5"));
+        DirContextOperations group = group("member;range=0-1", "uid=user1", "uid=user2");
+
+        assertEquals(List.of("uid=user1", "uid=user2", "uid=user3", "uid=user4", "uid=user5"),
+                populator.getMembers(group));
+        assertEquals(List.of("member;range=2-*", "member;range=4-*"), populator.lookedUpAttributes);
+    }
+
+    private static DirContextOperations group(String attributeId, String... values) throws Exception {
+        BasicAttribute attribute = new BasicAttribute(attributeId);
+        for (String value : values) {
+            attribute.add(value);
+        }
+        BasicAttributes attributes = new BasicAttributes(true);
+        attributes.put(attribute);
+        return new DirContextAdapter(attributes, new LdapName("cn=group,ou=groups"));
+    }
+
+    private static class TestPopulator extends JmixLdapAuthoritiesPopulator {
+
+        final List<DirContextOperations> ranges = new ArrayList<>();
+
+        final List<String> lookedUpAttributes = new ArrayList<>();
+
+        TestPopulator() {
+            super(new LdapContextSource(), "ou=groups");
+        }
+
+        List<String> getMembers(DirContextOperations group) {
+            return getGroupMembers(null, group, "member");
+        }
+
+        @Override
+        protected DirContextOperations lookupAttributeRange(LdapOperations ldapOperations, Name dn, String attribute) {
+            lookedUpAttributes.add(attribute);
+            return ranges.remove(0);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package user_synchronization;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import io.jmix.ldap.LdapProperties;
+import io.jmix.ldap.search.JmixLdapTemplate;
+import io.jmix.ldap.userdetails.AbstractLdapUserDetailsSynchronizationStrategy;
+import io.jmix.ldap.userdetails.LdapUserDetailsSynchronizationStrategy;
+import io.jmix.ldap.userdetails.LdapUserSynchronizationItem;
+import io.jmix.ldap.userdetails.LdapUserSynchronizationManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.ldap.core.DirContextAdapter;
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.ldap.core.support.LdapContextSource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LdapUserSynchronizationManagerTest {
+
+    private static final String BASE_DN = "dc=example,dc=com";
+
+    private InMemoryDirectoryServer server;
+
+    private LdapContextSource contextSource;
+
+    private final RecordingStrategy strategy = new RecordingStrategy();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE_DN);
+        config.addAdditionalBindCredentials("cn=admin", "admin");
+        config.setListenerConfigs(InMemoryListenerConfig.createLDAPConfig("default", 0));
+        config.setSchema(null);
+        server = new InMemoryDirectoryServer(config);
+        server.add("dn: " + BASE_DN, "objectClass: domain", "dc: example");
+        server.add("dn: ou=people," + BASE_DN, "objectClass: organizationalUnit", "ou: people");
+        server.add("dn: ou=external," + BASE_DN, "objectClass: organizationalUnit", "ou: external");
+        server.add("dn: ou=groups," + BASE_DN, "objectClass: organizationalUnit", "ou: groups");
+        for (int i = 1; i <= 5; i++) {
+            addPerson("user" + i, "people");
+        }
+        addPerson("external", "external");
+        server.add("dn: uid=service,ou=people," + BASE_DN, "objectClass: account", "uid: service");
+        server.add("dn: cn=sync,ou=groups," + BASE_DN,
+                "objectClass: groupOfUniqueNames",
+                "cn: sync",
+                "uniqueMember: uid=user1,ou=people," + BASE_DN,
+                "uniqueMember: uid=user2,ou=people," + BASE_DN,
+                "uniqueMember: uid=user3,ou=people," + BASE_DN,
+                "uniqueMember: uid=user4,ou=people," + BASE_DN,
+                "uniqueMember: uid=service,ou=people," + BASE_DN,
+                "uniqueMember: uid=external,ou=external," + BASE_DN);
+        server.startListening();
+
+        contextSource = new LdapContextSource();
+        contextSource.setUrl("ldap://localhost:" + server.getListenPort());
+        contextSource.setBase(BASE_DN);
+        contextSource.setUserDn("cn=admin");
+        contextSource.setPassword("admin");
+        contextSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.shutDown(true);
+    }
+
+    @Test
+    void membersAreLookedUpOneByOneByDefault() {
+        LdapUserSynchronizationManager manager = createManager(Collections.emptyMap());
+
+        manager.synchronizeUsersFromGroup();
+
+        assertEquals(Set.of("user1", "user2", "user3", "user4", "service", "external"),
+                new HashSet<>(strategy.synchronizedUsernames));
+        assertTrue(strategy.batchSizes.isEmpty());
+    }
+
+    @Test
+    void membersMatchingUserSearchFilterAreSynchronizedInBatchesWithPaging() {
+        LdapUserSynchronizationManager manager = createManager(Map.of(
+                "jmix.ldap.synchronization-page-size", "2",
+                "jmix.ldap.synchronization-batch-size", "2",
+                "jmix.ldap.synchronization-threads", "2"));
+
+        manager.synchronizeUsersFromGroup();
+
+        assertEquals(5, strategy.synchronizedUsernames.size());
+        assertEquals(Set.of("user1", "user2", "user3", "user4", "external"),
+                new HashSet<>(strategy.synchronizedUsernames));
+        assertTrue(strategy.batchSizes.stream().anyMatch(size -> size == 2));
+    }
+
+    @Test
+    void batchIsSynchronizedOneByOneWhenSingleUserSynchronizationIsOverridden() {
+        List<String> usernames = new ArrayList<>();
+        AbstractLdapUserDetailsSynchronizationStrategy<UserDetails> customStrategy =
+                new AbstractLdapUserDetailsSynchronizationStrategy<>() {
+                    @Override
+                    public UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
+                                                              Collection<? extends GrantedAuthority> authorities) {
+                        usernames.add(username);
+                        return createUser(username);
+                    }
+
+                    @Override
+                    protected Class<UserDetails> getUserClass() {
+                        return UserDetails.class;
+                    }
+
+                    @Override
+                    protected void mapUserDetailsAttributes(UserDetails userDetails, DirContextOperations ctx) {
+                    }
+                };
+
+        List<UserDetails> result = customStrategy.synchronizeUserDetails(List.of(
+                new LdapUserSynchronizationItem(new DirContextAdapter(), "user1", Collections.emptyList()),
+                new LdapUserSynchronizationItem(new DirContextAdapter(), "user2", Collections.emptyList())));
+
+        assertEquals(List.of("user1", "user2"), usernames);
+        assertEquals(2, result.size());
+    }
+
+    private LdapUserSynchronizationManager createManager(Map<String, String> properties) {
+        Map<String, String> source = new HashMap<>(properties);
+        source.put("jmix.ldap.group-for-synchronization", "cn=sync,ou=groups," + BASE_DN);
+        source.put("jmix.ldap.user-search-base", "ou=people");
+        source.put("jmix.ldap.user-search-filter", "(&(objectClass=inetOrgPerson)(uid={0}))");
+        LdapProperties ldapProperties = new Binder(new MapConfigurationPropertySource(source))
+                .bindOrCreate("jmix.ldap", LdapProperties.class);
+
+        LdapUserSynchronizationManager manager = new LdapUserSynchronizationManager();
+        manager.setLdapTemplate(new JmixLdapTemplate(contextSource));
+        manager.setLdapProperties(ldapProperties);
+        manager.setSynchronizationStrategy(strategy);
+        return manager;
+    }
+
+    private void addPerson(String uid, String ou) throws Exception {
+        server.add("dn: uid=" + uid + ",ou=" + ou + "," + BASE_DN,
+                "objectClass: inetOrgPerson",
+                "uid: " + uid,
+                "cn: " + uid,
+                "sn: " + uid);
+    }
+
+    private static UserDetails createUser(String username) {
+        return User.withUsername(username).password("").authorities(Collections.emptyList()).build();
+    }
+
+    private static class RecordingStrategy implements LdapUserDetailsSynchronizationStrategy {
+
+        final List<String> synchronizedUsernames = Collections.synchronizedList(new ArrayList<>());
+
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public UserDetails synchronizeUserDetails(DirContextOperations ctx, String username,
+                                                  Collection<? extends GrantedAuthority> authorities) {
+            synchronizedUsernames.add(username);
+            return createUser(username);
+        }
+
+        @Override
+        public List<UserDetails> synchronizeUserDetails(List<LdapUserSynchronizationItem> items) {
+            batchSizes.add(items.size());
+            return LdapUserDetailsSynchronizationStrategy.super.synchronizeUserDetails(items);
+        }
+    }
+}
@@ -20,7 +20,7 @@ import io.jmix.pessimisticlock.entity.LockInfo;
 import io.jmix.pessimisticlock.entity.LockNotSupported;
 import org.springframework.lang.Nullable;
 
-import java.util.Collection;
+import java.util.*;
 
 public interface LockManager {
 
@@ -49,6 +49,32 @@ public interface LockManager {
     @Nullable
     LockInfo lock(Object entity);
 
+    /**
+     * Try to lock a collection of entities. Either all entities are locked, or none of them if some entity is
+     * already locked by someone. Entities for which locking is not configured are skipped.
+     *
+     * @param entities entity instances
+     * @return empty map in case of successful lock, otherwise {@link LockInfo} instances of already locked entities
+     */
+    default Map<Object, LockInfo> lockAll(Collection<?> entities) {
+        Map<Object, LockInfo> existingLocks = new LinkedHashMap<>();
+        List<Object> lockedEntities = new ArrayList<>();
+        for (Object entity : new LinkedHashSet<>(entities)) {
+            LockInfo lockInfo = lock(entity);
+            if (lockInfo == null) {
+                lockedEntities.add(entity);
+            } else if (!(lockInfo instanceof LockNotSupported)) {
+                existingLocks.put(entity, lockInfo);
+            }
+        }
+        if (!existingLocks.isEmpty()) {
+            for (Object entity : lockedEntities) {
+                unlock(entity);
+            }
+        }
+        return existingLocks;
+    }
+
     /**
      * Unlock an arbitrary object.
      *
@@ -64,6 +90,17 @@ public interface LockManager {
      */
     void unlock(Object entity);
 
+    /**
+     * Unlock a collection of entities.
+     *
+     * @param entities entity instances
+     */
+    default void unlockAll(Collection<?> entities) {
+        for (Object entity : entities) {
+            unlock(entity);
+        }
+    }
+
     /**
      * Get locking status for particular object
      *
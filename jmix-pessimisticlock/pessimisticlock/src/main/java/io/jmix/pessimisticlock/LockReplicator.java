@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.pessimisticlock;
+
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.springframework.lang.Nullable;
+
+/**
+ * Hook notified about changes of the in-process lock table used when
+ * {@link PessimisticLockProperties#isLocalLockTableEnabled()} is set. Implement it as a Spring bean to replicate
+ * locks to other cluster nodes, which apply received changes using
+ * {@link io.jmix.pessimisticlock.impl.LocalLockTable#applyLock(LockInfo, Integer)} and
+ * {@link io.jmix.pessimisticlock.impl.LocalLockTable#applyUnlock(String, String)}.
+ * <p>
+ * Methods are invoked synchronously by the thread changing the lock table, so implementations should not block.
+ */
+public interface LockReplicator {
+
+    /**
+     * Invoked when a lock has been added on this node.
+     *
+     * @param lockInfo   added lock
+     * @param timeoutSec lock timeout, null if the lock does not expire
+     */
+    void lockAdded(LockInfo lockInfo, @Nullable Integer timeoutSec);
+
+    /**
+     * Invoked when a lock has been removed on this node by unlocking or expiration.
+     *
+     * @param name locking object name
+     * @param id   locking object ID
+     */
+    void lockRemoved(String name, String id);
+}
@@ -32,10 +32,19 @@ public class PessimisticLockProperties {
      */
     boolean useDefaultQuartzConfiguration;
 
+    /**
+     * Whether locks are kept in an in-process lock table instead of the {@link LockManager#LOCKS_CACHE_NAME} cache.
+     * The table supports listing and expiring locks regardless of the cache provider, but is not shared between
+     * cluster nodes unless a {@link LockReplicator} bean is provided.
+     */
+    boolean localLockTableEnabled;
+
     public PessimisticLockProperties(@DefaultValue("0 * * * * ?") String expirationCron,
-                           @DefaultValue("true") boolean useDefaultQuartzConfiguration) {
+                           @DefaultValue("true") boolean useDefaultQuartzConfiguration,
+                           @DefaultValue("false") boolean localLockTableEnabled) {
         this.expirationCron = expirationCron;
         this.useDefaultQuartzConfiguration = useDefaultQuartzConfiguration;
+        this.localLockTableEnabled = localLockTableEnabled;
     }
 
     /**
@@ -51,4 +60,11 @@ public class PessimisticLockProperties {
     public boolean isUseDefaultQuartzConfiguration() {
         return useDefaultQuartzConfiguration;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #localLockTableEnabled
+     */
+    public boolean isLocalLockTableEnabled() {
+        return localLockTableEnabled;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.core.CacheOperations;
+import io.jmix.pessimisticlock.entity.LockDescriptor;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Lock table storing locks in the {@link io.jmix.pessimisticlock.LockManager#LOCKS_CACHE_NAME} cache, so that locks
+ * are shared between cluster nodes if the cache is distributed. Listing and expiring locks iterate the whole cache
+ * and are supported only by iterable caches.
+ */
+public class CacheLockTable implements LockTable {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheLockTable.class);
+
+    protected final Cache locks;
+    protected final CacheOperations cacheOperations;
+
+    public CacheLockTable(Cache locks, CacheOperations cacheOperations) {
+        this.locks = locks;
+        this.cacheOperations = cacheOperations;
+    }
+
+    @Nullable
+    @Override
+    public LockInfo putIfAbsent(LockManagerImpl.LockKey key, LockInfo lockInfo, @Nullable Integer timeoutSec) {
+        Cache.ValueWrapper lockInfoWrapper = locks.putIfAbsent(key, lockInfo);
+        return lockInfoWrapper == null ? null : (LockInfo) lockInfoWrapper.get();
+    }
+
+    @Override
+    public boolean remove(LockManagerImpl.LockKey key) {
+        return locks.evictIfPresent(key);
+    }
+
+    @Nullable
+    @Override
+    public LockInfo get(LockManagerImpl.LockKey key) {
+        return locks.get(key, LockInfo.class);
+    }
+
+    @Override
+    public Collection<LockInfo> getAll() {
+        if (cacheOperations.isIterableCache(locks)) {
+            return cacheOperations.getValues(locks);
+        } else {
+            log.debug("Current locks list operation is unsupported by cache provider");
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public void expire(Map<String, LockDescriptor> config, boolean configReloaded, long now) {
+        if (cacheOperations.isIterableCache(locks)) {
+            log.trace("Start expiring locks operation");
+            Collection<LockManagerImpl.LockKey> keys = cacheOperations.getKeys(locks);
+            for (LockManagerImpl.LockKey key : keys) {
+                LockInfo lockInfo = locks.get(key, LockInfo.class);
+                if (lockInfo != null) {
+                    LockDescriptor ld = config.get(key.getName());
+                    if (ld == null) {
+                        log.debug("Lock {}/{} configuration not found, remove it", key.getName(), key.getId());
+                        locks.evict(key);
+                    } else {
+                        Integer timeoutSec = ld.getTimeoutSec();
+                        if (timeoutSec != null && timeoutSec > 0) {
+                            if (lockInfo.getSince().getTime() + timeoutSec * 1000L < now) {
+                                log.debug("Lock {}/{} expired", key.getName(), key.getId());
+                                locks.evict(key);
+                            }
+                        }
+                    }
+                } else {
+                    log.trace("Lock info not found for key '{}'", key);
+                }
+            }
+        } else {
+            log.debug("Expiring locks operation is unsupported by cache provider");
+        }
+    }
+}
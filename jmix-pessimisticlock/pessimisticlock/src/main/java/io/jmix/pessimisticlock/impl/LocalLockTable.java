@@ -0,0 +1,205 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.pessimisticlock.LockReplicator;
+import io.jmix.pessimisticlock.entity.LockDescriptor;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process lock table. Locks are kept in a concurrent map, and locks having a timeout are additionally kept in
+ * a concurrent set ordered by expiration deadline, so that {@link #expire(Map, boolean, long)} visits only expired
+ * locks instead of all of them. Listing and expiring locks do not depend on the cache provider.
+ * <p>
+ * The table is not shared between cluster nodes by itself: changes are passed to {@link LockReplicator} beans,
+ * and changes received from other nodes are applied by {@link #applyLock(LockInfo, Integer)} and
+ * {@link #applyUnlock(String, String)}.
+ */
+public class LocalLockTable implements LockTable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalLockTable.class);
+
+    protected final Map<LockManagerImpl.LockKey, Entry> locks = new ConcurrentHashMap<>();
+    protected final NavigableSet<Expiration> expirations = new ConcurrentSkipListSet<>();
+    protected final AtomicLong sequence = new AtomicLong();
+
+    protected final List<LockReplicator> replicators;
+
+    public LocalLockTable(List<LockReplicator> replicators) {
+        this.replicators = replicators;
+    }
+
+    @Nullable
+    @Override
+    public LockInfo putIfAbsent(LockManagerImpl.LockKey key, LockInfo lockInfo, @Nullable Integer timeoutSec) {
+        Entry entry = createEntry(key, lockInfo, timeoutSec);
+        Entry existing = locks.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing.lockInfo;
+        }
+        if (entry.expiration != null) {
+            expirations.add(entry.expiration);
+        }
+        for (LockReplicator replicator : replicators) {
+            replicator.lockAdded(lockInfo, timeoutSec);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(LockManagerImpl.LockKey key) {
+        Entry removed = locks.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        onRemoved(key, removed, true);
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public LockInfo get(LockManagerImpl.LockKey key) {
+        Entry entry = locks.get(key);
+        return entry != null ? entry.lockInfo : null;
+    }
+
+    @Override
+    public Collection<LockInfo> getAll() {
+        List<LockInfo> result = new ArrayList<>(locks.size());
+        for (Entry entry : locks.values()) {
+            result.add(entry.lockInfo);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Expiration deadlines are calculated when locks are added, so a changed timeout applies to new locks only.
+     */
+    @Override
+    public void expire(Map<String, LockDescriptor> config, boolean configReloaded, long now) {
+        for (Iterator<Expiration> it = expirations.iterator(); it.hasNext(); ) {
+            Expiration expiration = it.next();
+            if (expiration.deadline > now) {
+                break;
+            }
+            // only one of concurrently expiring threads succeeds in removing the deadline
+            if (expirations.remove(expiration)) {
+                Entry entry = locks.get(expiration.key);
+                if (entry != null && entry.expiration == expiration && locks.remove(expiration.key, entry)) {
+                    log.debug("Lock {}/{} expired", expiration.key.getName(), expiration.key.getId());
+                    onRemoved(expiration.key, entry, true);
+                }
+            }
+        }
+
+        if (configReloaded) {
+            for (Map.Entry<LockManagerImpl.LockKey, Entry> mapEntry : locks.entrySet()) {
+                LockManagerImpl.LockKey key = mapEntry.getKey();
+                if (!config.containsKey(key.getName()) && locks.remove(key, mapEntry.getValue())) {
+                    log.debug("Lock {}/{} configuration not found, remove it", key.getName(), key.getId());
+                    onRemoved(key, mapEntry.getValue(), true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or replaces the lock received from another cluster node without notifying replicators.
+     */
+    public void applyLock(LockInfo lockInfo, @Nullable Integer timeoutSec) {
+        LockManagerImpl.LockKey key = new LockManagerImpl.LockKey(lockInfo.getObjectType(), lockInfo.getObjectId());
+        Entry entry = createEntry(key, lockInfo, timeoutSec);
+        if (entry.expiration != null) {
+            expirations.add(entry.expiration);
+        }
+        Entry replaced = locks.put(key, entry);
+        if (replaced != null) {
+            onRemoved(key, replaced, false);
+        }
+    }
+
+    /**
+     * Removes the lock according to a change received from another cluster node without notifying replicators.
+     */
+    public void applyUnlock(String name, String id) {
+        LockManagerImpl.LockKey key = new LockManagerImpl.LockKey(name, id);
+        Entry removed = locks.remove(key);
+        if (removed != null) {
+            onRemoved(key, removed, false);
+        }
+    }
+
+    protected Entry createEntry(LockManagerImpl.LockKey key, LockInfo lockInfo, @Nullable Integer timeoutSec) {
+        Expiration expiration = null;
+        if (timeoutSec != null && timeoutSec > 0) {
+            long deadline = lockInfo.getSince().getTime() + timeoutSec * 1000L;
+            expiration = new Expiration(key, deadline, sequence.incrementAndGet());
+        }
+        return new Entry(lockInfo, expiration);
+    }
+
+    protected void onRemoved(LockManagerImpl.LockKey key, Entry entry, boolean replicate) {
+        if (entry.expiration != null) {
+            expirations.remove(entry.expiration);
+        }
+        if (replicate) {
+            for (LockReplicator replicator : replicators) {
+                replicator.lockRemoved(key.getName(), key.getId());
+            }
+        }
+    }
+
+    protected static final class Entry {
+        protected final LockInfo lockInfo;
+        @Nullable
+        protected final Expiration expiration;
+
+        protected Entry(LockInfo lockInfo, @Nullable Expiration expiration) {
+            this.lockInfo = lockInfo;
+            this.expiration = expiration;
+        }
+    }
+
+    protected static final class Expiration implements Comparable<Expiration> {
+        protected final LockManagerImpl.LockKey key;
+        protected final long deadline;
+        protected final long sequence;
+
+        protected Expiration(LockManagerImpl.LockKey key, long deadline, long sequence) {
+            this.key = key;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Expiration o) {
+            int result = Long.compare(deadline, o.deadline);
+            return result != 0 ? result : Long.compare(sequence, o.sequence);
+        }
+    }
+}
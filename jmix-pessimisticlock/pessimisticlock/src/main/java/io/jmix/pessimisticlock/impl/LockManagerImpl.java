@@ -23,12 +23,15 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.pessimisticlock.LockDescriptorProvider;
 import io.jmix.pessimisticlock.LockManager;
+import io.jmix.pessimisticlock.LockReplicator;
+import io.jmix.pessimisticlock.PessimisticLockProperties;
 import io.jmix.pessimisticlock.entity.LockDescriptor;
 import io.jmix.pessimisticlock.entity.LockInfo;
 import io.jmix.pessimisticlock.entity.LockNotSupported;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.lang.Nullable;
@@ -38,6 +41,7 @@ import org.springframework.stereotype.Component;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Component("pslock_LockManagerImpl")
 public class LockManagerImpl implements LockManager {
@@ -52,10 +56,13 @@ public class LockManagerImpl implements LockManager {
     protected final CacheManager cacheManager;
     protected final CacheOperations cacheOperations;
     protected List<LockDescriptorProvider> lockDescriptorProviders;
+    protected final PessimisticLockProperties properties;
+    protected final ObjectProvider<LockReplicator> lockReplicators;
 
     protected volatile Map<String, LockDescriptor> config;
+    protected volatile boolean configReloaded;
 
-    protected Cache locks;
+    protected LockTable locks;
 
     public LockManagerImpl(ExtendedEntities extendedEntities,
                            Metadata metadata,
@@ -64,7 +71,9 @@ public class LockManagerImpl implements LockManager {
                            CurrentAuthentication currentAuthentication,
                            CacheManager cacheManager,
                            CacheOperations cacheOperations,
-                           List<LockDescriptorProvider> lockDescriptorProviders) {
+                           List<LockDescriptorProvider> lockDescriptorProviders,
+                           PessimisticLockProperties properties,
+                           ObjectProvider<LockReplicator> lockReplicators) {
         this.extendedEntities = extendedEntities;
         this.metadata = metadata;
         this.metadataTools = metadataTools;
@@ -73,25 +82,42 @@ public class LockManagerImpl implements LockManager {
         this.cacheManager = cacheManager;
         this.cacheOperations = cacheOperations;
         this.lockDescriptorProviders = lockDescriptorProviders;
+        this.properties = properties;
+        this.lockReplicators = lockReplicators;
     }
 
     @PostConstruct
     protected void init() {
-        locks = cacheManager.getCache(LOCKS_CACHE_NAME);
-        if (locks == null) {
-            throw new IllegalStateException(String.format("Unable to find cache: %s", LOCKS_CACHE_NAME));
+        if (properties.isLocalLockTableEnabled()) {
+            locks = new LocalLockTable(lockReplicators.orderedStream().collect(Collectors.toList()));
+        } else {
+            Cache cache = cacheManager.getCache(LOCKS_CACHE_NAME);
+            if (cache == null) {
+                throw new IllegalStateException(String.format("Unable to find cache: %s", LOCKS_CACHE_NAME));
+            }
+            locks = new CacheLockTable(cache, cacheOperations);
         }
     }
 
+    /**
+     * Returns the table storing current locks.
+     */
+    public LockTable getLockTable() {
+        return locks;
+    }
+
     protected Map<String, LockDescriptor> getConfig() {
-        if (this.config == null) {
-            Map<String, LockDescriptor> config = new ConcurrentHashMap<>();
+        Map<String, LockDescriptor> config = this.config;
+        if (config == null) {
             synchronized (this) {
-                for (LockDescriptorProvider provider : lockDescriptorProviders) {
-                    provider.getLockDescriptors()
-                            .forEach(descriptor -> config.put(descriptor.getName(), descriptor));
-                }
-                if (this.config == null) {
+                config = this.config;
+                if (config == null) {
+                    config = new ConcurrentHashMap<>();
+                    for (LockDescriptorProvider provider : lockDescriptorProviders) {
+                        for (LockDescriptor descriptor : provider.getLockDescriptors()) {
+                            config.put(descriptor.getName(), descriptor);
+                        }
+                    }
                     this.config = config;
                 }
             }
@@ -110,12 +136,11 @@ public class LockManagerImpl implements LockManager {
         UserDetails user = currentAuthentication.getUser();
         LockInfo lockInfo = new LockInfo(user.getUsername(), name, id, timeSource.currentTimestamp());
 
-        Cache.ValueWrapper lockInfoWrapper = locks.putIfAbsent(key, lockInfo);
-        if (lockInfoWrapper == null) {
+        LockInfo existingLockInfo = locks.putIfAbsent(key, lockInfo, ld.getTimeoutSec());
+        if (existingLockInfo == null) {
             log.debug("Locked {}/{}", name, id);
             return null;
         } else {
-            LockInfo existingLockInfo = (LockInfo) lockInfoWrapper.get();
             log.debug("Already locked: {}", existingLockInfo);
             return existingLockInfo;
         }
@@ -134,7 +159,7 @@ public class LockManagerImpl implements LockManager {
 
     @Override
     public void unlock(String name, String id) {
-        if (locks.evictIfPresent(new LockKey(name, id))) {
+        if (locks.remove(new LockKey(name, id))) {
             log.debug("Unlocked {}/{}", name, id);
         }
     }
@@ -156,53 +181,25 @@ public class LockManagerImpl implements LockManager {
             return new LockNotSupported();
         }
 
-        return locks.get(new LockKey(name, id), LockInfo.class);
+        return locks.get(new LockKey(name, id));
     }
 
     @Override
     public Collection<LockInfo> getCurrentLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
-            return cacheOperations.getValues(locks);
-        } else {
-            log.debug("Current locks list operation is unsupported by cache provider");
-            return Collections.emptyList();
-        }
+        return locks.getAll();
     }
 
     @Override
     public void expireLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
-            log.trace("Start expiring locks operation");
-            Collection<LockKey> keys = cacheOperations.getKeys(locks);
-            for (LockKey key : keys) {
-                LockInfo lockInfo = locks.get(key, LockInfo.class);
-                if (lockInfo != null) {
-                    LockDescriptor ld = getConfig().get(key.name);
-                    if (ld == null) {
-                        log.debug("Lock {}/{} configuration not found, remove it", key.name, key.id);
-                        locks.evict(key);
-                    } else {
-                        Integer timeoutSec = ld.getTimeoutSec();
-                        if (timeoutSec != null && timeoutSec > 0) {
-                            Date since = lockInfo.getSince();
-                            if (since.getTime() + timeoutSec * 1000 < timeSource.currentTimestamp().getTime()) {
-                                log.debug("Lock {}/{} expired", key.name, key.id);
-                                locks.evict(key);
-                            }
-                        }
-                    }
-                } else {
-                    log.trace("Lock info not found for key '{}'", key);
-                }
-            }
-        } else {
-            log.debug("Expiring locks operation is unsupported by cache provider");
-        }
+        boolean reloaded = configReloaded;
+        configReloaded = false;
+        locks.expire(getConfig(), reloaded, timeSource.currentTimestamp().getTime());
     }
 
     @Override
     public void reloadConfiguration() {
         config = null;
+        configReloaded = true;
     }
 
     public static class LockKey implements Serializable {
@@ -211,11 +208,19 @@ public class LockManagerImpl implements LockManager {
         private final String name;
         private final String id;
 
-        private LockKey(String name, String id) {
+        public LockKey(String name, String id) {
             this.name = name;
             this.id = id;
         }
 
+        public String getName() {
+            return name;
+        }
+
+        public String getId() {
+            return id;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
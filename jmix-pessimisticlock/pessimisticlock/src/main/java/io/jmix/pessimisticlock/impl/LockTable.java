@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.pessimisticlock.entity.LockDescriptor;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Storage of current locks used by {@link LockManagerImpl}.
+ *
+ * @see CacheLockTable
+ * @see LocalLockTable
+ */
+public interface LockTable {
+
+    /**
+     * Adds the lock if the object is not locked yet.
+     *
+     * @param key        lock key
+     * @param lockInfo   lock to add
+     * @param timeoutSec lock timeout, null or non-positive if the lock does not expire
+     * @return null if the lock has been added, otherwise the existing lock
+     */
+    @Nullable
+    LockInfo putIfAbsent(LockManagerImpl.LockKey key, LockInfo lockInfo, @Nullable Integer timeoutSec);
+
+    /**
+     * Removes the lock.
+     *
+     * @return true if the lock existed
+     */
+    boolean remove(LockManagerImpl.LockKey key);
+
+    @Nullable
+    LockInfo get(LockManagerImpl.LockKey key);
+
+    Collection<LockInfo> getAll();
+
+    /**
+     * Removes expired locks and locks which have no configuration.
+     *
+     * @param config         lock descriptors by name
+     * @param configReloaded whether the configuration has been reloaded since the previous call
+     * @param now            current time in milliseconds
+     */
+    void expire(Map<String, LockDescriptor> config, boolean configReloaded, long now);
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pessimisticlock
+
+import io.jmix.pessimisticlock.LockReplicator
+import io.jmix.pessimisticlock.entity.LockDescriptor
+import io.jmix.pessimisticlock.entity.LockInfo
+import io.jmix.pessimisticlock.impl.LocalLockTable
+import io.jmix.pessimisticlock.impl.LockManagerImpl
+import spock.lang.Specification
+
+class LocalLockTableTest extends Specification {
+
+    def "expired locks are removed"() {
+        def table = new LocalLockTable([])
+        def config = ["test": new LockDescriptor("test", 60)]
+
+        when:
+        table.putIfAbsent(key("1"), lockInfo("1", 1000), 60)
+        table.putIfAbsent(key("2"), lockInfo("2", 31000), 60)
+        table.putIfAbsent(key("3"), lockInfo("3", 1000), null)
+        table.expire(config, false, 40000)
+
+        then:
+        table.getAll().size() == 3
+
+        when:
+        table.expire(config, false, 62000)
+
+        then:
+        table.get(key("1")) == null
+        table.get(key("2")) != null
+        table.get(key("3")) != null
+
+        when:
+        table.expire(config, false, 92000)
+
+        then:
+        table.getAll()*.objectId == ["3"]
+    }
+
+    def "unlocked and relocked object expires by the new lock"() {
+        def table = new LocalLockTable([])
+        def config = ["test": new LockDescriptor("test", 60)]
+
+        when:
+        table.putIfAbsent(key("1"), lockInfo("1", 1000), 60)
+        table.remove(key("1"))
+        table.putIfAbsent(key("1"), lockInfo("1", 50000), 60)
+        table.expire(config, false, 62000)
+
+        then:
+        table.get(key("1")) != null
+    }
+
+    def "locks without configuration are removed after reload"() {
+        def table = new LocalLockTable([])
+        table.putIfAbsent(key("1"), lockInfo("1", 1000), null)
+
+        when:
+        table.expire([:], false, 2000)
+
+        then:
+        table.get(key("1")) != null
+
+        when:
+        table.expire([:], true, 2000)
+
+        then:
+        table.get(key("1")) == null
+    }
+
+    def "changes are passed to replicators"() {
+        def replicator = Mock(LockReplicator)
+        def table = new LocalLockTable([replicator])
+
+        when:
+        table.putIfAbsent(key("1"), lockInfo("1", 1000), 60)
+        table.putIfAbsent(key("1"), lockInfo("1", 2000), 60)
+        table.remove(key("1"))
+
+        then:
+        1 * replicator.lockAdded({ it.objectId == "1" }, 60)
+        1 * replicator.lockRemoved("test", "1")
+
+        when: "changes received from other nodes are applied"
+        table.applyLock(lockInfo("2", 1000), 60)
+        table.applyUnlock("test", "2")
+
+        then:
+        0 * replicator._
+        table.getAll().isEmpty()
+    }
+
+    private static LockManagerImpl.LockKey key(String id) {
+        new LockManagerImpl.LockKey("test", id)
+    }
+
+    private static LockInfo lockInfo(String id, long since) {
+        new LockInfo("admin", "test", id, new Date(since))
+    }
+}
@@ -92,4 +92,29 @@ class LockManagerTest extends Specification {
         then:
         assertNull(lockInfo)
     }
+
+    def "Test lock of entity collection"() {
+        LockableParentEntity entity1 = metadata.create(LockableParentEntity.class)
+        LockableParentEntity entity2 = metadata.create(LockableParentEntity.class)
+        LockableParentEntity entity3 = metadata.create(LockableParentEntity.class)
+
+        when:
+        Map<Object, LockInfo> existingLocks = lockManager.lockAll([entity1, entity2])
+        then:
+        existingLocks.isEmpty()
+        lockManager.getLockInfo("pslock_LockableParentEntity", entity1.getId().toString()) != null
+        lockManager.getLockInfo("pslock_LockableParentEntity", entity2.getId().toString()) != null
+
+        when: "some entity is already locked"
+        existingLocks = lockManager.lockAll([entity3, entity2])
+        then: "no entity is locked"
+        existingLocks.keySet() == [entity2] as Set
+        lockManager.getLockInfo("pslock_LockableParentEntity", entity3.getId().toString()) == null
+
+        when:
+        lockManager.unlockAll([entity1, entity2])
+        then:
+        lockManager.getLockInfo("pslock_LockableParentEntity", entity1.getId().toString()) == null
+        lockManager.getLockInfo("pslock_LockableParentEntity", entity2.getId().toString()) == null
+    }
 }
@@ -28,6 +28,14 @@ public interface ReportExecutionHistoryRecorder {
 
     void markAsSuccess(ReportExecution execution, ReportOutputDocument document);
 
+    /**
+     * Marks the execution as successful one which output document has been taken from the report result cache.
+     */
+    default void markAsCacheHit(ReportExecution execution, ReportOutputDocument document) {
+        execution.setFromCache(true);
+        markAsSuccess(execution, document);
+    }
+
     void markAsError(ReportExecution execution, Exception e);
 
     void markAsCancelled(ReportExecution execution);
@@ -21,6 +21,7 @@ import io.jmix.core.annotation.JmixModule;
 import io.jmix.data.DataConfiguration;
 import io.jmix.eclipselink.EclipselinkConfiguration;
 import io.jmix.reports.libintegration.*;
+import io.jmix.reports.yarg.formatters.impl.TemplatePartStoreCache;
 import io.jmix.reports.yarg.loaders.QueryLoaderPreprocessor;
 import io.jmix.reports.yarg.loaders.ReportDataLoader;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
@@ -146,6 +147,10 @@ public class ReportsConfiguration {
         formatterFactory.setDefaultFormatProvider(fieldFormatProvider);
         formatterFactory.setOfficeIntegration(officeIntegration);
         formatterFactory.setScripting(scripting);
+        if (reportsProperties.getTemplateCacheSize() > 0) {
+            formatterFactory.setTemplatePartStoreCache(new TemplatePartStoreCache(
+                    reportsProperties.getTemplateCacheSize(), reportsProperties.getTemplateCacheExpirationSeconds()));
+        }
         return formatterFactory;
     }
 
@@ -22,6 +22,7 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Reporting configuration interface.
@@ -144,6 +145,69 @@ public class ReportsProperties {
      */
     boolean formulasPostProcessingEvaluationEnabled;
 
+    /**
+     * Maximum number of unzipped docx and xlsx templates kept in memory to avoid unzipping them on each report run.
+     * Value == 0 disables the cache.
+     */
+    int templateCacheSize;
+
+    /**
+     * Time in seconds after which an unused template is removed from the template cache.
+     */
+    int templateCacheExpirationSeconds;
+
+    /**
+     * Codes of reports which output documents are cached and returned for subsequent runs with the same template,
+     * output type and parameter values. Reports using parameter prototypes are not cached.
+     */
+    List<String> resultCacheReports;
+
+    /**
+     * Names of entities which changes invalidate cached output documents of a report, by report code. Entities of
+     * report input parameters are taken into account automatically.
+     */
+    Map<String, List<String>> resultCacheEntities;
+
+    /**
+     * Maximum number of cached report output documents.
+     */
+    int resultCacheSize;
+
+    /**
+     * Time in seconds during which a cached report output document is returned.
+     */
+    int resultCacheTtlSeconds;
+
+    /**
+     * Maximum size in bytes of a report output document that can be cached.
+     */
+    int resultCacheMaxDocumentSize;
+
+    /**
+     * Whether cached report output documents are returned to any user. By default, a document is returned only to
+     * the user who has run the report, as data available to users can differ.
+     * Documents are not shared between users with different locales or tenants.
+     */
+    boolean resultCacheSharedBetweenUsers;
+
+    /**
+     * Maximum number of reports run at the same time by {@link io.jmix.reports.runner.ReportExecutionScheduler}.
+     * Synchronous report runs are not limited.
+     */
+    int executionMaxConcurrency;
+
+    /**
+     * Maximum number of runs of the same report performed at the same time by
+     * {@link io.jmix.reports.runner.ReportExecutionScheduler}.
+     */
+    int executionMaxConcurrencyPerReport;
+
+    /**
+     * Maximum number of report runs waiting for execution in {@link io.jmix.reports.runner.ReportExecutionScheduler}.
+     * Runs submitted when the queue is full are rejected.
+     */
+    int executionMaxQueueSize;
+
     public ReportsProperties(@DefaultValue("/") String officePath,
                              @DefaultValue({"8100", "8101", "8102", "8103"}) List<Integer> officePorts,
                              @DefaultValue("20") int docFormatterTimeout,
@@ -166,7 +230,18 @@ public class ReportsProperties {
                              @DefaultValue("1000") int historyCleanupMaxItemsPerReport,
                              @DefaultValue("3") int countOfRetry,
                              @DefaultValue("false") boolean useOfficeForDocumentConversion,
-                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled) {
+                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled,
+                             @DefaultValue("50") int templateCacheSize,
+                             @DefaultValue("3600") int templateCacheExpirationSeconds,
+                             @Nullable List<String> resultCacheReports,
+                             @Nullable Map<String, List<String>> resultCacheEntities,
+                             @DefaultValue("100") int resultCacheSize,
+                             @DefaultValue("300") int resultCacheTtlSeconds,
+                             @DefaultValue("10485760") int resultCacheMaxDocumentSize,
+                             @DefaultValue("false") boolean resultCacheSharedBetweenUsers,
+                             @DefaultValue("4") int executionMaxConcurrency,
+                             @DefaultValue("2") int executionMaxConcurrencyPerReport,
+                             @DefaultValue("1000") int executionMaxQueueSize) {
         this.officePath = officePath;
         this.officePorts = officePorts;
         this.docFormatterTimeout = docFormatterTimeout;
@@ -190,6 +265,17 @@ public class ReportsProperties {
         this.countOfRetry = countOfRetry;
         this.useOfficeForDocumentConversion = useOfficeForDocumentConversion;
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
+        this.templateCacheSize = templateCacheSize;
+        this.templateCacheExpirationSeconds = templateCacheExpirationSeconds;
+        this.resultCacheReports = resultCacheReports == null ? Collections.emptyList() : resultCacheReports;
+        this.resultCacheEntities = resultCacheEntities == null ? Collections.emptyMap() : resultCacheEntities;
+        this.resultCacheSize = resultCacheSize;
+        this.resultCacheTtlSeconds = resultCacheTtlSeconds;
+        this.resultCacheMaxDocumentSize = resultCacheMaxDocumentSize;
+        this.resultCacheSharedBetweenUsers = resultCacheSharedBetweenUsers;
+        this.executionMaxConcurrency = executionMaxConcurrency;
+        this.executionMaxConcurrencyPerReport = executionMaxConcurrencyPerReport;
+        this.executionMaxQueueSize = executionMaxQueueSize;
     }
 
     /**
@@ -343,4 +429,81 @@ public class ReportsProperties {
     public boolean isFormulasPostProcessingEvaluationEnabled() {
         return formulasPostProcessingEvaluationEnabled;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #templateCacheSize
+     */
+    public int getTemplateCacheSize() {
+        return templateCacheSize;
+    }
+
+    /**
+     * @see #templateCacheExpirationSeconds
+     */
+    public int getTemplateCacheExpirationSeconds() {
+        return templateCacheExpirationSeconds;
+    }
+
+    /**
+     * @see #resultCacheReports
+     */
+    public List<String> getResultCacheReports() {
+        return resultCacheReports;
+    }
+
+    /**
+     * @see #resultCacheEntities
+     */
+    public Map<String, List<String>> getResultCacheEntities() {
+        return resultCacheEntities;
+    }
+
+    /**
+     * @see #resultCacheSize
+     */
+    public int getResultCacheSize() {
+        return resultCacheSize;
+    }
+
+    /**
+     * @see #resultCacheTtlSeconds
+     */
+    public int getResultCacheTtlSeconds() {
+        return resultCacheTtlSeconds;
+    }
+
+    /**
+     * @see #resultCacheMaxDocumentSize
+     */
+    public int getResultCacheMaxDocumentSize() {
+        return resultCacheMaxDocumentSize;
+    }
+
+    /**
+     * @see #resultCacheSharedBetweenUsers
+     */
+    public boolean isResultCacheSharedBetweenUsers() {
+        return resultCacheSharedBetweenUsers;
+    }
+
+    /**
+     * @see #executionMaxConcurrency
+     */
+    public int getExecutionMaxConcurrency() {
+        return executionMaxConcurrency;
+    }
+
+    /**
+     * @see #executionMaxConcurrencyPerReport
+     */
+    public int getExecutionMaxConcurrencyPerReport() {
+        return executionMaxConcurrencyPerReport;
+    }
+
+    /**
+     * @see #executionMaxQueueSize
+     */
+    public int getExecutionMaxQueueSize() {
+        return executionMaxQueueSize;
+    }
+}
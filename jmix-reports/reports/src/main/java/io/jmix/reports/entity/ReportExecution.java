@@ -77,6 +77,9 @@ public class ReportExecution {
     @Column(name = "CANCELLED")
     private Boolean cancelled;
 
+    @Column(name = "FROM_CACHE")
+    private Boolean fromCache;
+
     @Column(name = "OUTPUT_DOCUMENT", length = 4000)
     private FileRef outputDocument;
 
@@ -92,6 +95,7 @@ public class ReportExecution {
     public void postConstruct() {
         success = false;
         cancelled = false;
+        fromCache = false;
     }
 
     public UUID getId() {
@@ -182,6 +186,14 @@ public class ReportExecution {
         this.cancelled = cancelled;
     }
 
+    public Boolean getFromCache() {
+        return fromCache;
+    }
+
+    public void setFromCache(Boolean fromCache) {
+        this.fromCache = fromCache;
+    }
+
     public FileRef getOutputDocument() {
         return outputDocument;
     }
@@ -103,6 +103,16 @@ public class ReportExecutionHistoryRecorderImpl implements ReportExecutionHistor
         });
     }
 
+    @Override
+    public void markAsCacheHit(ReportExecution execution, ReportOutputDocument document) {
+        handleSessionExpired(() -> {
+            execution.setSuccess(true);
+            execution.setFromCache(true);
+            execution.setFinishTime(timeSource.currentTimestamp());
+            dataManager.save(execution);
+        });
+    }
+
     @Override
     public void markAsCancelled(ReportExecution execution) {
         handleSessionExpired(() -> {
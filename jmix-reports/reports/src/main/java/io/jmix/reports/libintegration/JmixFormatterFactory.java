@@ -52,6 +52,7 @@ public class JmixFormatterFactory extends DefaultFormatterFactory {
             }
             docxFormatter.setHtmlImportProcessor(htmlImportProcessor);
             docxFormatter.setScripting(scripting);
+            docxFormatter.setTemplatePartStoreCache(templatePartStoreCache);
             return docxFormatter;
         };
 
@@ -65,6 +66,7 @@ public class JmixFormatterFactory extends DefaultFormatterFactory {
             xlsxFormatter.setDocumentConverter(documentConverter);
             xlsxFormatter.setScripting(scripting);
             xlsxFormatter.setFormulasPostProcessingEvaluationEnabled(reportsProperties.isFormulasPostProcessingEvaluationEnabled());
+            xlsxFormatter.setTemplatePartStoreCache(templatePartStoreCache);
             return xlsxFormatter;
         };
         formattersMap.put("xlsx", xlsxCreator);
@@ -20,6 +20,8 @@ import com.google.common.base.Strings;
 import io.jmix.core.DataManager;
 import io.jmix.core.EntityStates;
 import io.jmix.core.Id;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.core.security.SystemAuthenticationToken;
 import io.jmix.reports.entity.Report;
 import io.jmix.reports.entity.ReportOutputType;
 import io.jmix.reports.entity.ReportTemplate;
@@ -37,6 +39,7 @@ import org.springframework.stereotype.Component;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Class is used to run a report using various additional criteria:
@@ -65,14 +68,20 @@ public class FluentReportRunner {
     private ReportTemplate template;
     private ReportOutputType outputType;
     private String outputNamePattern;
+    private ReportExecutionPriority priority;
 
     @Autowired
     private DataManager dataManager;
     @Autowired
     private EntityStates entityStates;
+    @Autowired
+    private CurrentAuthentication currentAuthentication;
 
     private ReportRunner reportRunner;
 
+    @Autowired
+    private ReportExecutionScheduler executionScheduler;
+
     public FluentReportRunner(Report report) {
         this.report = report;
     }
@@ -153,6 +162,19 @@ public class FluentReportRunner {
         return this;
     }
 
+    /**
+     * Sets a priority of the report run queued by {@link #runAsync()}. By default,
+     * {@link ReportExecutionPriority#SCHEDULED} is used for reports run with the system authentication, e.g. by
+     * scheduled tasks, and {@link ReportExecutionPriority#INTERACTIVE} for reports run by users.
+     *
+     * @param priority priority of the report run
+     * @return current instance of fluent runner
+     */
+    public FluentReportRunner withPriority(ReportExecutionPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
     /**
      * Creates an instance of {@link ReportRunContext} based on the parameters specified for the runner.
      *
@@ -169,7 +191,8 @@ public class FluentReportRunner {
     }
 
     /**
-     * Builds a {@link ReportRunContext} instance and runs a report using this run context.
+     * Builds a {@link ReportRunContext} instance and runs a report using this run context in the calling thread.
+     * The run is not limited by {@link ReportExecutionScheduler}, use {@link #runAsync()} for that.
      *
      * @return report execution result
      */
@@ -177,6 +200,22 @@ public class FluentReportRunner {
         return reportRunner.run(buildContext());
     }
 
+    /**
+     * Builds a {@link ReportRunContext} instance and queues the report run in {@link ReportExecutionScheduler}.
+     *
+     * @return future completed by report execution result
+     */
+    public CompletableFuture<ReportOutputDocument> runAsync() {
+        return executionScheduler.submit(buildContext(), priority != null ? priority : getDefaultPriority());
+    }
+
+    private ReportExecutionPriority getDefaultPriority() {
+        return currentAuthentication.isSet()
+                && currentAuthentication.getAuthentication() instanceof SystemAuthenticationToken
+                ? ReportExecutionPriority.SCHEDULED
+                : ReportExecutionPriority.INTERACTIVE;
+    }
+
     private Optional<Report> loadReportByCode(String reportCode) {
         return dataManager.load(Report.class)
                 .query("e.code = :code")
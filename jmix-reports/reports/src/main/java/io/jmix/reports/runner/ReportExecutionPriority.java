@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner;
+
+/**
+ * Priority of a report run queued by {@link ReportExecutionScheduler}. Queued runs with a higher priority are started
+ * first.
+ */
+public enum ReportExecutionPriority {
+
+    /**
+     * Report run by a user waiting for the result.
+     */
+    INTERACTIVE,
+
+    /**
+     * Report run by a scheduled task or another background process.
+     */
+    SCHEDULED
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner;
+
+import io.jmix.reports.ReportsProperties;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs reports asynchronously limiting the number of reports running at the same time, both in total and for each
+ * report. Runs exceeding the limits are queued and started in order of their {@link ReportExecutionPriority}.
+ * <p>
+ * The limits cover only runs submitted to the scheduler. Reports run synchronously by {@link ReportRunner#run(ReportRunContext)} or
+ * {@link FluentReportRunner#run()} are executed in the calling thread and are not counted.
+ *
+ * @see ReportsProperties#getExecutionMaxConcurrency()
+ * @see ReportsProperties#getExecutionMaxConcurrencyPerReport()
+ */
+public interface ReportExecutionScheduler {
+
+    /**
+     * Queues the report run. The run is performed by {@link ReportRunner#run(ReportRunContext)} with the authentication
+     * of the calling thread.
+     * <p>
+     * Cancelling the returned future removes the run from the queue or, if the run has been started and
+     * {@code mayInterruptIfRunning} is true, interrupts it.
+     *
+     * @param context  the object that contains all information required to run the report
+     * @param priority priority of the run in the queue
+     * @return future completed by the report execution result, or exceptionally if the run has failed or
+     * the queue is full
+     */
+    CompletableFuture<ReportOutputDocument> submit(ReportRunContext context, ReportExecutionPriority priority);
+
+    /**
+     * @return number of queued report runs
+     */
+    int getQueueSize();
+
+    /**
+     * @return number of running reports
+     */
+    int getRunningCount();
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner.impl;
+
+import io.jmix.reports.ReportsProperties;
+import io.jmix.reports.entity.Report;
+import io.jmix.reports.exception.ReportingException;
+import io.jmix.reports.runner.ReportExecutionPriority;
+import io.jmix.reports.runner.ReportExecutionScheduler;
+import io.jmix.reports.runner.ReportRunContext;
+import io.jmix.reports.runner.ReportRunner;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component("report_ReportExecutionScheduler")
+public class ReportExecutionSchedulerImpl implements ReportExecutionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportExecutionSchedulerImpl.class);
+
+    protected static final String QUEUE_WAIT_TIMER = "jmix.reports.execution.queue.wait";
+    protected static final String EXECUTION_TIMER = "jmix.reports.execution";
+
+    @Autowired
+    protected ReportRunner reportRunner;
+    @Autowired
+    protected ReportsProperties reportsProperties;
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    protected final Object lock = new Object();
+
+    /**
+     * Queued runs in order of priority and submission. Guarded by {@link #lock}.
+     */
+    protected final NavigableSet<QueuedExecution> queue = new TreeSet<>(
+            Comparator.comparing((QueuedExecution execution) -> execution.priority)
+                    .thenComparingLong(execution -> execution.sequence));
+
+    /**
+     * Numbers of running executions by report. Guarded by {@link #lock}.
+     */
+    protected final Map<String, Integer> runningByReport = new HashMap<>();
+
+    protected final AtomicInteger queueSize = new AtomicInteger();
+    protected final AtomicInteger runningCount = new AtomicInteger();
+    protected final AtomicLong sequence = new AtomicLong();
+
+    protected ExecutorService executor;
+
+    @PostConstruct
+    protected void init() {
+        executor = Executors.newFixedThreadPool(reportsProperties.getExecutionMaxConcurrency(), new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(@Nonnull Runnable r) {
+                Thread thread = new Thread(r, "ReportExecution-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        meterRegistry.gauge("jmix.reports.execution.queue.size", queueSize);
+        meterRegistry.gauge("jmix.reports.execution.running", runningCount);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        List<QueuedExecution> queued;
+        synchronized (lock) {
+            queued = new ArrayList<>(queue);
+            queue.clear();
+            queueSize.set(0);
+        }
+        for (QueuedExecution execution : queued) {
+            execution.future.completeExceptionally(new ReportingException("Report execution scheduler is stopped"));
+        }
+        executor.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<ReportOutputDocument> submit(ReportRunContext context, ReportExecutionPriority priority) {
+        // the context of the calling thread can be changed or cleared before the run is started
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+
+        QueuedExecution execution = new QueuedExecution(context, priority, getReportKey(context.getReport()),
+                securityContext, sequence.incrementAndGet());
+
+        synchronized (lock) {
+            if (queue.size() >= reportsProperties.getExecutionMaxQueueSize()) {
+                execution.future.completeExceptionally(new ReportingException(String.format(
+                        "Report %s is rejected: too many reports are waiting for execution", execution.reportKey)));
+                return execution.future;
+            }
+            queue.add(execution);
+            queueSize.set(queue.size());
+            dispatch();
+        }
+        return execution.future;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    @Override
+    public int getRunningCount() {
+        return runningCount.get();
+    }
+
+    /**
+     * Starts queued executions while the limits allow. Must be called under {@link #lock}.
+     */
+    protected void dispatch() {
+        Iterator<QueuedExecution> iterator = queue.iterator();
+        while (runningCount.get() < reportsProperties.getExecutionMaxConcurrency() && iterator.hasNext()) {
+            QueuedExecution execution = iterator.next();
+            if (execution.future.isDone()) {
+                iterator.remove();
+                continue;
+            }
+            int runningForReport = runningByReport.getOrDefault(execution.reportKey, 0);
+            if (runningForReport >= reportsProperties.getExecutionMaxConcurrencyPerReport()) {
+                continue;
+            }
+
+            iterator.remove();
+            runningByReport.put(execution.reportKey, runningForReport + 1);
+            runningCount.incrementAndGet();
+            try {
+                executor.execute(() -> execute(execution));
+            } catch (RejectedExecutionException e) {
+                release(execution);
+                execution.future.completeExceptionally(new ReportingException("Report execution scheduler is stopped", e));
+            }
+        }
+        queueSize.set(queue.size());
+    }
+
+    protected void execute(QueuedExecution execution) {
+        try {
+            long waitNanos = System.nanoTime() - execution.queuedAt;
+            meterRegistry.timer(QUEUE_WAIT_TIMER, "priority", execution.priority.name())
+                    .record(waitNanos, TimeUnit.NANOSECONDS);
+
+            if (!execution.start(Thread.currentThread())) {
+                return;
+            }
+            SecurityContextHolder.setContext(execution.securityContext);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                ReportOutputDocument document = reportRunner.run(execution.context);
+                execution.future.complete(document);
+            } catch (Throwable e) {
+                execution.future.completeExceptionally(e);
+            } finally {
+                sample.stop(meterRegistry.timer(EXECUTION_TIMER, "priority", execution.priority.name()));
+                SecurityContextHolder.clearContext();
+                execution.finish();
+            }
+        } finally {
+            synchronized (lock) {
+                release(execution);
+                dispatch();
+            }
+        }
+    }
+
+    /**
+     * Must be called under {@link #lock}.
+     */
+    protected void release(QueuedExecution execution) {
+        runningCount.decrementAndGet();
+        runningByReport.computeIfPresent(execution.reportKey, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    protected void remove(QueuedExecution execution) {
+        synchronized (lock) {
+            if (queue.remove(execution)) {
+                queueSize.set(queue.size());
+                log.debug("Queued execution of report {} is cancelled", execution.reportKey);
+            }
+        }
+    }
+
+    protected String getReportKey(Report report) {
+        return report.getCode() != null ? report.getCode() : String.valueOf(report.getId());
+    }
+
+    protected class QueuedExecution {
+        protected final ReportRunContext context;
+        protected final ReportExecutionPriority priority;
+        protected final String reportKey;
+        protected final SecurityContext securityContext;
+        protected final long sequence;
+        protected final long queuedAt = System.nanoTime();
+        protected final ExecutionFuture future = new ExecutionFuture(this);
+
+        protected Thread thread;
+
+        protected QueuedExecution(ReportRunContext context, ReportExecutionPriority priority, String reportKey,
+                                  SecurityContext securityContext, long sequence) {
+            this.context = context;
+            this.priority = priority;
+            this.reportKey = reportKey;
+            this.securityContext = securityContext;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @return false if the execution has been cancelled before start
+         */
+        protected synchronized boolean start(Thread thread) {
+            if (future.isDone()) {
+                return false;
+            }
+            this.thread = thread;
+            return true;
+        }
+
+        protected synchronized void finish() {
+            thread = null;
+            // clear the interrupted status if the execution has been cancelled at the very end
+            Thread.interrupted();
+        }
+
+        protected synchronized void interrupt() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Future which cancellation removes the execution from the queue or interrupts it.
+     */
+    protected class ExecutionFuture extends CompletableFuture<ReportOutputDocument> {
+        protected final QueuedExecution execution;
+
+        protected ExecutionFuture(QueuedExecution execution) {
+            this.execution = execution;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                remove(execution);
+                if (mayInterruptIfRunning) {
+                    execution.interrupt();
+                }
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.core.Entity;
+import io.jmix.core.ExtendedEntities;
+import io.jmix.core.Metadata;
+import io.jmix.core.annotation.TenantId;
+import io.jmix.core.cluster.ClusterApplicationEvent;
+import io.jmix.core.cluster.ClusterApplicationEventPublisher;
+import io.jmix.core.common.util.ReflectionHelper;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.core.event.EntitySavingEvent;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.reports.ReportsProperties;
+import io.jmix.reports.entity.Report;
+import io.jmix.reports.entity.ReportInputParameter;
+import io.jmix.reports.entity.ReportOutputType;
+import io.jmix.reports.entity.ReportTemplate;
+import io.jmix.reports.runner.ReportRunContext;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.temporal.Temporal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps output documents of reports listed in {@link ReportsProperties#getResultCacheReports()}, so that a report
+ * run with the same template, output type and parameter values does not extract data and render the document again.
+ * <p>
+ * Cached documents of a report are removed when an entity of the report input parameters or of
+ * {@link ReportsProperties#getResultCacheEntities()} is saved, and all documents are removed when a report or
+ * a template is saved. Removal of entities is tracked only for entities publishing {@link EntityChangedEvent}, so
+ * {@link ReportsProperties#getResultCacheTtlSeconds()} should be set to the acceptable staleness of reports.
+ * Names of changed entities are sent to other instances of the cluster by {@link ClusterApplicationEventPublisher}
+ * when the transaction is completed.
+ */
+@Component("report_ReportResultCache")
+public class ReportResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportResultCache.class);
+
+    @Autowired
+    protected ReportsProperties reportsProperties;
+    @Autowired
+    protected Metadata metadata;
+    @Autowired
+    protected ExtendedEntities extendedEntities;
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+    @Autowired
+    protected ClusterApplicationEventPublisher clusterApplicationEventPublisher;
+
+    protected Cache<Key, ReportOutputDocument> documents;
+
+    /**
+     * Codes of cached reports by names of entities which changes invalidate them.
+     */
+    protected final Map<String, Set<String>> reportsByEntity = new ConcurrentHashMap<>();
+
+    /**
+     * Number of invalidations of all reports.
+     */
+    protected final AtomicLong globalInvalidationCount = new AtomicLong();
+
+    /**
+     * Numbers of invalidations by report codes.
+     */
+    protected final Map<String, AtomicLong> invalidationCounts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    protected void init() {
+        documents = CacheBuilder.newBuilder()
+                .maximumSize(reportsProperties.getResultCacheSize())
+                .expireAfterWrite(reportsProperties.getResultCacheTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the key identifying the output document of the report run.
+     *
+     * @param context prepared context of the report run
+     * @return key or null if the output document cannot be cached
+     */
+    @Nullable
+    public Key createKey(ReportRunContext context) {
+        Report report = context.getReport();
+        if (report.getCode() == null || !reportsProperties.getResultCacheReports().contains(report.getCode())) {
+            return null;
+        }
+
+        String paramsHash = hashParams(context.getParams());
+        if (paramsHash == null) {
+            return null;
+        }
+
+        for (String entityName : getInvalidatingEntities(report)) {
+            reportsByEntity.computeIfAbsent(entityName, name -> ConcurrentHashMap.newKeySet()).add(report.getCode());
+        }
+
+        ReportTemplate template = context.getReportTemplate();
+        ReportOutputType outputType = context.getOutputType() != null
+                ? context.getOutputType()
+                : template.getReportOutputType();
+        String username = null;
+        Locale locale = null;
+        String tenantId = null;
+        if (currentAuthentication.isSet()) {
+            if (!reportsProperties.isResultCacheSharedBetweenUsers()) {
+                username = currentAuthentication.getUser().getUsername();
+            }
+            locale = currentAuthentication.getLocale();
+            tenantId = getTenantId();
+        }
+
+        return new Key(report.getCode(), template.getId(), outputType != null ? outputType.getId() : null,
+                context.getOutputNamePattern(), username, locale, tenantId, paramsHash);
+    }
+
+    /**
+     * Returns the value of the field annotated with {@link TenantId} of the current user or its superclasses,
+     * so that documents are not shared between tenants.
+     */
+    @Nullable
+    protected String getTenantId() {
+        Object principal = currentAuthentication.getAuthentication().getPrincipal();
+        if (!(principal instanceof UserDetails)) {
+            return null;
+        }
+        for (Class<?> clazz = principal.getClass(); clazz != null && clazz != Object.class;
+             clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(TenantId.class)) {
+                    Object tenantId = ReflectionHelper.getFieldValue(principal, field.getName());
+                    return tenantId != null ? tenantId.toString() : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    public ReportOutputDocument get(Key key) {
+        ReportOutputDocument document = documents.getIfPresent(key);
+        if (document != null) {
+            log.debug("Output document of report {} is taken from cache", key.reportCode());
+            return copy(document);
+        }
+        return null;
+    }
+
+    /**
+     * Returns a number which changes on each invalidation of the report. It should be obtained before running
+     * the report and passed to {@link #put(Key, ReportOutputDocument, long)}.
+     *
+     * @param reportCode code of the report
+     */
+    public long getInvalidationCount(String reportCode) {
+        return globalInvalidationCount.get() + getReportInvalidationCount(reportCode).get();
+    }
+
+    /**
+     * Caches the output document unless the report has been invalidated since its run has been started, as
+     * the document may contain outdated data in this case.
+     */
+    public void put(Key key, ReportOutputDocument document, long startInvalidationCount) {
+        if (getInvalidationCount(key.reportCode()) != startInvalidationCount) {
+            return;
+        }
+        if (document.getContent() != null
+                && document.getContent().length > reportsProperties.getResultCacheMaxDocumentSize()) {
+            return;
+        }
+        documents.put(key, copy(document));
+    }
+
+    public void invalidate(String reportCode) {
+        getReportInvalidationCount(reportCode).incrementAndGet();
+        documents.asMap().keySet().removeIf(key -> key.reportCode().equals(reportCode));
+    }
+
+    public void invalidateAll() {
+        globalInvalidationCount.incrementAndGet();
+        documents.invalidateAll();
+    }
+
+    protected AtomicLong getReportInvalidationCount(String reportCode) {
+        return invalidationCounts.computeIfAbsent(reportCode, code -> new AtomicLong());
+    }
+
+    @EventListener
+    protected void onEntitySaving(EntitySavingEvent<?> event) {
+        MetaClass metaClass = metadata.getClass(event.getEntity());
+        onEntityChanged(metaClass);
+    }
+
+    @EventListener
+    protected void onEntityChanged(EntityChangedEvent<?> event) {
+        MetaClass metaClass = metadata.getClass(event.getEntityId().getEntityClass());
+        onEntityChanged(metaClass);
+    }
+
+    @EventListener
+    protected void onInvalidationEvent(InvalidationEvent event) {
+        if (event.getEntityNames() == null) {
+            invalidateAll();
+        } else {
+            invalidateByEntities(event.getEntityNames());
+        }
+    }
+
+    protected void onEntityChanged(MetaClass metaClass) {
+        if (reportsProperties.getResultCacheReports().isEmpty()) {
+            return;
+        }
+
+        MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
+        if (Report.class.equals(originalMetaClass.getJavaClass())
+                || ReportTemplate.class.equals(originalMetaClass.getJavaClass())) {
+            invalidateAll();
+            invalidateAfterTransaction(null);
+            return;
+        }
+
+        Set<String> entityNames = new HashSet<>();
+        entityNames.add(metaClass.getName());
+        entityNames.add(originalMetaClass.getName());
+
+        invalidateByEntities(entityNames);
+        invalidateAfterTransaction(entityNames);
+    }
+
+    protected void invalidateByEntities(Collection<String> entityNames) {
+        Set<String> reportCodes = new HashSet<>();
+        for (String entityName : entityNames) {
+            reportCodes.addAll(reportsByEntity.getOrDefault(entityName, Collections.emptySet()));
+        }
+        reportCodes.forEach(this::invalidate);
+    }
+
+    /**
+     * Invalidates reports again when the transaction is completed, as a report run concurrently with the
+     * transaction could cache the document with data which was not committed yet, and sends the invalidation to
+     * other instances of the cluster. Other instances can cache reports depending on the changed entities even if
+     * this instance has not run them, so the names of all changed entities are sent once per transaction.
+     *
+     * @param entityNames names of changed entities, or null to invalidate all reports
+     */
+    protected void invalidateAfterTransaction(@Nullable Set<String> entityNames) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishInvalidation(entityNames);
+            return;
+        }
+        PendingInvalidation pending = (PendingInvalidation) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingInvalidation newPending = new PendingInvalidation();
+            TransactionSynchronizationManager.bindResource(this, newPending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportResultCache.this);
+                    if (newPending.all) {
+                        invalidateAll();
+                        publishInvalidation(null);
+                    } else {
+                        invalidateByEntities(newPending.entityNames);
+                        publishInvalidation(newPending.entityNames);
+                    }
+                }
+            });
+            pending = newPending;
+        }
+        if (entityNames == null) {
+            pending.all = true;
+        } else {
+            pending.entityNames.addAll(entityNames);
+        }
+    }
+
+    protected void publishInvalidation(@Nullable Set<String> entityNames) {
+        // the event is also received by this instance
+        clusterApplicationEventPublisher.publish(new InvalidationEvent(this, entityNames));
+    }
+
+    protected Set<String> getInvalidatingEntities(Report report) {
+        Set<String> entityNames = new HashSet<>(
+                reportsProperties.getResultCacheEntities().getOrDefault(report.getCode(), Collections.emptyList()));
+        if (report.getInputParameters() != null) {
+            for (ReportInputParameter parameter : report.getInputParameters()) {
+                if (parameter.getEntityMetaClass() != null) {
+                    entityNames.add(parameter.getEntityMetaClass());
+                }
+            }
+        }
+        return entityNames;
+    }
+
+    /**
+     * Returns a hash of parameter values or null if a value cannot be represented in a stable form, e.g. a parameter
+     * prototype or an object of an unknown type.
+     */
+    @Nullable
+    protected String hashParams(Map<String, Object> params) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Object> entry : new TreeMap<>(params).entrySet()) {
+            sb.append(entry.getKey()).append('=');
+            if (!appendValue(sb, entry.getValue())) {
+                return null;
+            }
+            sb.append(';');
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected boolean appendValue(StringBuilder sb, @Nullable Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Entity) {
+            Object id = EntityValues.getId(value);
+            if (id == null) {
+                return false;
+            }
+            sb.append(metadata.getClass(value).getName()).append('-').append(id);
+        } else if (value instanceof Collection<?> collection) {
+            sb.append('[');
+            for (Object element : collection) {
+                if (!appendValue(sb, element)) {
+                    return false;
+                }
+                sb.append(',');
+            }
+            sb.append(']');
+        } else if (value instanceof Date date) {
+            sb.append("date:").append(date.getTime());
+        } else if (value instanceof Enum<?> enumValue) {
+            sb.append(enumValue.getDeclaringClass().getName()).append('.').append(enumValue.name());
+        } else if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof UUID || value instanceof Temporal) {
+            sb.append(value.getClass().getSimpleName()).append(':').append(value);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    protected ReportOutputDocument copy(ReportOutputDocument document) {
+        byte[] content = document.getContent();
+        return new ReportOutputDocumentImpl(document.getReport(), content != null ? content.clone() : null,
+                document.getDocumentName(), document.getReportOutputType());
+    }
+
+    protected static class PendingInvalidation {
+        protected final Set<String> entityNames = new HashSet<>();
+        protected boolean all;
+    }
+
+    /**
+     * Invalidates cached documents on all instances of the cluster.
+     */
+    public static class InvalidationEvent extends ClusterApplicationEvent {
+
+        protected final Set<String> entityNames;
+
+        /**
+         * @param entityNames names of changed entities, or null to invalidate all reports
+         */
+        public InvalidationEvent(Object source, @Nullable Set<String> entityNames) {
+            super(source);
+            this.entityNames = entityNames != null ? new HashSet<>(entityNames) : null;
+        }
+
+        @Nullable
+        public Set<String> getEntityNames() {
+            return entityNames;
+        }
+
+        @Override
+        public String toString() {
+            return "InvalidationEvent{" +
+                    "entityNames=" + entityNames +
+                    '}';
+        }
+    }
+
+    /**
+     * Identifies an output document of a report run.
+     */
+    public record Key(String reportCode, UUID templateId, @Nullable Integer outputType,
+                      @Nullable String outputNamePattern, @Nullable String username, @Nullable Locale locale,
+                      @Nullable String tenantId, String paramsHash) {
+    }
+}
@@ -74,10 +74,35 @@ public class ReportRunnerImpl implements ReportRunner {
     protected ReportsUtils reportsUtils;
     @Autowired
     protected ApplicationContext applicationContext;
+    @Autowired
+    protected ReportResultCache reportResultCache;
 
     @Override
     public ReportOutputDocument run(ReportRunContext context) {
         prepareContext(context);
+
+        ReportResultCache.Key cacheKey = reportResultCache.createKey(context);
+        if (cacheKey == null) {
+            return runWithHistory(context);
+        }
+
+        ReportOutputDocument cachedDocument = reportResultCache.get(cacheKey);
+        if (cachedDocument != null) {
+            if (reportsProperties.isHistoryRecordingEnabled()) {
+                ReportExecution reportExecution =
+                        executionHistoryRecorder.startExecution(context.getReport(), context.getParams());
+                executionHistoryRecorder.markAsCacheHit(reportExecution, cachedDocument);
+            }
+            return cachedDocument;
+        }
+
+        long invalidationCount = reportResultCache.getInvalidationCount(cacheKey.reportCode());
+        ReportOutputDocument document = runWithHistory(context);
+        reportResultCache.put(cacheKey, document, invalidationCount);
+        return document;
+    }
+
+    protected ReportOutputDocument runWithHistory(ReportRunContext context) {
         if (!reportsProperties.isHistoryRecordingEnabled()) {
             return createReportDocumentInternal(context);
         }
@@ -50,6 +50,8 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
 
     protected boolean formulasPostProcessingEvaluationEnabled;
 
+    protected TemplatePartStoreCache templatePartStoreCache;
+
     public DefaultFormatterFactory() {
         htmlImportProcessor = new HtmlImportProcessorImpl();
         htmlToPdfConverterFactory = new HtmlToPdfConverterFactory();
@@ -88,6 +90,7 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
             docxFormatter.setDocumentConverter(documentConverter);
             docxFormatter.setHtmlImportProcessor(htmlImportProcessor);
             docxFormatter.setScripting(scripting);
+            docxFormatter.setTemplatePartStoreCache(templatePartStoreCache);
             return docxFormatter;
         });
         FormatterCreator xlsxCreator = factoryInput -> {
@@ -96,6 +99,7 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
             xlsxFormatter.setDocumentConverter(documentConverter);
             xlsxFormatter.setScripting(scripting);
             xlsxFormatter.setFormulasPostProcessingEvaluationEnabled(formulasPostProcessingEvaluationEnabled);
+            xlsxFormatter.setTemplatePartStoreCache(templatePartStoreCache);
             return xlsxFormatter;
         };
         formattersMap.put("xlsx", xlsxCreator);
@@ -160,6 +164,17 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
     }
 
+    public TemplatePartStoreCache getTemplatePartStoreCache() {
+        return templatePartStoreCache;
+    }
+
+    /**
+     * Sets the cache of unzipped docx and xlsx templates. Templates are not cached if the cache is not set.
+     */
+    public void setTemplatePartStoreCache(TemplatePartStoreCache templatePartStoreCache) {
+        this.templatePartStoreCache = templatePartStoreCache;
+    }
+
     public ReportFormatter createFormatter(FormatterFactoryInput factoryInput) {
         String templateExtension = factoryInput.templateExtension;
         BandData rootBand = factoryInput.rootBand;
@@ -63,6 +63,7 @@ public class DocxFormatter extends AbstractFormatter {
     protected DocumentWrapper documentWrapper;
     protected DocumentConverter documentConverter;
     protected HtmlImportProcessor htmlImportProcessor;
+    protected TemplatePartStoreCache templatePartStoreCache;
 
     public DocxFormatter(FormatterFactoryInput formatterFactoryInput) {
         super(formatterFactoryInput);
@@ -78,6 +79,10 @@ public class DocxFormatter extends AbstractFormatter {
         this.htmlImportProcessor = htmlImportProcessor;
     }
 
+    public void setTemplatePartStoreCache(TemplatePartStoreCache templatePartStoreCache) {
+        this.templatePartStoreCache = templatePartStoreCache;
+    }
+
     @Override
     public void renderDocument() {
         loadDocument();
@@ -126,7 +131,9 @@ public class DocxFormatter extends AbstractFormatter {
         if (reportTemplate == null)
             throw new NullPointerException("Template file can't be null.");
         try {
-            wordprocessingMLPackage = WordprocessingMLPackage.load(reportTemplate.getDocumentContent());
+            wordprocessingMLPackage = templatePartStoreCache != null
+                    ? templatePartStoreCache.createPackage(reportTemplate, WordprocessingMLPackage.class)
+                    : WordprocessingMLPackage.load(reportTemplate.getDocumentContent());
             documentWrapper = new DocumentWrapper(new DocxFormatterDelegate(this), wordprocessingMLPackage);
         } catch (Docx4JException e) {
             throw wrapWithReportingException(String.format("An error occurred while reading docx template. File name [%s]", reportTemplate.getDocumentName()), e);
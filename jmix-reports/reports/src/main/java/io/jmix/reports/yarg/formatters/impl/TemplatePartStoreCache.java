@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 Haulmont
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.jmix.reports.yarg.formatters.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.jmix.reports.yarg.structure.ReportTemplate;
+import org.docx4j.openpackaging.exceptions.Docx4JException;
+import org.docx4j.openpackaging.io3.Load3;
+import org.docx4j.openpackaging.io3.stores.ZipPartStore;
+import org.docx4j.openpackaging.packages.OpcPackage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps unzipped parts of office templates, so that formatters do not unzip the same template on each report run.
+ * <p>
+ * Only the bytes of the parts are cached, parsed packages are not. Each call of
+ * {@link #createPackage(ReportTemplate, Class)} builds a new package which unmarshals its XML parts from the cached
+ * bytes, so changes made by a formatter are not visible to other runs. Binary parts which are not changed,
+ * e.g. images, are shared by all packages and are written to the result document directly from the cache.
+ * <p>
+ * Templates are identified by the hash of their content, so a changed template is never taken from the cache.
+ */
+public class TemplatePartStoreCache {
+
+    protected final Cache<String, ZipPartStore> partStores;
+
+    public TemplatePartStoreCache(int maximumSize, long expirationSeconds) {
+        partStores = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expirationSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Creates a new package from the cached parts of the template, unzipping the template if it is not cached yet.
+     *
+     * @param reportTemplate template
+     * @param packageClass   expected type of the package, e.g. {@code WordprocessingMLPackage}
+     * @return new package owned by the caller
+     */
+    public <T extends OpcPackage> T createPackage(ReportTemplate reportTemplate, Class<T> packageClass)
+            throws Docx4JException {
+        byte[] content;
+        try (InputStream is = reportTemplate.getDocumentContent()) {
+            content = is.readAllBytes();
+        } catch (IOException e) {
+            throw new Docx4JException("Unable to read template " + reportTemplate.getDocumentName(), e);
+        }
+
+        ZipPartStore partStore;
+        try {
+            partStore = partStores.get(getKey(content), () -> new ZipPartStore(new ByteArrayInputStream(content)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof Docx4JException) {
+                throw (Docx4JException) e.getCause();
+            }
+            throw new Docx4JException("Unable to unzip template " + reportTemplate.getDocumentName(), e.getCause());
+        }
+
+        OpcPackage opcPackage = new Load3(partStore).get();
+        if (!packageClass.isInstance(opcPackage)) {
+            throw new Docx4JException(String.format("Template %s is not a %s",
+                    reportTemplate.getDocumentName(), packageClass.getSimpleName()));
+        }
+        return packageClass.cast(opcPackage);
+    }
+
+    public void invalidateAll() {
+        partStores.invalidateAll();
+    }
+
+    protected String getKey(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -113,6 +113,8 @@ public class XlsxFormatter extends AbstractFormatter {
 
     protected boolean formulasPostProcessingEvaluationEnabled = false;
 
+    protected TemplatePartStoreCache templatePartStoreCache;
+
     protected Unmarshaller unmarshaller;
     protected Marshaller marshaller;
 
@@ -129,6 +131,10 @@ public class XlsxFormatter extends AbstractFormatter {
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
     }
 
+    public void setTemplatePartStoreCache(TemplatePartStoreCache templatePartStoreCache) {
+        this.templatePartStoreCache = templatePartStoreCache;
+    }
+
     @Override
     public void renderDocument() {
         init();
@@ -298,7 +304,9 @@ public class XlsxFormatter extends AbstractFormatter {
 
     protected void init() {
         try {
-            template = Document.create(SpreadsheetMLPackage.load(reportTemplate.getDocumentContent()));
+            template = Document.create(templatePartStoreCache != null
+                    ? templatePartStoreCache.createPackage(reportTemplate, SpreadsheetMLPackage.class)
+                    : SpreadsheetMLPackage.load(reportTemplate.getDocumentContent()));
             byte[] templateData = extractTemplateImages(reportTemplate);
             try (InputStream is = new ByteArrayInputStream(templateData)) {
                 result = Document.create(SpreadsheetMLPackage.load(is));
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package report_execution_scheduler
+
+import io.jmix.reports.ReportsProperties
+import io.jmix.reports.entity.Report
+import io.jmix.reports.exception.ReportingException
+import io.jmix.reports.runner.ReportExecutionPriority
+import io.jmix.reports.runner.ReportRunContext
+import io.jmix.reports.runner.ReportRunner
+import io.jmix.reports.runner.impl.ReportExecutionSchedulerImpl
+import io.jmix.reports.yarg.reporting.ReportOutputDocument
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import org.springframework.security.authentication.TestingAuthenticationToken
+import org.springframework.security.core.Authentication
+import org.springframework.security.core.context.SecurityContextHolder
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.*
+
+class ReportExecutionSchedulerTest extends Specification {
+
+    ReportExecutionSchedulerImpl scheduler
+
+    Map<String, CountDownLatch> latches = new ConcurrentHashMap<>()
+    List<String> started = new CopyOnWriteArrayList<>()
+    List<String> interrupted = new CopyOnWriteArrayList<>()
+    Map<String, Authentication> authentications = new ConcurrentHashMap<>()
+
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void cleanup() {
+        SecurityContextHolder.clearContext()
+        latches.values().each { it.countDown() }
+        scheduler?.shutdown()
+    }
+
+    def "queued runs are started in order of priority and submission"() {
+        createScheduler(1, 10, 10)
+        latches['blocker'] = new CountDownLatch(1)
+
+        when:
+        def futures = [
+                submit('blocker', ReportExecutionPriority.INTERACTIVE),
+                submit('scheduled1', ReportExecutionPriority.SCHEDULED),
+                submit('interactive1', ReportExecutionPriority.INTERACTIVE),
+                submit('scheduled2', ReportExecutionPriority.SCHEDULED),
+                submit('interactive2', ReportExecutionPriority.INTERACTIVE)
+        ]
+        latches['blocker'].countDown()
+        futures.each { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        started == ['blocker', 'interactive1', 'interactive2', 'scheduled1', 'scheduled2']
+    }
+
+    def "runs of a report over the per-report limit do not block other reports"() {
+        createScheduler(3, 1, 10)
+        latches['report1'] = new CountDownLatch(1)
+        latches['report2'] = new CountDownLatch(1)
+
+        when:
+        def first = submit('report1')
+        def second = submit('report1')
+        def other = submit('report2')
+
+        then:
+        conditions.eventually {
+            assert started.toSorted() == ['report1', 'report2']
+        }
+        scheduler.runningCount == 2
+        scheduler.queueSize == 1
+
+        when:
+        latches['report1'].countDown()
+        latches['report2'].countDown()
+        [first, second, other].each { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        started.count { it == 'report1' } == 2
+        scheduler.queueSize == 0
+    }
+
+    def "runs over the global limit are queued"() {
+        createScheduler(2, 10, 10)
+        latches['report1'] = new CountDownLatch(1)
+
+        when:
+        def futures = (1..3).collect { submit('report1') }
+
+        then:
+        conditions.eventually {
+            assert started.size() == 2
+        }
+        scheduler.runningCount == 2
+        scheduler.queueSize == 1
+
+        when:
+        latches['report1'].countDown()
+        def documents = futures.collect { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        documents.every { new String(it.content) == 'report1' }
+        started.size() == 3
+        conditions.eventually {
+            assert scheduler.runningCount == 0
+        }
+    }
+
+    def "run is rejected when the queue is full"() {
+        createScheduler(1, 1, 1)
+        latches['report1'] = new CountDownLatch(1)
+
+        when:
+        submit('report1')
+        submit('report1')
+        def rejected = submit('report1')
+        rejected.get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof ReportingException
+        scheduler.queueSize == 1
+    }
+
+    def "cancelled queued run is removed from the queue"() {
+        createScheduler(1, 1, 10)
+        latches['report1'] = new CountDownLatch(1)
+        def running = submit('report1')
+        def queued = submit('report2')
+
+        when:
+        queued.cancel(false)
+
+        then:
+        queued.cancelled
+        scheduler.queueSize == 0
+
+        when:
+        latches['report1'].countDown()
+        running.get(5, TimeUnit.SECONDS)
+
+        then:
+        conditions.eventually {
+            assert scheduler.runningCount == 0
+        }
+        started == ['report1']
+    }
+
+    def "cancelled running run is interrupted and releases its slot"() {
+        createScheduler(1, 1, 10)
+        latches['report1'] = new CountDownLatch(1)
+        def running = submit('report1')
+        conditions.eventually {
+            assert started == ['report1']
+        }
+
+        when:
+        running.cancel(true)
+
+        then:
+        conditions.eventually {
+            assert interrupted == ['report1']
+            assert scheduler.runningCount == 0
+        }
+
+        when:
+        def next = submit('report2')
+
+        then:
+        new String(next.get(5, TimeUnit.SECONDS).content) == 'report2'
+    }
+
+    def "queued run is performed with the authentication of the submitting thread"() {
+        createScheduler(1, 1, 10)
+        latches['report1'] = new CountDownLatch(1)
+        def authentication = new TestingAuthenticationToken('user', null)
+        submit('report1')
+
+        when: "the security context of the submitting thread is changed while the run is queued"
+        SecurityContextHolder.getContext().setAuthentication(authentication)
+        def queued = submit('report2')
+        SecurityContextHolder.getContext().setAuthentication(null)
+        latches['report1'].countDown()
+        queued.get(5, TimeUnit.SECONDS)
+
+        then:
+        authentications['report2'].is(authentication)
+    }
+
+    private void createScheduler(int maxConcurrency, int maxConcurrencyPerReport, int maxQueueSize) {
+        def properties = new Binder(new MapConfigurationPropertySource([
+                'jmix.reports.execution-max-concurrency'           : String.valueOf(maxConcurrency),
+                'jmix.reports.execution-max-concurrency-per-report': String.valueOf(maxConcurrencyPerReport),
+                'jmix.reports.execution-max-queue-size'            : String.valueOf(maxQueueSize)
+        ])).bindOrCreate('jmix.reports', ReportsProperties)
+
+        def reportRunner = Stub(ReportRunner) {
+            run(_ as ReportRunContext) >> { ReportRunContext context -> runReport(context) }
+        }
+
+        scheduler = new ReportExecutionSchedulerImpl(reportRunner: reportRunner, reportsProperties: properties,
+                meterRegistry: new SimpleMeterRegistry())
+        scheduler.init()
+    }
+
+    private ReportOutputDocument runReport(ReportRunContext context) {
+        String code = context.report.code
+        started << code
+        def authentication = SecurityContextHolder.getContext().getAuthentication()
+        if (authentication != null) {
+            authentications[code] = authentication
+        }
+        try {
+            latches[code]?.await()
+        } catch (InterruptedException e) {
+            interrupted << code
+            throw e
+        }
+        return new ReportOutputDocumentImpl(null, code.bytes, code, null)
+    }
+
+    private CompletableFuture<ReportOutputDocument> submit(String reportCode,
+                                                           ReportExecutionPriority priority = ReportExecutionPriority.INTERACTIVE) {
+        return scheduler.submit(new ReportRunContext(new Report(code: reportCode)), priority)
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package report_result_cache
+
+import io.jmix.core.ExtendedEntities
+import io.jmix.core.Metadata
+import io.jmix.core.annotation.TenantId
+import io.jmix.core.cluster.ClusterApplicationEventPublisher
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.core.security.CurrentAuthentication
+import io.jmix.reports.ReportsProperties
+import io.jmix.reports.entity.Report
+import io.jmix.reports.entity.ReportOutputType
+import io.jmix.reports.entity.ReportTemplate
+import io.jmix.reports.runner.ReportRunContext
+import io.jmix.reports.runner.impl.ReportResultCache
+import io.jmix.reports.yarg.reporting.ReportOutputDocument
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.userdetails.User
+import org.springframework.security.core.userdetails.UserDetails
+import spock.lang.Specification
+
+class ReportResultCacheTest extends Specification {
+
+    UserDetails currentUser
+    Locale currentLocale = Locale.ENGLISH
+    ClusterApplicationEventPublisher clusterApplicationEventPublisher = Mock()
+
+    ReportTemplate template = new ReportTemplate(id: UUID.randomUUID(), reportOutputType: ReportOutputType.XLSX)
+
+    def "cached document is returned as a copy"() {
+        def cache = createCache(false)
+        currentUser = new User('user1', '', [])
+        def key = cache.createKey(createContext('report1', 'value'))
+        def count = cache.getInvalidationCount('report1')
+
+        when:
+        cache.put(key, createDocument('content'), count)
+        def cached = cache.get(key)
+
+        then:
+        new String(cached.content) == 'content'
+
+        when:
+        cached.content[0] = 0 as byte
+
+        then:
+        new String(cache.get(key).content) == 'content'
+        cache.get(cache.createKey(createContext('report1', 'other value'))) == null
+    }
+
+    def "invalidation of a report does not prevent caching of other reports"() {
+        def cache = createCache(false)
+        currentUser = new User('user1', '', [])
+        def key1 = cache.createKey(createContext('report1', 'value'))
+        def key2 = cache.createKey(createContext('report2', 'value'))
+        def count1 = cache.getInvalidationCount('report1')
+        def count2 = cache.getInvalidationCount('report2')
+
+        when: "report1 is invalidated while both reports are running"
+        cache.invalidate('report1')
+        cache.put(key1, createDocument('content1'), count1)
+        cache.put(key2, createDocument('content2'), count2)
+
+        then:
+        cache.get(key1) == null
+        new String(cache.get(key2).content) == 'content2'
+    }
+
+    def "invalidation of all reports prevents caching of documents of running reports"() {
+        def cache = createCache(false)
+        currentUser = new User('user1', '', [])
+        def key1 = cache.createKey(createContext('report1', 'value'))
+        def key2 = cache.createKey(createContext('report2', 'value'))
+        def count1 = cache.getInvalidationCount('report1')
+        def count2 = cache.getInvalidationCount('report2')
+
+        when:
+        cache.invalidateAll()
+        cache.put(key1, createDocument('content1'), count1)
+        cache.put(key2, createDocument('content2'), count2)
+
+        then:
+        cache.get(key1) == null
+        cache.get(key2) == null
+    }
+
+    def "documents are not shared between users by default"() {
+        def cache = createCache(false)
+
+        when:
+        currentUser = new User('user1', '', [])
+        def key1 = cache.createKey(createContext('report1', 'value'))
+        currentUser = new User('user2', '', [])
+        def key2 = cache.createKey(createContext('report1', 'value'))
+
+        then:
+        key1 != key2
+    }
+
+    def "shared documents are separated by locale and tenant"() {
+        def cache = createCache(true)
+
+        when:
+        currentUser = new TenantUser('user1', 'tenant1')
+        def key = cache.createKey(createContext('report1', 'value'))
+        currentUser = new TenantUser('user2', 'tenant1')
+        def otherUserKey = cache.createKey(createContext('report1', 'value'))
+        currentUser = new TenantUser('user3', 'tenant2')
+        def otherTenantKey = cache.createKey(createContext('report1', 'value'))
+        currentUser = new TenantUser('user2', 'tenant1')
+        currentLocale = Locale.GERMAN
+        def otherLocaleKey = cache.createKey(createContext('report1', 'value'))
+
+        then:
+        key == otherUserKey
+        key.tenantId() == 'tenant1'
+        key != otherTenantKey
+        key != otherLocaleKey
+    }
+
+    def "tenant is taken from a superclass of the user"() {
+        def cache = createCache(true)
+
+        when:
+        currentUser = new ExtendedTenantUser('user1', 'tenant1')
+        def key = cache.createKey(createContext('report1', 'value'))
+
+        then:
+        key.tenantId() == 'tenant1'
+    }
+
+    def "changed entities are sent to the cluster and invalidate reports depending on them"() {
+        def cache = createCache(false)
+        currentUser = new User('user1', '', [])
+        def key = cache.createKey(createContext('report1', 'value'))
+        cache.put(key, createDocument('content'), cache.getInvalidationCount('report1'))
+        def metaClass = Stub(MetaClass) {
+            getName() >> 'test_Customer'
+            getJavaClass() >> Object
+        }
+        cache.extendedEntities = Stub(ExtendedEntities) {
+            getOriginalOrThisMetaClass(_) >> metaClass
+        }
+
+        when:
+        cache.onEntityChanged(metaClass)
+
+        then:
+        1 * clusterApplicationEventPublisher.publish({ it.entityNames == ['test_Customer'] as Set })
+        cache.get(key) == null
+
+        when: "the event is received from another instance"
+        cache.put(key, createDocument('content'), cache.getInvalidationCount('report1'))
+        cache.onInvalidationEvent(new ReportResultCache.InvalidationEvent(this, ['test_Customer'] as Set))
+
+        then:
+        cache.get(key) == null
+    }
+
+    private ReportResultCache createCache(boolean shared) {
+        def properties = new Binder(new MapConfigurationPropertySource([
+                'jmix.reports.result-cache-reports'             : 'report1,report2',
+                'jmix.reports.result-cache-shared-between-users': String.valueOf(shared),
+                'jmix.reports.result-cache-entities.report1'    : 'test_Customer'
+        ])).bindOrCreate('jmix.reports', ReportsProperties)
+
+        def currentAuthentication = Stub(CurrentAuthentication) {
+            isSet() >> true
+            getUser() >> { currentUser }
+            getLocale() >> { currentLocale }
+            getAuthentication() >> { new UsernamePasswordAuthenticationToken(currentUser, '') }
+        }
+
+        def cache = new ReportResultCache(reportsProperties: properties, metadata: Stub(Metadata),
+                extendedEntities: Stub(ExtendedEntities), currentAuthentication: currentAuthentication,
+                clusterApplicationEventPublisher: clusterApplicationEventPublisher)
+        cache.init()
+        return cache
+    }
+
+    private ReportRunContext createContext(String reportCode, String paramValue) {
+        def report = new Report(code: reportCode, inputParameters: [])
+        return new ReportRunContext(report)
+                .setReportTemplate(template)
+                .setParams([param: paramValue])
+    }
+
+    private static ReportOutputDocument createDocument(String content) {
+        return new ReportOutputDocumentImpl(null, content.bytes, 'document.xlsx', null)
+    }
+
+    static class TenantUser extends User {
+
+        @TenantId
+        String tenant
+
+        TenantUser(String username, String tenant) {
+            super(username, '', [])
+            this.tenant = tenant
+        }
+    }
+
+    static class ExtendedTenantUser extends TenantUser {
+
+        ExtendedTenantUser(String username, String tenant) {
+            super(username, tenant)
+        }
+    }
+}
@@ -18,11 +18,14 @@ package xlsx
 
 import io.jmix.reports.entity.ReportTemplate
 import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput
+import io.jmix.reports.yarg.formatters.impl.TemplatePartStoreCache
 import io.jmix.reports.yarg.formatters.impl.XlsxFormatter
 import io.jmix.reports.yarg.structure.BandData
 import io.jmix.reports.yarg.structure.ReportOutputType
 import org.apache.poi.xssf.usermodel.XSSFShape
 import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import org.docx4j.openpackaging.packages.SpreadsheetMLPackage
+import org.xlsx4j.sml.Row
 import spock.lang.Specification
 
 import java.nio.file.Files
@@ -74,6 +77,91 @@ class XlsxFormatterTest extends Specification {
             cnt == 12
     }
 
+    def "renderDocument twice from cached template"() {
+        given:
+            def cache = new TemplatePartStoreCache(10, 60)
+            def template = new ReportTemplate()
+            template.setContent(readFile("template.xlsx"))
+            def uncached = render(template, null, 4)
+
+        when: "Each run adds rows to its own package built from the cached parts"
+            def first = render(template, cache, 2)
+            def partStore = cache.partStores.asMap().values().first()
+            def second = render(template, cache, 4)
+
+        then: "The template is unzipped once"
+            cache.partStores.size() == 1
+            cache.partStores.asMap().values().first().is(partStore)
+
+        and: "The second run does not see rows of the first one"
+            first.getSheetAt(0).getLastRowNum() < second.getSheetAt(0).getLastRowNum()
+            second.getSheetAt(0).getLastRowNum() == uncached.getSheetAt(0).getLastRowNum()
+            countShapes(second) == countShapes(uncached)
+    }
+
+    def "packages created from cached template are independent"() {
+        given:
+            def cache = new TemplatePartStoreCache(10, 60)
+            def template = new ReportTemplate()
+            template.setContent(readFile("template.xlsx"))
+
+        when: "A row is added to the first package"
+            def first = cache.createPackage(template, SpreadsheetMLPackage)
+            def second = cache.createPackage(template, SpreadsheetMLPackage)
+            def rowsCount = sheetRows(second).size()
+            sheetRows(first).add(new Row())
+
+        then:
+            !first.is(second)
+            sheetRows(first).size() == rowsCount + 1
+            sheetRows(second).size() == rowsCount
+            sheetRows(cache.createPackage(template, SpreadsheetMLPackage)).size() == rowsCount
+    }
+
+    def "changed template is unzipped again"() {
+        given:
+            def cache = new TemplatePartStoreCache(10, 60)
+            def template = new ReportTemplate()
+            template.setContent(readFile("template.xlsx"))
+
+        when: "The template is replaced by a document rendered from it"
+            cache.createPackage(template, SpreadsheetMLPackage)
+            def os = new ByteArrayOutputStream()
+            render(template, null, 2).write(os)
+            template.setContent(os.toByteArray())
+            cache.createPackage(template, SpreadsheetMLPackage)
+
+        then:
+            cache.partStores.size() == 2
+    }
+
+    protected static List<Row> sheetRows(SpreadsheetMLPackage spreadsheetPackage) {
+        return spreadsheetPackage.workbookPart.getWorksheet(0).contents.sheetData.row
+    }
+
+    protected static int countShapes(XSSFWorkbook workbook) {
+        def cnt = 0
+        for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+            cnt += workbook.getSheetAt(i).createDrawingPatriarch().getShapes().size()
+        }
+        return cnt
+    }
+
+    protected XSSFWorkbook render(ReportTemplate template, TemplatePartStoreCache cache, int usersCount) {
+        def os = new ByteArrayOutputStream()
+        def rootBand = new BandData("Root")
+        rootBand.setFirstLevelBandDefinitionNames(["Root", "Users", "Users2"].toSet())
+        for (int i = 1; i <= usersCount; i++) {
+            def userBand = new BandData("Users", rootBand)
+            userBand.setData([id: "$i".toString(), email: "mail${i}@example.com".toString()])
+            rootBand.addChild(userBand)
+        }
+        def formatter = new XlsxFormatter(new FormatterFactoryInput("xlsx", rootBand, template, ReportOutputType.xlsx, os))
+        formatter.setTemplatePartStoreCache(cache)
+        formatter.renderDocument()
+        return new XSSFWorkbook(new ByteArrayInputStream(os.toByteArray()))
+    }
+
     protected byte[] readFile(String fileName) throws IOException, URISyntaxException {
         URL resource = XlsxFormatterTest.class
                 .getResource("/xlsx/" + fileName)
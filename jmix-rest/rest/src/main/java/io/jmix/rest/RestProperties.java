@@ -44,17 +44,25 @@ public class RestProperties {
      */
     protected Set<String> inlineEnabledFileExtensions;
 
+    /**
+     * Whether weak ETags are returned for entities loaded by GET requests, so that clients can make conditional
+     * requests with the 'If-None-Match' header and receive '304 Not Modified' if entities have not changed.
+     */
+    private final boolean etagsEnabled;
+
     public RestProperties(
             @DefaultValue("false") boolean optimisticLockingEnabled,
             @DefaultValue("true") boolean responseFetchPlanEnabled,
             @DefaultValue("10000") int defaultMaxFetchSize,
             @DefaultValue({"jpg", "png", "jpeg", "pdf"}) Set<String> inlineEnabledFileExtensions,
-            @Nullable Map<String, Integer> entityMaxFetchSize) {
+            @Nullable Map<String, Integer> entityMaxFetchSize,
+            @DefaultValue("true") boolean etagsEnabled) {
         this.optimisticLockingEnabled = optimisticLockingEnabled;
         this.responseFetchPlanEnabled = responseFetchPlanEnabled;
         this.defaultMaxFetchSize = defaultMaxFetchSize;
         this.entityMaxFetchSize = entityMaxFetchSize == null ? Collections.emptyMap() : entityMaxFetchSize;
         this.inlineEnabledFileExtensions = inlineEnabledFileExtensions;
+        this.etagsEnabled = etagsEnabled;
     }
 
     /**
@@ -78,6 +86,13 @@ public class RestProperties {
         return inlineEnabledFileExtensions;
     }
 
+    /**
+     * @see #etagsEnabled
+     */
+    public boolean isEtagsEnabled() {
+        return etagsEnabled;
+    }
+
     public int getEntityMaxFetchSize(String entityName) {
         return entityMaxFetchSize.getOrDefault(entityName, defaultMaxFetchSize);
     }
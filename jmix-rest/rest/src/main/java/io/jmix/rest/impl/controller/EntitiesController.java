@@ -31,6 +31,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controller that performs CRUD entity operations
@@ -48,9 +49,10 @@ public class EntitiesController {
                              @RequestParam(required = false) String fetchPlan,
                              @RequestParam(required = false) Boolean returnNulls,
                              @RequestParam(required = false) Boolean dynamicAttributes,
-                             @RequestParam(required = false) String modelVersion) {
+                             @RequestParam(required = false) String modelVersion,
+                             WebRequest webRequest) {
         return entitiesControllerManager.loadEntity(entityName, entityId, fetchPlan,
-                returnNulls, dynamicAttributes, modelVersion);
+                returnNulls, dynamicAttributes, modelVersion, webRequest);
     }
 
     @GetMapping("/{entityName}")
@@ -62,9 +64,14 @@ public class EntitiesController {
                                                    @RequestParam(required = false) Boolean returnNulls,
                                                    @RequestParam(required = false) Boolean returnCount,
                                                    @RequestParam(required = false) Boolean dynamicAttributes,
-                                                   @RequestParam(required = false) String modelVersion) {
+                                                   @RequestParam(required = false) String modelVersion,
+                                                   WebRequest webRequest) {
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.loadEntitiesList(entityName, fetchPlan,
-                limit, offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
+                limit, offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion, webRequest);
+        if (entitiesSearchResult == null) {
+            // not modified, the response is already prepared
+            return null;
+        }
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
         if (BooleanUtils.isTrue(returnCount)) {
             responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
@@ -82,9 +89,14 @@ public class EntitiesController {
                                                         @RequestParam(required = false) Boolean returnNulls,
                                                         @RequestParam(required = false) Boolean returnCount,
                                                         @RequestParam(required = false) Boolean dynamicAttributes,
-                                                        @RequestParam(required = false) String modelVersion) {
+                                                        @RequestParam(required = false) String modelVersion,
+                                                        WebRequest webRequest) {
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.searchEntities(entityName, filter,
-                fetchPlan, limit, offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
+                fetchPlan, limit, offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion, webRequest);
+        if (entitiesSearchResult == null) {
+            // not modified, the response is already prepared
+            return null;
+        }
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
         if (BooleanUtils.isTrue(returnCount)) {
             responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
@@ -138,9 +150,10 @@ public class EntitiesController {
                                @PathVariable String entityId,
                                @RequestParam(required = false) String responseView,
                                @RequestParam(required = false) String responseFetchPlan,
-                               @RequestParam(required = false) String modelVersion) {
+                               @RequestParam(required = false) String modelVersion,
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         return entitiesControllerManager.updateEntity(entityJson, entityName, entityId,
-                StringUtils.defaultString(responseFetchPlan, responseView), modelVersion).getBodyJson();
+                StringUtils.defaultString(responseFetchPlan, responseView), modelVersion, ifMatch).getBodyJson();
     }
 
     @PutMapping("/{entityName}")
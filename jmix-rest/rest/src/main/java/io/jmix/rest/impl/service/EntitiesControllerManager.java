@@ -43,6 +43,7 @@ import io.jmix.rest.impl.service.filter.data.EntitiesSearchResult;
 import io.jmix.rest.impl.service.filter.data.ResponseInfo;
 import io.jmix.rest.transform.JsonTransformationDirection;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
 import jakarta.validation.Validator;
@@ -51,14 +52,19 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static io.jmix.core.EntitySerializationOption.*;
@@ -115,12 +121,33 @@ public class EntitiesControllerManager {
     @Autowired
     protected List<QueryStringProcessor> queryStringProcessors;
 
+    @Autowired
+    protected EntityETags entityETags;
+
     public String loadEntity(String entityName,
                              String entityId,
                              @Nullable String viewName,
                              @Nullable Boolean returnNulls,
                              @Nullable Boolean dynamicAttributes,
                              @Nullable String modelVersion) {
+        return loadEntity(entityName, entityId, viewName, returnNulls, dynamicAttributes, modelVersion, null);
+    }
+
+    /**
+     * Loads an entity and serializes it to JSON.
+     *
+     * @param webRequest request to check the 'If-None-Match' header of and to set the ETag to, may be null
+     * @return JSON or null if the entity has not been modified since it was received by the client
+     * @see WebRequest#checkNotModified(String)
+     */
+    @Nullable
+    public String loadEntity(String entityName,
+                             String entityId,
+                             @Nullable String viewName,
+                             @Nullable Boolean returnNulls,
+                             @Nullable Boolean dynamicAttributes,
+                             @Nullable String modelVersion,
+                             @Nullable WebRequest webRequest) {
 
         entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
@@ -140,6 +167,11 @@ public class EntitiesControllerManager {
         Object entity = dataManager.load(ctx);
         checkEntityIsNotNull(entityName, entityId, entity);
 
+        if (checkNotModified(webRequest, dynamicAttributes, () -> entityETags.getEntityETag(entity, ctx.getFetchPlan(),
+                Arrays.asList(metaClass.getName(), viewName, returnNulls, modelVersion)))) {
+            return null;
+        }
+
         List<EntitySerializationOption> serializationOptions = new ArrayList<>();
         serializationOptions.add(SERIALIZE_INSTANCE_NAME);
         serializationOptions.add(DO_NOT_SERIALIZE_DENIED_PROPERTY);
@@ -159,10 +191,38 @@ public class EntitiesControllerManager {
                                                  @Nullable Boolean returnCount,
                                                  @Nullable Boolean dynamicAttributes,
                                                  @Nullable String modelVersion) {
+        return loadEntitiesList(entityName, viewName, limit, offset, sort, returnNulls, returnCount,
+                dynamicAttributes, modelVersion, null);
+    }
+
+    /**
+     * Loads a list of entities and serializes it to JSON.
+     *
+     * @param webRequest request to check the 'If-None-Match' header of and to set the ETag to, may be null
+     * @return search result or null if the entities have not been modified since they were received by the client
+     * @see WebRequest#checkNotModified(String)
+     */
+    @Nullable
+    public EntitiesSearchResult loadEntitiesList(String entityName,
+                                                 @Nullable String viewName,
+                                                 @Nullable Integer limit,
+                                                 @Nullable Integer offset,
+                                                 @Nullable String sort,
+                                                 @Nullable Boolean returnNulls,
+                                                 @Nullable Boolean returnCount,
+                                                 @Nullable Boolean dynamicAttributes,
+                                                 @Nullable String modelVersion,
+                                                 @Nullable WebRequest webRequest) {
         entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
         checkCanReadEntity(metaClass);
 
+        // the count is calculated first as it is a part of the ETag
+        Long count = null;
+        if (BooleanUtils.isTrue(returnCount)) {
+            count = countEntities(metaClass, LogicalCondition.and());
+        }
+
         String json = loadEntitiesJson(LogicalCondition.and(),
                 viewName,
                 limit,
@@ -171,14 +231,15 @@ public class EntitiesControllerManager {
                 returnNulls,
                 dynamicAttributes,
                 modelVersion,
-                metaClass);
+                metaClass,
+                webRequest,
+                Collections.singletonList(count));
+        if (json == null) {
+            return null;
+        }
 
         json = restControllerUtils.transformJsonIfRequired(entityName, modelVersion, JsonTransformationDirection.TO_VERSION, json);
 
-        Long count = null;
-        if (BooleanUtils.isTrue(returnCount)) {
-            count = countEntities(metaClass, LogicalCondition.and());
-        }
         return new EntitiesSearchResult(json, count);
 
     }
@@ -193,6 +254,29 @@ public class EntitiesControllerManager {
                                                @Nullable Boolean returnCount,
                                                @Nullable Boolean dynamicAttributes,
                                                @Nullable String modelVersion) {
+        return searchEntities(entityName, filterJson, viewName, limit, offset, sort, returnNulls, returnCount,
+                dynamicAttributes, modelVersion, null);
+    }
+
+    /**
+     * Searches entities by the filter and serializes them to JSON.
+     *
+     * @param webRequest request to check the 'If-None-Match' header of and to set the ETag to, may be null
+     * @return search result or null if the entities have not been modified since they were received by the client
+     * @see WebRequest#checkNotModified(String)
+     */
+    @Nullable
+    public EntitiesSearchResult searchEntities(String entityName,
+                                               String filterJson,
+                                               @Nullable String viewName,
+                                               @Nullable Integer limit,
+                                               @Nullable Integer offset,
+                                               @Nullable String sort,
+                                               @Nullable Boolean returnNulls,
+                                               @Nullable Boolean returnCount,
+                                               @Nullable Boolean dynamicAttributes,
+                                               @Nullable String modelVersion,
+                                               @Nullable WebRequest webRequest) {
         if (filterJson == null) {
             throw new RestAPIException("Cannot parse entities filter", "Entities filter cannot be null", HttpStatus.BAD_REQUEST);
         }
@@ -208,11 +292,14 @@ public class EntitiesControllerManager {
             throw new RestAPIException("Cannot parse entities filter", e.getMessage(), HttpStatus.BAD_REQUEST, e);
         }
 
-        String json = loadEntitiesJson(jmixCondition, viewName, limit, offset, sort, returnNulls,
-                dynamicAttributes, modelVersion, metaClass);
         Long count = BooleanUtils.isTrue(returnCount) ?
                 countEntities(metaClass, jmixCondition)
                 : null;
+        String json = loadEntitiesJson(jmixCondition, viewName, limit, offset, sort, returnNulls,
+                dynamicAttributes, modelVersion, metaClass, webRequest, Arrays.asList(filterJson, count));
+        if (json == null) {
+            return null;
+        }
         return new EntitiesSearchResult(json, count);
     }
 
@@ -292,6 +379,29 @@ public class EntitiesControllerManager {
                                       @Nullable Boolean dynamicAttributes,
                                       @Nullable String modelVersion,
                                       MetaClass metaClass) {
+        return loadEntitiesJson(condition, viewName, limit, offset, sort, returnNulls, dynamicAttributes,
+                modelVersion, metaClass, null, Collections.emptyList());
+    }
+
+    /**
+     * Loads entities and serializes them to JSON.
+     *
+     * @param webRequest request to check the 'If-None-Match' header of and to set the ETag to, may be null
+     * @param eTagParams additional parameters affecting the response, e.g. the filter
+     * @return JSON or null if the entities have not been modified since they were received by the client
+     */
+    @Nullable
+    protected String loadEntitiesJson(Condition condition,
+                                      @Nullable String viewName,
+                                      @Nullable Integer limit,
+                                      @Nullable Integer offset,
+                                      @Nullable String sort,
+                                      @Nullable Boolean returnNulls,
+                                      @Nullable Boolean dynamicAttributes,
+                                      @Nullable String modelVersion,
+                                      MetaClass metaClass,
+                                      @Nullable WebRequest webRequest,
+                                      List<?> eTagParams) {
         LoadContext<Object> ctx = new LoadContext<>(metaClass);
 
         String queryString = createSimpleSelect(metaClass);
@@ -328,6 +438,16 @@ public class EntitiesControllerManager {
 
         List<Object> entities = dataManager.loadList(ctx);
 
+        FetchPlan fetchPlan = view;
+        if (checkNotModified(webRequest, dynamicAttributes, () -> {
+            List<Object> params = new ArrayList<>(Arrays.asList(metaClass.getName(), viewName, limit, offset, sort,
+                    returnNulls, modelVersion));
+            params.addAll(eTagParams);
+            return entityETags.getEntitiesETag(entities, fetchPlan, params);
+        })) {
+            return null;
+        }
+
         List<EntitySerializationOption> serializationOptions = new ArrayList<>();
         serializationOptions.add(SERIALIZE_INSTANCE_NAME);
         serializationOptions.add(DO_NOT_SERIALIZE_DENIED_PROPERTY);
@@ -338,6 +458,37 @@ public class EntitiesControllerManager {
         return json;
     }
 
+    /**
+     * Sets the ETag to the response and checks whether the entities have been modified since they were received
+     * by the client.
+     * <p>
+     * A response with the ETag is allowed to be stored by private caches provided that it is revalidated before
+     * each use, so the {@code Cache-Control: no-store} header written by default by Spring Security is replaced.
+     *
+     * @return true if the response must not be sent
+     */
+    protected boolean checkNotModified(@Nullable WebRequest webRequest,
+                                       @Nullable Boolean dynamicAttributes,
+                                       Supplier<String> eTagSupplier) {
+        // dynamic attributes are not versioned together with entities
+        if (webRequest == null || !restProperties.isEtagsEnabled() || BooleanUtils.isTrue(dynamicAttributes)) {
+            return false;
+        }
+        String eTag = eTagSupplier.get();
+        if (eTag == null) {
+            return false;
+        }
+        if (webRequest instanceof NativeWebRequest nativeWebRequest) {
+            HttpServletResponse response = nativeWebRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                // Spring Security does not write its cache headers if the response already has them
+                response.setHeader(HttpHeaders.CACHE_CONTROL,
+                        CacheControl.noCache().cachePrivate().getHeaderValue());
+            }
+        }
+        return webRequest.checkNotModified(eTag);
+    }
+
     protected String addOrderBy(String queryString, @Nullable String sort, MetaClass metaClass) {
         if (Strings.isNullOrEmpty(sort)) {
             return queryString;
@@ -592,6 +743,21 @@ public class EntitiesControllerManager {
                                      String entityId,
                                      String responseView,
                                      String modelVersion) {
+        return updateEntity(entityJson, entityName, entityId, responseView, modelVersion, null);
+    }
+
+    /**
+     * Updates an entity.
+     *
+     * @param ifMatch value of the 'If-Match' header. If it is set, the entity is updated only if it has not been
+     *                modified since the client received the ETag, see {@link EntityETags#matches(String, Object)}
+     */
+    public ResponseInfo updateEntity(String entityJson,
+                                     String entityName,
+                                     String entityId,
+                                     String responseView,
+                                     String modelVersion,
+                                     @Nullable String ifMatch) {
         String transformedEntityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
         MetaClass metaClass = restControllerUtils.getMetaClass(transformedEntityName);
         checkCanUpdateEntity(metaClass);
@@ -603,7 +769,8 @@ public class EntitiesControllerManager {
 
         //there may be multiple entities in importedEntities (because of @Composition references), so we must find
         // the main entity that will be returned
-        Object entity = getUpdatedEntity(entityName, modelVersion, transformedEntityName, metaClass, entityJson, entityId);
+        Object entity = getUpdatedEntity(entityName, modelVersion, transformedEntityName, metaClass, entityJson, entityId,
+                ifMatch);
         if (restProperties.isResponseFetchPlanEnabled() && responseFetchPlan != null && !entityStates.isLoadedWithFetchPlan(entity, responseFetchPlan)) {
             LoadContext loadContext = new LoadContext<>(metaClass).setFetchPlan(responseFetchPlan);
             loadContext.setId(EntityValues.getId(entity));
@@ -701,6 +868,16 @@ public class EntitiesControllerManager {
                                       MetaClass metaClass,
                                       String entityJson,
                                       String entityId) {
+        return getUpdatedEntity(entityName, modelVersion, transformedEntityName, metaClass, entityJson, entityId, null);
+    }
+
+    protected Object getUpdatedEntity(String entityName,
+                                      String modelVersion,
+                                      String transformedEntityName,
+                                      MetaClass metaClass,
+                                      String entityJson,
+                                      String entityId,
+                                      @Nullable String ifMatch) {
         Object id = getIdFromString(entityId, metaClass);
 
         LoadContext loadContext = new LoadContext(metaClass).setId(id);
@@ -710,6 +887,19 @@ public class EntitiesControllerManager {
         checkEntityIsNotNull(transformedEntityName, entityId, existingEntity);
         entityJson = restControllerUtils.transformJsonIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION, entityJson);
 
+        boolean optimisticLocking = restProperties.isOptimisticLockingEnabled();
+        if (ifMatch != null) {
+            if (!entityETags.matches(ifMatch, existingEntity)) {
+                throw new RestAPIException("Precondition failed",
+                        String.format("Entity %s with id %s has been modified", transformedEntityName, entityId),
+                        HttpStatus.PRECONDITION_FAILED);
+            }
+            // the entity can be modified by another transaction after the check, so the version is also
+            // checked on saving
+            entityJson = addVersionIfAbsent(entityJson, existingEntity);
+            optimisticLocking = true;
+        }
+
         Object entity;
         try {
             entity = entitySerialization.entityFromJson(entityJson, metaClass);
@@ -724,7 +914,7 @@ public class EntitiesControllerManager {
         Collection<Object> importedEntities;
         try {
             importedEntities = entityImportExport.importEntities(Collections.singletonList(entity),
-                    entityImportPlan, true, restProperties.isOptimisticLockingEnabled());
+                    entityImportPlan, true, optimisticLocking);
         } catch (EntityImportException e) {
             throw new RestAPIException("Entity update failed", e.getMessage(), HttpStatus.BAD_REQUEST, e);
         }
@@ -734,6 +924,19 @@ public class EntitiesControllerManager {
         return getMainEntity(importedEntities, metaClass);
     }
 
+    protected String addVersionIfAbsent(String entityJson, Object existingEntity) {
+        Object version = EntityValues.getVersion(existingEntity);
+        if (!(version instanceof Number)) {
+            return entityJson;
+        }
+        JsonElement jsonElement = new JsonParser().parse(entityJson);
+        if (!jsonElement.isJsonObject() || jsonElement.getAsJsonObject().has("version")) {
+            return entityJson;
+        }
+        jsonElement.getAsJsonObject().addProperty("version", (Number) version);
+        return jsonElement.toString();
+    }
+
     public void deleteEntity(String entityName,
                              String entityId,
                              String modelVersion) {
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl.service;
+
+import com.google.common.base.Splitter;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.jmix.core.EntityStates;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.FetchPlanProperty;
+import io.jmix.core.FetchPlanRepository;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.CurrentAuthentication;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Generates weak ETags of entities returned by the REST API.
+ * <p>
+ * An ETag is calculated from versions of all entities of the loaded graph: the value of the {@code @Version}
+ * attribute or, if the entity is not versioned, the last modified date. The versions are combined with ids of
+ * the entities, the request parameters, the current user and locale, so the ETag changes whenever the response
+ * could change. If an entity of the graph has neither a version nor the last modified date, no ETag is generated.
+ */
+@Component("rest_EntityETags")
+public class EntityETags {
+
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected EntityStates entityStates;
+
+    @Autowired
+    protected FetchPlanRepository fetchPlanRepository;
+
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
+    /**
+     * Returns the ETag of a single entity.
+     *
+     * @param entity        loaded entity
+     * @param fetchPlan     fetch plan used to load the entity, the base fetch plan if null
+     * @param requestParams parameters affecting the response
+     * @return weak ETag or null if versions of the loaded entities are unknown
+     */
+    @Nullable
+    public String getEntityETag(Object entity, @Nullable FetchPlan fetchPlan, List<?> requestParams) {
+        String rootToken = getVersionToken(entity);
+        if (rootToken == null) {
+            return null;
+        }
+        String hash = hash(Collections.singletonList(entity), fetchPlan, requestParams);
+        return hash == null ? null : "W/\"" + rootToken + "." + hash + "\"";
+    }
+
+    /**
+     * Returns the ETag of a list of entities.
+     *
+     * @param entities      loaded entities
+     * @param fetchPlan     fetch plan used to load the entities, the base fetch plan if null
+     * @param requestParams parameters affecting the response
+     * @return weak ETag or null if versions of the loaded entities are unknown
+     */
+    @Nullable
+    public String getEntitiesETag(Collection<?> entities, @Nullable FetchPlan fetchPlan, List<?> requestParams) {
+        String hash = hash(entities, fetchPlan, requestParams);
+        return hash == null ? null : "W/\"" + hash + "\"";
+    }
+
+    /**
+     * Checks whether the value of the {@code If-Match} header matches the current version of the entity. ETags
+     * are compared by the version of the entity only, so an ETag received with any fetch plan can be used for
+     * an update. As ETags are weak, the weak comparison is used.
+     *
+     * @param ifMatch value of the {@code If-Match} header
+     * @param entity  current state of the entity
+     */
+    public boolean matches(String ifMatch, Object entity) {
+        String token = getVersionToken(entity);
+        for (String eTag : Splitter.on(',').trimResults().omitEmptyStrings().split(ifMatch)) {
+            if ("*".equals(eTag)) {
+                return true;
+            }
+            if (token != null && token.equals(getRootToken(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    protected String hash(Collection<?> entities, @Nullable FetchPlan fetchPlan, List<?> requestParams) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Object param : requestParams) {
+            putString(hasher, param == null ? null : param.toString());
+        }
+        putString(hasher, currentAuthentication.getUser().getUsername());
+        putString(hasher, currentAuthentication.getLocale().toString());
+
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object entity : entities) {
+            if (!putEntity(hasher, entity, fetchPlan, visited)) {
+                return null;
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Adds ids and versions of the entity and its references included in the fetch plan.
+     *
+     * @return false if the version of an entity is unknown
+     */
+    protected boolean putEntity(Hasher hasher, Object entity, @Nullable FetchPlan fetchPlan, Set<Object> visited) {
+        if (!visited.add(entity)) {
+            return true;
+        }
+        String token = getVersionToken(entity);
+        if (token == null) {
+            return false;
+        }
+        putString(hasher, String.valueOf(EntityValues.getId(entity)));
+        putString(hasher, token);
+
+        MetaClass metaClass = metadata.getClass(entity);
+        if (fetchPlan == null) {
+            fetchPlan = fetchPlanRepository.getFetchPlan(metaClass, FetchPlan.BASE);
+        }
+        for (FetchPlanProperty property : fetchPlan.getProperties()) {
+            MetaProperty metaProperty = metaClass.findProperty(property.getName());
+            if (property.getFetchPlan() == null
+                    || metaProperty == null
+                    // embedded entities are versioned together with the owning entity
+                    || metadataTools.isEmbedded(metaProperty)
+                    || !entityStates.isLoaded(entity, property.getName())) {
+                continue;
+            }
+
+            putString(hasher, property.getName());
+            Object value = EntityValues.getValue(entity, property.getName());
+            if (value instanceof Collection) {
+                for (Object item : (Collection<?>) value) {
+                    if (!putEntity(hasher, item, property.getFetchPlan(), visited)) {
+                        return false;
+                    }
+                }
+            } else if (value != null) {
+                if (!putEntity(hasher, value, property.getFetchPlan(), visited)) {
+                    return false;
+                }
+            }
+            putString(hasher, null);
+        }
+        return true;
+    }
+
+    /**
+     * @return the version of the entity or its last modified date, or null if the entity has neither
+     */
+    @Nullable
+    protected String getVersionToken(Object entity) {
+        Object version = EntityValues.getVersion(entity);
+        if (version != null) {
+            return "v" + version;
+        }
+        Object lastModifiedDate = EntityValues.getLastModifiedDate(entity);
+        if (lastModifiedDate instanceof Date) {
+            return "t" + ((Date) lastModifiedDate).getTime();
+        } else if (lastModifiedDate != null) {
+            return "t" + lastModifiedDate;
+        }
+        return null;
+    }
+
+    @Nullable
+    protected String getRootToken(String eTag) {
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+        if (eTag.length() < 2 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            return null;
+        }
+        eTag = eTag.substring(1, eTag.length() - 1);
+        int index = eTag.lastIndexOf('.');
+        return index > 0 ? eTag.substring(0, index) : null;
+    }
+
+    protected void putString(Hasher hasher, @Nullable String value) {
+        if (value != null) {
+            hasher.putString(value, StandardCharsets.UTF_8);
+        }
+        hasher.putByte((byte) 0);
+    }
+}
@@ -180,4 +180,84 @@ class EntitiesControllerTest extends RestSpec {
         sql.rows("select * from SAMPLE_REST_SEC_USER where LOGIN like 'toDeleteById_'")
                 .every { it.delete_ts != null }
     }
+
+    def "GET-request with If-None-Match returns 304 if the entity is not modified"() {
+        def userId = sql.firstRow("select id from SAMPLE_REST_SEC_USER where LOGIN = 'login1'").id
+
+        when:
+        def response = createRequest(userToken).with().get(baseUrl + "/entities/sec\$User/" + userId)
+        def eTag = response.header("ETag")
+
+        then:
+        response.statusCode == 200
+        eTag != null
+        response.header("Cache-Control").contains("private")
+        response.header("Cache-Control").contains("no-cache")
+        !response.header("Cache-Control").contains("no-store")
+
+        when:
+        response = createRequest(userToken).header("If-None-Match", eTag)
+                .with().get(baseUrl + "/entities/sec\$User/" + userId)
+
+        then:
+        response.statusCode == 304
+        response.body.asString().isEmpty()
+
+        when:
+        sql.execute("update SAMPLE_REST_SEC_USER set VERSION = 2 where ID = ?", userId)
+        response = createRequest(userToken).header("If-None-Match", eTag)
+                .with().get(baseUrl + "/entities/sec\$User/" + userId)
+
+        then:
+        response.statusCode == 200
+        response.header("ETag") != eTag
+    }
+
+    def "GET-request with If-None-Match returns 304 if the list is not modified"() {
+        when:
+        def response = createRequest(userToken).param("returnCount", true)
+                .with().get(baseUrl + "/entities/sec\$User")
+        def eTag = response.header("ETag")
+
+        then:
+        response.statusCode == 200
+        eTag != null
+
+        when:
+        response = createRequest(userToken).param("returnCount", true).header("If-None-Match", eTag)
+                .with().get(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode == 304
+
+        when:
+        response = createRequest(userToken).param("returnCount", true).param("limit", 1).header("If-None-Match", eTag)
+                .with().get(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode == 200
+    }
+
+    def "PUT-request with If-Match updates the entity only if it is not modified"() {
+        def userId = sql.firstRow("select id from SAMPLE_REST_SEC_USER where LOGIN = 'login2'").id
+        def eTag = createRequest(userToken).with().get(baseUrl + "/entities/sec\$User/" + userId).header("ETag")
+        sql.execute("update SAMPLE_REST_SEC_USER set VERSION = 2 where ID = ?", userId)
+
+        when:
+        def response = createRequest(userToken).header("If-Match", eTag).body(['firstName': 'Stale name'])
+                .with().put(baseUrl + "/entities/sec\$User/" + userId)
+
+        then:
+        response.statusCode == 412
+        sql.firstRow("select FIRST_NAME from SAMPLE_REST_SEC_USER where ID = ?", userId).first_name == 'testFirstName'
+
+        when:
+        eTag = createRequest(userToken).with().get(baseUrl + "/entities/sec\$User/" + userId).header("ETag")
+        response = createRequest(userToken).header("If-Match", eTag).body(['firstName': 'New name'])
+                .with().put(baseUrl + "/entities/sec\$User/" + userId)
+
+        then:
+        response.statusCode == 200
+        sql.firstRow("select FIRST_NAME from SAMPLE_REST_SEC_USER where ID = ?", userId).first_name == 'New name'
+    }
 }
@@ -34,6 +34,7 @@ import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("UnnecessaryLocalVariable")
@@ -224,56 +225,227 @@ public class RestDataStore extends AbstractDataStore {
     protected Set<Object> saveAll(SaveContext context) {
         Set<Object> saved = new HashSet<>();
         saveContextProcessor.normalizeCompositionItems(context);
-        for (Object entity : context.getEntitiesToSave()) {
-            String entityName = getEntityName(metadata.getClass(entity));
-            FetchPlan fetchPlan = null;
-            String savedEntityJson;
+        // new entities are saved before entities referencing them
+        for (List<Object> stage : splitIntoStages(context.getEntitiesToSave(), true)) {
+            saveStage(stage, saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Saves entities that don't depend on each other. Entities of the same type are saved by a single bulk request
+     * if the service supports it, other requests are sent in parallel.
+     */
+    private void saveStage(List<Object> entities, Set<Object> saved) {
+        List<SaveRequest> singleRequests = new ArrayList<>();
+        Map<String, List<SaveRequest>> bulkCandidates = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            MetaClass metaClass = metadata.getClass(entity);
+            String entityName = getEntityName(metaClass);
             boolean isNew = entityStates.isNew(entity);
-            if (isNew) {
-                entityEventManager.publishEntitySavingEvent(entity, true);
-                String entityJson = restSerialization.toJson(entity, true);
-                savedEntityJson = restInvoker.create(entityName, entityJson);
+            Object id = EntityValues.getId(entity);
+            if (!isNew && id == null) {
+                throw new IllegalArgumentException("Entity id is null for " + entity);
+            }
+            entityEventManager.publishEntitySavingEvent(entity, isNew);
+
+            String entityJson = restSerialization.toJson(entity, isNew);
+            SaveRequest request = new SaveRequest(entity, entityName, isNew, entityJson);
+            // saved instances are matched with the passed ones by id
+            if (id != null && !metadataTools.hasCompositePrimaryKey(metaClass)) {
+                bulkCandidates.computeIfAbsent(entityName + (isNew ? "/new" : ""), key -> new ArrayList<>())
+                        .add(request);
             } else {
-                Object id = EntityValues.getId(entity);
-                if (id == null) {
-                    throw new IllegalArgumentException("Entity id is null for " + entity);
-                }
-                entityEventManager.publishEntitySavingEvent(entity, false);
-
-                String entityJson = restSerialization.toJson(entity, false);
-                savedEntityJson = restInvoker.update(entityName, id.toString(), entityJson);
+                singleRequests.add(request);
             }
-            Object savedEntity = restSerialization.fromJson(savedEntityJson, entity.getClass());
-            if (savedEntity == null) {
-                throw new IllegalStateException("Saved entity is null");
+        }
+
+        List<List<SaveRequest>> batches = new ArrayList<>();
+        for (List<SaveRequest> requests : bulkCandidates.values()) {
+            if (requests.size() > 1 && restInvoker.isBulkOperationsSupported(requests.get(0).entityName())) {
+                batches.add(requests);
+            } else {
+                singleRequests.addAll(requests);
             }
-            if (isNew && EntityValues.getId(entity) == null) {
-                // set new ID to the passed instance to let the framework match the saved instance with the original one
-                EntityValues.setId(entity, EntityValues.getId(savedEntity));
+        }
+        for (SaveRequest request : singleRequests) {
+            batches.add(Collections.singletonList(request));
+        }
+
+        List<Supplier<String>> invocations = new ArrayList<>(batches.size());
+        for (List<SaveRequest> batch : batches) {
+            invocations.add(createSaveInvocation(batch));
+        }
+        List<String> results = restInvoker.invokeAll(invocations);
+
+        for (int i = 0; i < batches.size(); i++) {
+            List<SaveRequest> batch = batches.get(i);
+            if (batch.size() == 1) {
+                SaveRequest request = batch.get(0);
+                Object savedEntity = restSerialization.fromJson(results.get(i), request.entity().getClass());
+                if (savedEntity == null) {
+                    throw new IllegalStateException("Saved entity is null");
+                }
+                afterSave(request, savedEntity, saved);
+            } else {
+                List<?> savedEntities = restSerialization.fromJsonCollection(results.get(i),
+                        batch.get(0).entity().getClass());
+                Map<Object, Object> savedEntitiesById = new HashMap<>();
+                for (Object savedEntity : savedEntities) {
+                    savedEntitiesById.put(EntityValues.getId(savedEntity), savedEntity);
+                }
+                for (SaveRequest request : batch) {
+                    Object savedEntity = savedEntitiesById.get(EntityValues.getId(request.entity()));
+                    if (savedEntity == null) {
+                        throw new IllegalStateException("Saved entity is not returned for " + request.entity());
+                    }
+                    afterSave(request, savedEntity, saved);
+                }
             }
-            updateEntityState(savedEntity, fetchPlan);
-            entityEventManager.publishEntitySavedEvent(entity, savedEntity, isNew);
-            saved.add(savedEntity);
         }
-        return saved;
+    }
+
+    private Supplier<String> createSaveInvocation(List<SaveRequest> batch) {
+        SaveRequest first = batch.get(0);
+        if (batch.size() > 1) {
+            List<String> entityJsons = batch.stream().map(SaveRequest::entityJson).toList();
+            return first.isNew() ?
+                    () -> restInvoker.createAll(first.entityName(), entityJsons) :
+                    () -> restInvoker.updateAll(first.entityName(), entityJsons);
+        }
+        return first.isNew() ?
+                () -> restInvoker.create(first.entityName(), first.entityJson()) :
+                () -> restInvoker.update(first.entityName(),
+                        Objects.requireNonNull(EntityValues.getId(first.entity())).toString(), first.entityJson());
+    }
+
+    private void afterSave(SaveRequest request, Object savedEntity, Set<Object> saved) {
+        Object entity = request.entity();
+        FetchPlan fetchPlan = null;
+        if (request.isNew() && EntityValues.getId(entity) == null) {
+            // set new ID to the passed instance to let the framework match the saved instance with the original one
+            EntityValues.setId(entity, EntityValues.getId(savedEntity));
+        }
+        updateEntityState(savedEntity, fetchPlan);
+        entityEventManager.publishEntitySavedEvent(entity, savedEntity, request.isNew());
+        saved.add(savedEntity);
     }
 
     @Override
     protected Set<Object> deleteAll(SaveContext context) {
         Set<Object> saved = new HashSet<>();
-        for (Object entity : context.getEntitiesToRemove()) {
-            String entityName = getEntityName(metadata.getClass(entity));
-            Object id = EntityValues.getId(entity);
-            if (id == null) {
-                throw new IllegalArgumentException("Entity id is null for " + entity);
+        // entities are deleted before entities referenced by them
+        for (List<Object> stage : splitIntoStages(context.getEntitiesToRemove(), false)) {
+            Map<String, List<Object>> entitiesByName = new LinkedHashMap<>();
+            for (Object entity : stage) {
+                if (EntityValues.getId(entity) == null) {
+                    throw new IllegalArgumentException("Entity id is null for " + entity);
+                }
+                entitiesByName.computeIfAbsent(getEntityName(metadata.getClass(entity)), key -> new ArrayList<>())
+                        .add(entity);
+            }
+
+            List<Supplier<Void>> invocations = new ArrayList<>();
+            entitiesByName.forEach((entityName, entities) -> {
+                if (entities.size() > 1 && restInvoker.isBulkOperationsSupported(entityName)) {
+                    List<String> ids = entities.stream()
+                            .map(entity -> Objects.requireNonNull(EntityValues.getId(entity)).toString())
+                            .toList();
+                    invocations.add(() -> {
+                        restInvoker.deleteAll(entityName, ids);
+                        return null;
+                    });
+                } else {
+                    for (Object entity : entities) {
+                        String id = Objects.requireNonNull(EntityValues.getId(entity)).toString();
+                        invocations.add(() -> {
+                            restInvoker.delete(entityName, id);
+                            return null;
+                        });
+                    }
+                }
+            });
+            restInvoker.invokeAll(invocations);
+
+            for (Object entity : stage) {
+                entityEventManager.publishEntityRemovedEvent(entity);
+                saved.add(entity);
             }
-            restInvoker.delete(entityName, id.toString());
-            entityEventManager.publishEntityRemovedEvent(entity);
-            saved.add(entity);
         }
         return saved;
     }
 
+    /**
+     * Splits entities into stages processed one after another, so that entities of a stage don't reference each
+     * other and can be sent to the service in parallel.
+     *
+     * @param referencedFirst if true, new entities are processed before entities referencing them, otherwise
+     *                        entities are processed before entities referenced by them
+     */
+    private List<List<Object>> splitIntoStages(Collection<Object> entities, boolean referencedFirst) {
+        Set<Object> entitySet = Collections.newSetFromMap(new IdentityHashMap<>());
+        entitySet.addAll(entities);
+
+        Map<Object, Set<Object>> dependencies = new IdentityHashMap<>();
+        for (Object entity : entities) {
+            dependencies.put(entity, Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+        for (Object entity : entities) {
+            for (Object reference : getReferences(entity)) {
+                if (reference == entity || !entitySet.contains(reference)) {
+                    continue;
+                }
+                if (referencedFirst) {
+                    if (entityStates.isNew(reference)) {
+                        dependencies.get(entity).add(reference);
+                    }
+                } else {
+                    dependencies.get(reference).add(entity);
+                }
+            }
+        }
+
+        List<List<Object>> stages = new ArrayList<>();
+        Set<Object> processed = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Object> remaining = new ArrayList<>(entities);
+        while (!remaining.isEmpty()) {
+            List<Object> stage = new ArrayList<>();
+            for (Object entity : remaining) {
+                if (processed.containsAll(dependencies.get(entity))) {
+                    stage.add(entity);
+                }
+            }
+            if (stage.isEmpty()) {
+                // cyclic references, process the remaining entities one by one in the original order
+                for (Object entity : remaining) {
+                    stages.add(Collections.singletonList(entity));
+                }
+                break;
+            }
+            processed.addAll(stage);
+            remaining.removeIf(processed::contains);
+            stages.add(stage);
+        }
+        return stages;
+    }
+
+    /**
+     * Returns entities referenced by to-one properties of the given entity. Collections are not followed, as they
+     * are the inverse sides of references from their elements, which are followed instead.
+     */
+    private List<Object> getReferences(Object entity) {
+        List<Object> references = new ArrayList<>();
+        for (MetaProperty property : metadata.getClass(entity).getProperties()) {
+            if (property.getRange().isClass() && !property.getRange().getCardinality().isMany()) {
+                Object value = EntityValues.getValue(entity, property.getName());
+                if (value != null) {
+                    references.add(value);
+                }
+            }
+        }
+        return references;
+    }
+
     @Override
     protected List<Object> loadAllValues(ValueLoadContext context) {
         throw new UnsupportedOperationException("Loading scalar values is not supported");
@@ -323,6 +495,9 @@ public class RestDataStore extends AbstractDataStore {
     protected static class DummyTransactionContextState implements TransactionContextState {
     }
 
+    private record SaveRequest(Object entity, String entityName, boolean isNew, String entityJson) {
+    }
+
     private static class UpdatingLoadedPropertiesListener implements EntityPropertyChangeListener, Serializable {
         @Override
         public void propertyChanged(EntityPropertyChangeEvent event) {
@@ -18,6 +18,7 @@ package io.jmix.restds.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.jmix.restds.exception.RestDataStoreAccessException;
 import org.slf4j.Logger;
@@ -27,22 +28,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.util.UriBuilder;
 
 import java.io.IOException;
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 @SuppressWarnings("UnnecessaryLocalVariable")
 @Component("restds_RestInvoker")
@@ -53,6 +68,16 @@ public class RestInvoker implements InitializingBean {
 
     public static final String DEFAULT_AUTHENTICATOR = "restds_RestClientCredentialsAuthenticator";
 
+    public static final int DEFAULT_MAX_PARALLEL_REQUESTS = 4;
+
+    public static final int DEFAULT_RESPONSE_CACHE_SIZE = 1000;
+
+    /**
+     * Maximum length of a filter passed in the URL of a GET request, longer filters are passed in the body
+     * of a POST request.
+     */
+    private static final int MAX_GET_FILTER_LENGTH = 1000;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final String dataStoreName;
@@ -61,6 +86,16 @@ public class RestInvoker implements InitializingBean {
 
     private RestClient restClient;
 
+    @Nullable
+    private RestResponseCache responseCache;
+
+    @Nullable
+    private ExecutorService executor;
+
+    private boolean bulkOperationsEnabled;
+
+    private volatile Boolean bulkOperationsSupported;
+
     @Autowired
     private ApplicationContext applicationContext;
 
@@ -91,25 +126,69 @@ public class RestInvoker implements InitializingBean {
 
     @Override
     public void afterPropertiesSet() {
-        String authenticatorBeanName = applicationContext.getEnvironment().getProperty(
+        Environment environment = applicationContext.getEnvironment();
+        String authenticatorBeanName = environment.getProperty(
                 dataStoreName + ".authenticator", DEFAULT_AUTHENTICATOR);
 
         authenticator = (RestAuthenticator) applicationContext.getBean(authenticatorBeanName);
         authenticator.setDataStoreName(dataStoreName);
 
-        String baseUrl = applicationContext.getEnvironment().getRequiredProperty(dataStoreName + ".baseUrl");
+        String baseUrl = environment.getRequiredProperty(dataStoreName + ".baseUrl");
 
-        restClient = RestClient.builder()
+        // HTTP/2 is negotiated by TLS, so it's not used for plain HTTP to avoid upgrade requests
+        boolean http2Enabled = environment.getProperty(dataStoreName + ".http2Enabled", Boolean.class, true)
+                && baseUrl.startsWith("https:");
+        // the client keeps connections alive and reuses them for subsequent requests
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(http2Enabled ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+
+        RestClient.Builder builder = RestClient.builder()
                 .baseUrl(baseUrl)
-                .requestInterceptor(authenticator.getAuthenticationInterceptor())
+                .requestFactory(new JdkClientHttpRequestFactory(httpClient))
+                .requestInterceptor(authenticator.getAuthenticationInterceptor());
+
+        int responseCacheSize = environment.getProperty(dataStoreName + ".responseCacheSize", Integer.class,
+                DEFAULT_RESPONSE_CACHE_SIZE);
+        if (responseCacheSize > 0) {
+            responseCache = new RestResponseCache(responseCacheSize);
+            builder.requestInterceptor(responseCache);
+        }
+
+        restClient = builder
                 .requestInterceptor(new LoggingClientHttpRequestInterceptor())
                 .build();
+
+        int maxParallelRequests = environment.getProperty(dataStoreName + ".maxParallelRequests", Integer.class,
+                DEFAULT_MAX_PARALLEL_REQUESTS);
+        if (maxParallelRequests > 1) {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxParallelRequests, maxParallelRequests,
+                    60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "restds-" + dataStoreName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            executor = threadPoolExecutor;
+        }
+
+        bulkOperationsEnabled = environment.getProperty(dataStoreName + ".bulkOperationsEnabled", Boolean.class, true);
     }
 
     public RestClient getRestClient() {
         return restClient;
     }
 
+    /**
+     * Returns the cache of loaded entities or null if it's disabled by the {@code <dataStoreName>.responseCacheSize}
+     * property.
+     */
+    @Nullable
+    public RestResponseCache getResponseCache() {
+        return responseCache;
+    }
+
     @Nullable
     public String load(LoadParams params) {
         try {
@@ -143,6 +222,13 @@ public class RestInvoker implements InitializingBean {
                                 createLoadListUri(uriBuilder, params, false))
                         .retrieve()
                         .body(String.class);
+            } else if (responseCache != null && params.filter().length() <= MAX_GET_FILTER_LENGTH) {
+                // GET request lets the response be cached
+                resultJson = restClient.get()
+                        .uri(uriBuilder ->
+                                createSearchUri(uriBuilder, params))
+                        .retrieve()
+                        .body(String.class);
             } else {
                 resultJson = restClient.post()
                         .uri("/rest/entities/{entityName}/search", params.entityName())
@@ -201,6 +287,25 @@ public class RestInvoker implements InitializingBean {
         return uriBuilder.build(params.entityName());
     }
 
+    private URI createSearchUri(UriBuilder uriBuilder, LoadListParams params) {
+        uriBuilder.path("/rest/entities/{entityName}/search");
+        // passed as a variable to be encoded
+        uriBuilder.queryParam("filter", "{filter}");
+        if (params.sort() != null) {
+            uriBuilder.queryParam("sort", params.sort());
+        }
+        if (params.limit() > 0) {
+            uriBuilder.queryParam("limit", params.limit());
+        }
+        uriBuilder.queryParam("offset", params.offset());
+        if (params.fetchPlanName() != null) {
+            uriBuilder.queryParam("fetchPlan", params.fetchPlanName());
+        }
+        return uriBuilder.build(Map.of(
+                "entityName", params.entityName(),
+                "filter", params.filter()));
+    }
+
     public long count(String entityName, @Nullable String filter) {
         ResponseEntity<Void> response;
         try {
@@ -263,6 +368,168 @@ public class RestInvoker implements InitializingBean {
         }
     }
 
+    /**
+     * Creates entities by a single request.
+     *
+     * @param entityJsons JSON objects of entities
+     * @return JSON array of created entities
+     * @see #isBulkOperationsSupported(String)
+     */
+    public String createAll(String entityName, List<String> entityJsons) {
+        try {
+            String resultJson = restClient.post()
+                    .uri("/rest/entities/{entityName}?responseFetchPlan=_base", entityName)
+                    .body("[" + String.join(",", entityJsons) + "]")
+                    .retrieve()
+                    .body(String.class);
+
+            return resultJson;
+        } catch (ResourceAccessException e) {
+            throw new RestDataStoreAccessException(dataStoreName, e);
+        }
+    }
+
+    /**
+     * Updates entities by a single request.
+     *
+     * @param entityJsons JSON objects of entities containing ids
+     * @return JSON array of updated entities
+     * @see #isBulkOperationsSupported(String)
+     */
+    public String updateAll(String entityName, List<String> entityJsons) {
+        try {
+            String resultJson = restClient.put()
+                    .uri("/rest/entities/{entityName}?responseFetchPlan=_base", entityName)
+                    .body("[" + String.join(",", entityJsons) + "]")
+                    .retrieve()
+                    .body(String.class);
+
+            return resultJson;
+        } catch (ResourceAccessException e) {
+            throw new RestDataStoreAccessException(dataStoreName, e);
+        }
+    }
+
+    /**
+     * Deletes entities by a single request.
+     *
+     * @see #isBulkOperationsSupported(String)
+     */
+    public void deleteAll(String entityName, Collection<String> entityIds) {
+        ArrayNode idsNode = objectMapper.createArrayNode();
+        entityIds.forEach(idsNode::add);
+        try {
+            restClient.method(HttpMethod.DELETE)
+                    .uri("/rest/entities/{entityName}", entityName)
+                    .body(objectMapper.writeValueAsString(idsNode))
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (ResourceAccessException e) {
+            throw new RestDataStoreAccessException(dataStoreName, e);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error creating request body", e);
+        }
+    }
+
+    /**
+     * Returns whether the service supports bulk create, update and delete requests. Support is checked once by
+     * sending an empty bulk update request for the given entity. Bulk requests can be disabled by the
+     * {@code <dataStoreName>.bulkOperationsEnabled} property.
+     */
+    public boolean isBulkOperationsSupported(String entityName) {
+        if (!bulkOperationsEnabled) {
+            return false;
+        }
+        Boolean supported = bulkOperationsSupported;
+        if (supported == null) {
+            supported = probeBulkOperations(entityName);
+            if (supported == null) {
+                return false;
+            }
+            bulkOperationsSupported = supported;
+        }
+        return supported;
+    }
+
+    /**
+     * @return whether bulk operations are supported or null if it cannot be determined, e.g. if the user
+     * is not permitted to update the entity
+     */
+    @Nullable
+    private Boolean probeBulkOperations(String entityName) {
+        try {
+            restClient.put()
+                    .uri("/rest/entities/{entityName}", entityName)
+                    .body("[]")
+                    .retrieve()
+                    .toBodilessEntity();
+            return true;
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed e) {
+            log.info("Bulk operations are not supported by '{}' REST API", dataStoreName);
+            return false;
+        } catch (RestClientResponseException e) {
+            log.debug("Cannot check bulk operations support of '{}' REST API: {}", dataStoreName, e.getMessage());
+            return null;
+        } catch (ResourceAccessException e) {
+            throw new RestDataStoreAccessException(dataStoreName, e);
+        }
+    }
+
+    /**
+     * Executes the given requests in parallel, at most {@code <dataStoreName>.maxParallelRequests} at a time.
+     * The security context and request attributes of the current thread are passed to the executing threads,
+     * so that requests are authenticated in the same way.
+     * <p>
+     * All requests are completed even if some of them fail, then the first exception is thrown.
+     *
+     * @return results in the order of requests
+     */
+    public <T> List<T> invokeAll(List<Supplier<T>> requests) {
+        List<T> results = new ArrayList<>(requests.size());
+        if (executor == null || requests.size() < 2) {
+            for (Supplier<T> request : requests) {
+                results.add(request.get());
+            }
+            return results;
+        }
+
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        List<Future<T>> futures = new ArrayList<>(requests.size());
+        for (Supplier<T> request : requests) {
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.setContext(securityContext);
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                try {
+                    return request.get();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        RuntimeException exception = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (exception == null) {
+                    exception = e.getCause() instanceof RuntimeException runtimeException ?
+                            runtimeException : new RuntimeException(e.getCause());
+                }
+                results.add(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for '" + dataStoreName + "' REST API", e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+        return results;
+    }
+
     public String userInfo() {
         try {
             String resultJson = restClient.get()
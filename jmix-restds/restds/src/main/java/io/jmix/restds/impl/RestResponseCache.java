@@ -0,0 +1,249 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.restds.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Private HTTP cache of entities loaded by {@link RestInvoker}.
+ * <p>
+ * Responses of GET requests to the entities endpoints are cached if they have an ETag or are fresh according
+ * to the {@code Cache-Control} header. A fresh response is returned without sending a request, a stale one is
+ * revalidated by the {@code If-None-Match} header, so if the service responds with {@code 304 Not Modified},
+ * the cached body is returned. Responses are cached separately for each {@code Authorization} header, as the
+ * service can return different entities to different users. Requests without this header are not cached.
+ * <p>
+ * Responses of an entity are removed from the cache when the entity is created, updated or deleted through
+ * the same {@link RestInvoker}.
+ */
+public class RestResponseCache implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RestResponseCache.class);
+
+    private static final String ENTITIES_PATH = "/rest/entities/";
+
+    private final Cache<Key, Entry> cache;
+
+    public RestResponseCache(int maxSize) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String entityName = getEntityName(request.getURI());
+        if (entityName == null) {
+            return execution.execute(request, body);
+        }
+
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (!isSearchRequest(request) && response.getStatusCode().is2xxSuccessful()) {
+                invalidate(entityName);
+            }
+            return response;
+        }
+
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            // the user cannot be distinguished, so a response to one user must not be returned to another one
+            return execution.execute(request, body);
+        }
+
+        Key key = new Key(entityName, request.getURI(), authorization,
+                request.getHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE));
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (entry.isFresh()) {
+                log.debug("Response is taken from cache: {}", request.getURI());
+                return entry.toResponse();
+            }
+            if (entry.eTag() != null) {
+                request.getHeaders().setIfNoneMatch(entry.eTag());
+            }
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (entry != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            response.close();
+            log.debug("Cached response is not modified: {}", request.getURI());
+            Entry revalidated = new Entry(entry.headers(), entry.body(), entry.eTag(),
+                    getExpirationTime(response.getHeaders()));
+            cache.put(key, revalidated);
+            return revalidated.toResponse();
+        }
+
+        if (!response.getStatusCode().isSameCodeAs(HttpStatus.OK) || !isCacheable(response.getHeaders())) {
+            if (entry != null) {
+                cache.invalidate(key);
+            }
+            return response;
+        }
+
+        byte[] responseBody;
+        try (response) {
+            responseBody = StreamUtils.copyToByteArray(response.getBody());
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        Entry newEntry = new Entry(headers, responseBody, headers.getETag(), getExpirationTime(headers));
+        cache.put(key, newEntry);
+        return newEntry.toResponse();
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Removes cached responses of the given entity.
+     */
+    public void invalidate(String entityName) {
+        cache.asMap().keySet().removeIf(key -> key.entityName().equals(entityName));
+    }
+
+    @Nullable
+    private String getEntityName(URI uri) {
+        String path = uri.getPath();
+        if (path == null) {
+            return null;
+        }
+        int index = path.indexOf(ENTITIES_PATH);
+        if (index < 0) {
+            return null;
+        }
+        String entityPath = path.substring(index + ENTITIES_PATH.length());
+        int slashIndex = entityPath.indexOf('/');
+        String entityName = slashIndex < 0 ? entityPath : entityPath.substring(0, slashIndex);
+        return entityName.isEmpty() ? null : entityName;
+    }
+
+    private boolean isSearchRequest(HttpRequest request) {
+        return HttpMethod.POST.equals(request.getMethod()) && request.getURI().getPath().contains("/search");
+    }
+
+    private boolean isCacheable(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store")) {
+            return false;
+        }
+        return headers.getETag() != null || getExpirationTime(headers) > System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the time until which the response is fresh according to the {@code max-age} directive.
+     */
+    private long getExpirationTime(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return 0;
+        }
+        long maxAge = 0;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-cache")) {
+                return 0;
+            }
+            if (directive.startsWith("max-age=")) {
+                try {
+                    maxAge = Long.parseLong(directive.substring("max-age=".length()).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return maxAge > 0 ? System.currentTimeMillis() + maxAge * 1000 : 0;
+    }
+
+    private record Key(String entityName,
+                       URI uri,
+                       String authorization,
+                       @Nullable String acceptLanguage) {
+    }
+
+    private record Entry(HttpHeaders headers,
+                         byte[] body,
+                         @Nullable String eTag,
+                         long expirationTime) {
+
+        boolean isFresh() {
+            return expirationTime > System.currentTimeMillis();
+        }
+
+        ClientHttpResponse toResponse() {
+            return new CachedClientHttpResponse(headers, body);
+        }
+    }
+
+    private static class CachedClientHttpResponse implements ClientHttpResponse {
+
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        CachedClientHttpResponse(HttpHeaders headers, byte[] body) {
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HttpHeaders.readOnlyHttpHeaders(headers);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
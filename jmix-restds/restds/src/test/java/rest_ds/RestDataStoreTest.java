@@ -17,8 +17,10 @@
 package rest_ds;
 
 import io.jmix.core.DataManager;
+import io.jmix.core.EntitySet;
 import io.jmix.core.LoadContext;
 import io.jmix.core.Metadata;
+import io.jmix.core.SaveContext;
 import io.jmix.core.entity.KeyValueEntity;
 import io.jmix.core.querycondition.PropertyCondition;
 import org.junit.jupiter.api.BeforeEach;
@@ -98,6 +100,31 @@ public class RestDataStoreTest extends BaseRestDsIntegrationTest {
         assertThat(deletedCustomer).isNull();
     }
 
+    @Test
+    void testSaveAndRemoveMany() {
+        SaveContext saveContext = new SaveContext();
+        for (int i = 0; i < 10; i++) {
+            Customer customer = dataManager.create(Customer.class);
+            customer.setLastName("new-cust-" + i + "-" + now);
+            customer.setEmail("test@mail.com");
+            saveContext.saving(customer);
+        }
+
+        EntitySet savedCustomers = dataManager.save(saveContext);
+
+        assertThat(savedCustomers).hasSize(10);
+        assertThat(dataManager.load(Customer.class)
+                .ids(savedCustomers.getAll(Customer.class).stream().map(Customer::getId).toList())
+                .list())
+                .containsExactlyInAnyOrderElementsOf(savedCustomers.getAll(Customer.class));
+
+        dataManager.remove(savedCustomers.getAll(Customer.class).toArray());
+
+        for (Customer customer : savedCustomers.getAll(Customer.class)) {
+            assertThat(dataManager.load(Customer.class).id(customer.getId()).optional()).isEmpty();
+        }
+    }
+
     @Test
     void testCount() {
         Customer customer = createCustomer(null, "new-cust-1-" + now);
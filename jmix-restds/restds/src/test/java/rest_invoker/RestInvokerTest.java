@@ -27,6 +27,7 @@ import test_support.BaseRestDsIntegrationTest;
 import test_support.entity.Customer;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -182,4 +183,63 @@ class RestInvokerTest extends BaseRestDsIntegrationTest {
         assertThat(customers).size().isEqualTo(1);
         assertThat(customers.get(0)).isEqualTo(customer2);
     }
+
+    @Test
+    void testBulkCreateUpdateDelete() {
+        assertThat(restInvoker.isBulkOperationsSupported("Customer")).isTrue();
+
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Customer customer = metadata.create(Customer.class);
+            customer.setLastName("new-cust-" + i + "-" + LocalDateTime.now());
+            customer.setEmail("test@mail.com");
+            customers.add(customer);
+        }
+
+        List<Customer> createdCustomers = restSerialization.fromJsonCollection(
+                restInvoker.createAll("Customer", customers.stream()
+                        .map(customer -> restSerialization.toJson(customer, true))
+                        .toList()),
+                Customer.class);
+
+        assertThat(createdCustomers).containsExactlyInAnyOrderElementsOf(customers);
+
+        for (Customer customer : createdCustomers) {
+            customer.setLastName("updated-" + customer.getLastName());
+        }
+        List<Customer> updatedCustomers = restSerialization.fromJsonCollection(
+                restInvoker.updateAll("Customer", createdCustomers.stream()
+                        .map(customer -> restSerialization.toJson(customer, false))
+                        .toList()),
+                Customer.class);
+
+        assertThat(updatedCustomers).allMatch(customer -> customer.getLastName().startsWith("updated-"));
+
+        restInvoker.deleteAll("Customer", customers.stream().map(customer -> customer.getId().toString()).toList());
+
+        for (Customer customer : customers) {
+            assertThat(restInvoker.load(new RestInvoker.LoadParams("Customer", customer.getId()))).isNull();
+        }
+    }
+
+    @Test
+    void testResponseCache() {
+        Customer customer = metadata.create(Customer.class);
+        customer.setLastName("new-cust-" + LocalDateTime.now());
+        customer.setEmail("test@mail.com");
+        restInvoker.create("Customer", restSerialization.toJson(customer, true));
+
+        var loadParams = new RestInvoker.LoadParams("Customer", customer.getId());
+        String json = restInvoker.load(loadParams);
+
+        assertThat(restInvoker.load(loadParams)).isEqualTo(json);
+
+        customer.setLastName("updated-cust-" + LocalDateTime.now());
+        restInvoker.update("Customer", customer.getId().toString(), restSerialization.toJson(customer, false));
+
+        Customer updatedCustomer = restSerialization.fromJson(restInvoker.load(loadParams), Customer.class);
+
+        assertThat(updatedCustomer).isNotNull();
+        assertThat(updatedCustomer.getLastName()).isEqualTo(customer.getLastName());
+    }
 }
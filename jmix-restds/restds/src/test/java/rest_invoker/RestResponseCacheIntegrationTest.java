@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rest_invoker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jmix.restds.impl.RestResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestClient;
+import test_support.SampleServiceConnection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that responses of the sample service are cached and revalidated by ETags.
+ */
+class RestResponseCacheIntegrationTest {
+
+    private final List<HttpStatusCode> serviceStatuses = new ArrayList<>();
+    private final List<String> sentETags = new ArrayList<>();
+
+    private RestClient restClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String baseUrl = SampleServiceConnection.getInstance().getBaseUrl();
+
+        String authResponse = RestClient.create(baseUrl).post()
+                .uri("/oauth2/token")
+                .headers(headers -> {
+                    headers.setBasicAuth(SampleServiceConnection.CLIENT_ID, SampleServiceConnection.CLIENT_SECRET);
+                    headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+                })
+                .body("grant_type=client_credentials")
+                .retrieve()
+                .body(String.class);
+        String authToken = new ObjectMapper().readTree(authResponse).get("access_token").asText();
+
+        restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                .requestInterceptor(new RestResponseCache(10))
+                // records requests actually sent to the service
+                .requestInterceptor((request, body, execution) -> {
+                    sentETags.add(request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+                    ClientHttpResponse response = execution.execute(request, body);
+                    serviceStatuses.add(response.getStatusCode());
+                    return response;
+                })
+                .build();
+    }
+
+    @Test
+    void testNotModifiedResponseIsTakenFromCache() {
+        var response = restClient.get()
+                .uri("/rest/entities/Customer?limit=1")
+                .retrieve()
+                .toEntity(String.class);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getETag()).isNotNull();
+        assertThat(response.getHeaders().getCacheControl()).doesNotContain("no-store");
+
+        var cachedResponse = restClient.get()
+                .uri("/rest/entities/Customer?limit=1")
+                .retrieve()
+                .toEntity(String.class);
+
+        assertThat(cachedResponse.getStatusCode().value()).isEqualTo(200);
+        assertThat(cachedResponse.getBody()).isEqualTo(response.getBody());
+        assertThat(sentETags).containsExactly(null, response.getHeaders().getETag());
+        assertThat(serviceStatuses).extracting(HttpStatusCode::value).containsExactly(200, 304);
+    }
+}
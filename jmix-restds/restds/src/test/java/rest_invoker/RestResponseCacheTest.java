@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rest_invoker;
+
+import io.jmix.restds.impl.RestResponseCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestResponseCacheTest {
+
+    private static final URI CUSTOMERS_URI = URI.create("http://localhost:8080/rest/entities/Customer");
+
+    private final List<HttpRequest> executedRequests = new ArrayList<>();
+
+    private final ClientHttpRequestExecution execution = (request, body) -> {
+        executedRequests.add(request);
+        MockClientHttpResponse response = new MockClientHttpResponse(
+                ("response" + executedRequests.size()).getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        response.getHeaders().setCacheControl("max-age=60");
+        return response;
+    };
+
+    @Test
+    void testFreshResponseIsCachedPerAuthorization() throws IOException {
+        RestResponseCache cache = new RestResponseCache(10);
+
+        assertThat(load(cache, "Bearer user1")).isEqualTo("response1");
+        assertThat(load(cache, "Bearer user1")).isEqualTo("response1");
+        assertThat(load(cache, "Bearer user2")).isEqualTo("response2");
+        assertThat(executedRequests).hasSize(2);
+    }
+
+    @Test
+    void testResponseWithoutAuthorizationIsNotCached() throws IOException {
+        RestResponseCache cache = new RestResponseCache(10);
+
+        assertThat(load(cache, null)).isEqualTo("response1");
+        assertThat(load(cache, null)).isEqualTo("response2");
+        assertThat(executedRequests).hasSize(2);
+    }
+
+    @Test
+    void testChangeOfEntityInvalidatesCachedResponses() throws IOException {
+        RestResponseCache cache = new RestResponseCache(10);
+
+        load(cache, "Bearer user1");
+        cache.intercept(request(HttpMethod.POST, "Bearer user1"), new byte[0], execution).close();
+
+        assertThat(load(cache, "Bearer user1")).isEqualTo("response3");
+    }
+
+    private String load(RestResponseCache cache, String authorization) throws IOException {
+        try (ClientHttpResponse response = cache.intercept(request(HttpMethod.GET, authorization), new byte[0],
+                execution)) {
+            return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private HttpRequest request(HttpMethod method, String authorization) {
+        MockClientHttpRequest request = new MockClientHttpRequest(method, CUSTOMERS_URI);
+        if (authorization != null) {
+            request.getHeaders().set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.sessions;
+
+import io.jmix.core.annotation.Internal;
+
+import java.io.Serializable;
+
+/**
+ * Session attribute value stored in the session repository in the serialized and optionally compressed form together
+ * with the digest of the serialized value. The digest is stored with the value, so changes of the value can be
+ * detected against the state of the session loaded from the repository. The value is transparently unpacked by
+ * {@link SessionRepositoryWrapper.SessionWrapper#getAttribute(String)}.
+ */
+@Internal
+public class SerializedSessionAttribute implements Serializable {
+
+    private static final long serialVersionUID = 5471632094786193874L;
+
+    private final byte[] data;
+    private final boolean compressed;
+    private final byte[] digest;
+
+    public SerializedSessionAttribute(byte[] data, boolean compressed, byte[] digest) {
+        this.data = data;
+        this.compressed = compressed;
+        this.digest = digest;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public byte[] getDigest() {
+        return digest;
+    }
+}
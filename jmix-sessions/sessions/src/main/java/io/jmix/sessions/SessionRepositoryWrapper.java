@@ -17,26 +17,52 @@
 package io.jmix.sessions;
 
 import io.jmix.core.annotation.Internal;
+import io.jmix.core.impl.StandardSerialization;
 import io.jmix.core.security.SecurityContextHelper;
 import io.jmix.sessions.events.JmixSessionCreatedEvent;
 import io.jmix.sessions.events.JmixSessionDestroyedEvent;
 import io.jmix.sessions.events.JmixSessionRestoredEvent;
 import io.jmix.sessions.validators.SessionAttributePersistenceValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.Session;
 import org.springframework.session.SessionRepository;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Internal
 public class SessionRepositoryWrapper<S extends Session> implements FindByIndexNameSessionRepository<SessionRepositoryWrapper<S>.SessionWrapper> {
 
+    private static final Logger log = LoggerFactory.getLogger(SessionRepositoryWrapper.class);
+
+    protected static final String SAVED_BYTES_METRIC = "jmix.sessions.save.bytes";
+
+    /**
+     * Attributes read by the delegate repository, e.g. to index sessions by principal name, so they are always
+     * passed to the delegate session as is.
+     */
+    protected static final Set<String> PASS_THROUGH_ATTRIBUTES = Set.of(
+            HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+            FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME);
+
     private List<SessionAttributePersistenceValidator> attributePersistenceValidators = new ArrayList<>();
 
     protected Map<String, Map<String, Object>> nonPersistentSessionAttributesMap = new ConcurrentHashMap<>();
@@ -47,6 +73,14 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
 
     protected ApplicationEventPublisher applicationEventPublisher;
 
+    protected StandardSerialization serialization;
+
+    protected MeterRegistry meterRegistry;
+
+    protected boolean attributeDeltaEnabled;
+
+    protected int attributeCompressionThreshold;
+
     public List<SessionAttributePersistenceValidator> getAttributePersistenceValidators() {
         return attributePersistenceValidators;
     }
@@ -59,6 +93,35 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         this.attributePersistenceValidators = attributePersistenceValidators;
     }
 
+    /**
+     * Sets the serialization used to detect changes of attribute values and to compress them. If it is not set,
+     * attributes are passed to the delegate repository as is.
+     */
+    public void setSerialization(@Nullable StandardSerialization serialization) {
+        this.serialization = serialization;
+    }
+
+    /**
+     * Sets the registry to report the number of bytes of attribute values written by each save.
+     */
+    public void setMeterRegistry(@Nullable MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @see SessionsProperties#isAttributeDeltaEnabled()
+     */
+    public void setAttributeDeltaEnabled(boolean attributeDeltaEnabled) {
+        this.attributeDeltaEnabled = attributeDeltaEnabled;
+    }
+
+    /**
+     * @see SessionsProperties#getAttributeCompressionThreshold()
+     */
+    public void setAttributeCompressionThreshold(int attributeCompressionThreshold) {
+        this.attributeCompressionThreshold = attributeCompressionThreshold;
+    }
+
     public SessionRepositoryWrapper(SessionRegistry sessionRegistry, ApplicationEventPublisher applicationEventPublisher, SessionRepository<S> delegate) {
         this.delegate = delegate;
         this.sessionRegistry = sessionRegistry;
@@ -75,7 +138,58 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
     @Override
     public void save(SessionWrapper session) {
         saveNonPersistenceAttributes(session);
+        long bytesWritten = session.writeChangedAttributes();
         delegate.save(session.getSession());
+
+        if (isAttributeTrackingEnabled()) {
+            log.debug("Saved session {}, attribute bytes written: {}", session.getId(), bytesWritten);
+            if (meterRegistry != null) {
+                meterRegistry.summary(SAVED_BYTES_METRIC).record(bytesWritten);
+            }
+        }
+    }
+
+    protected boolean isAttributeTrackingEnabled() {
+        return serialization != null && (attributeDeltaEnabled || attributeCompressionThreshold > 0);
+    }
+
+    @Nullable
+    protected byte[] serializeAttribute(String attributeName, Object value) {
+        try {
+            return serialization.serialize(value);
+        } catch (RuntimeException e) {
+            log.debug("Cannot serialize session attribute {}, it is saved as is: {}", attributeName, e.toString());
+            return null;
+        }
+    }
+
+    protected byte[] digest(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    protected Object unpack(SerializedSessionAttribute attribute) {
+        if (!attribute.isCompressed()) {
+            return serialization.deserialize(attribute.getData());
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(attribute.getData()))) {
+            return serialization.deserialize(gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private void restoreNonPersistentAttributes(SessionWrapper session) {
@@ -139,6 +253,8 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
     public final class SessionWrapper implements Session {
         private final S session;
         private final Map<String, Object> nonPersistentAttributes = new HashMap<>();
+        private final Map<String, Object> changedAttributes = new HashMap<>();
+        private final Map<String, Object> unpackedAttributes = new HashMap<>();
 
         public SessionWrapper(S session) {
             this.session = session;
@@ -174,13 +290,25 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         @Override
         @SuppressWarnings("unchecked")
         public <T> T getAttribute(String attributeName) {
-            return (T) nonPersistentAttributes.getOrDefault(attributeName, session.getAttribute(attributeName));
+            if (nonPersistentAttributes.containsKey(attributeName)) {
+                return (T) nonPersistentAttributes.get(attributeName);
+            }
+            if (changedAttributes.containsKey(attributeName)) {
+                return (T) changedAttributes.get(attributeName);
+            }
+            Object value = session.getAttribute(attributeName);
+            if (value instanceof SerializedSessionAttribute) {
+                value = unpackedAttributes.computeIfAbsent(attributeName,
+                        name -> unpack((SerializedSessionAttribute) session.getAttribute(name)));
+            }
+            return (T) value;
         }
 
         @Override
         public Set<String> getAttributeNames() {
             Set<String> sessionAttributes = new HashSet<>(session.getAttributeNames());
             sessionAttributes.addAll(nonPersistentAttributes.keySet());
+            sessionAttributes.addAll(changedAttributes.keySet());
             return sessionAttributes;
         }
 
@@ -188,7 +316,14 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         public void setAttribute(String attributeName, Object attributeValue) {
             if (isNotPersistent(attributeName, attributeValue)) {
                 nonPersistentAttributes.put(attributeName, attributeValue);
+            } else if (attributeValue != null && isAttributeTrackingEnabled()
+                    && !PASS_THROUGH_ATTRIBUTES.contains(attributeName)) {
+                // written to the delegate session on save if the value differs from the stored one
+                changedAttributes.put(attributeName, attributeValue);
+                unpackedAttributes.remove(attributeName);
             } else {
+                changedAttributes.remove(attributeName);
+                unpackedAttributes.remove(attributeName);
                 session.setAttribute(attributeName, attributeValue);
             }
         }
@@ -196,9 +331,74 @@ public class SessionRepositoryWrapper<S extends Session> implements FindByIndexN
         @Override
         public void removeAttribute(String attributeName) {
             nonPersistentAttributes.remove(attributeName);
+            changedAttributes.remove(attributeName);
+            unpackedAttributes.remove(attributeName);
             session.removeAttribute(attributeName);
         }
 
+        /**
+         * Passes attributes set since the last save to the delegate session. Values are serialized once and passed
+         * as {@link SerializedSessionAttribute}s if the delta is enabled or the value is large enough to be
+         * compressed. An attribute is skipped if the digest of its value is equal to the digest stored with the value
+         * of the delegate session, i.e. the value has not changed since the session was loaded from the repository.
+         * <p>
+         * Attributes unpacked from {@link SerializedSessionAttribute}s are checked the same way, as their values can be
+         * modified in place without setting them again.
+         *
+         * @return number of bytes of serialized attribute values passed to the delegate session
+         */
+        long writeChangedAttributes() {
+            if (changedAttributes.isEmpty() && unpackedAttributes.isEmpty()) {
+                return 0;
+            }
+            Map<String, Object> attributesToWrite = new HashMap<>(unpackedAttributes);
+            attributesToWrite.putAll(changedAttributes);
+
+            long bytesWritten = 0;
+            for (Map.Entry<String, Object> entry : attributesToWrite.entrySet()) {
+                String attributeName = entry.getKey();
+                Object value = entry.getValue();
+
+                byte[] serialized = serializeAttribute(attributeName, value);
+                if (serialized == null) {
+                    session.setAttribute(attributeName, value);
+                    continue;
+                }
+
+                byte[] digest = digest(serialized);
+                Object currentValue = session.getAttribute(attributeName);
+                if ((attributeDeltaEnabled || !changedAttributes.containsKey(attributeName))
+                        && currentValue instanceof SerializedSessionAttribute
+                        && Arrays.equals(digest, ((SerializedSessionAttribute) currentValue).getDigest())) {
+                    continue;
+                }
+
+                Object storedValue = value;
+                int storedSize = serialized.length;
+                if (attributeCompressionThreshold > 0 && serialized.length > attributeCompressionThreshold) {
+                    byte[] compressed = compress(serialized);
+                    if (compressed.length < serialized.length) {
+                        storedValue = new SerializedSessionAttribute(compressed, true, digest);
+                        storedSize = compressed.length;
+                    }
+                }
+                if (storedValue == value && attributeDeltaEnabled) {
+                    storedValue = new SerializedSessionAttribute(serialized, false, digest);
+                }
+                session.setAttribute(attributeName, storedValue);
+                bytesWritten += storedSize;
+            }
+
+            // keep the written values, so that their in-place modifications are detected by the next save
+            for (Map.Entry<String, Object> entry : changedAttributes.entrySet()) {
+                if (session.getAttribute(entry.getKey()) instanceof SerializedSessionAttribute) {
+                    unpackedAttributes.put(entry.getKey(), entry.getValue());
+                }
+            }
+            changedAttributes.clear();
+            return bytesWritten;
+        }
+
         @Override
         public Instant getCreationTime() {
             return session.getCreationTime();
@@ -18,8 +18,11 @@ package io.jmix.sessions;
 
 import io.jmix.core.CoreConfiguration;
 import io.jmix.core.annotation.JmixModule;
+import io.jmix.core.impl.StandardSerialization;
 import io.jmix.sessions.validators.VaadinSessionAttributesValidator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -34,6 +37,7 @@ import org.springframework.session.web.http.SessionRepositoryFilter;
 
 @Configuration
 @ComponentScan
+@ConfigurationPropertiesScan
 @JmixModule(dependsOn = CoreConfiguration.class)
 public class SessionsConfiguration<S extends Session> {
 
@@ -43,10 +47,23 @@ public class SessionsConfiguration<S extends Session> {
     @Autowired
     protected ApplicationEventPublisher applicationEventPublisher;
 
+    @Autowired
+    protected SessionsProperties sessionsProperties;
+
+    @Autowired
+    protected StandardSerialization serialization;
+
+    @Autowired(required = false)
+    protected MeterRegistry meterRegistry;
+
     public SessionRepositoryWrapper<S> sessionRepositoryWrapper(SessionRepository<S> sessionRepository) {
         SessionRepositoryWrapper<S> sessionRepositoryWrapper = new SessionRepositoryWrapper<>(
                 sessionRegistry(), applicationEventPublisher, sessionRepository);
         sessionRepositoryWrapper.addAttributePersistenceValidators(new VaadinSessionAttributesValidator());
+        sessionRepositoryWrapper.setSerialization(serialization);
+        sessionRepositoryWrapper.setMeterRegistry(meterRegistry);
+        sessionRepositoryWrapper.setAttributeDeltaEnabled(sessionsProperties.isAttributeDeltaEnabled());
+        sessionRepositoryWrapper.setAttributeCompressionThreshold(sessionsProperties.getAttributeCompressionThreshold());
         return sessionRepositoryWrapper;
     }
 
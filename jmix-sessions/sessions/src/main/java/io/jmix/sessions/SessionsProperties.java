@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.sessions;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "jmix.sessions")
+public class SessionsProperties {
+
+    /**
+     * Whether session attributes that are set with a value equal to the one loaded from the session repository,
+     * compared by the digest of the serialized form, are not written to the repository. Values are stored in the
+     * serialized form together with their digests. An attribute set to the loaded value is not written even if another
+     * instance has changed it in the repository after the session was loaded.
+     */
+    boolean attributeDeltaEnabled;
+
+    /**
+     * Size in bytes of a serialized session attribute value above which the value is stored compressed.
+     * Zero disables compression.
+     */
+    int attributeCompressionThreshold;
+
+    public SessionsProperties(@DefaultValue("false") boolean attributeDeltaEnabled,
+                              @DefaultValue("0") int attributeCompressionThreshold) {
+        this.attributeDeltaEnabled = attributeDeltaEnabled;
+        this.attributeCompressionThreshold = attributeCompressionThreshold;
+    }
+
+    /**
+     * @see #attributeDeltaEnabled
+     */
+    public boolean isAttributeDeltaEnabled() {
+        return attributeDeltaEnabled;
+    }
+
+    /**
+     * @see #attributeCompressionThreshold
+     */
+    public int getAttributeCompressionThreshold() {
+        return attributeCompressionThreshold;
+    }
+}
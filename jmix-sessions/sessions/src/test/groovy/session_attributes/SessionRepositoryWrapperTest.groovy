@@ -0,0 +1,194 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package session_attributes
+
+import io.jmix.core.impl.StandardSerialization
+import io.jmix.sessions.SerializedSessionAttribute
+import io.jmix.sessions.SessionRepositoryWrapper
+import io.jmix.sessions.SessionsProperties
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.security.authentication.TestingAuthenticationToken
+import org.springframework.security.core.context.SecurityContextImpl
+import org.springframework.security.core.session.SessionRegistryImpl
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository
+import org.springframework.session.FindByIndexNameSessionRepository
+import org.springframework.session.MapSession
+import org.springframework.session.MapSessionRepository
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+
+class SessionRepositoryWrapperTest extends Specification {
+
+    MapSessionRepository repository = new MapSessionRepository(new ConcurrentHashMap<>())
+
+    def "attribute delta is disabled by default"() {
+        def properties = new Binder(new MapConfigurationPropertySource())
+                .bindOrCreate('jmix.sessions', SessionsProperties)
+
+        expect:
+        !properties.attributeDeltaEnabled
+        properties.attributeCompressionThreshold == 0
+    }
+
+    def "value equal to the loaded one is not written again"() {
+        def wrapper = createWrapper(true, 0)
+        def session = wrapper.createSession()
+        session.setAttribute('attr', 'value')
+        wrapper.save(session)
+        def stored = storedAttribute(session.id)
+
+        when:
+        def loaded = wrapper.findById(session.id)
+        loaded.setAttribute('attr', new String('value'))
+        wrapper.save(loaded)
+
+        then:
+        stored instanceof SerializedSessionAttribute
+        storedAttribute(session.id).is(stored)
+        wrapper.findById(session.id).getAttribute('attr') == 'value'
+
+        when:
+        loaded = wrapper.findById(session.id)
+        loaded.setAttribute('attr', 'changed')
+        wrapper.save(loaded)
+
+        then:
+        !storedAttribute(session.id).is(stored)
+        wrapper.findById(session.id).getAttribute('attr') == 'changed'
+    }
+
+    def "value changed by another instance is overwritten with the value equal to the previously saved one"() {
+        def wrapperA = createWrapper(true, 0)
+        def wrapperB = createWrapper(true, 0)
+
+        def session = wrapperA.createSession()
+        session.setAttribute('attr', 'v1')
+        wrapperA.save(session)
+
+        def sessionB = wrapperB.findById(session.id)
+        sessionB.setAttribute('attr', 'v2')
+        wrapperB.save(sessionB)
+
+        when:
+        def sessionA = wrapperA.findById(session.id)
+        sessionA.setAttribute('attr', 'v1')
+        wrapperA.save(sessionA)
+
+        then:
+        wrapperB.findById(session.id).getAttribute('attr') == 'v1'
+    }
+
+    def "large values are compressed and unpacked on read"() {
+        def wrapper = createWrapper(false, 100)
+        def session = wrapper.createSession()
+        def value = (1..1000).collect { 'item' } as ArrayList
+        session.setAttribute('large', value)
+        session.setAttribute('small', 'value')
+
+        when:
+        wrapper.save(session)
+
+        then:
+        storedAttribute(session.id, 'large') instanceof SerializedSessionAttribute
+        ((SerializedSessionAttribute) storedAttribute(session.id, 'large')).compressed
+        storedAttribute(session.id, 'small') == 'value'
+        wrapper.findById(session.id).getAttribute('large') == value
+        wrapper.findById(session.id).getAttribute('small') == 'value'
+    }
+
+    def "values are stored as is when attribute tracking is disabled"() {
+        def wrapper = createWrapper(false, 0)
+        def session = wrapper.createSession()
+        session.setAttribute('attr', 'value')
+
+        when:
+        wrapper.save(session)
+
+        then:
+        storedAttribute(session.id) == 'value'
+        wrapper.findById(session.id).getAttribute('attr') == 'value'
+    }
+
+    def "removed attribute is removed from the repository"() {
+        def wrapper = createWrapper(true, 0)
+        def session = wrapper.createSession()
+        session.setAttribute('attr', 'value')
+        wrapper.save(session)
+
+        when:
+        def loaded = wrapper.findById(session.id)
+        loaded.removeAttribute('attr')
+        wrapper.save(loaded)
+
+        then:
+        storedAttribute(session.id) == null
+        wrapper.findById(session.id).getAttribute('attr') == null
+    }
+
+    def "security context and principal name are passed to the repository as is"() {
+        def wrapper = createWrapper(true, 1)
+        def session = wrapper.createSession()
+        def securityContext = new SecurityContextImpl(new TestingAuthenticationToken('user', null))
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext)
+        session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, 'user')
+
+        when:
+        wrapper.save(session)
+
+        then:
+        storedAttribute(session.id, HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY).is(securityContext)
+        storedAttribute(session.id, FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME) == 'user'
+    }
+
+    def "value modified in place is written"() {
+        def wrapper = createWrapper(true, 0)
+        def session = wrapper.createSession()
+        session.setAttribute('attr', ['item1'] as ArrayList)
+        wrapper.save(session)
+
+        when: "a loaded value is modified without setting it again"
+        def loaded = wrapper.findById(session.id)
+        loaded.getAttribute('attr').add('item2')
+        wrapper.save(loaded)
+
+        then:
+        wrapper.findById(session.id).getAttribute('attr') == ['item1', 'item2']
+
+        when: "a value set in the same session is modified after save"
+        session.getAttribute('attr').add('item3')
+        wrapper.save(session)
+
+        then:
+        wrapper.findById(session.id).getAttribute('attr') == ['item1', 'item3']
+    }
+
+    private SessionRepositoryWrapper<MapSession> createWrapper(boolean deltaEnabled, int compressionThreshold) {
+        def wrapper = new SessionRepositoryWrapper<MapSession>(
+                new SessionRegistryImpl(), Mock(ApplicationEventPublisher), repository)
+        wrapper.serialization = new StandardSerialization()
+        wrapper.attributeDeltaEnabled = deltaEnabled
+        wrapper.attributeCompressionThreshold = compressionThreshold
+        return wrapper
+    }
+
+    private Object storedAttribute(String sessionId, String name = 'attr') {
+        return repository.findById(sessionId).getAttribute(name)
+    }
+}